@@ -0,0 +1,112 @@
+package io.dropwizard.benchmarks.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.io.ByteStreams;
+import io.dropwizard.configuration.ConfigurationSourceProvider;
+import io.dropwizard.configuration.EnvironmentVariableSubstitutor;
+import io.dropwizard.configuration.SubstitutingSourceProvider;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.jackson.Jackson;
+import org.apache.commons.text.StrSubstitutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Parses generated configurations of a few hundred kilobytes to several megabytes, with environment variables
+ * substituted by their defaults and hundreds of {@code dw.} overrides.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class ConfigurationParsingBenchmark {
+    private static final int KEYS_PER_SECTION = 50;
+
+    @Param({"100", "2000"})
+    private int sections;
+
+    @Param({"500"})
+    private int overrides;
+
+    private byte[] source = new byte[0];
+    private final StrSubstitutor substitutor = new EnvironmentVariableSubstitutor(false);
+    private final ConfigurationSourceProvider provider =
+        new SubstitutingSourceProvider(path -> new ByteArrayInputStream(source), substitutor);
+    private final YamlConfigurationFactory<JsonNode> factory =
+        new YamlConfigurationFactory<>(JsonNode.class, null, Jackson.newObjectMapper(), "dw");
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final StringBuilder yaml = new StringBuilder("sections:\n");
+        for (int i = 0; i < sections; i++) {
+            yaml.append("  section").append(i).append(":\n");
+            for (int j = 0; j < KEYS_PER_SECTION; j++) {
+                yaml.append("    key").append(j).append(": ");
+                if (j % 5 == 0) {
+                    yaml.append("${DW_BENCHMARK_UNDEFINED_").append(j).append(":-default value ").append(j).append('}');
+                } else {
+                    yaml.append("value ").append(i).append(' ').append(j);
+                }
+                yaml.append('\n');
+            }
+        }
+        source = yaml.toString().getBytes(UTF_8);
+
+        for (int i = 0; i < overrides; i++) {
+            System.setProperty(override(i), "overridden " + i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        for (int i = 0; i < overrides; i++) {
+            System.clearProperty(override(i));
+        }
+    }
+
+    private String override(int i) {
+        return "dw.sections.section" + (i % sections) + ".key" + (i / sections % KEYS_PER_SECTION);
+    }
+
+    @Benchmark
+    public String substituteInMemory() {
+        return substitutor.replace(new String(source, UTF_8));
+    }
+
+    @Benchmark
+    public long substituteStreaming() throws Exception {
+        try (InputStream in = provider.open("benchmark.yml")) {
+            return ByteStreams.exhaust(in);
+        }
+    }
+
+    @Benchmark
+    public JsonNode build() throws Exception {
+        return factory.build(provider, "benchmark.yml");
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ConfigurationParsingBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
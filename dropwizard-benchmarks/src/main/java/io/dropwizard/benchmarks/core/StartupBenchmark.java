@@ -0,0 +1,154 @@
+package io.dropwizard.benchmarks.core;
+
+import com.codahale.metrics.health.HealthCheck;
+import io.dropwizard.Application;
+import io.dropwizard.Configuration;
+import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.setup.Environment;
+import org.eclipse.jetty.server.Server;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Measures the cold start of an application like the example application, from the creation of the
+ * {@link Application} to the start of its server. Each measurement runs in a fresh JVM.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    public static class HelloWorldApplication extends Application<Configuration> {
+        @Nullable
+        private Server server;
+
+        /**
+         * Runs the application, e.g. for a training run with
+         * {@code server --training-run training --warm-up-request /hello-world config.yml}.
+         */
+        public static void main(String[] args) throws Exception {
+            new HelloWorldApplication().run(args);
+        }
+
+        @Override
+        public void run(Configuration configuration, Environment environment) {
+            environment.jersey().register(new HelloWorldResource());
+            environment.healthChecks().register("template", new TemplateHealthCheck());
+            environment.lifecycle().manage(new Managed() {
+                @Override
+                public void start() {
+                }
+
+                @Override
+                public void stop() {
+                }
+            });
+            environment.lifecycle().addServerLifecycleListener(server -> this.server = server);
+        }
+
+        @Override
+        protected void onFatalError() {
+            throw new IllegalStateException("Unable to start the application");
+        }
+    }
+
+    @Path("/hello-world")
+    @Produces(MediaType.APPLICATION_JSON)
+    public static class HelloWorldResource {
+        @GET
+        public Object sayHello(@QueryParam("name") Optional<String> name) {
+            return Collections.singletonMap("content", "Hello, " + name.orElse("Stranger") + "!");
+        }
+    }
+
+    public static class TemplateHealthCheck extends HealthCheck {
+        @Override
+        protected Result check() {
+            return Result.healthy();
+        }
+    }
+
+    private File configuration;
+    private HelloWorldApplication application;
+
+    @Setup
+    public void prepare() throws Exception {
+        configuration = File.createTempFile("startup-benchmark", ".yml");
+        configuration.deleteOnExit();
+        Files.write(configuration.toPath(), (
+            "server:\n" +
+            "  applicationConnectors:\n" +
+            "    - type: http\n" +
+            "      port: 0\n" +
+            "  adminConnectors:\n" +
+            "    - type: http\n" +
+            "      port: 0\n" +
+            "logging:\n" +
+            "  level: WARN\n").getBytes(UTF_8));
+    }
+
+    @Benchmark
+    public Server start() throws Exception {
+        application = new HelloWorldApplication();
+        application.run("server", configuration.getAbsolutePath());
+        return application.server;
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() throws Exception {
+        if (application != null && application.server != null) {
+            application.server.stop();
+        }
+    }
+
+    /**
+     * Runs the benchmark. Given the directory of a training run of {@link HelloWorldApplication}, the benchmark is
+     * run a second time with the class data sharing archive and the discovery index of the training run.
+     */
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(StartupBenchmark.class.getSimpleName())
+                .forks(10)
+                .warmupIterations(0)
+                .measurementIterations(1)
+                .build())
+                .run();
+
+        if (args.length > 0) {
+            final File training = new File(args[0]).getAbsoluteFile();
+            new Runner(new OptionsBuilder()
+                    .include(StartupBenchmark.class.getSimpleName())
+                    .forks(10)
+                    .warmupIterations(0)
+                    .measurementIterations(1)
+                    .jvmArgsAppend("-Xshare:auto",
+                                   "-XX:SharedArchiveFile=" + new File(training, "app.jsa"),
+                                   "-Ddropwizard.discoveryIndex=" + new File(training, "discoverable.idx"))
+                    .build())
+                    .run();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.dropwizard.benchmarks.jersey;
+
+import io.dropwizard.jersey.validation.DropwizardConfiguredValidator;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.logging.BootstrapLogging;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.MethodHandler;
+import org.hibernate.validator.constraints.NotEmpty;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.validation.Valid;
+import javax.ws.rs.HeaderParam;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.commons.lang3.reflect.MethodUtils.getAccessibleMethod;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ConfiguredValidatorBenchmark {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    public static class Resource {
+        public String unconstrainedFunc(@HeaderParam("cheese") String secretSauce) {
+            return secretSauce;
+        }
+
+        public String paramFunc(@HeaderParam("cheese") @NotEmpty String secretSauce) {
+            return secretSauce;
+        }
+
+        public String objectFunc(@Valid Foo foo) {
+            return foo.toString();
+        }
+    }
+
+    public static class Foo {
+        @NotEmpty
+        private String bar = "bar";
+    }
+
+    private final Resource resource = new Resource();
+    private final Object[] stringArgs = {"gouda"};
+    private final Object[] objectArgs = {new Foo()};
+
+    private DropwizardConfiguredValidator validator;
+    private Invocable unconstrained;
+    private Invocable param;
+    private Invocable object;
+
+    @Setup
+    public void prepare() {
+        validator = new DropwizardConfiguredValidator(Validators.newValidator());
+        unconstrained = invocable("unconstrainedFunc", String.class);
+        param = invocable("paramFunc", String.class);
+        object = invocable("objectFunc", Foo.class);
+    }
+
+    private static Invocable invocable(String name, Class<?> parameterType) {
+        return Invocable.create(MethodHandler.create(Resource.class),
+            getAccessibleMethod(Resource.class, name, parameterType));
+    }
+
+    @Benchmark
+    public Object[] unconstrainedParams() {
+        validator.validateResourceAndInputParams(resource, unconstrained, stringArgs);
+        return stringArgs;
+    }
+
+    @Benchmark
+    public Object[] constrainedParam() {
+        validator.validateResourceAndInputParams(resource, param, stringArgs);
+        return stringArgs;
+    }
+
+    @Benchmark
+    public Object[] validObject() {
+        validator.validateResourceAndInputParams(resource, object, objectArgs);
+        return objectArgs;
+    }
+
+    @Benchmark
+    public Object unconstrainedResult() {
+        validator.validateResult(resource, unconstrained, "gouda");
+        return resource;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(ConfiguredValidatorBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
@@ -4,6 +4,7 @@ import io.dropwizard.jersey.validation.ConstraintMessage;
 import io.dropwizard.jersey.validation.Validators;
 import io.dropwizard.logging.BootstrapLogging;
 import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.MethodHandler;
 import org.hibernate.validator.constraints.NotEmpty;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -19,7 +20,12 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Valid;
 import javax.validation.Validator;
 import javax.validation.executable.ExecutableValidator;
+import javax.ws.rs.BeanParam;
 import javax.ws.rs.HeaderParam;
+import javax.ws.rs.QueryParam;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -42,6 +48,14 @@ public class ConstraintViolationBenchmark {
         public String objectFunc(@Valid Foo foo) {
             return foo.toString();
         }
+
+        public String beanParamFunc(@BeanParam @Valid Bean bean) {
+            return bean.toString();
+        }
+
+        public String listFunc(@Valid List<Foo> foos) {
+            return foos.toString();
+        }
     }
 
     public static class Foo {
@@ -49,41 +63,74 @@ public class ConstraintViolationBenchmark {
         private String bar;
     }
 
+    public static class Bean {
+        @QueryParam("cheese")
+        @NotEmpty
+        private String secretSauce;
+    }
+
     private ConstraintViolation<ConstraintViolationBenchmark.Resource> paramViolation;
     private ConstraintViolation<ConstraintViolationBenchmark.Resource> objViolation;
+    private ConstraintViolation<ConstraintViolationBenchmark.Resource> beanParamViolation;
+    private ConstraintViolation<ConstraintViolationBenchmark.Resource> listViolation;
 
-    final Invocable invocable = Invocable.create(request -> null);
+    private Invocable paramInvocable;
+    private Invocable objInvocable;
+    private Invocable beanParamInvocable;
+    private Invocable listInvocable;
 
     @Setup
     public void prepare() {
         final Validator validator = Validators.newValidator();
         final ExecutableValidator execValidator = validator.forExecutables();
 
-        final Set<ConstraintViolation<ConstraintViolationBenchmark.Resource>> paramViolations =
-            execValidator.validateParameters(
-                new Resource(),
-                getAccessibleMethod(ConstraintViolationBenchmark.Resource.class, "paramFunc", String.class),
-                new Object[]{""} // the parameter value
-            );
-        paramViolation = paramViolations.iterator().next();
-
-        final Set<ConstraintViolation<ConstraintViolationBenchmark.Resource>> objViolations =
-            execValidator.validateParameters(
-                new Resource(),
-                getAccessibleMethod(ConstraintViolationBenchmark.Resource.class, "objectFunc", Foo.class),
-                new Object[]{new Foo()} // the parameter value
-            );
-        objViolation = objViolations.iterator().next();
+        final Method paramFunc = getAccessibleMethod(Resource.class, "paramFunc", String.class);
+        paramViolation = violation(execValidator, paramFunc, ""); // the parameter value
+        paramInvocable = invocable(paramFunc);
+
+        final Method objectFunc = getAccessibleMethod(Resource.class, "objectFunc", Foo.class);
+        objViolation = violation(execValidator, objectFunc, new Foo());
+        objInvocable = invocable(objectFunc);
+
+        final Method beanParamFunc = getAccessibleMethod(Resource.class, "beanParamFunc", Bean.class);
+        beanParamViolation = violation(execValidator, beanParamFunc, new Bean());
+        beanParamInvocable = invocable(beanParamFunc);
+
+        // a violation in an element of a collection, with a path like "listFunc.arg0[0].bar"
+        final Method listFunc = getAccessibleMethod(Resource.class, "listFunc", List.class);
+        listViolation = violation(execValidator, listFunc, Collections.singletonList(new Foo()));
+        listInvocable = invocable(listFunc);
+    }
+
+    private static ConstraintViolation<Resource> violation(ExecutableValidator execValidator, Method method,
+                                                           Object parameter) {
+        final Set<ConstraintViolation<Resource>> violations =
+            execValidator.validateParameters(new Resource(), method, new Object[]{parameter});
+        return violations.iterator().next();
+    }
+
+    private static Invocable invocable(Method method) {
+        return Invocable.create(MethodHandler.create(Resource.class), method);
     }
 
     @Benchmark
     public String paramViolation() {
-        return ConstraintMessage.getMessage(paramViolation, invocable);
+        return ConstraintMessage.getMessage(paramViolation, paramInvocable);
     }
 
     @Benchmark
     public String objViolation() {
-        return ConstraintMessage.getMessage(objViolation, invocable);
+        return ConstraintMessage.getMessage(objViolation, objInvocable);
+    }
+
+    @Benchmark
+    public String beanParamViolation() {
+        return ConstraintMessage.getMessage(beanParamViolation, beanParamInvocable);
+    }
+
+    @Benchmark
+    public String listViolation() {
+        return ConstraintMessage.getMessage(listViolation, listInvocable);
     }
 
     public static void main(String[] args) throws Exception {
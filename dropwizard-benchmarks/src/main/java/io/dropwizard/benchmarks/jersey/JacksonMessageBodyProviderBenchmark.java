@@ -0,0 +1,121 @@
+package io.dropwizard.benchmarks.jersey;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.jackson.JacksonMessageBodyProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading and writing entities through the Dropwizard provider and through the plain Jackson provider it
+ * extends, including the checks Jersey makes before selecting the provider.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class JacksonMessageBodyProviderBenchmark {
+
+    public static class Person {
+        @JsonProperty
+        public long id;
+
+        @JsonProperty
+        public String name;
+
+        @JsonProperty
+        public List<String> emails;
+    }
+
+    private static final Annotation[] ANNOTATIONS = new Annotation[0];
+    private static final Type PEOPLE = new TypeToken<List<Person>>() {
+    }.getType();
+
+    @Param({"dropwizard", "jackson"})
+    private String provider;
+
+    private JacksonJaxbJsonProvider messageBodyProvider;
+    private Person person;
+    private List<Person> people;
+    private byte[] personJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        final ObjectMapper mapper = Jackson.newObjectMapper();
+        messageBodyProvider = "dropwizard".equals(provider) ?
+            new JacksonMessageBodyProvider(mapper) : new JacksonJaxbJsonProvider(mapper, JacksonJaxbJsonProvider.DEFAULT_ANNOTATIONS);
+
+        person = new Person();
+        person.id = 42;
+        person.name = "Coda Hale";
+        person.emails = ImmutableList.of("coda@example.com", "coda.hale@example.com");
+        final ImmutableList.Builder<Person> builder = ImmutableList.builder();
+        for (int i = 0; i < 20; i++) {
+            builder.add(person);
+        }
+        people = builder.build();
+        personJson = mapper.writeValueAsBytes(person);
+    }
+
+    @Benchmark
+    public byte[] writeEntity() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(256);
+        if (messageBodyProvider.isWriteable(Person.class, Person.class, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE)) {
+            messageBodyProvider.writeTo(person, Person.class, Person.class, ANNOTATIONS,
+                MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), output);
+        }
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] writeGenericEntity() throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(4096);
+        if (messageBodyProvider.isWriteable(people.getClass(), PEOPLE, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE)) {
+            messageBodyProvider.writeTo(people, people.getClass(), PEOPLE, ANNOTATIONS,
+                MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), output);
+        }
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object readEntity() throws IOException {
+        final Class<Object> type = (Class<Object>) (Class<?>) Person.class;
+        if (messageBodyProvider.isReadable(type, Person.class, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE)) {
+            return messageBodyProvider.readFrom(type, Person.class, ANNOTATIONS, MediaType.APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<>(), new ByteArrayInputStream(personJson));
+        }
+        return null;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JacksonMessageBodyProviderBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
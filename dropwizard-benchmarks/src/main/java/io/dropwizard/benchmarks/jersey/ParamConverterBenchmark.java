@@ -0,0 +1,97 @@
+package io.dropwizard.benchmarks.jersey;
+
+import io.dropwizard.jersey.params.AbstractParam;
+import io.dropwizard.jersey.params.AbstractParamConverterProvider;
+import io.dropwizard.jersey.params.IntParam;
+import io.dropwizard.jersey.params.UUIDParam;
+import io.dropwizard.logging.BootstrapLogging;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.ext.ParamConverter;
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares parsing parameters with the converters of {@link AbstractParamConverterProvider} to parsing them with the
+ * constructors of the parameter classes, for valid and invalid values.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class ParamConverterBenchmark {
+
+    static {
+        BootstrapLogging.bootstrap();
+    }
+
+    @Param({"int", "uuid"})
+    private String type;
+
+    @Param({"valid", "invalid"})
+    private String validity;
+
+    private String input;
+    private ParamConverter<? extends AbstractParam<?>> converter;
+    private Function<String, AbstractParam<?>> constructor;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Annotation[] annotations =
+            ParamConverterBenchmark.class.getDeclaredMethod("resource", IntParam.class).getParameterAnnotations()[0];
+        final AbstractParamConverterProvider provider = new AbstractParamConverterProvider();
+        final boolean valid = "valid".equals(validity);
+        if ("int".equals(type)) {
+            input = valid ? "1234567" : "1234x67";
+            converter = provider.getConverter(IntParam.class, IntParam.class, annotations);
+            constructor = value -> new IntParam(value, "id");
+        } else {
+            input = valid ? "067e6162-3b6f-4ae2-a171-2470b63dff00" : "067e6162-3b6f-4ae2-a171-2470b63dffzz";
+            converter = provider.getConverter(UUIDParam.class, UUIDParam.class, annotations);
+            constructor = value -> new UUIDParam(value, "id");
+        }
+    }
+
+    @SuppressWarnings("unused")
+    private void resource(@QueryParam("id") IntParam id) {
+    }
+
+    @Benchmark
+    public Object converter() {
+        try {
+            return converter.fromString(input);
+        } catch (WebApplicationException e) {
+            return e.getResponse();
+        }
+    }
+
+    @Benchmark
+    public Object constructor() {
+        try {
+            return constructor.apply(input);
+        } catch (WebApplicationException e) {
+            return e.getResponse();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .include(ParamConverterBenchmark.class.getSimpleName())
+            .forks(1)
+            .warmupIterations(5)
+            .measurementIterations(5)
+            .build())
+            .run();
+    }
+}
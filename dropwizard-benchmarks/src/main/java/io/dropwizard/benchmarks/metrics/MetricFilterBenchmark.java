@@ -0,0 +1,94 @@
+package io.dropwizard.benchmarks.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.google.common.collect.ImmutableSet;
+import io.dropwizard.metrics.BaseReporterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures filtering all the metrics of a registry of 50,000 metrics, i.e. what a reporter does on every report.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MetricFilterBenchmark {
+
+    private static final int METRICS = 50_000;
+
+    @Param({"exact", "substring", "regex"})
+    private String matching;
+
+    private String[] names;
+    private final Counter metric = new Counter();
+    private MetricFilter filter;
+
+    @Setup
+    public void setUp() {
+        final String[] groups = {"jvm.memory", "jvm.threads", "org.eclipse.jetty", "io.dropwizard.db", "com.example"};
+        names = new String[METRICS];
+        for (int i = 0; i < METRICS; i++) {
+            names[i] = groups[i % groups.length] + ".metric-" + i + (i % 3 == 0 ? ".count" : ".p99");
+        }
+
+        final BaseReporterFactory factory = new BaseReporterFactory() {
+            @Override
+            public ScheduledReporter build(MetricRegistry registry) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        switch (matching) {
+            case "substring":
+                factory.setUseSubstringMatching(true);
+                factory.setIncludes(ImmutableSet.of("jvm", "jetty", "db.", "requests", "responses", "p99"));
+                factory.setExcludes(ImmutableSet.of("metric-1", "threads.daemon", "gc"));
+                break;
+            case "regex":
+                factory.setUseRegexFilters(true);
+                factory.setIncludes(ImmutableSet.of("jvm\\..*", ".*jetty.*", ".*\\.db\\..*", ".*requests",
+                    ".*responses", ".*\\.p99"));
+                factory.setExcludes(ImmutableSet.of(".*metric-1.*", ".*threads\\.daemon.*", ".*gc.*"));
+                break;
+            default:
+                factory.setIncludes(ImmutableSet.of(names[0], names[10], names[100], names[1_000], names[10_000]));
+                factory.setExcludes(ImmutableSet.of(names[1], names[11], names[101]));
+                break;
+        }
+
+        filter = factory.getFilter();
+    }
+
+    @Benchmark
+    public int filterAll() {
+        int matched = 0;
+        for (String name : names) {
+            if (filter.matches(name, metric)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(MetricFilterBenchmark.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .measurementIterations(5)
+                .build())
+                .run();
+    }
+}
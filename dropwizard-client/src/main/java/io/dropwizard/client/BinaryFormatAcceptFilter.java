@@ -0,0 +1,76 @@
+package io.dropwizard.client;
+
+import com.google.common.base.Splitter;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.Provider;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Negotiates a binary Jackson format for requests which accept JSON, by preferring the binary format's media type
+ * and keeping JSON, with a lower quality, for servers which don't produce the binary format.
+ * <p/>
+ * E.g. {@code Accept: application/json} becomes
+ * {@code Accept: application/x-jackson-smile, application/json;q=0.9}.
+ */
+@Provider
+public class BinaryFormatAcceptFilter implements ClientRequestFilter {
+    private static final Splitter SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
+    private static final String JSON_FALLBACK_QUALITY = "0.9";
+
+    private final MediaType mediaType;
+
+    public BinaryFormatAcceptFilter(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) {
+        final List<String> values = requestContext.getStringHeaders().get(HttpHeaders.ACCEPT);
+        if (values == null) {
+            return;
+        }
+
+        final List<Object> accepted = new ArrayList<>();
+        boolean acceptsJson = false;
+        for (String value : values) {
+            for (String type : SPLITTER.split(value)) {
+                final MediaType acceptedType;
+                try {
+                    acceptedType = MediaType.valueOf(type);
+                } catch (IllegalArgumentException e) {
+                    // left for the server to make sense of
+                    accepted.add(type);
+                    continue;
+                }
+                if (isBinaryFormat(acceptedType)) {
+                    // the request already negotiates the binary format itself
+                    return;
+                }
+                if (MediaType.APPLICATION_JSON_TYPE.isCompatible(acceptedType) && !acceptedType.isWildcardType() &&
+                    !acceptedType.isWildcardSubtype()) {
+                    acceptsJson = true;
+                    if (!acceptedType.getParameters().containsKey("q")) {
+                        accepted.add(type + ";q=" + JSON_FALLBACK_QUALITY);
+                        continue;
+                    }
+                }
+                accepted.add(type);
+            }
+        }
+
+        if (acceptsJson) {
+            accepted.add(0, mediaType.toString());
+            requestContext.getHeaders().put(HttpHeaders.ACCEPT, accepted);
+        }
+    }
+
+    private boolean isBinaryFormat(MediaType type) {
+        return mediaType.getType().equalsIgnoreCase(type.getType()) &&
+            mediaType.getSubtype().equalsIgnoreCase(type.getSubtype());
+    }
+}
@@ -409,6 +409,10 @@ public class JerseyClientBuilder {
         }
 
         config.register(new JacksonBinder(objectMapper));
+        configuration.getBinaryFormat().ifPresent(format -> {
+            config.register(format.createProvider(objectMapper));
+            config.register(new BinaryFormatAcceptFilter(format.getMediaType()));
+        });
         config.register(new HibernateValidationFeature(validator));
 
         for (Map.Entry<String, Object> property : this.properties.entrySet()) {
@@ -2,10 +2,13 @@ package io.dropwizard.client;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import io.dropwizard.jersey.jackson.BinaryJacksonFormat;
 import io.dropwizard.validation.ValidationMethod;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.Optional;
 
 /**
  * The configuration class used by {@link JerseyClientBuilder}. Extends
@@ -33,6 +36,9 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
 
     private boolean chunkedEncodingEnabled = true;
 
+    @NotNull
+    private Optional<BinaryJacksonFormat> binaryFormat = Optional.empty();
+
     @JsonProperty
     public int getMinThreads() {
         return minThreads;
@@ -83,6 +89,16 @@ public class JerseyClientConfiguration extends HttpClientConfiguration {
         this.chunkedEncodingEnabled = chunkedEncodingEnabled;
     }
 
+    @JsonProperty
+    public Optional<BinaryJacksonFormat> getBinaryFormat() {
+        return binaryFormat;
+    }
+
+    @JsonProperty
+    public void setBinaryFormat(Optional<BinaryJacksonFormat> binaryFormat) {
+        this.binaryFormat = binaryFormat;
+    }
+
     @JsonProperty
     public int getWorkQueueSize() {
         return workQueueSize;
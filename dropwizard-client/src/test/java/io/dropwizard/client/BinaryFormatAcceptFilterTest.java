@@ -0,0 +1,81 @@
+package io.dropwizard.client;
+
+import io.dropwizard.jersey.jackson.BinaryJacksonFormat;
+import org.junit.Test;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BinaryFormatAcceptFilterTest {
+    private final BinaryFormatAcceptFilter filter =
+        new BinaryFormatAcceptFilter(BinaryJacksonFormat.SMILE.getMediaType());
+    private final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+    private final MultivaluedMap<String, String> stringHeaders = new MultivaluedHashMap<>();
+    private final ClientRequestContext request = mock(ClientRequestContext.class);
+
+    private void accept(String... values) {
+        headers.put(HttpHeaders.ACCEPT, Arrays.asList((Object[]) values));
+        stringHeaders.put(HttpHeaders.ACCEPT, Arrays.asList(values));
+        when(request.getHeaders()).thenReturn(headers);
+        when(request.getStringHeaders()).thenReturn(stringHeaders);
+    }
+
+    @Test
+    public void prefersTheBinaryFormatOverJson() {
+        accept("application/json");
+        filter.filter(request);
+
+        assertThat(headers.get(HttpHeaders.ACCEPT))
+            .containsExactly("application/x-jackson-smile", "application/json;q=0.9");
+    }
+
+    @Test
+    public void keepsTheQualityOfJsonAndOtherTypes() {
+        accept("application/json;q=0.5, text/plain");
+        filter.filter(request);
+
+        assertThat(headers.get(HttpHeaders.ACCEPT))
+            .containsExactly("application/x-jackson-smile", "application/json;q=0.5", "text/plain");
+    }
+
+    @Test
+    public void leavesRequestsWhichDontAcceptJson() {
+        accept("text/plain", "*/*");
+        filter.filter(request);
+
+        assertThat(headers.get(HttpHeaders.ACCEPT)).containsExactly("text/plain", "*/*");
+    }
+
+    @Test
+    public void leavesRequestsWhichAlreadyAcceptTheBinaryFormat() {
+        accept("application/cbor", "application/x-jackson-smile;q=0.2", "application/json");
+        filter.filter(request);
+
+        assertThat(headers.get(HttpHeaders.ACCEPT))
+            .containsExactly("application/cbor", "application/x-jackson-smile;q=0.2", "application/json");
+    }
+
+    @Test
+    public void skipsMalformedTypes() {
+        accept("application/json, json");
+        filter.filter(request);
+
+        assertThat(headers.get(HttpHeaders.ACCEPT))
+            .containsExactly("application/x-jackson-smile", "application/json;q=0.9", "json");
+    }
+
+    @Test
+    public void leavesRequestsWithoutAccept() {
+        when(request.getStringHeaders()).thenReturn(stringHeaders);
+        filter.filter(request);
+
+        assertThat(headers).isEmpty();
+    }
+}
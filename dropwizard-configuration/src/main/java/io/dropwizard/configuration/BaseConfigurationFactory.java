@@ -7,7 +7,6 @@ import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -26,8 +25,6 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.fasterxml.jackson.databind.node.TreeTraversingParser;
-import com.google.common.base.Joiner;
-import com.google.common.base.Splitter;
 
 /**
  * A generic factory class for loading configuration files, binding them to configuration objects, and
@@ -37,11 +34,6 @@ import com.google.common.base.Splitter;
  */
 public abstract class BaseConfigurationFactory<T> implements ConfigurationFactory<T> {
 
-    private static final Pattern ESCAPED_COMMA_PATTERN = Pattern.compile("\\\\,");
-    private static final Splitter ESCAPED_COMMA_SPLITTER = Splitter.on(Pattern.compile("(?<!\\\\),")).trimResults();
-    private static final Pattern ESCAPED_DOT_PATTERN = Pattern.compile("\\\\\\.");
-    private static final Splitter ESCAPED_DOT_SPLITTER = Splitter.on(Pattern.compile("(?<!\\\\)\\.")).trimResults();
-
     private final Class<T> klass;
     private final String propertyPrefix;
     protected final ObjectMapper mapper;
@@ -77,6 +69,29 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
 
     @Override
     public T build(ConfigurationSourceProvider provider, String path) throws IOException, ConfigurationException {
+        return build(readTree(provider, path), path);
+    }
+
+    /**
+     * Loads and parses a configuration, and applies the overrides from system properties, without binding it to a
+     * configuration object. Unlike the tree of a configuration object, the parsed tree holds the fields as they're
+     * written, whether or not they're serialized.
+     *
+     * @param provider the provider to use for reading configuration files
+     * @param path     the path of the configuration file
+     * @return the parsed configuration
+     * @throws IOException            if there is an error reading the file
+     * @throws ConfigurationException if there is an error parsing the file
+     */
+    public JsonNode parse(ConfigurationSourceProvider provider, String path)
+        throws IOException, ConfigurationException {
+        final JsonNode node = readTree(provider, path);
+        applyOverrides(node);
+        return node;
+    }
+
+    private JsonNode readTree(ConfigurationSourceProvider provider, String path)
+        throws IOException, ConfigurationException {
         try (InputStream input = provider.open(requireNonNull(path))) {
             final JsonNode node = mapper.readTree(createParser(input));
 
@@ -86,7 +101,7 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
                     .build(path);
             }
 
-            return build(node, path);
+            return node;
         } catch (JsonParseException e) {
             throw ConfigurationParsingException
                 .builder("Malformed " + formatName)
@@ -113,13 +128,7 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
     }
 
     protected T build(JsonNode node, String path) throws IOException, ConfigurationException {
-        for (Map.Entry<Object, Object> pref : System.getProperties().entrySet()) {
-            final String prefName = (String) pref.getKey();
-            if (prefName.startsWith(propertyPrefix)) {
-                final String configName = prefName.substring(propertyPrefix.length());
-                addOverride(node, configName, System.getProperty(prefName));
-            }
-        }
+        applyOverrides(node);
 
         try {
             final T config = mapper.readValue(new TreeTraversingParser(node), klass);
@@ -155,20 +164,29 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
         }
     }
 
+    private void applyOverrides(JsonNode node) {
+        for (Map.Entry<Object, Object> pref : System.getProperties().entrySet()) {
+            final Object prefName = pref.getKey();
+            if (prefName instanceof String && ((String) prefName).startsWith(propertyPrefix)
+                && pref.getValue() instanceof String) {
+                final String configName = ((String) prefName).substring(propertyPrefix.length());
+                addOverride(node, configName, (String) pref.getValue());
+            }
+        }
+    }
+
     protected void addOverride(JsonNode root, String name, String value) {
         JsonNode node = root;
-        final List<String> parts = ESCAPED_DOT_SPLITTER.splitToList(name).stream()
-            .map(key -> ESCAPED_DOT_PATTERN.matcher(key).replaceAll("."))
-            .collect(Collectors.toList());
-        for (int i = 0; i < parts.size(); i++) {
-            final String key = parts.get(i);
+        final OverridePath path = OverridePath.of(name);
+        for (int i = 0; i < path.size(); i++) {
+            final String key = path.key(i);
 
             if (!(node instanceof ObjectNode)) {
                 throw new IllegalArgumentException("Unable to override " + name + "; it's not a valid path.");
             }
             final ObjectNode obj = (ObjectNode) node;
 
-            final String remainingPath = Joiner.on('.').join(parts.subList(i, parts.size()));
+            final String remainingPath = path.remainingPath(i);
             if (obj.has(remainingPath) && !remainingPath.equals(key)) {
                 if (obj.get(remainingPath).isValueNode()) {
                     obj.put(remainingPath, value);
@@ -177,12 +195,11 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
             }
 
             JsonNode child;
-            final boolean moreParts = i < parts.size() - 1;
+            final boolean moreParts = i < path.size() - 1;
 
-            if (key.matches(".+\\[\\d+\\]$")) {
-                final int s = key.indexOf('[');
-                final int index = Integer.parseInt(key.substring(s + 1, key.length() - 1));
-                child = obj.get(key.substring(0, s));
+            if (path.index(i) >= 0) {
+                final int index = path.index(i);
+                child = obj.get(path.name(i));
                 if (child == null) {
                     throw new IllegalArgumentException("Unable to override " + name +
                         "; node with index not found.");
@@ -219,8 +236,8 @@ public abstract class BaseConfigurationFactory<T> implements ConfigurationFactor
                 if (node.get(key) != null && node.get(key).isArray()) {
                     final ArrayNode arrayNode = (ArrayNode) obj.get(key);
                     arrayNode.removeAll();
-                    for (String val : ESCAPED_COMMA_SPLITTER.split(value)) {
-                        arrayNode.add(ESCAPED_COMMA_PATTERN.matcher(val).replaceAll(","));
+                    for (String val : OverridePath.splitValues(value)) {
+                        arrayNode.add(val);
                     }
                 } else {
                     obj.put(key, value);
@@ -0,0 +1,275 @@
+package io.dropwizard.configuration;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An implementation of {@link ConfigurationSourceProvider} that reads the configuration from a {@link URL}, and
+ * keeps a copy of it in a local cache directory so that starting the application does not wait for, nor depend
+ * on, the remote source.
+ * <p/>
+ * Once a source is cached, it is read from the cache and refreshed in the background with a conditional request,
+ * using the {@code ETag} and {@code Last-Modified} headers of the cached response. If the refreshed source differs
+ * from the cached one, the cache is updated and the listeners are notified, so that the next read returns the new
+ * source. A source which is not cached yet is fetched right away, with the configured timeouts.
+ * <p/>
+ * Sources are only refreshed when they are read, and no more often than the refresh interval, so that reading a
+ * source again once the listeners are notified returns the refreshed copy without fetching it again.
+ */
+public class CachingUrlConfigurationSourceProvider implements ConfigurationSourceProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingUrlConfigurationSourceProvider.class);
+    private static final String ETAG = "etag";
+    private static final String LAST_MODIFIED = "lastModified";
+
+    private final Path cacheDirectory;
+    private final Executor executor;
+    private final List<ConfigurationChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> fetched = new ConcurrentHashMap<>();
+    private Duration connectTimeout = Duration.seconds(2);
+    private Duration readTimeout = Duration.seconds(5);
+    private Duration refreshInterval = Duration.seconds(30);
+
+    /**
+     * Create a new instance which refreshes cached sources on a daemon thread.
+     *
+     * @param cacheDirectory the directory in which the sources are cached, created if needed
+     */
+    public CachingUrlConfigurationSourceProvider(Path cacheDirectory) {
+        this(cacheDirectory, Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+            .setNameFormat("configuration-refresh-%d")
+            .setDaemon(true)
+            .build()));
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param cacheDirectory the directory in which the sources are cached, created if needed
+     * @param executor       the executor refreshing cached sources
+     */
+    public CachingUrlConfigurationSourceProvider(Path cacheDirectory, Executor executor) {
+        this.cacheDirectory = requireNonNull(cacheDirectory);
+        this.executor = requireNonNull(executor);
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = requireNonNull(connectTimeout);
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = requireNonNull(readTimeout);
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    /**
+     * Sets the minimum time between two fetches of a source, {@code 0} to refresh it whenever it is read.
+     */
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = requireNonNull(refreshInterval);
+    }
+
+    @Override
+    public InputStream open(String path) throws IOException {
+        final CachedSource cached = readCache(path);
+        if (cached == null) {
+            final CachedSource fetched = fetch(path, null);
+            if (fetched == null) {
+                throw new IOException("Unable to fetch the configuration at " + path + ": not modified");
+            }
+            return new ByteArrayInputStream(fetched.body);
+        }
+
+        if (isStale(path) && refreshing.add(path)) {
+            executor.execute(() -> {
+                try {
+                    refresh(path);
+                } catch (IOException e) {
+                    LOGGER.warn("Unable to refresh the configuration at {}, using the cached copy", path, e);
+                } finally {
+                    refreshing.remove(path);
+                }
+            });
+        }
+        return new ByteArrayInputStream(cached.body);
+    }
+
+    private boolean isStale(String path) {
+        final Long last = fetched.get(path);
+        return last == null || System.nanoTime() - last >= refreshInterval.toNanoseconds();
+    }
+
+    @Override
+    public void addChangeListener(ConfigurationChangeListener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    /**
+     * Fetches the source at {@code path} if it changed since it was cached, and notifies the listeners if it did.
+     *
+     * @param path the URL of the source
+     * @return whether the source changed
+     * @throws IOException if the source cannot be fetched
+     */
+    public boolean refresh(String path) throws IOException {
+        final CachedSource cached = readCache(path);
+        final CachedSource fetched = fetch(path, cached);
+        if (fetched == null || (cached != null && Arrays.equals(cached.body, fetched.body))) {
+            return false;
+        }
+
+        LOGGER.info("The configuration at {} changed", path);
+        for (ConfigurationChangeListener listener : listeners) {
+            listener.configurationChanged(path);
+        }
+        return true;
+    }
+
+    /**
+     * Fetches the source at {@code path}, conditionally if it is cached, and caches the response.
+     *
+     * @return the fetched source, or {@code null} if it was not modified
+     */
+    @Nullable
+    private CachedSource fetch(String path, @Nullable CachedSource cached) throws IOException {
+        fetched.put(path, System.nanoTime());
+        final URLConnection connection = new URL(path).openConnection();
+        connection.setConnectTimeout((int) connectTimeout.toMilliseconds());
+        connection.setReadTimeout((int) readTimeout.toMilliseconds());
+        connection.setUseCaches(false);
+        if (cached != null && cached.etag != null) {
+            connection.setRequestProperty("If-None-Match", cached.etag);
+        }
+        if (cached != null && cached.lastModified != null) {
+            connection.setRequestProperty("If-Modified-Since", cached.lastModified);
+        }
+
+        if (connection instanceof HttpURLConnection) {
+            final HttpURLConnection http = (HttpURLConnection) connection;
+            final int status = http.getResponseCode();
+            if (status != HttpURLConnection.HTTP_OK) {
+                http.disconnect();
+                if (status == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    return null;
+                }
+                throw new IOException("Unable to fetch the configuration at " + path + ": HTTP " + status);
+            }
+        }
+
+        final byte[] body;
+        try (InputStream input = connection.getInputStream()) {
+            body = ByteStreams.toByteArray(input);
+        }
+        final CachedSource fetched = new CachedSource(body, connection.getHeaderField("ETag"),
+            connection.getHeaderField("Last-Modified"));
+        try {
+            writeCache(path, fetched);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to cache the configuration at {} in {}", path, cacheDirectory, e);
+        }
+        return fetched;
+    }
+
+    @Nullable
+    private synchronized CachedSource readCache(String path) throws IOException {
+        final String name = cacheName(path);
+        final byte[] body;
+        try {
+            body = Files.readAllBytes(cacheDirectory.resolve(name + ".body"));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+
+        final Properties metadata = new Properties();
+        try (InputStream input = Files.newInputStream(cacheDirectory.resolve(name + ".properties"))) {
+            metadata.load(input);
+        } catch (NoSuchFileException ignored) {
+            // cached without conditional headers
+        }
+        return new CachedSource(body, metadata.getProperty(ETAG), metadata.getProperty(LAST_MODIFIED));
+    }
+
+    private synchronized void writeCache(String path, CachedSource source) throws IOException {
+        Files.createDirectories(cacheDirectory);
+        final String name = cacheName(path);
+
+        final Properties metadata = new Properties();
+        if (source.etag != null) {
+            metadata.setProperty(ETAG, source.etag);
+        }
+        if (source.lastModified != null) {
+            metadata.setProperty(LAST_MODIFIED, source.lastModified);
+        }
+        final Path bodyFile = Files.createTempFile(cacheDirectory, name, ".tmp");
+        Files.write(bodyFile, source.body);
+        final Path metadataFile = Files.createTempFile(cacheDirectory, name, ".tmp");
+        try (OutputStream output = Files.newOutputStream(metadataFile)) {
+            metadata.store(output, path);
+        }
+
+        // the body is replaced first: if the metadata is not, the stale validators only cost a full fetch, while
+        // new validators with a stale body would have the stale body revalidated
+        Files.move(bodyFile, cacheDirectory.resolve(name + ".body"), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+        Files.move(metadataFile, cacheDirectory.resolve(name + ".properties"), StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String cacheName(String path) {
+        return Hashing.sha256().hashString(path, UTF_8).toString();
+    }
+
+    private static class CachedSource {
+        private final byte[] body;
+        @Nullable
+        private final String etag;
+        @Nullable
+        private final String lastModified;
+
+        private CachedSource(byte[] body, @Nullable String etag, @Nullable String lastModified) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+    }
+}
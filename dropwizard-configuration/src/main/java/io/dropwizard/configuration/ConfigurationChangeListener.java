@@ -0,0 +1,17 @@
+package io.dropwizard.configuration;
+
+/**
+ * A listener notified by a {@link ConfigurationSourceProvider} when a source of the configuration changed.
+ *
+ * @see ConfigurationSourceProvider#addChangeListener(ConfigurationChangeListener)
+ */
+@FunctionalInterface
+public interface ConfigurationChangeListener {
+    /**
+     * Called when the source at {@code path} changed. Listeners are called from the thread which detected the
+     * change, and should not block it.
+     *
+     * @param path the path of the source which changed
+     */
+    void configurationChanged(String path);
+}
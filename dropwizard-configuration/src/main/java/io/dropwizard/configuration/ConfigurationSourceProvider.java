@@ -18,4 +18,12 @@ public interface ConfigurationSourceProvider {
      */
     InputStream open(String path) throws IOException;
 
+    /**
+     * Registers a listener to notify when a source of the configuration changes. Providers which cannot detect
+     * changes, such as those reading local files, ignore the listener.
+     *
+     * @param listener the listener to notify
+     */
+    default void addChangeListener(ConfigurationChangeListener listener) {
+    }
 }
@@ -0,0 +1,180 @@
+package io.dropwizard.configuration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ConfigurationSourceProvider} which merges several layers of configuration: the source at the path being
+ * opened, followed by overlays, such as the settings of an environment, and by layers read by other providers, such
+ * as a {@link CachingUrlConfigurationSourceProvider}.
+ * <p/>
+ * Each layer is parsed as YAML, of which JSON is a subset. Objects are merged field by field, recursively, and any
+ * other value of a later layer replaces the earlier one, so arrays are replaced as a whole. The merged configuration
+ * is returned as JSON, which both {@link YamlConfigurationFactory} and {@link JsonConfigurationFactory} read.
+ * <p/>
+ * Changes reported by the providers of the layers are forwarded to the listeners of this provider.
+ */
+public class LayeredConfigurationSourceProvider implements ConfigurationSourceProvider {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LayeredConfigurationSourceProvider.class);
+
+    private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ConfigurationSourceProvider base;
+    private final List<Layer> layers = new CopyOnWriteArrayList<>();
+    private final List<ConfigurationChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final Set<ConfigurationSourceProvider> observed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Create a new instance.
+     *
+     * @param base the provider reading the source at the path being opened, and the overlays
+     */
+    public LayeredConfigurationSourceProvider(ConfigurationSourceProvider base) {
+        this.base = requireNonNull(base);
+        observe(base);
+    }
+
+    /**
+     * Adds an overlay read by the base provider, which must exist.
+     *
+     * @param path the path of the overlay
+     * @return this provider
+     */
+    public LayeredConfigurationSourceProvider overlay(String path) {
+        return layer(base, path, true);
+    }
+
+    /**
+     * Adds an overlay read by the base provider, which is skipped if it cannot be opened.
+     *
+     * @param path the path of the overlay
+     * @return this provider
+     */
+    public LayeredConfigurationSourceProvider optionalOverlay(String path) {
+        return layer(base, path, false);
+    }
+
+    /**
+     * Adds a layer read by the given provider. Layers are merged in the order they are added, after the source at
+     * the path being opened.
+     *
+     * @param provider the provider reading the layer
+     * @param path     the path of the layer
+     * @param required whether the layer must exist, or is skipped if it cannot be opened
+     * @return this provider
+     */
+    public LayeredConfigurationSourceProvider layer(ConfigurationSourceProvider provider, String path,
+                                                    boolean required) {
+        observe(requireNonNull(provider));
+        layers.add(new Layer(provider, requireNonNull(path), required));
+        return this;
+    }
+
+    @Override
+    public InputStream open(String path) throws IOException {
+        JsonNode merged = read(base, path, true);
+        for (Layer layer : layers) {
+            final JsonNode node = read(layer.provider, layer.path, layer.required);
+            if (node != null) {
+                merged = merged == null ? node : merge(merged, node);
+            }
+        }
+        return new ByteArrayInputStream(merged == null ? new byte[0] : jsonMapper.writeValueAsBytes(merged));
+    }
+
+    @Override
+    public void addChangeListener(ConfigurationChangeListener listener) {
+        listeners.add(requireNonNull(listener));
+    }
+
+    private void observe(ConfigurationSourceProvider provider) {
+        synchronized (observed) {
+            if (observed.add(provider)) {
+                provider.addChangeListener(this::changed);
+            }
+        }
+    }
+
+    private void changed(String path) {
+        for (ConfigurationChangeListener listener : listeners) {
+            listener.configurationChanged(path);
+        }
+    }
+
+    /**
+     * Reads and parses a layer.
+     *
+     * @return the root of the layer, or {@code null} if it is empty, or optional and cannot be opened
+     */
+    @Nullable
+    private JsonNode read(ConfigurationSourceProvider provider, String path, boolean required) throws IOException {
+        final InputStream input;
+        try {
+            input = provider.open(path);
+        } catch (IOException e) {
+            if (required) {
+                throw e;
+            }
+            LOGGER.debug("Skipping the optional configuration layer at {}: {}", path, e.toString());
+            return null;
+        }
+
+        try (InputStream in = input) {
+            final JsonNode node = yamlMapper.readTree(in);
+            return node == null || node.isMissingNode() || node.isNull() ? null : node;
+        } catch (JsonProcessingException e) {
+            throw new IOException("Unable to parse the configuration layer at " + path + ": "
+                + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Merges {@code overlay} into {@code node}, which is modified if both are objects.
+     *
+     * @return the merged node
+     */
+    private static JsonNode merge(JsonNode node, JsonNode overlay) {
+        if (!node.isObject() || !overlay.isObject()) {
+            return overlay;
+        }
+        final ObjectNode object = (ObjectNode) node;
+        final Iterator<Map.Entry<String, JsonNode>> fields = overlay.fields();
+        while (fields.hasNext()) {
+            final Map.Entry<String, JsonNode> field = fields.next();
+            final JsonNode existing = object.get(field.getKey());
+            object.set(field.getKey(), existing == null ? field.getValue() : merge(existing, field.getValue()));
+        }
+        return object;
+    }
+
+    private static class Layer {
+        private final ConfigurationSourceProvider provider;
+        private final String path;
+        private final boolean required;
+
+        private Layer(ConfigurationSourceProvider provider, String path, boolean required) {
+            this.provider = provider;
+            this.path = path;
+            this.required = required;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.dropwizard.configuration;
+
+import com.google.common.base.CharMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The path of a configuration override, such as {@code server.applicationConnectors[0].port}, split once into the
+ * keys it walks, with dots escaped by a backslash kept within keys.
+ */
+final class OverridePath {
+    private static final int MAX_CACHED_PATHS = 10_000;
+    private static final ConcurrentMap<String, OverridePath> CACHE = new ConcurrentHashMap<>();
+
+    private final String[] keys;
+    private final String[] names;
+    private final int[] indexes;
+    private final String[] remainingPaths;
+
+    private OverridePath(List<String> keys) {
+        final int size = keys.size();
+        this.keys = keys.toArray(new String[size]);
+        this.names = new String[size];
+        this.indexes = new int[size];
+        this.remainingPaths = new String[size];
+
+        String remainingPath = "";
+        for (int i = size - 1; i >= 0; i--) {
+            final String key = this.keys[i];
+            remainingPath = i == size - 1 ? key : key + '.' + remainingPath;
+            remainingPaths[i] = remainingPath;
+            if (isIndexed(key)) {
+                final int bracket = key.indexOf('[');
+                names[i] = key.substring(0, bracket);
+                indexes[i] = Integer.parseInt(key.substring(bracket + 1, key.length() - 1));
+            } else {
+                names[i] = key;
+                indexes[i] = -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the compiled path of the override with the given name.
+     */
+    static OverridePath of(String name) {
+        final OverridePath cached = CACHE.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        final OverridePath path = new OverridePath(split(name, '.'));
+        if (CACHE.size() >= MAX_CACHED_PATHS) {
+            CACHE.clear();
+        }
+        CACHE.putIfAbsent(name, path);
+        return path;
+    }
+
+    /**
+     * Splits the value of an override of an array on commas which are not escaped by a backslash.
+     */
+    static List<String> splitValues(String value) {
+        return split(value, ',');
+    }
+
+    /**
+     * Splits on separators not preceded by a backslash, trims the parts, and unescapes the escaped separators.
+     */
+    private static List<String> split(String value, char separator) {
+        final List<String> parts = new ArrayList<>();
+        final String escaped = "\\" + separator;
+        final String unescaped = String.valueOf(separator);
+        int start = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || (value.charAt(i) == separator && (i == 0 || value.charAt(i - 1) != '\\'))) {
+                final String part = CharMatcher.whitespace().trimFrom(value.substring(start, i));
+                parts.add(part.contains(escaped) ? part.replace(escaped, unescaped) : part);
+                start = i + 1;
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Returns whether the key selects an element of an array, as in {@code applicationConnectors[0]}.
+     */
+    private static boolean isIndexed(String key) {
+        final int length = key.length();
+        if (length < 4 || key.charAt(length - 1) != ']') {
+            return false;
+        }
+        int i = length - 2;
+        while (i > 0 && key.charAt(i) >= '0' && key.charAt(i) <= '9') {
+            i--;
+        }
+        return i < length - 2 && i > 0 && key.charAt(i) == '[';
+    }
+
+    int size() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the key at position {@code i}, e.g. {@code applicationConnectors[0]}.
+     */
+    String key(int i) {
+        return keys[i];
+    }
+
+    /**
+     * Returns the key at position {@code i} without its index, e.g. {@code applicationConnectors}.
+     */
+    String name(int i) {
+        return names[i];
+    }
+
+    /**
+     * Returns the index selected by the key at position {@code i}, or {@code -1} if it selects no index.
+     */
+    int index(int i) {
+        return indexes[i];
+    }
+
+    /**
+     * Returns the keys from position {@code i} on, joined by dots.
+     */
+    String remainingPath(int i) {
+        return remainingPaths[i];
+    }
+}
@@ -0,0 +1,127 @@
+package io.dropwizard.configuration;
+
+import org.apache.commons.text.StrSubstitutor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link InputStream} which replaces variables in an underlying UTF-8 stream according to the rules of a
+ * {@link StrSubstitutor}, one line at a time, so that large sources are never held in memory as a whole.
+ * <p/>
+ * Variables are replaced as by {@link StrSubstitutor#replace(String)}, provided they do not span several lines.
+ * The underlying stream is closed once it has been read entirely, or when this stream is closed.
+ */
+public class SubstitutingInputStream extends InputStream {
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final Reader reader;
+    private final StrSubstitutor substitutor;
+    private final char[] chars = new char[BUFFER_SIZE];
+    private final StringBuilder line = new StringBuilder();
+    private int charsStart = 0;
+    private int charsEnd = 0;
+    private byte[] bytes = EMPTY;
+    private int bytesStart = 0;
+    private boolean closed = false;
+
+    /**
+     * Create a new instance.
+     *
+     * @param in          the underlying stream, in UTF-8
+     * @param substitutor the substitutor replacing the variables
+     */
+    public SubstitutingInputStream(InputStream in, StrSubstitutor substitutor) {
+        this.reader = new InputStreamReader(requireNonNull(in), UTF_8);
+        this.substitutor = requireNonNull(substitutor);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return bytes[bytesStart++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        final int count = Math.min(len, bytes.length - bytesStart);
+        System.arraycopy(bytes, bytesStart, b, off, count);
+        bytesStart += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return bytes.length - bytesStart;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        bytes = EMPTY;
+        bytesStart = 0;
+        reader.close();
+    }
+
+    /**
+     * Makes sure substituted bytes are available, reading and substituting the next line if needed.
+     *
+     * @return {@code false} at the end of the stream
+     */
+    private boolean fill() throws IOException {
+        while (bytesStart == bytes.length) {
+            if (closed || !readLine()) {
+                return false;
+            }
+            bytes = substitutor.replace(line).getBytes(UTF_8);
+            bytesStart = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next line, including its line terminator, into {@link #line}.
+     *
+     * @return {@code false} at the end of the underlying stream, which is then closed
+     */
+    private boolean readLine() throws IOException {
+        line.setLength(0);
+        while (true) {
+            if (charsStart == charsEnd) {
+                final int read = reader.read(chars);
+                if (read < 0) {
+                    close();
+                    return line.length() > 0;
+                }
+                charsStart = 0;
+                charsEnd = read;
+            }
+
+            int end = charsStart;
+            while (end < charsEnd && chars[end] != '\n') {
+                end++;
+            }
+            if (end < charsEnd) {
+                line.append(chars, charsStart, end + 1 - charsStart);
+                charsStart = end + 1;
+                return true;
+            }
+            line.append(chars, charsStart, charsEnd - charsStart);
+            charsStart = charsEnd;
+        }
+    }
+}
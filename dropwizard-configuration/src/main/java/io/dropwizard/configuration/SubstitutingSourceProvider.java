@@ -1,12 +1,9 @@
 package io.dropwizard.configuration;
 
-import com.google.common.io.ByteStreams;
 import org.apache.commons.text.StrSubstitutor;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 
 import static java.util.Objects.requireNonNull;
 
@@ -31,14 +28,16 @@ public class SubstitutingSourceProvider implements ConfigurationSourceProvider {
 
     /**
      * {@inheritDoc}
+     * <p/>
+     * The variables are replaced while the returned stream is read, see {@link SubstitutingInputStream}.
      */
     @Override
     public InputStream open(String path) throws IOException {
-        try (final InputStream in = delegate.open(path)) {
-            final String config = new String(ByteStreams.toByteArray(in), StandardCharsets.UTF_8);
-            final String substituted = substitutor.replace(config);
+        return new SubstitutingInputStream(delegate.open(path), substitutor);
+    }
 
-            return new ByteArrayInputStream(substituted.getBytes(StandardCharsets.UTF_8));
-        }
+    @Override
+    public void addChangeListener(ConfigurationChangeListener listener) {
+        delegate.addChangeListener(listener);
     }
 }
@@ -0,0 +1,144 @@
+package io.dropwizard.configuration;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.sun.net.httpserver.HttpServer;
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CachingUrlConfigurationSourceProviderTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<String> ifNoneMatch = new CopyOnWriteArrayList<>();
+    private final List<String> changes = new ArrayList<>();
+
+    private HttpServer httpServer;
+    private String url;
+    private volatile String body = "name: first";
+    private volatile String etag = "\"1\"";
+
+    @Before
+    public void setUp() throws Exception {
+        httpServer = HttpServer.create(new InetSocketAddress(0), 0);
+        httpServer.createContext("/config.yml", httpExchange -> {
+            final String requestEtag = httpExchange.getRequestHeaders().getFirst("If-None-Match");
+            ifNoneMatch.add(requestEtag);
+            if (etag.equals(requestEtag)) {
+                httpExchange.sendResponseHeaders(304, -1);
+            } else {
+                final byte[] bytes = body.getBytes(UTF_8);
+                httpExchange.getResponseHeaders().add("ETag", etag);
+                httpExchange.sendResponseHeaders(200, bytes.length);
+                try (OutputStream output = httpExchange.getResponseBody()) {
+                    output.write(bytes);
+                }
+            }
+            httpExchange.close();
+        });
+        httpServer.start();
+        url = "http://localhost:" + httpServer.getAddress().getPort() + "/config.yml";
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        httpServer.stop(0);
+    }
+
+    @Test
+    public void fetchesAndCachesTheSource() throws Exception {
+        assertThat(read(newProvider())).isEqualTo("name: first");
+        assertThat(ifNoneMatch).containsExactly((String) null);
+        assertThat(folder.getRoot().list()).hasSize(2);
+    }
+
+    @Test
+    public void readsTheCacheAndRevalidatesIt() throws Exception {
+        read(newProvider());
+
+        assertThat(read(newProvider())).isEqualTo("name: first");
+        assertThat(ifNoneMatch).containsExactly(null, "\"1\"");
+        assertThat(changes).isEmpty();
+    }
+
+    @Test
+    public void notifiesListenersWhenTheSourceChanged() throws Exception {
+        final CachingUrlConfigurationSourceProvider provider = newProvider();
+        read(provider);
+        body = "name: second";
+        etag = "\"2\"";
+
+        assertThat(read(provider)).isEqualTo("name: first");
+        assertThat(changes).containsExactly(url);
+        assertThat(read(provider)).isEqualTo("name: second");
+        assertThat(provider.refresh(url)).isFalse();
+        assertThat(changes).containsExactly(url);
+    }
+
+    @Test
+    public void readsTheRefreshedCacheWithoutFetchingItAgain() throws Exception {
+        final CachingUrlConfigurationSourceProvider provider =
+            new CachingUrlConfigurationSourceProvider(folder.getRoot().toPath(), MoreExecutors.directExecutor());
+        final List<String> reads = new ArrayList<>();
+        provider.addChangeListener(path -> {
+            try {
+                reads.add(read(provider));
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        read(provider);
+        body = "name: second";
+        etag = "\"2\"";
+
+        assertThat(read(provider)).isEqualTo("name: first");
+        assertThat(provider.refresh(url)).isTrue();
+        assertThat(reads).containsExactly("name: second");
+        assertThat(ifNoneMatch).containsExactly(null, "\"1\"");
+    }
+
+    @Test
+    public void readsTheCacheWhenTheRemoteIsDown() throws Exception {
+        read(newProvider());
+        httpServer.stop(0);
+
+        assertThat(read(newProvider())).isEqualTo("name: first");
+    }
+
+    @Test
+    public void failsWithoutCacheWhenTheRemoteIsDown() throws Exception {
+        httpServer.stop(0);
+
+        assertThatThrownBy(() -> read(newProvider())).isInstanceOf(IOException.class);
+    }
+
+    private CachingUrlConfigurationSourceProvider newProvider() {
+        final CachingUrlConfigurationSourceProvider provider =
+            new CachingUrlConfigurationSourceProvider(folder.getRoot().toPath(), MoreExecutors.directExecutor());
+        provider.setRefreshInterval(Duration.seconds(0));
+        provider.addChangeListener(changes::add);
+        return provider;
+    }
+
+    private String read(ConfigurationSourceProvider provider) throws IOException {
+        try (InputStream input = provider.open(url)) {
+            return new String(ByteStreams.toByteArray(input), UTF_8);
+        }
+    }
+}
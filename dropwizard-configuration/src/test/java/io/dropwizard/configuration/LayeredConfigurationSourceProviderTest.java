@@ -0,0 +1,96 @@
+package io.dropwizard.configuration;
+
+import com.google.common.io.ByteStreams;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LayeredConfigurationSourceProviderTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final LayeredConfigurationSourceProvider provider =
+        new LayeredConfigurationSourceProvider(new FileConfigurationSourceProvider());
+
+    @Test
+    public void mergesOverlaysIntoTheBase() throws Exception {
+        final String base = write("base.yml",
+                                  "name: base",
+                                  "server:",
+                                  "  maxThreads: 1024",
+                                  "  minThreads: 8",
+                                  "hosts: [a, b]");
+        provider.overlay(write("prod.yml",
+                               "server:",
+                               "  maxThreads: 256",
+                               "hosts: [c]"))
+                .optionalOverlay(new File(folder.getRoot(), "missing.yml").toString());
+
+        assertThat(read(base))
+            .isEqualTo("{\"name\":\"base\",\"server\":{\"maxThreads\":256,\"minThreads\":8},\"hosts\":[\"c\"]}");
+    }
+
+    @Test
+    public void failsIfARequiredOverlayIsMissing() throws Exception {
+        final String base = write("base.yml", "name: base");
+        provider.overlay(new File(folder.getRoot(), "missing.yml").toString());
+
+        assertThatThrownBy(() -> read(base)).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void readsLayersWithTheirProviders() throws Exception {
+        final String base = write("base.yml", "name: base");
+        provider.layer(path -> new ByteArrayInputStream("{\"name\": \"remote\"}".getBytes(UTF_8)), "remote", true);
+
+        assertThat(read(base)).isEqualTo("{\"name\":\"remote\"}");
+    }
+
+    @Test
+    public void forwardsChangesOfItsLayers() throws Exception {
+        final List<ConfigurationChangeListener> layerListeners = new ArrayList<>();
+        final List<String> changes = new ArrayList<>();
+        final ConfigurationSourceProvider remote = new ConfigurationSourceProvider() {
+            @Override
+            public InputStream open(String path) {
+                return new ByteArrayInputStream(new byte[0]);
+            }
+
+            @Override
+            public void addChangeListener(ConfigurationChangeListener listener) {
+                layerListeners.add(listener);
+            }
+        };
+        provider.layer(remote, "first", true)
+                .layer(remote, "second", false)
+                .addChangeListener(changes::add);
+
+        assertThat(layerListeners).hasSize(1);
+        layerListeners.get(0).configurationChanged("first");
+        assertThat(changes).containsExactly("first");
+    }
+
+    private String write(String name, String... lines) throws IOException {
+        final File file = folder.newFile(name);
+        Files.write(file.toPath(), String.join("\n", lines).getBytes(UTF_8));
+        return file.toString();
+    }
+
+    private String read(String path) throws IOException {
+        try (InputStream input = provider.open(path)) {
+            return new String(ByteStreams.toByteArray(input), UTF_8);
+        }
+    }
+}
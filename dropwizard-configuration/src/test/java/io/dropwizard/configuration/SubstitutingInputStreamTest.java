@@ -0,0 +1,59 @@
+package io.dropwizard.configuration;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.ByteStreams;
+import org.apache.commons.text.StrSubstitutor;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SubstitutingInputStreamTest {
+    private final StrSubstitutor substitutor =
+        new StrSubstitutor(ImmutableMap.of("name", "Gr\u00fc\u00dfe", "empty", ""));
+
+    @Test
+    public void substitutesEachLine() throws Exception {
+        assertThat(substitute("first: ${name}\r\nsecond: ${missing:-default}\n\nthird: $${name}"))
+            .isEqualTo("first: Gr\u00fc\u00dfe\r\nsecond: default\n\nthird: ${name}");
+    }
+
+    @Test
+    public void substitutesLinesLongerThanTheBuffer() throws Exception {
+        final String padding = Strings.repeat("\u00e4", 10_000);
+        assertThat(substitute(padding + "${name}" + padding + '\n' + padding))
+            .isEqualTo(padding + "Gr\u00fc\u00dfe" + padding + '\n' + padding);
+    }
+
+    @Test
+    public void skipsLinesSubstitutedWithNothing() throws Exception {
+        assertThat(substitute("${empty}")).isEmpty();
+        assertThat(substitute("${empty}\nlast"))
+            .isEqualTo("\nlast");
+    }
+
+    @Test
+    public void readsSingleBytes() throws Exception {
+        try (InputStream in = stream("${name}")) {
+            final byte[] expected = "Gr\u00fc\u00dfe".getBytes(UTF_8);
+            for (byte b : expected) {
+                assertThat(in.read()).isEqualTo(b & 0xff);
+            }
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    private String substitute(String source) throws Exception {
+        try (InputStream in = stream(source)) {
+            return new String(ByteStreams.toByteArray(in), UTF_8);
+        }
+    }
+
+    private InputStream stream(String source) {
+        return new SubstitutingInputStream(new ByteArrayInputStream(source.getBytes(UTF_8)), substitutor);
+    }
+}
@@ -1,9 +1,14 @@
 package io.dropwizard.cli;
 
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.Application;
 import io.dropwizard.Configuration;
+import io.dropwizard.metrics.PrometheusFactory;
 import io.dropwizard.setup.Bootstrap;
 import io.dropwizard.setup.Environment;
+import io.dropwizard.setup.PrometheusServlet;
+import io.dropwizard.setup.StartupTimeline;
+import io.dropwizard.setup.StartupTimelineServlet;
 import net.sourceforge.argparse4j.inf.Namespace;
 
 /**
@@ -29,18 +34,37 @@ public abstract class EnvironmentCommand<T extends Configuration> extends Config
 
     @Override
     protected void run(Bootstrap<T> bootstrap, Namespace namespace, T configuration) throws Exception {
-        final Environment environment = new Environment(bootstrap.getApplication().getName(),
-                                                        bootstrap.getObjectMapper(),
-                                                        bootstrap.getValidatorFactory().getValidator(),
-                                                        bootstrap.getMetricRegistry(),
-                                                        bootstrap.getClassLoader(),
-                                                        bootstrap.getHealthCheckRegistry());
-        configuration.getMetricsFactory().configure(environment.lifecycle(),
-                                                    bootstrap.getMetricRegistry());
-        configuration.getServerFactory().configure(environment);
+        final StartupTimeline timeline = bootstrap.getStartupTimeline();
+        final Environment environment;
+        try (StartupTimeline.Timing ignored = timeline.start("environment")) {
+            environment = new Environment(bootstrap.getApplication().getName(),
+                                          bootstrap.getObjectMapper(),
+                                          bootstrap.getValidatorFactory().getValidator(),
+                                          bootstrap.getMetricRegistry(),
+                                          bootstrap.getClassLoader(),
+                                          bootstrap.getHealthCheckRegistry());
+            configuration.getMetricsFactory().configure(environment.lifecycle(),
+                                                        bootstrap.getMetricRegistry());
+            final PrometheusFactory prometheus = configuration.getMetricsFactory().getPrometheus();
+            if (prometheus.isEnabled()) {
+                final MetricRegistry metrics = bootstrap.getMetricRegistry();
+                environment.admin()
+                           .addServlet("prometheus", new PrometheusServlet(prometheus.build(metrics), metrics))
+                           .addMapping(prometheus.getPath());
+            }
+            environment.admin()
+                       .addServlet("startup", new StartupTimelineServlet(timeline, bootstrap.getObjectMapper()))
+                       .addMapping("/startup");
+            environment.jersey().register(timeline.jerseyListener());
+            environment.lifecycle().addLifeCycleListener(
+                timeline.serverListener(environment.lifecycle().getManagedObjects(), bootstrap.getMetricRegistry()));
+            configuration.getServerFactory().configure(environment);
+        }
 
         bootstrap.run(configuration, environment);
-        application.run(configuration, environment);
+        try (StartupTimeline.Timing ignored = timeline.start("run")) {
+            application.run(configuration, environment);
+        }
         run(environment, namespace, configuration);
     }
 
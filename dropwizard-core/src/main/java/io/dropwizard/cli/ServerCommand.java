@@ -3,13 +3,19 @@ package io.dropwizard.cli;
 import io.dropwizard.Application;
 import io.dropwizard.Configuration;
 import io.dropwizard.setup.Environment;
+import net.sourceforge.argparse4j.impl.Arguments;
 import net.sourceforge.argparse4j.inf.Namespace;
+import net.sourceforge.argparse4j.inf.Subparser;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.component.AbstractLifeCycle;
 import org.eclipse.jetty.util.component.LifeCycle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Runs a application as an HTTP server.
  *
@@ -44,6 +50,23 @@ public class ServerCommand<T extends Configuration> extends EnvironmentCommand<T
         return configurationClass;
     }
 
+    @Override
+    public void configure(Subparser subparser) {
+        super.configure(subparser);
+
+        subparser.addArgument("--training-run")
+                 .dest("trainingRun")
+                 .metavar("DIRECTORY")
+                 .help("start the server, send the warm-up requests, write what later runs need to start faster " +
+                       "to the given directory, and stop");
+
+        subparser.addArgument("--warm-up-request")
+                 .action(Arguments.append())
+                 .dest("warmUpRequests")
+                 .metavar("PATH")
+                 .help("a path of the application to request during a training run");
+    }
+
     @Override
     protected void run(Environment environment, Namespace namespace, T configuration) throws Exception {
         final Server server = configuration.getServerFactory().build(environment);
@@ -65,6 +88,17 @@ public class ServerCommand<T extends Configuration> extends EnvironmentCommand<T
             }
             throw e;
         }
+
+        final String trainingRun = namespace.getString("trainingRun");
+        if (trainingRun != null) {
+            final List<String> warmUpRequests = namespace.getList("warmUpRequests");
+            try {
+                new TrainingRun(Paths.get(trainingRun),
+                                warmUpRequests == null ? Collections.emptyList() : warmUpRequests).run(server);
+            } finally {
+                server.stop();
+            }
+        }
     }
 
     private class LifeCycleListener extends AbstractLifeCycle.AbstractLifeCycleListener {
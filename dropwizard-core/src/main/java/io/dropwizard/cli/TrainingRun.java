@@ -0,0 +1,163 @@
+package io.dropwizard.cli;
+
+import com.google.common.io.ByteStreams;
+import io.dropwizard.jackson.Discoverable;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.jackson.DiscoveryIndex;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A run of a started server which records what later runs of the application need to start faster: it sends
+ * warm-up requests to the application, then writes an index of the discoverable subtypes, the location of the
+ * class list for a class data sharing archive, and the JVM options which use them.
+ * <p/>
+ * The archive itself is written by the JVM: at exit when the training run is started with
+ * {@code -XX:ArchiveClassesAtExit} (Java 13 or later), or else by a separate {@code -Xshare:dump} run from the class
+ * list. The JVM options only use the archive if it exists or is about to be written, as the JVM refuses to start with
+ * a missing one when its use is required.
+ */
+class TrainingRun {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrainingRun.class);
+
+    static final String CLASS_LIST = "classes.lst";
+    static final String ARCHIVE = "app.jsa";
+    static final String DISCOVERY_INDEX = "discoverable.idx";
+    static final String JVM_OPTIONS = "jvm.options";
+
+    private static final String DUMP_CLASS_LIST_OPTION = "-XX:DumpLoadedClassList=";
+    private static final String ARCHIVE_AT_EXIT_OPTION = "-XX:ArchiveClassesAtExit=";
+    private static final String SHARED_ARCHIVE_OPTION = "-XX:SharedArchiveFile=";
+
+    private final Path directory;
+    private final List<String> warmUpRequests;
+    private final List<String> jvmArguments;
+
+    TrainingRun(Path directory, List<String> warmUpRequests) {
+        this(directory, warmUpRequests, ManagementFactory.getRuntimeMXBean().getInputArguments());
+    }
+
+    TrainingRun(Path directory, List<String> warmUpRequests, List<String> jvmArguments) {
+        this.directory = directory.toAbsolutePath();
+        this.warmUpRequests = warmUpRequests;
+        this.jvmArguments = jvmArguments;
+    }
+
+    void run(Server server) throws IOException {
+        Files.createDirectories(directory);
+        final Optional<Integer> port = applicationPort(server);
+        for (String path : warmUpRequests) {
+            if (port.isPresent()) {
+                warmUp(port.get(), path);
+            } else {
+                LOGGER.warn("No application connector to send the warm-up request {} to", path);
+            }
+        }
+
+        DiscoveryIndex.write(directory.resolve(DISCOVERY_INDEX), Discoverable.class,
+                             new DiscoverableSubtypeResolver());
+        writeJvmOptions();
+        LOGGER.info("Wrote the results of the training run to {}", directory);
+    }
+
+    private static Optional<Integer> applicationPort(Server server) {
+        ServerConnector first = null;
+        for (Connector connector : server.getConnectors()) {
+            if (connector instanceof ServerConnector) {
+                final ServerConnector serverConnector = (ServerConnector) connector;
+                if ("application".equals(serverConnector.getName())) {
+                    return Optional.of(serverConnector.getLocalPort());
+                }
+                if (first == null) {
+                    first = serverConnector;
+                }
+            }
+        }
+        return first == null ? Optional.empty() : Optional.of(first.getLocalPort());
+    }
+
+    private static void warmUp(int port, String path) {
+        try {
+            final HttpURLConnection connection =
+                (HttpURLConnection) new URL("http", "localhost", port, path).openConnection();
+            try {
+                final int status = connection.getResponseCode();
+                final InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+                if (body != null) {
+                    try (InputStream input = body) {
+                        ByteStreams.exhaust(input);
+                    }
+                }
+                LOGGER.info("Warm-up request {} returned {}", path, status);
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Warm-up request {} failed", path, e);
+        }
+    }
+
+    private void writeJvmOptions() throws IOException {
+        final Path classList = directory.resolve(CLASS_LIST);
+        final Optional<String> archiveAtExit = jvmOption(ARCHIVE_AT_EXIT_OPTION, directory.resolve(ARCHIVE));
+        final Path archive = archiveAtExit.map(value -> Paths.get(value).toAbsolutePath())
+            .orElse(directory.resolve(ARCHIVE));
+        final Optional<String> dumpedClassList = jvmOption(DUMP_CLASS_LIST_OPTION, classList);
+        final boolean useArchive = archiveAtExit.isPresent() || Files.exists(archive);
+        if (!useArchive && !dumpedClassList.isPresent()) {
+            LOGGER.warn("The training run was started with neither {}{} nor {}{}; no class data sharing archive " +
+                "will be used", ARCHIVE_AT_EXIT_OPTION, archive, DUMP_CLASS_LIST_OPTION, classList);
+        } else if (!useArchive) {
+            LOGGER.info("Create the class data sharing archive {} from the class list, then uncomment its option " +
+                "in {}", archive, directory.resolve(JVM_OPTIONS));
+        }
+
+        try (BufferedWriter writer = Files.newBufferedWriter(directory.resolve(JVM_OPTIONS), UTF_8)) {
+            writer.write("# Options for starting the application with the results of its training run, e.g.\n");
+            writer.write("#   java @" + directory.resolve(JVM_OPTIONS) + " -jar application.jar server config.yml\n");
+            writer.write("#\n");
+            writer.write("# The class data sharing archive is written at exit by a training run started with\n");
+            writer.write("# " + ARCHIVE_AT_EXIT_OPTION + archive + " (Java 13 or later), or created from the class\n");
+            writer.write("# list written by a training run started with " + DUMP_CLASS_LIST_OPTION + classList +
+                ", with\n");
+            writer.write("#   java -Xshare:dump -XX:SharedClassListFile=" + classList +
+                " " + SHARED_ARCHIVE_OPTION + archive + " -cp <class path>\n");
+            writer.write("-Xshare:auto\n");
+            writer.write((useArchive ? "" : "# ") + SHARED_ARCHIVE_OPTION + archive + '\n');
+            writer.write("-D" + DiscoveryIndex.INDEX_PROPERTY + '=' + directory.resolve(DISCOVERY_INDEX) + '\n');
+        }
+    }
+
+    /**
+     * @return the value of the JVM option the training run was started with, if any
+     */
+    private Optional<String> jvmOption(String option, Path expected) {
+        for (String argument : jvmArguments) {
+            if (argument.startsWith(option)) {
+                final String value = argument.substring(option.length());
+                if (!expected.equals(Paths.get(value).toAbsolutePath())) {
+                    LOGGER.warn("{} is set to {} rather than to {}", option, value, expected);
+                }
+                return Optional.of(value);
+            }
+        }
+        return Optional.empty();
+    }
+}
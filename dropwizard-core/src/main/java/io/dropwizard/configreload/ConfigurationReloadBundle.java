@@ -0,0 +1,107 @@
+package io.dropwizard.configreload;
+
+import io.dropwizard.Configuration;
+import io.dropwizard.ConfiguredBundle;
+import io.dropwizard.configuration.ConfigurationFactory;
+import io.dropwizard.setup.Bootstrap;
+import io.dropwizard.setup.Environment;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Bundle that registers an admin task which reloads the configuration and applies the changes to its
+ * hot-reloadable fields. The configuration is also reloaded when its {@link
+ * io.dropwizard.configuration.ConfigurationSourceProvider} reports a change, once the server has started, and
+ * optionally whenever its source changes. Providers which refresh their sources when they are read, such as {@link
+ * io.dropwizard.configuration.CachingUrlConfigurationSourceProvider}, only report changes once the configuration is
+ * read again, so they need an interval for their changes to be applied without posting to the task.
+ *
+ * @param <T> the {@link Configuration} subclass of the application
+ * @see ConfigurationReloader
+ */
+public class ConfigurationReloadBundle<T extends Configuration> implements ConfiguredBundle<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationReloadBundle.class);
+
+    @Nullable
+    private final Duration watchInterval;
+
+    @Nullable
+    private Bootstrap<T> bootstrap;
+
+    /**
+     * Creates a bundle which reloads the configuration when its task is posted to.
+     */
+    public ConfigurationReloadBundle() {
+        this(null);
+    }
+
+    /**
+     * Creates a bundle which also reloads the configuration when its source changes.
+     *
+     * @param watchInterval how often the source of the configuration is checked for changes, or {@code null} to
+     *                      only reload the configuration when the task is posted to
+     */
+    public ConfigurationReloadBundle(@Nullable Duration watchInterval) {
+        this.watchInterval = watchInterval;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void initialize(Bootstrap<?> bootstrap) {
+        this.bootstrap = (Bootstrap<T>) bootstrap;
+    }
+
+    @Override
+    public void run(T configuration, Environment environment) throws Exception {
+        final Bootstrap<T> bootstrap = this.bootstrap;
+        final String path = bootstrap == null ? null : bootstrap.getConfigurationPath();
+        if (bootstrap == null || path == null) {
+            LOGGER.warn("The application was not started with a configuration file, which cannot be reloaded");
+            return;
+        }
+
+        final ConfigurationFactory<T> factory = bootstrap.getConfigurationFactoryFactory()
+            .create(bootstrap.getApplication().getConfigurationClass(), environment.getValidator(),
+                    environment.getObjectMapper(), "dw");
+        final ConfigurationReloader<T> reloader = new ConfigurationReloader<>(factory,
+            bootstrap.getConfigurationSourceProvider(), path, configuration, environment.getObjectMapper(),
+            environment.metrics(), environment.lifecycle());
+        // reloads run one at a time, off the threads of the task and of the configuration source provider
+        final ScheduledExecutorService executor = environment.lifecycle()
+            .scheduledExecutorService("configuration-reload-%d", true)
+            .build();
+        environment.lifecycle().addServerLifecycleListener(server -> {
+            reloader.setServer(server);
+            // a change reported before the server started could not be applied, or before the listener was added
+            executor.execute(() -> {
+                try {
+                    reloader.reload();
+                } catch (Exception e) {
+                    LOGGER.error("Unable to reload the configuration at {}", path, e);
+                }
+            });
+        });
+        environment.admin().addTask(new ConfigurationReloadTask(reloader));
+        bootstrap.getConfigurationSourceProvider().addChangeListener(changed -> executor.execute(() -> {
+            try {
+                reloader.reloadIfChanged();
+            } catch (Exception e) {
+                LOGGER.error("Unable to reload the configuration at {} after {} changed", path, changed, e);
+            }
+        }));
+
+        if (watchInterval != null) {
+            executor.scheduleWithFixedDelay(() -> {
+                try {
+                    reloader.reloadIfChanged();
+                } catch (Exception e) {
+                    LOGGER.error("Unable to reload the configuration at {}", path, e);
+                }
+            }, watchInterval.getQuantity(), watchInterval.getQuantity(), watchInterval.getUnit());
+        }
+    }
+}
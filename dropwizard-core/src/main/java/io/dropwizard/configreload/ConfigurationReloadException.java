@@ -0,0 +1,22 @@
+package io.dropwizard.configreload;
+
+import io.dropwizard.configuration.ConfigurationException;
+
+import java.util.Collection;
+
+/**
+ * Indicates that a reloaded configuration changes fields which cannot change without a restart.
+ */
+public class ConfigurationReloadException extends ConfigurationException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new ConfigurationReloadException for the given path with the given errors.
+     *
+     * @param path   the reloaded configuration path
+     * @param errors the fields which cannot change
+     */
+    public ConfigurationReloadException(String path, Collection<String> errors) {
+        super(path, errors);
+    }
+}
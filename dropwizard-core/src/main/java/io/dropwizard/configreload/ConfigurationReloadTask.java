@@ -0,0 +1,28 @@
+package io.dropwizard.configreload;
+
+import com.google.common.collect.ImmutableMultimap;
+import io.dropwizard.servlets.tasks.Task;
+
+import java.io.PrintWriter;
+import java.util.List;
+
+/** A task that will reload the configuration and apply the changes to its hot-reloadable fields */
+public class ConfigurationReloadTask extends Task {
+    private final ConfigurationReloader<?> reloader;
+
+    public ConfigurationReloadTask(ConfigurationReloader<?> reloader) {
+        super("reload-configuration");
+        this.reloader = reloader;
+    }
+
+    @Override
+    public void execute(ImmutableMultimap<String, String> parameters, PrintWriter output) throws Exception {
+        final List<String> changes = reloader.reload();
+        if (changes.isEmpty()) {
+            output.write("The configuration has not changed\n");
+        }
+        for (String change : changes) {
+            output.write("Reloaded " + change + '\n');
+        }
+    }
+}
@@ -0,0 +1,450 @@
+package io.dropwizard.configreload;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import io.dropwizard.Configuration;
+import io.dropwizard.configuration.BaseConfigurationFactory;
+import io.dropwizard.configuration.ConfigurationException;
+import io.dropwizard.configuration.ConfigurationFactory;
+import io.dropwizard.configuration.ConfigurationSourceProvider;
+import io.dropwizard.jetty.BiDiGzipHandler;
+import io.dropwizard.lifecycle.JettyManaged;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.logging.DefaultLoggingFactory;
+import io.dropwizard.logging.LoggingFactory;
+import io.dropwizard.metrics.MetricsFactory;
+import io.dropwizard.metrics.ReporterFactory;
+import io.dropwizard.metrics.ScheduledReporterManager;
+import io.dropwizard.server.AbstractServerFactory;
+import io.dropwizard.server.DefaultServerFactory;
+import io.dropwizard.server.ServerFactory;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.util.thread.ThreadPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Reloads the configuration of a running application, and applies the changes to the fields which can change
+ * without a restart:
+ * <ul>
+ * <li>{@code server.maxThreads}, {@code server.minThreads} and {@code server.idleThreadTimeout}, applied to the
+ * application's thread pool, and {@code server.adminMaxThreads} and {@code server.adminMinThreads}, applied to the
+ * admin thread pool of the default server</li>
+ * <li>{@code minimumEntitySize}, {@code bufferSize}, {@code gzipCompatibleInflation} and {@code syncFlush} of
+ * {@code server.gzip}, applied to the gzip handler; its MIME types, methods and user agent patterns are read by the
+ * requests it serves, and only change with a restart</li>
+ * <li>{@code logging.level}, and the levels of the loggers in {@code logging.loggers} configured with a level
+ * only</li>
+ * <li>{@code metrics.frequency} and the {@code frequency} of each of {@code metrics.reporters}, applied by
+ * replacing the reporters</li>
+ * </ul>
+ * A reloaded configuration is parsed and validated like the configuration the application started with, and
+ * compared with the previous one as written in their sources, after the overrides from system properties. If it
+ * changes any other field, or if any of its changes cannot be applied, the reload is rejected and nothing is
+ * applied.
+ *
+ * @param <T> the {@link Configuration} subclass of the application
+ */
+public class ConfigurationReloader<T extends Configuration> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConfigurationReloader.class);
+
+    private static final Set<String> THREAD_POOL_FIELDS = ImmutableSet.of("maxThreads", "minThreads",
+        "idleThreadTimeout");
+    private static final Set<String> ADMIN_THREAD_POOL_FIELDS = ImmutableSet.of("adminMaxThreads",
+        "adminMinThreads");
+    private static final Set<String> GZIP_FIELDS = ImmutableSet.of("minimumEntitySize", "bufferSize",
+        "gzipCompatibleInflation", "syncFlush");
+
+    private final ConfigurationFactory<T> factory;
+    private final ConfigurationSourceProvider provider;
+    private final String path;
+    private final ObjectMapper mapper;
+    private final MetricRegistry metrics;
+    private final Map<ScheduledReporterManager, Integer> reporters = new IdentityHashMap<>();
+
+    private T configuration;
+    @Nullable
+    private JsonNode tree;
+    @Nullable
+    private HashCode source;
+    @Nullable
+    private volatile Server server;
+
+    /**
+     * Creates a reloader of the configuration the application started with.
+     *
+     * @param factory       the factory which built {@code configuration}
+     * @param provider      the provider of the configuration source
+     * @param path          the path of the configuration
+     * @param configuration the configuration the application started with
+     * @param mapper        the application's {@link ObjectMapper}
+     * @param metrics       the application's metric registry
+     * @param lifecycle     the lifecycle managing the metric reporters of {@code configuration}
+     */
+    public ConfigurationReloader(ConfigurationFactory<T> factory, ConfigurationSourceProvider provider, String path,
+                                 T configuration, ObjectMapper mapper, MetricRegistry metrics,
+                                 LifecycleEnvironment lifecycle) {
+        this.factory = factory;
+        this.provider = provider;
+        this.path = path;
+        this.configuration = configuration;
+        this.mapper = mapper;
+        this.metrics = metrics;
+
+        // the reporters are matched with their position in the configuration once, as they are replaced on reload
+        final List<ReporterFactory> reporterFactories = configuration.getMetricsFactory().getReporters();
+        for (LifeCycle managed : lifecycle.getManagedObjects()) {
+            final Object object = managed instanceof JettyManaged ? ((JettyManaged) managed).getManaged() : managed;
+            if (object instanceof ScheduledReporterManager) {
+                final ScheduledReporterManager manager = (ScheduledReporterManager) object;
+                for (int i = 0; i < reporterFactories.size(); i++) {
+                    if (reporterFactories.get(i) == manager.getFactory()) {
+                        reporters.put(manager, i);
+                    }
+                }
+            }
+        }
+
+        try {
+            this.source = readSource();
+            this.tree = parse();
+        } catch (IOException | ConfigurationException e) {
+            LOGGER.warn("Unable to read the configuration at {}", path, e);
+        }
+    }
+
+    /**
+     * Sets the started server to apply changes to.
+     */
+    public void setServer(Server server) {
+        this.server = server;
+    }
+
+    /**
+     * Returns the configuration the application started with, or the last one reloaded.
+     */
+    public synchronized T getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Reloads the configuration if its source changed since it was last read.
+     *
+     * @return the paths of the fields which changed
+     * @see #reload()
+     */
+    public synchronized List<String> reloadIfChanged() throws IOException, ConfigurationException {
+        final HashCode current = readSource();
+        if (current.equals(source)) {
+            return ImmutableList.of();
+        }
+        source = current;
+        return reload();
+    }
+
+    /**
+     * Reloads the configuration, and applies its changes.
+     *
+     * @return the paths of the fields which changed
+     * @throws IOException                  if the configuration cannot be read
+     * @throws ConfigurationException       if the configuration cannot be parsed or is invalid
+     * @throws ConfigurationReloadException if a field which cannot change without a restart changed, or if a change
+     *                                      cannot be applied
+     */
+    public synchronized List<String> reload() throws IOException, ConfigurationException {
+        final JsonNode reloadedTree = parse();
+        final T reloaded = factory.build(provider, path);
+        final List<Change> changes = new ArrayList<>();
+        diff(new ArrayList<>(), tree == null ? toTree(configuration) : tree,
+            reloadedTree == null ? toTree(reloaded) : reloadedTree, changes);
+
+        final List<String> rejected = new ArrayList<>();
+        for (Change change : changes) {
+            if (!change.isReloadable()) {
+                rejected.add(change + " cannot be changed without a restart");
+            }
+        }
+        if (!rejected.isEmpty()) {
+            throw new ConfigurationReloadException(path, rejected);
+        }
+
+        // everything which may fail is prepared first, so that either all changes are applied or none is
+        final List<Runnable> actions = prepare(reloaded, changes);
+        for (Runnable action : actions) {
+            action.run();
+        }
+        configuration = reloaded;
+        tree = reloadedTree;
+
+        final List<String> applied = new ArrayList<>(changes.size());
+        for (Change change : changes) {
+            applied.add(change.toString());
+        }
+        if (!applied.isEmpty()) {
+            LOGGER.info("Reloaded the configuration at {}, changing {}", path, applied);
+        }
+        return applied;
+    }
+
+    /**
+     * Parses the source of the configuration, if the factory can, so that fields which aren't serialized are
+     * compared too.
+     */
+    @Nullable
+    private JsonNode parse() throws IOException, ConfigurationException {
+        if (factory instanceof BaseConfigurationFactory) {
+            return ((BaseConfigurationFactory<T>) factory).parse(provider, path);
+        }
+        return null;
+    }
+
+    private JsonNode toTree(T value) throws ConfigurationReloadException {
+        try {
+            return mapper.valueToTree(value);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn("Unable to serialize the configuration at {}", path, e);
+            throw new ConfigurationReloadException(path,
+                ImmutableList.of("the configuration cannot be compared, as it cannot be serialized"));
+        }
+    }
+
+    private HashCode readSource() throws IOException {
+        try (InputStream input = provider.open(path)) {
+            return Hashing.murmur3_128().hashBytes(ByteStreams.toByteArray(input));
+        }
+    }
+
+    private List<Runnable> prepare(T reloaded, List<Change> changes) throws ConfigurationReloadException {
+        boolean threadPool = false;
+        boolean adminThreadPool = false;
+        boolean gzip = false;
+        boolean logging = false;
+        boolean reporterFrequencies = false;
+        final List<String> unconfiguredLoggers = new ArrayList<>();
+        for (Change change : changes) {
+            final String section = change.path.get(0);
+            final String field = change.path.get(1);
+            if ("server".equals(section)) {
+                threadPool |= THREAD_POOL_FIELDS.contains(field);
+                adminThreadPool |= ADMIN_THREAD_POOL_FIELDS.contains(field);
+                gzip |= "gzip".equals(field);
+            } else if ("logging".equals(section)) {
+                logging = true;
+                if ("loggers".equals(field) && isMissing(change.after)) {
+                    unconfiguredLoggers.add(change.path.get(2));
+                }
+            } else if ("metrics".equals(section)) {
+                reporterFrequencies = true;
+            }
+        }
+
+        final List<Runnable> actions = new ArrayList<>();
+        if (threadPool || adminThreadPool || gzip) {
+            final Server started = server;
+            final ServerFactory serverFactory = reloaded.getServerFactory();
+            if (started == null) {
+                throw new ConfigurationReloadException(path, ImmutableList.of("the server has not started"));
+            }
+            if (!(serverFactory instanceof AbstractServerFactory)) {
+                throw new ConfigurationReloadException(path,
+                    ImmutableList.of("server changes cannot be applied to " + serverFactory.getClass().getName()));
+            }
+            actions.add(() -> applyServer(started, (AbstractServerFactory) serverFactory, threadPool,
+                adminThreadPool, gzip));
+        }
+        if (logging) {
+            final LoggingFactory loggingFactory = reloaded.getLoggingFactory();
+            if (!(loggingFactory instanceof DefaultLoggingFactory)) {
+                throw new ConfigurationReloadException(path,
+                    ImmutableList.of("logging changes cannot be applied to " + loggingFactory.getClass().getName()));
+            }
+            actions.add(() -> ((DefaultLoggingFactory) loggingFactory).configureLevels(unconfiguredLoggers));
+        }
+        if (reporterFrequencies) {
+            // built last, so that no reporter is left behind when another change cannot be applied
+            actions.addAll(prepareReporters(reloaded.getMetricsFactory()));
+        }
+        return actions;
+    }
+
+    private static void applyServer(Server started, AbstractServerFactory serverFactory, boolean threadPool,
+                                    boolean adminThreadPool, boolean gzip) {
+        if (threadPool) {
+            final ThreadPool pool = started.getThreadPool();
+            if (pool instanceof QueuedThreadPool) {
+                resize((QueuedThreadPool) pool, serverFactory.getMaxThreads(), serverFactory.getMinThreads());
+                ((QueuedThreadPool) pool).setIdleTimeout((int) serverFactory.getIdleThreadTimeout().toMilliseconds());
+            }
+        }
+        if (adminThreadPool && serverFactory instanceof DefaultServerFactory) {
+            final DefaultServerFactory defaultServerFactory = (DefaultServerFactory) serverFactory;
+            for (QueuedThreadPool pool : started.getBeans(QueuedThreadPool.class)) {
+                if ("dw-admin".equals(pool.getName())) {
+                    resize(pool, defaultServerFactory.getAdminMaxThreads(), defaultServerFactory.getAdminMinThreads());
+                }
+            }
+        }
+        if (gzip) {
+            for (Handler handler : started.getChildHandlersByClass(BiDiGzipHandler.class)) {
+                serverFactory.getGzipFilterFactory().reconfigure((BiDiGzipHandler) handler);
+            }
+        }
+    }
+
+    private static void resize(QueuedThreadPool pool, int maxThreads, int minThreads) {
+        // the pool lowers its minimum to a lower maximum, so the maximum is set first
+        pool.setMaxThreads(maxThreads);
+        pool.setMinThreads(minThreads);
+    }
+
+    /**
+     * Builds the reporters replacing those whose frequency changed. The replaced reporters are stopped when they are
+     * rescheduled, and the new ones are stopped if any of them cannot be built.
+     */
+    private List<Runnable> prepareReporters(MetricsFactory metricsFactory) throws ConfigurationReloadException {
+        final List<ReporterFactory> reporterFactories = metricsFactory.getReporters();
+        final List<ScheduledReporter> built = new ArrayList<>();
+        final List<Runnable> actions = new ArrayList<>();
+        for (Map.Entry<ScheduledReporterManager, Integer> entry : reporters.entrySet()) {
+            final ScheduledReporterManager manager = entry.getKey();
+            final ReporterFactory reporterFactory = reporterFactories.get(entry.getValue());
+            final Duration period = reporterFactory.getFrequency().orElseGet(metricsFactory::getFrequency);
+            if (period.equals(manager.getPeriod())) {
+                continue;
+            }
+
+            final ScheduledReporter reporter;
+            try {
+                reporter = reporterFactory.build(metrics);
+            } catch (RuntimeException e) {
+                LOGGER.warn("Unable to build a metrics reporter", e);
+                built.forEach(ScheduledReporter::stop);
+                throw new ConfigurationReloadException(path,
+                    ImmutableList.of("unable to build a metrics reporter: " + e.getMessage()));
+            }
+            built.add(reporter);
+            actions.add(() -> {
+                try {
+                    manager.reschedule(reporter, period);
+                } catch (Exception e) {
+                    throw new IllegalStateException("Unable to reschedule a metrics reporter", e);
+                }
+            });
+        }
+        return actions;
+    }
+
+    private static void diff(List<String> path, @Nullable JsonNode before, @Nullable JsonNode after,
+                             List<Change> changes) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+
+        // a section added or removed as a whole is compared field by field with an empty one
+        if ((isMissing(before) || before.isObject()) && (isMissing(after) || after.isObject())) {
+            final Set<String> names = new TreeSet<>();
+            if (!isMissing(before)) {
+                before.fieldNames().forEachRemaining(names::add);
+            }
+            if (!isMissing(after)) {
+                after.fieldNames().forEachRemaining(names::add);
+            }
+            for (String name : names) {
+                diff(append(path, name), isMissing(before) ? null : before.get(name),
+                    isMissing(after) ? null : after.get(name), changes);
+            }
+        } else if (before != null && after != null && before.isArray() && after.isArray()
+            && before.size() == after.size()) {
+            for (int i = 0; i < before.size(); i++) {
+                diff(append(path, "[" + i + "]"), before.get(i), after.get(i), changes);
+            }
+        } else {
+            changes.add(new Change(path, before, after));
+        }
+    }
+
+    private static List<String> append(List<String> path, String name) {
+        final List<String> appended = new ArrayList<>(path.size() + 1);
+        appended.addAll(path);
+        appended.add(name);
+        return appended;
+    }
+
+    private static boolean isMissing(@Nullable JsonNode node) {
+        return node == null || node.isNull();
+    }
+
+    private static final class Change {
+        private final List<String> path;
+        @Nullable
+        private final JsonNode before;
+        @Nullable
+        private final JsonNode after;
+
+        private Change(List<String> path, @Nullable JsonNode before, @Nullable JsonNode after) {
+            this.path = path;
+            this.before = before;
+            this.after = after;
+        }
+
+        private boolean isReloadable() {
+            if (path.size() < 2) {
+                return false;
+            }
+            final String section = path.get(0);
+            final String field = path.get(1);
+            switch (section) {
+                case "server":
+                    return (path.size() == 2 && (THREAD_POOL_FIELDS.contains(field) ||
+                        ADMIN_THREAD_POOL_FIELDS.contains(field))) ||
+                        ("gzip".equals(field) && path.size() > 2 && GZIP_FIELDS.contains(path.get(2)));
+                case "logging":
+                    return (path.size() == 2 && "level".equals(field)) ||
+                        (path.size() == 3 && "loggers".equals(field) && isLevel(before) && isLevel(after));
+                case "metrics":
+                    return (path.size() == 2 && "frequency".equals(field)) ||
+                        (path.size() == 4 && "reporters".equals(field) && "frequency".equals(path.get(3)));
+                default:
+                    return false;
+            }
+        }
+
+        private static boolean isLevel(@Nullable JsonNode node) {
+            return isMissing(node) || node.isTextual();
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder name = new StringBuilder();
+            for (String segment : path) {
+                if (name.length() > 0 && !segment.startsWith("[")) {
+                    name.append('.');
+                }
+                name.append(segment);
+            }
+            return name.toString();
+        }
+    }
+}
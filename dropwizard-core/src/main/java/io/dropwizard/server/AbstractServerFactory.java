@@ -24,6 +24,7 @@ import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
 import io.dropwizard.request.logging.LogbackAccessRequestLogFactory;
 import io.dropwizard.request.logging.RequestLogFactory;
 import io.dropwizard.servlets.ThreadNameFilter;
+import io.dropwizard.setup.Environment;
 import io.dropwizard.setup.ExceptionMapperBinder;
 import io.dropwizard.util.Duration;
 import io.dropwizard.validation.MinDuration;
@@ -181,6 +182,23 @@ import java.util.regex.Pattern;
  *         </td>
  *     </tr>
  *     <tr>
+ *         <td>{@code shutdownDelay}</td>
+ *         <td>0 seconds</td>
+ *         <td>
+ *             How long to keep accepting requests once the server starts shutting down, while the
+ *             {@code io.dropwizard.server.GracefulShutdown.readiness} health check fails, so that load
+ *             balancers stop sending requests first. See {@link GracefulShutdown}.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code shutdownDrainsExecutors}</td>
+ *         <td>false</td>
+ *         <td>
+ *             Whether to stop the managed executors from accepting tasks once the requests in flight
+ *             completed, and wait for their queued and running tasks within the shutdown grace period.
+ *         </td>
+ *     </tr>
+ *     <tr>
  *         <td>{@code allowedMethods}</td>
  *         <td>GET, POST, PUT, DELETE, HEAD, OPTIONS, PATCH</td>
  *         <td>
@@ -267,6 +285,11 @@ public abstract class AbstractServerFactory implements ServerFactory {
 
     private Duration shutdownGracePeriod = Duration.seconds(30);
 
+    @NotNull
+    private Duration shutdownDelay = Duration.seconds(0);
+
+    private boolean shutdownDrainsExecutors = false;
+
     @NotNull
     private Set<String> allowedMethods = AllowedMethodsFilter.DEFAULT_ALLOWED_METHODS;
 
@@ -468,6 +491,26 @@ public abstract class AbstractServerFactory implements ServerFactory {
         this.shutdownGracePeriod = shutdownGracePeriod;
     }
 
+    @JsonProperty
+    public Duration getShutdownDelay() {
+        return shutdownDelay;
+    }
+
+    @JsonProperty
+    public void setShutdownDelay(Duration shutdownDelay) {
+        this.shutdownDelay = shutdownDelay;
+    }
+
+    @JsonProperty
+    public boolean getShutdownDrainsExecutors() {
+        return shutdownDrainsExecutors;
+    }
+
+    @JsonProperty
+    public void setShutdownDrainsExecutors(boolean shutdownDrainsExecutors) {
+        this.shutdownDrainsExecutors = shutdownDrainsExecutors;
+    }
+
     @JsonProperty
     public Set<String> getAllowedMethods() {
         return allowedMethods;
@@ -538,7 +581,7 @@ public abstract class AbstractServerFactory implements ServerFactory {
         serverPush.addFilter(handler);
         if (jerseyContainer != null) {
             jerseyRootPath.ifPresent(jersey::setUrlPattern);
-            jersey.register(new JacksonBinder(objectMapper));
+            jersey.register(new JacksonBinder(objectMapper, validator));
             jersey.register(new HibernateValidationFeature(validator));
             if (registerDefaultExceptionMappers == null || registerDefaultExceptionMappers) {
                 jersey.register(new ExceptionMapperBinder(detailedJsonProcessingExceptionMapper));
@@ -574,6 +617,12 @@ public abstract class AbstractServerFactory implements ServerFactory {
         return server;
     }
 
+    protected void addGracefulShutdown(Server server, Environment environment) {
+        server.addLifeCycleListener(new GracefulShutdown(environment.lifecycle(), environment.healthChecks(),
+                                                         environment.metrics(), shutdownDelay, shutdownGracePeriod,
+                                                         shutdownDrainsExecutors));
+    }
+
     protected SetUIDListener buildSetUIDListener() {
         final SetUIDListener listener = new SetUIDListener();
 
@@ -0,0 +1,229 @@
+package io.dropwizard.server;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.health.HealthCheck;
+import com.codahale.metrics.health.HealthCheckRegistry;
+import io.dropwizard.lifecycle.ExecutorServiceManager;
+import io.dropwizard.lifecycle.JettyManaged;
+import io.dropwizard.lifecycle.ManagedDependencyGraph;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.server.Connector;
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Shuts the server down in phases, each timed by a {@code io.dropwizard.server.GracefulShutdown.<phase>} timer:
+ * <ol>
+ * <li>{@code delay}: the {@value #READINESS_HEALTH_CHECK} health check fails, while the server keeps accepting
+ * requests for the shutdown delay, so that load balancers stop sending requests</li>
+ * <li>{@code requests}: the connectors stop accepting connections, and the requests in flight, including
+ * asynchronous ones, complete</li>
+ * <li>{@code executors}: if enabled, the managed executors stop accepting tasks, and the tasks queued or running in
+ * them complete</li>
+ * <li>{@code stop}: the connectors are closed, and the managed objects are stopped in the reverse order of their
+ * registration</li>
+ * </ol>
+ * The requests and tasks are waited for until the shutdown grace period elapses, counted from the end of the delay,
+ * and their progress is logged every second. The executors are not drained by default, as tasks which run until the
+ * executor stops, or which submit themselves again, would keep the server waiting for the whole grace period.
+ */
+public class GracefulShutdown extends AbstractLifeCycle.AbstractLifeCycleListener {
+    /**
+     * The name of the health check which fails once the server is shutting down.
+     */
+    public static final String READINESS_HEALTH_CHECK = "io.dropwizard.server.GracefulShutdown.readiness";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GracefulShutdown.class);
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    private static final long PROGRESS_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final LifecycleEnvironment lifecycle;
+    private final MetricRegistry metrics;
+    private final Duration delay;
+    private final Duration gracePeriod;
+    private final boolean drainExecutors;
+    private volatile boolean shuttingDown = false;
+    private volatile Timer.Context stopping;
+
+    /**
+     * Create a new instance.
+     *
+     * @param lifecycle      the environment of the managed executors to drain
+     * @param healthChecks   the registry to register the readiness health check with, if there is a delay
+     * @param metrics        the registry to register the timers of the phases with
+     * @param delay          how long to keep accepting requests once the readiness health check fails
+     * @param gracePeriod    how long to wait for requests in flight and queued tasks
+     * @param drainExecutors whether to shut the managed executors down and wait for their tasks before stopping the
+     *                       managed objects
+     */
+    public GracefulShutdown(LifecycleEnvironment lifecycle, HealthCheckRegistry healthChecks, MetricRegistry metrics,
+                            Duration delay, Duration gracePeriod, boolean drainExecutors) {
+        this.lifecycle = lifecycle;
+        this.metrics = metrics;
+        this.delay = delay;
+        this.gracePeriod = gracePeriod;
+        this.drainExecutors = drainExecutors;
+        if (delay.getQuantity() > 0 && healthChecks.getNames().contains(READINESS_HEALTH_CHECK)) {
+            LOGGER.warn("The {} health check is already registered, and will not fail during the shutdown delay",
+                READINESS_HEALTH_CHECK);
+        } else if (delay.getQuantity() > 0) {
+            healthChecks.register(READINESS_HEALTH_CHECK, new HealthCheck() {
+                @Override
+                protected Result check() {
+                    return shuttingDown ? Result.unhealthy("Shutting down") : Result.healthy();
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns whether the server is shutting down.
+     */
+    public boolean isShuttingDown() {
+        return shuttingDown;
+    }
+
+    @Override
+    public void lifeCycleStopping(LifeCycle event) {
+        if (!(event instanceof Server) || shuttingDown) {
+            return;
+        }
+        final Server server = (Server) event;
+        shuttingDown = true;
+
+        if (delay.getQuantity() > 0) {
+            LOGGER.info("Shutting down in {}, failing the {} health check", delay, READINESS_HEALTH_CHECK);
+            final Timer.Context context = timer("delay").time();
+            sleep(delay.toMilliseconds());
+            context.stop();
+        }
+
+        final long deadline = System.nanoTime() + gracePeriod.toNanoseconds();
+        final Timer.Context requests = timer("requests").time();
+        for (Connector connector : server.getConnectors()) {
+            connector.shutdown();
+        }
+        final List<StatisticsHandler> statisticsHandlers = new ArrayList<>();
+        for (Handler handler : server.getChildHandlersByClass(StatisticsHandler.class)) {
+            final StatisticsHandler statisticsHandler = (StatisticsHandler) handler;
+            statisticsHandler.shutdown();
+            statisticsHandlers.add(statisticsHandler);
+        }
+        await("requests in flight", deadline, () -> {
+            long active = 0;
+            for (StatisticsHandler statisticsHandler : statisticsHandlers) {
+                active += statisticsHandler.getRequestsActive();
+            }
+            return active;
+        });
+        LOGGER.info("Drained the requests in {}ms", TimeUnit.NANOSECONDS.toMillis(requests.stop()));
+
+        if (drainExecutors) {
+            final Timer.Context executors = timer("executors").time();
+            final List<ExecutorServiceManager> managers = executorServiceManagers();
+            // tasks can no longer submit further tasks, which would otherwise keep the executors busy
+            for (ExecutorServiceManager manager : managers) {
+                manager.shutdown();
+            }
+            await("tasks in managed executors", deadline, () -> {
+                long pending = 0;
+                for (ExecutorServiceManager manager : managers) {
+                    pending += manager.getPendingTasks();
+                }
+                return pending;
+            });
+            LOGGER.info("Drained the managed executors in {}ms", TimeUnit.NANOSECONDS.toMillis(executors.stop()));
+        }
+
+        // Jetty waits for the requests again when it stops, for no longer than what is left of the grace period
+        server.setStopTimeout(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        stopping = timer("stop").time();
+    }
+
+    @Override
+    public void lifeCycleStopped(LifeCycle event) {
+        final Timer.Context context = stopping;
+        if (event instanceof Server && context != null) {
+            stopping = null;
+            LOGGER.info("Stopped the server and the managed objects in {}ms",
+                TimeUnit.NANOSECONDS.toMillis(context.stop()));
+        }
+    }
+
+    private Timer timer(String phase) {
+        return metrics.timer(name(GracefulShutdown.class, phase));
+    }
+
+    private List<ExecutorServiceManager> executorServiceManagers() {
+        final List<LifeCycle> objects = new ArrayList<>();
+        for (LifeCycle managed : lifecycle.getManagedObjects()) {
+            if (managed instanceof ManagedDependencyGraph) {
+                objects.addAll(((ManagedDependencyGraph) managed).getManagedObjects());
+            } else {
+                objects.add(managed);
+            }
+        }
+
+        final List<ExecutorServiceManager> managers = new ArrayList<>();
+        for (LifeCycle object : objects) {
+            if (object instanceof JettyManaged) {
+                final Object managed = ((JettyManaged) object).getManaged();
+                if (managed instanceof ExecutorServiceManager) {
+                    managers.add((ExecutorServiceManager) managed);
+                }
+            }
+        }
+        return managers;
+    }
+
+    /**
+     * Waits until nothing {@code remaining} is left or the deadline passes, logging the progress every second.
+     */
+    private void await(String what, long deadline, LongSupplier remaining) {
+        long nextProgress = System.nanoTime() + PROGRESS_INTERVAL_NANOS;
+        long count;
+        while ((count = remaining.getAsLong()) > 0) {
+            final long now = System.nanoTime();
+            if (now - deadline >= 0) {
+                LOGGER.warn("Shutting down with {} {} left after the grace period of {}", count, what, gracePeriod);
+                return;
+            }
+            if (now - nextProgress >= 0) {
+                LOGGER.info("Waiting for {} {}", count, what);
+                nextProgress = now + PROGRESS_INTERVAL_NANOS;
+            }
+            if (!sleep(POLL_INTERVAL_MILLIS)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sleeps, unless interrupted.
+     *
+     * @return {@code false} if interrupted
+     */
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -132,6 +132,10 @@ public class SimpleServerFactory extends AbstractServerFactory {
         ));
         final Handler gzipHandler = buildGzipHandler(routingHandler);
         server.setHandler(addStatsHandler(addRequestLog(server, gzipHandler, environment.getName())));
+        // Jetty starts the beans in order, and the connectors last, so the warm-up runs on the started handlers
+        // before the server accepts traffic
+        server.addBean(environment.warmUp());
+        addGracefulShutdown(server, environment);
 
         return server;
     }
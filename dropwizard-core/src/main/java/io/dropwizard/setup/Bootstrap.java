@@ -25,6 +25,7 @@ import io.dropwizard.configuration.FileConfigurationSourceProvider;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
 
+import javax.annotation.Nullable;
 import javax.validation.ValidatorFactory;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
@@ -43,10 +44,13 @@ public class Bootstrap<T extends Configuration> {
     private final List<Bundle> bundles;
     private final List<ConfiguredBundle<? super T>> configuredBundles;
     private final List<Command> commands;
+    private final StartupTimeline startupTimeline;
 
     private ObjectMapper objectMapper;
     private MetricRegistry metricRegistry;
     private ConfigurationSourceProvider configurationSourceProvider;
+    @Nullable
+    private String configurationPath;
     private ClassLoader classLoader;
     private ConfigurationFactoryFactory<T> configurationFactoryFactory;
     private ValidatorFactory validatorFactory;
@@ -60,12 +64,17 @@ public class Bootstrap<T extends Configuration> {
      * @param application a Dropwizard {@link Application}
      */
     public Bootstrap(Application<T> application) {
+        this.startupTimeline = new StartupTimeline();
         this.application = application;
-        this.objectMapper = Jackson.newObjectMapper();
+        try (StartupTimeline.Timing ignored = startupTimeline.start("bootstrap.objectMapper")) {
+            this.objectMapper = Jackson.newObjectMapper();
+        }
         this.bundles = new ArrayList<>();
         this.configuredBundles = new ArrayList<>();
         this.commands = new ArrayList<>();
-        this.validatorFactory = Validators.newValidatorFactory();
+        try (StartupTimeline.Timing ignored = startupTimeline.start("bootstrap.validatorFactory")) {
+            this.validatorFactory = Validators.newValidatorFactory();
+        }
         this.metricRegistry = new MetricRegistry();
         this.configurationSourceProvider = new FileConfigurationSourceProvider();
         this.classLoader = Thread.currentThread().getContextClassLoader();
@@ -81,17 +90,19 @@ public class Bootstrap<T extends Configuration> {
         if (metricsAreRegistered) {
             return;
         }
-        getMetricRegistry().register("jvm.attribute", new JvmAttributeGaugeSet());
-        getMetricRegistry().register("jvm.buffers", new BufferPoolMetricSet(ManagementFactory
-                                                                               .getPlatformMBeanServer()));
-        getMetricRegistry().register("jvm.classloader", new ClassLoadingGaugeSet());
-        getMetricRegistry().register("jvm.filedescriptor", new FileDescriptorRatioGauge());
-        getMetricRegistry().register("jvm.gc", new GarbageCollectorMetricSet());
-        getMetricRegistry().register("jvm.memory", new MemoryUsageGaugeSet());
-        getMetricRegistry().register("jvm.threads", new ThreadStatesGaugeSet());
-
-        JmxReporter.forRegistry(metricRegistry).build().start();
-        metricsAreRegistered = true;
+        try (StartupTimeline.Timing ignored = startupTimeline.start("bootstrap.registerMetrics")) {
+            getMetricRegistry().register("jvm.attribute", new JvmAttributeGaugeSet());
+            getMetricRegistry().register("jvm.buffers", new BufferPoolMetricSet(ManagementFactory
+                                                                                   .getPlatformMBeanServer()));
+            getMetricRegistry().register("jvm.classloader", new ClassLoadingGaugeSet());
+            getMetricRegistry().register("jvm.filedescriptor", new FileDescriptorRatioGauge());
+            getMetricRegistry().register("jvm.gc", new GarbageCollectorMetricSet());
+            getMetricRegistry().register("jvm.memory", new MemoryUsageGaugeSet());
+            getMetricRegistry().register("jvm.threads", new ThreadStatesGaugeSet());
+
+            JmxReporter.forRegistry(metricRegistry).build().start();
+            metricsAreRegistered = true;
+        }
     }
 
     /**
@@ -115,6 +126,22 @@ public class Bootstrap<T extends Configuration> {
         this.configurationSourceProvider = requireNonNull(provider);
     }
 
+    /**
+     * Returns the path of the configuration passed to the command, if any, as opened by the
+     * {@link ConfigurationSourceProvider}.
+     */
+    @Nullable
+    public String getConfigurationPath() {
+        return configurationPath;
+    }
+
+    /**
+     * Sets the path of the configuration passed to the command. Set by {@link ConfiguredCommand}.
+     */
+    public void setConfigurationPath(@Nullable String configurationPath) {
+        this.configurationPath = configurationPath;
+    }
+
     /**
      * Returns the bootstrap's class loader.
      */
@@ -135,7 +162,9 @@ public class Bootstrap<T extends Configuration> {
      * @param bundle a {@link Bundle}
      */
     public void addBundle(Bundle bundle) {
-        bundle.initialize(this);
+        try (StartupTimeline.Timing ignored = startupTimeline.start("initialize." + bundleName(bundle))) {
+            bundle.initialize(this);
+        }
         bundles.add(bundle);
     }
 
@@ -145,7 +174,9 @@ public class Bootstrap<T extends Configuration> {
      * @param bundle a {@link ConfiguredBundle}
      */
     public void addBundle(ConfiguredBundle<? super T> bundle) {
-        bundle.initialize(this);
+        try (StartupTimeline.Timing ignored = startupTimeline.start("initialize." + bundleName(bundle))) {
+            bundle.initialize(this);
+        }
         configuredBundles.add(bundle);
     }
 
@@ -194,13 +225,22 @@ public class Bootstrap<T extends Configuration> {
      */
     public void run(T configuration, Environment environment) throws Exception {
         for (Bundle bundle : bundles) {
-            bundle.run(environment);
+            try (StartupTimeline.Timing ignored = startupTimeline.start("run." + bundleName(bundle))) {
+                bundle.run(environment);
+            }
         }
         for (ConfiguredBundle<? super T> bundle : configuredBundles) {
-            bundle.run(configuration, environment);
+            try (StartupTimeline.Timing ignored = startupTimeline.start("run." + bundleName(bundle))) {
+                bundle.run(configuration, environment);
+            }
         }
     }
 
+    private static String bundleName(Object bundle) {
+        final String simpleName = bundle.getClass().getSimpleName();
+        return simpleName.isEmpty() ? bundle.getClass().getName() : simpleName;
+    }
+
     /**
      * Returns the application's commands.
      */
@@ -243,6 +283,13 @@ public class Bootstrap<T extends Configuration> {
         this.configurationFactoryFactory = configurationFactoryFactory;
     }
 
+    /**
+     * Returns the timeline of the application's startup.
+     */
+    public StartupTimeline getStartupTimeline() {
+        return startupTimeline;
+    }
+
     /**
      * returns the health check registry
      */
@@ -48,6 +48,8 @@ public class Environment {
 
     private final ExecutorService healthCheckExecutorService;
 
+    private final WarmUp warmUp;
+
     /**
      * Creates a new environment.
      *
@@ -75,14 +77,14 @@ public class Environment {
 
         this.adminEnvironment = new AdminEnvironment(adminContext, healthCheckRegistry, metricRegistry);
 
-        this.lifecycleEnvironment = new LifecycleEnvironment();
+        this.lifecycleEnvironment = new LifecycleEnvironment(metricRegistry);
 
         final DropwizardResourceConfig jerseyConfig = new DropwizardResourceConfig(metricRegistry);
         jerseyConfig.setContextPath(servletContext.getContextPath());
 
         this.jerseyServletContainer = new JerseyContainerHolder(new JerseyServletContainer(jerseyConfig));
         this.jerseyEnvironment = new JerseyEnvironment(jerseyServletContainer, jerseyConfig);
-
+        this.warmUp = new WarmUp(jerseyServletContainer, metricRegistry, healthCheckRegistry);
 
         this.healthCheckExecutorService = this.lifecycle().executorService("TimeBoundHealthCheck-pool-%d")
                 .workQueue(new ArrayBlockingQueue<>(1))
@@ -122,6 +124,13 @@ public class Environment {
         return jerseyEnvironment;
     }
 
+    /**
+     * Returns the application's {@link WarmUp}, run before the server accepts traffic.
+     */
+    public WarmUp warmUp() {
+        return warmUp;
+    }
+
     /**
      * Returns an {@link ExecutorService} to run time bound health checks
      */
@@ -0,0 +1,67 @@
+package io.dropwizard.setup;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.google.common.io.CountingOutputStream;
+import io.dropwizard.metrics.PrometheusTextFormat;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A servlet which exposes the metrics of a {@link MetricRegistry} in the Prometheus text format.
+ * <p/>
+ * The response is streamed straight to the servlet output stream. Its buffer is sized after the previous scrape, so
+ * a scrape of a stable registry is written in a single pass. The duration and size of each scrape are recorded in the
+ * {@code scrapes} timer and {@code bytes} histogram of this class.
+ */
+public class PrometheusServlet extends HttpServlet {
+    private static final long serialVersionUID = -2256530733838530826L;
+
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    private final transient PrometheusTextFormat format;
+    private final transient Timer scrapes;
+    private final transient Histogram bytes;
+    private volatile int lastSize = INITIAL_BUFFER_SIZE;
+
+    public PrometheusServlet(PrometheusTextFormat format, MetricRegistry metricRegistry) {
+        this.format = format;
+        this.scrapes = metricRegistry.timer(name(PrometheusServlet.class, "scrapes"));
+        this.bytes = metricRegistry.histogram(name(PrometheusServlet.class, "bytes"));
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        final Timer.Context context = scrapes.time();
+        try {
+            final int bufferSize = Math.min(lastSize + lastSize / 8, MAX_BUFFER_SIZE);
+            resp.setStatus(HttpServletResponse.SC_OK);
+            resp.setContentType(PrometheusTextFormat.CONTENT_TYPE);
+            resp.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+            resp.setBufferSize(bufferSize);
+
+            final CountingOutputStream output = new CountingOutputStream(resp.getOutputStream());
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(output, UTF_8))) {
+                format.write(writer);
+            }
+
+            final int size = (int) Math.min(output.getCount(), Integer.MAX_VALUE);
+            lastSize = Math.max(size, INITIAL_BUFFER_SIZE);
+            bytes.update(size);
+        } finally {
+            context.stop();
+        }
+    }
+}
@@ -0,0 +1,296 @@
+package io.dropwizard.setup;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+import io.dropwizard.lifecycle.JettyManaged;
+import io.dropwizard.lifecycle.ManagedDependencyGraph;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Records how long each phase of an application's startup takes: the construction of its {@link Bootstrap}, its
+ * initialization, the parsing of its configuration, the run of each bundle and of the application, the
+ * initialization of Jersey, the start of each managed object and the start of the server.
+ * <p/>
+ * When the server has started, the timeline is logged at {@code INFO}, each phase is exposed as a gauge of its
+ * duration in milliseconds named after this class and the phase, and the timeline is available as JSON from the
+ * {@code /startup} endpoint of the admin connector.
+ */
+public class StartupTimeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimeline.class);
+
+    private final long originNanos;
+    private final long jvmUptimeMillis;
+    private final List<Phase> phases = new ArrayList<>();
+
+    @Nullable
+    private Long totalMillis;
+
+    public StartupTimeline() {
+        this.originNanos = System.nanoTime();
+        this.jvmUptimeMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+    }
+
+    /**
+     * Starts timing a phase, which ends when the returned {@link Timing} is closed.
+     *
+     * @param name the name of the phase
+     * @return the timing of the phase
+     */
+    public Timing start(String name) {
+        final long startNanos = System.nanoTime();
+        return () -> record(name, startNanos, System.nanoTime());
+    }
+
+    /**
+     * Records a phase which took place between two readings of {@link System#nanoTime()}.
+     *
+     * @param name       the name of the phase
+     * @param startNanos when the phase started
+     * @param endNanos   when the phase ended
+     */
+    public synchronized void record(String name, long startNanos, long endNanos) {
+        phases.add(new Phase(name, toMillis(startNanos - originNanos), toMillis(endNanos - startNanos)));
+    }
+
+    /**
+     * Returns the phases recorded so far, in the order in which they started.
+     */
+    @JsonProperty
+    public synchronized List<Phase> getPhases() {
+        final List<Phase> sorted = new ArrayList<>(phases);
+        sorted.sort(Comparator.comparingDouble(Phase::getStartMillis));
+        return ImmutableList.copyOf(sorted);
+    }
+
+    /**
+     * Returns how long the JVM had been running when the timeline started, i.e. before the application's
+     * {@link Bootstrap} was created.
+     */
+    @JsonProperty
+    public long getJvmUptimeMillis() {
+        return jvmUptimeMillis;
+    }
+
+    /**
+     * Returns how long the startup took from the creation of the timeline, or {@code null} if the server has not
+     * started yet.
+     */
+    @JsonProperty
+    @Nullable
+    public synchronized Long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Marks the end of the startup: logs the timeline and registers a gauge per phase with {@code metrics}. Only
+     * the first call has any effect.
+     *
+     * @param metrics the registry of the application's metrics
+     */
+    public void finish(MetricRegistry metrics) {
+        final List<Phase> finished;
+        final long total;
+        synchronized (this) {
+            if (totalMillis != null) {
+                return;
+            }
+            total = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - originNanos);
+            totalMillis = total;
+            finished = getPhases();
+        }
+
+        final StringBuilder builder = new StringBuilder(64 * (finished.size() + 2)).append(String.format("%n%n"));
+        builder.append(String.format("    %10s  %10s  %s%n", "start (ms)", "took (ms)", "phase"));
+        builder.append(String.format("    %10s  %10d  %s%n", "", jvmUptimeMillis, "jvm"));
+        for (Phase phase : finished) {
+            builder.append(String.format("    %10.1f  %10.1f  %s%n",
+                                         phase.getStartMillis(), phase.getDurationMillis(), phase.getName()));
+        }
+        builder.append(String.format("    %10s  %10d  %s%n", "", total, "total"));
+        LOGGER.info("startup = {}", builder.toString());
+
+        // phases which occur several times, e.g. managed objects of the same class, are summed up
+        final Map<String, Double> durations = new LinkedHashMap<>();
+        for (Phase phase : finished) {
+            durations.merge(phase.getName(), phase.getDurationMillis(), Double::sum);
+        }
+        durations.put("jvm", (double) jvmUptimeMillis);
+        durations.put("total", (double) total);
+        for (Map.Entry<String, Double> entry : durations.entrySet()) {
+            final Double value = entry.getValue();
+            final String name = name(StartupTimeline.class, entry.getKey());
+            if (!metrics.getNames().contains(name)) {
+                metrics.register(name, (Gauge<Double>) () -> value);
+            }
+        }
+    }
+
+    /**
+     * Returns a listener which times the start of the server, and of each of {@code managedObjects}, and
+     * {@link #finish(MetricRegistry) finishes} the timeline once the server has started.
+     *
+     * @param managedObjects the objects managed by the server's lifecycle
+     * @param metrics        the registry of the application's metrics
+     */
+    public LifeCycle.Listener serverListener(List<LifeCycle> managedObjects, MetricRegistry metrics) {
+        return new AbstractLifeCycle.AbstractLifeCycleListener() {
+            private final LifeCycle.Listener managedListener = new PhaseListener("managed.");
+            private long startNanos;
+
+            @Override
+            public void lifeCycleStarting(LifeCycle event) {
+                if (event instanceof Server) {
+                    startNanos = System.nanoTime();
+                    for (LifeCycle managed : managedObjects(managedObjects)) {
+                        managed.addLifeCycleListener(managedListener);
+                    }
+                }
+            }
+
+            @Override
+            public void lifeCycleStarted(LifeCycle event) {
+                if (event instanceof Server) {
+                    record("server.start", startNanos, System.nanoTime());
+                    for (LifeCycle managed : managedObjects(managedObjects)) {
+                        managed.removeLifeCycleListener(managedListener);
+                    }
+                    finish(metrics);
+                }
+            }
+        };
+    }
+
+    private static List<LifeCycle> managedObjects(List<LifeCycle> managedObjects) {
+        final List<LifeCycle> objects = new ArrayList<>(managedObjects.size());
+        for (LifeCycle managed : managedObjects) {
+            if (managed instanceof ManagedDependencyGraph) {
+                objects.addAll(((ManagedDependencyGraph) managed).getManagedObjects());
+            } else {
+                objects.add(managed);
+            }
+        }
+        return objects;
+    }
+
+    /**
+     * Returns a Jersey listener which times the initialization of the application's resource model.
+     */
+    public ApplicationEventListener jerseyListener() {
+        return new ApplicationEventListener() {
+            private long startNanos;
+
+            @Override
+            public void onEvent(ApplicationEvent event) {
+                if (event.getType() == ApplicationEvent.Type.INITIALIZATION_START) {
+                    startNanos = System.nanoTime();
+                } else if (event.getType() == ApplicationEvent.Type.INITIALIZATION_FINISHED) {
+                    record("jersey", startNanos, System.nanoTime());
+                }
+            }
+
+            @Override
+            @Nullable
+            public RequestEventListener onRequest(RequestEvent requestEvent) {
+                return null;
+            }
+        };
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * The timing of a phase in progress.
+     */
+    @FunctionalInterface
+    public interface Timing extends AutoCloseable {
+        /**
+         * Ends the phase.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * A phase of the startup.
+     */
+    public static class Phase {
+        private final String name;
+        private final double startMillis;
+        private final double durationMillis;
+
+        Phase(String name, double startMillis, double durationMillis) {
+            this.name = name;
+            this.startMillis = startMillis;
+            this.durationMillis = durationMillis;
+        }
+
+        @JsonProperty
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns when the phase started, relative to the start of the timeline.
+         */
+        @JsonProperty
+        public double getStartMillis() {
+            return startMillis;
+        }
+
+        @JsonProperty
+        public double getDurationMillis() {
+            return durationMillis;
+        }
+    }
+
+    private class PhaseListener extends AbstractLifeCycle.AbstractLifeCycleListener {
+        private final String prefix;
+        private final Map<LifeCycle, Long> starts = new LinkedHashMap<>();
+
+        private PhaseListener(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public synchronized void lifeCycleStarting(LifeCycle event) {
+            starts.put(event, System.nanoTime());
+        }
+
+        @Override
+        public synchronized void lifeCycleStarted(LifeCycle event) {
+            final Long startNanos = starts.remove(event);
+            if (startNanos != null) {
+                record(prefix + phaseName(event), startNanos, System.nanoTime());
+            }
+        }
+
+        private String phaseName(LifeCycle event) {
+            final Object object = event instanceof JettyManaged ? ((JettyManaged) event).getManaged() : event;
+            final String simpleName = object.getClass().getSimpleName();
+            return simpleName.isEmpty() ? object.getClass().getName() : simpleName;
+        }
+    }
+}
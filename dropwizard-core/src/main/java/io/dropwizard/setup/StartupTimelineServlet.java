@@ -0,0 +1,35 @@
+package io.dropwizard.setup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A servlet which exposes the {@link StartupTimeline} of an application as JSON.
+ */
+public class StartupTimelineServlet extends HttpServlet {
+    private static final long serialVersionUID = 3815294651436541212L;
+
+    private final transient StartupTimeline timeline;
+    private final transient ObjectMapper mapper;
+
+    public StartupTimelineServlet(StartupTimeline timeline, ObjectMapper mapper) {
+        this.timeline = timeline;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        resp.setStatus(HttpServletResponse.SC_OK);
+        resp.setContentType("application/json");
+        resp.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+        try (OutputStream output = resp.getOutputStream()) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(output, timeline);
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package io.dropwizard.setup;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.health.HealthCheck;
+import com.codahale.metrics.health.HealthCheckRegistry;
+import com.google.common.io.ByteStreams;
+import io.dropwizard.jersey.setup.JerseyContainerHolder;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.servlet.ServletContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.servlet.Servlet;
+import javax.ws.rs.core.HttpHeaders;
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Warms up the application before the server accepts traffic, so that the first requests are not served by
+ * interpreted code, empty caches and cold connection pools.
+ * <p/>
+ * Once the application's handlers have started, and before its connectors are opened, the registered tasks are
+ * run, and the registered requests are sent through Jersey in memory, over and over until either the configured
+ * number of iterations has run or the configured duration has elapsed. Failures are logged and counted, but do not
+ * fail the start of the server.
+ * <p/>
+ * Each task and request is timed by a {@link Timer} named after this class and the task or request, and the
+ * {@code warm-up} health check, registered with the first task or request, is unhealthy until the warm-up has run,
+ * and stays unhealthy if every task and request run failed, or more than the maximum ratio of them.
+ */
+public class WarmUp extends AbstractLifeCycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmUp.class);
+    private static final URI BASE_URI = URI.create("http://localhost/");
+
+    /**
+     * The default number of times the tasks and requests are run.
+     */
+    public static final int DEFAULT_ITERATIONS = 1_000;
+
+    /**
+     * The default maximum duration of the warm-up.
+     */
+    public static final Duration DEFAULT_MAX_DURATION = Duration.seconds(30);
+
+    /**
+     * The default maximum ratio of failed runs of the tasks and requests for the warm-up to be healthy.
+     */
+    public static final double DEFAULT_MAX_FAILURE_RATIO = 0.5;
+
+    private final JerseyContainerHolder jerseyContainer;
+    private final MetricRegistry metrics;
+    private final HealthCheckRegistry healthChecks;
+    private final List<Step> steps = new ArrayList<>();
+
+    private int iterations = DEFAULT_ITERATIONS;
+    private Duration maxDuration = DEFAULT_MAX_DURATION;
+    private double maxFailureRatio = DEFAULT_MAX_FAILURE_RATIO;
+
+    @Nullable
+    private volatile String result;
+    private volatile boolean healthy;
+
+    public WarmUp(JerseyContainerHolder jerseyContainer, MetricRegistry metrics, HealthCheckRegistry healthChecks) {
+        this.jerseyContainer = jerseyContainer;
+        this.metrics = metrics;
+        this.healthChecks = healthChecks;
+    }
+
+    /**
+     * Adds a task to run on each iteration of the warm-up, e.g. one which loads a cache or opens the connections
+     * of a pool.
+     *
+     * @param name the name of the task
+     * @param task the task
+     */
+    public synchronized void addTask(String name, Task task) {
+        add(new Step(name(WarmUp.class, "tasks", requireNonNull(name)), requireNonNull(task), null));
+    }
+
+    /**
+     * Adds a request without an entity to send to the application on each iteration of the warm-up.
+     *
+     * @param method the HTTP method of the request
+     * @param path   the path of the request, relative to the root of the Jersey application, e.g.
+     *               {@code /hello-world?name=warm-up}
+     */
+    public void addRequest(String method, String path) {
+        addRequest(method, path, null, null);
+    }
+
+    /**
+     * Adds a request to send to the application on each iteration of the warm-up.
+     *
+     * @param method      the HTTP method of the request
+     * @param path        the path of the request, relative to the root of the Jersey application
+     * @param contentType the media type of {@code entity}
+     * @param entity      the entity of the request
+     */
+    public synchronized void addRequest(String method, String path, @Nullable String contentType,
+                                        @Nullable byte[] entity) {
+        final Request request = new Request(requireNonNull(method), requireNonNull(path), contentType, entity);
+        add(new Step(name(WarmUp.class, "requests", method + ' ' + path), null, request));
+    }
+
+    private void add(Step step) {
+        if (steps.isEmpty() && !healthChecks.getNames().contains("warm-up")) {
+            healthChecks.register("warm-up", new WarmUpHealthCheck());
+        }
+        steps.add(step);
+    }
+
+    public synchronized int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Sets the maximum number of times the tasks and requests are run. Defaults to {@value #DEFAULT_ITERATIONS}.
+     *
+     * @param iterations a positive number of iterations
+     */
+    public synchronized void setIterations(int iterations) {
+        checkArgument(iterations > 0, "iterations must be positive");
+        this.iterations = iterations;
+    }
+
+    public synchronized Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    /**
+     * Sets the maximum duration of the warm-up, after which no further iteration is started. Defaults to 30
+     * seconds.
+     *
+     * @param maxDuration the maximum duration
+     */
+    public synchronized void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = requireNonNull(maxDuration);
+    }
+
+    public synchronized double getMaxFailureRatio() {
+        return maxFailureRatio;
+    }
+
+    /**
+     * Sets the maximum ratio of the runs of the tasks and requests which may fail for the {@code warm-up} health
+     * check to be healthy. Defaults to {@value #DEFAULT_MAX_FAILURE_RATIO}. Whatever the ratio, the health check is
+     * unhealthy if every run failed.
+     *
+     * @param maxFailureRatio a ratio between 0 and 1
+     */
+    public synchronized void setMaxFailureRatio(double maxFailureRatio) {
+        checkArgument(maxFailureRatio >= 0 && maxFailureRatio <= 1, "maxFailureRatio must be between 0 and 1");
+        this.maxFailureRatio = maxFailureRatio;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (hasSteps()) {
+            run(applicationHandler());
+        }
+    }
+
+    private synchronized boolean hasSteps() {
+        return !steps.isEmpty();
+    }
+
+    @Nullable
+    private ApplicationHandler applicationHandler() {
+        final Servlet container = jerseyContainer.getContainer();
+        if (container instanceof ServletContainer) {
+            return ((ServletContainer) container).getApplicationHandler();
+        }
+        return null;
+    }
+
+    /**
+     * Runs the warm-up, sending the requests to {@code handler}.
+     */
+    synchronized void run(@Nullable ApplicationHandler handler) {
+        final Counter iterationCount = metrics.counter(name(WarmUp.class, "iterations"));
+        final Counter failures = metrics.counter(name(WarmUp.class, "failures"));
+        final long startNanos = System.nanoTime();
+        final long deadline = startNanos + maxDuration.toNanoseconds();
+        LOGGER.info("Warming up the application with {} tasks and requests", steps.size());
+
+        int iteration = 0;
+        long ran = 0;
+        long failed = 0;
+        while (iteration < iterations && System.nanoTime() - deadline < 0) {
+            for (Step step : steps) {
+                try (Timer.Context ignored = metrics.timer(step.name).time()) {
+                    ran++;
+                    step.run(handler, deadline);
+                } catch (TimeoutException e) {
+                    // cut short by the deadline rather than failed
+                    ran--;
+                    break;
+                } catch (Exception e) {
+                    if (failed++ == 0) {
+                        LOGGER.warn("Warm-up step {} failed", step.name, e);
+                    }
+                    failures.inc();
+                }
+            }
+            iteration++;
+            iterationCount.inc();
+        }
+
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        healthy = failed == 0 || (failed < ran && failed <= maxFailureRatio * ran);
+        result = String.format("Warmed up with %d iterations in %dms, %d failures out of %d runs", iteration, millis,
+            failed, ran);
+        if (healthy) {
+            LOGGER.info(result);
+        } else {
+            LOGGER.warn(result);
+        }
+    }
+
+    /**
+     * A task run on each iteration of the warm-up.
+     */
+    @FunctionalInterface
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    private static class Step {
+        private final String name;
+        @Nullable
+        private final Task task;
+        @Nullable
+        private final Request request;
+
+        private Step(String name, @Nullable Task task, @Nullable Request request) {
+            this.name = name;
+            this.task = task;
+            this.request = request;
+        }
+
+        private void run(@Nullable ApplicationHandler handler, long deadline) throws Exception {
+            if (task != null) {
+                task.run();
+            } else if (request != null) {
+                if (handler == null) {
+                    throw new IllegalStateException("Jersey is not running in a Jersey servlet container");
+                }
+                request.send(handler, deadline);
+            }
+        }
+    }
+
+    private static class Request {
+        private final String method;
+        private final String path;
+        @Nullable
+        private final String contentType;
+        @Nullable
+        private final byte[] entity;
+
+        private Request(String method, String path, @Nullable String contentType, @Nullable byte[] entity) {
+            this.method = method;
+            this.path = path;
+            this.contentType = contentType;
+            this.entity = entity;
+        }
+
+        private void send(ApplicationHandler handler, long deadline) throws Exception {
+            final ContainerRequest request = new ContainerRequest(BASE_URI,
+                BASE_URI.resolve(path.startsWith("/") ? path.substring(1) : path), method, null,
+                new MapPropertiesDelegate());
+            if (entity != null) {
+                request.setEntityStream(new ByteArrayInputStream(entity));
+                if (contentType != null) {
+                    request.header(HttpHeaders.CONTENT_TYPE, contentType);
+                }
+            }
+
+            final Future<ContainerResponse> future = handler.apply(request, ByteStreams.nullOutputStream());
+            final ContainerResponse response;
+            try {
+                response = future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                throw e;
+            }
+            if (response.getStatus() >= 500) {
+                throw new IllegalStateException(method + ' ' + path + " returned " + response.getStatus());
+            }
+        }
+    }
+
+    private class WarmUpHealthCheck extends HealthCheck {
+        @Override
+        protected Result check() throws Exception {
+            final String warmedUp = result;
+            if (warmedUp == null) {
+                return Result.unhealthy("Not warmed up yet");
+            }
+            return healthy ? Result.healthy(warmedUp) : Result.unhealthy(warmedUp);
+        }
+    }
+}
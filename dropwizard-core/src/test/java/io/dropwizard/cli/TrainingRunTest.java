@@ -0,0 +1,101 @@
+package io.dropwizard.cli;
+
+import io.dropwizard.jackson.DiscoveryIndex;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrainingRunTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final Server server = new Server();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws Exception {
+        final ServerConnector connector = new ServerConnector(server);
+        connector.setName("application");
+        connector.setPort(0);
+        server.addConnector(connector);
+        server.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                               HttpServletResponse response) {
+                requests.add(target);
+                response.setStatus(target.equals("/missing") ? 404 : 200);
+                baseRequest.setHandled(true);
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void sendsTheWarmUpRequests() throws Exception {
+        new TrainingRun(folder.getRoot().toPath(), Arrays.asList("/hello", "/missing")).run(server);
+
+        assertThat(requests).containsExactly("/hello", "/missing");
+    }
+
+    @Test
+    public void writesTheDiscoveryIndexAndTheJvmOptions() throws Exception {
+        final Path directory = folder.getRoot().toPath().resolve("training");
+        new TrainingRun(directory, Collections.emptyList(), Collections.emptyList()).run(server);
+
+        assertThat(Files.readAllLines(directory.resolve(TrainingRun.DISCOVERY_INDEX), UTF_8))
+            .anyMatch(line -> line.startsWith("io.dropwizard.jackson.Discoverable "));
+        assertThat(Files.readAllLines(directory.resolve(TrainingRun.JVM_OPTIONS), UTF_8))
+            .contains("-Xshare:auto",
+                "-D" + DiscoveryIndex.INDEX_PROPERTY + '=' +
+                    directory.toAbsolutePath().resolve(TrainingRun.DISCOVERY_INDEX))
+            .doesNotContain("-XX:SharedArchiveFile=" + directory.toAbsolutePath().resolve(TrainingRun.ARCHIVE));
+    }
+
+    @Test
+    public void usesAnArchiveWrittenAtExit() throws Exception {
+        final Path directory = folder.getRoot().toPath().resolve("training");
+        final Path archive = directory.toAbsolutePath().resolve(TrainingRun.ARCHIVE);
+        new TrainingRun(directory, Collections.emptyList(),
+            Collections.singletonList("-XX:ArchiveClassesAtExit=" + archive)).run(server);
+
+        assertThat(Files.readAllLines(directory.resolve(TrainingRun.JVM_OPTIONS), UTF_8))
+            .contains("-XX:SharedArchiveFile=" + archive);
+    }
+
+    @Test
+    public void usesAnExistingArchive() throws Exception {
+        final Path directory = folder.getRoot().toPath().resolve("training");
+        final Path archive = directory.toAbsolutePath().resolve(TrainingRun.ARCHIVE);
+        Files.createDirectories(directory);
+        Files.createFile(archive);
+        new TrainingRun(directory, Collections.emptyList(),
+            Collections.singletonList("-XX:DumpLoadedClassList=" + directory.resolve(TrainingRun.CLASS_LIST)))
+            .run(server);
+
+        assertThat(Files.readAllLines(directory.resolve(TrainingRun.JVM_OPTIONS), UTF_8))
+            .contains("-XX:SharedArchiveFile=" + archive);
+    }
+}
@@ -0,0 +1,219 @@
+package io.dropwizard.configreload;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricRegistryListener;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.Configuration;
+import io.dropwizard.configuration.ConfigurationFactory;
+import io.dropwizard.configuration.FileConfigurationSourceProvider;
+import io.dropwizard.configuration.YamlConfigurationFactory;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.Validators;
+import io.dropwizard.lifecycle.JettyManaged;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.metrics.ScheduledReporterManager;
+import io.dropwizard.server.DefaultServerFactory;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConfigurationReloaderTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final ObjectMapper mapper = Jackson.newObjectMapper();
+    private final ConfigurationFactory<Configuration> factory =
+        new YamlConfigurationFactory<>(Configuration.class, Validators.newValidator(), mapper, "dw");
+    private final QueuedThreadPool threadPool = new QueuedThreadPool(1024, 8);
+
+    private File file;
+    private ConfigurationReloader<Configuration> reloader;
+
+    @Before
+    public void setUp() throws Exception {
+        file = folder.newFile("config.yml");
+        write("server:",
+              "  maxThreads: 1024",
+              "logging:",
+              "  loggers:",
+              "    io.dropwizard.configreload.first: INFO");
+        final Configuration configuration = factory.build(file);
+        reloader = new ConfigurationReloader<>(factory, new FileConfigurationSourceProvider(), file.toString(),
+            configuration, mapper, new MetricRegistry(), new LifecycleEnvironment());
+        reloader.setServer(new Server(threadPool));
+    }
+
+    @Test
+    public void reloadsNothingWithoutChanges() throws Exception {
+        final Configuration configuration = reloader.getConfiguration();
+
+        assertThat(reloader.reload()).isEmpty();
+        assertThat(reloader.reloadIfChanged()).isEmpty();
+        assertThat(reloader.getConfiguration()).isNotSameAs(configuration);
+    }
+
+    @Test
+    public void resizesTheThreadPool() throws Exception {
+        write("server:",
+              "  maxThreads: 50",
+              "  minThreads: 4",
+              "logging:",
+              "  loggers:",
+              "    io.dropwizard.configreload.first: INFO");
+
+        assertThat(reloader.reloadIfChanged()).containsExactly("server.maxThreads", "server.minThreads");
+        assertThat(threadPool.getMaxThreads()).isEqualTo(50);
+        assertThat(threadPool.getMinThreads()).isEqualTo(4);
+        assertThat(((DefaultServerFactory) reloader.getConfiguration().getServerFactory()).getMaxThreads())
+            .isEqualTo(50);
+    }
+
+    @Test
+    public void setsTheLevelsOfLoggers() throws Exception {
+        write("server:",
+              "  maxThreads: 1024",
+              "logging:",
+              "  loggers:",
+              "    io.dropwizard.configreload.second: WARN");
+
+        assertThat(reloader.reload()).containsExactly("logging.loggers.io.dropwizard.configreload.first",
+                                                      "logging.loggers.io.dropwizard.configreload.second");
+        assertThat(logger("io.dropwizard.configreload.first").getLevel()).isNull();
+        assertThat(logger("io.dropwizard.configreload.second").getLevel()).isEqualTo(Level.WARN);
+    }
+
+    @Test
+    public void rejectsChangesWhichNeedARestart() throws Exception {
+        final Configuration configuration = reloader.getConfiguration();
+        write("server:",
+              "  maxThreads: 50",
+              "  applicationConnectors:",
+              "    - type: http",
+              "      port: 9090",
+              "logging:",
+              "  loggers:",
+              "    io.dropwizard.configreload.first: INFO");
+
+        assertThatThrownBy(reloader::reload)
+            .isInstanceOf(ConfigurationReloadException.class)
+            .hasMessageContaining("server.applicationConnectors[0].port cannot be changed without a restart");
+        assertThat(threadPool.getMaxThreads()).isEqualTo(1024);
+        assertThat(reloader.getConfiguration()).isSameAs(configuration);
+    }
+
+    @Test
+    public void comparesTheFieldsAsWritten() throws Exception {
+        write("logging:",
+              "  loggers: {io.dropwizard.configreload.first: INFO}",
+              "server: {maxThreads: 1024}");
+
+        assertThat(reloader.reloadIfChanged()).isEmpty();
+    }
+
+    @Test
+    public void comparesSectionsAddedAsAWholeFieldByField() throws Exception {
+        write("server:",
+              "  maxThreads: 1024",
+              "  gzip:",
+              "    minimumEntitySize: 1KiB",
+              "logging:",
+              "  loggers:",
+              "    io.dropwizard.configreload.first: INFO");
+
+        assertThat(reloader.reload()).containsExactly("server.gzip.minimumEntitySize");
+    }
+
+    @Test
+    public void rejectsChangesToTheCompressedMimeTypes() throws Exception {
+        final Configuration configuration = reloader.getConfiguration();
+        write("server:",
+              "  maxThreads: 1024",
+              "  gzip:",
+              "    compressedMimeTypes: [text/plain]",
+              "logging:",
+              "  loggers:",
+              "    io.dropwizard.configreload.first: INFO");
+
+        assertThatThrownBy(reloader::reload)
+            .isInstanceOf(ConfigurationReloadException.class)
+            .hasMessageContaining("server.gzip.compressedMimeTypes cannot be changed without a restart");
+        assertThat(reloader.getConfiguration()).isSameAs(configuration);
+    }
+
+    @Test
+    public void appliesNothingWhenAChangeCannotBeApplied() throws Exception {
+        final Configuration configuration = reloader.getConfiguration();
+        final ConfigurationReloader<Configuration> unstarted = new ConfigurationReloader<>(factory,
+            new FileConfigurationSourceProvider(), file.toString(), configuration, mapper, new MetricRegistry(),
+            new LifecycleEnvironment());
+        write("server:",
+              "  maxThreads: 50",
+              "logging:",
+              "  loggers:",
+              "    io.dropwizard.configreload.first: INFO",
+              "    io.dropwizard.configreload.third: ERROR");
+
+        assertThatThrownBy(unstarted::reload)
+            .isInstanceOf(ConfigurationReloadException.class)
+            .hasMessageContaining("the server has not started");
+        assertThat(logger("io.dropwizard.configreload.third").getLevel()).isNull();
+        assertThat(unstarted.getConfiguration()).isSameAs(configuration);
+    }
+
+    @Test
+    public void reschedulesReportersWithoutListeningToTheRegistry() throws Exception {
+        final AtomicInteger listeners = new AtomicInteger();
+        final MetricRegistry metrics = new MetricRegistry() {
+            @Override
+            public void addListener(MetricRegistryListener listener) {
+                listeners.incrementAndGet();
+                super.addListener(listener);
+            }
+        };
+        final LifecycleEnvironment lifecycle = new LifecycleEnvironment();
+        write("metrics:",
+              "  reporters:",
+              "    - type: console",
+              "      frequency: 1 minute");
+        final Configuration configuration = factory.build(file);
+        configuration.getMetricsFactory().configure(lifecycle, metrics);
+        final ScheduledReporterManager manager =
+            (ScheduledReporterManager) ((JettyManaged) lifecycle.getManagedObjects().get(0)).getManaged();
+        final ConfigurationReloader<Configuration> reporting = new ConfigurationReloader<>(factory,
+            new FileConfigurationSourceProvider(), file.toString(), configuration, mapper, metrics, lifecycle);
+
+        for (int minutes = 2; minutes <= 4; minutes++) {
+            write("metrics:",
+                  "  reporters:",
+                  "    - type: console",
+                  "      frequency: " + minutes + " minutes");
+            assertThat(reporting.reload()).containsExactly("metrics.reporters[0].frequency");
+        }
+        assertThat(manager.getPeriod()).isEqualTo(Duration.minutes(4));
+        assertThat(listeners.get()).isZero();
+        manager.stop();
+    }
+
+    private void write(String... lines) throws Exception {
+        Files.write(file.toPath(), String.join("\n", lines).getBytes(UTF_8));
+    }
+
+    private static Logger logger(String name) {
+        return (Logger) LoggerFactory.getLogger(name);
+    }
+}
@@ -0,0 +1,175 @@
+package io.dropwizard.server;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import com.codahale.metrics.health.HealthCheckRegistry;
+import io.dropwizard.lifecycle.setup.LifecycleEnvironment;
+import io.dropwizard.util.Duration;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.eclipse.jetty.server.handler.StatisticsHandler;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GracefulShutdownTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final HealthCheckRegistry healthChecks = new HealthCheckRegistry();
+    private final LifecycleEnvironment lifecycle = new LifecycleEnvironment(metrics);
+    private final Server server = new Server();
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+    }
+
+    @Test
+    public void failsTheReadinessHealthCheckDuringTheDelay() {
+        final GracefulShutdown shutdown =
+            new GracefulShutdown(lifecycle, healthChecks, metrics, Duration.milliseconds(100), Duration.seconds(5),
+                true);
+        assertThat(healthChecks.runHealthCheck(GracefulShutdown.READINESS_HEALTH_CHECK).isHealthy()).isTrue();
+
+        shutdown.lifeCycleStopping(server);
+
+        assertThat(shutdown.isShuttingDown()).isTrue();
+        assertThat(healthChecks.runHealthCheck(GracefulShutdown.READINESS_HEALTH_CHECK).isHealthy()).isFalse();
+        assertThat(metrics.timer("io.dropwizard.server.GracefulShutdown.delay").getSnapshot().getMax())
+            .isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(metrics.timer("io.dropwizard.server.GracefulShutdown.requests").getCount()).isEqualTo(1);
+        assertThat(metrics.timer("io.dropwizard.server.GracefulShutdown.executors").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void registersNoHealthCheckWithoutDelay() {
+        new GracefulShutdown(lifecycle, healthChecks, metrics, Duration.seconds(0), Duration.seconds(5), false);
+
+        assertThat(healthChecks.getNames()).isEmpty();
+    }
+
+    @Test
+    public void keepsAReadinessHealthCheckAlreadyRegistered() {
+        final HealthCheck existing = new HealthCheck() {
+            @Override
+            protected Result check() {
+                return Result.healthy();
+            }
+        };
+        healthChecks.register(GracefulShutdown.READINESS_HEALTH_CHECK, existing);
+
+        new GracefulShutdown(lifecycle, healthChecks, metrics, Duration.seconds(1), Duration.seconds(5), false);
+
+        assertThat(healthChecks.runHealthCheck(GracefulShutdown.READINESS_HEALTH_CHECK).isHealthy()).isTrue();
+    }
+
+    @Test
+    public void drainsTheManagedExecutors() {
+        final ExecutorService executor = lifecycle.executorService("drain-%d").build();
+        final AtomicBoolean done = new AtomicBoolean();
+        executor.execute(() -> {
+            sleep(200);
+            done.set(true);
+        });
+        final GracefulShutdown shutdown =
+            new GracefulShutdown(lifecycle, healthChecks, metrics, Duration.seconds(0), Duration.seconds(5), true);
+
+        shutdown.lifeCycleStopping(server);
+
+        assertThat(done.get()).isTrue();
+        assertThat(executor.isShutdown()).isTrue();
+        assertThat(server.getStopTimeout()).isBetween(1L, 5_000L);
+    }
+
+    @Test
+    public void stopsTasksFromResubmittingThemselves() {
+        final ExecutorService executor = lifecycle.executorService("resubmit-%d").build();
+        final AtomicInteger runs = new AtomicInteger();
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                sleep(50);
+                runs.incrementAndGet();
+                if (!executor.isShutdown()) {
+                    executor.execute(this);
+                }
+            }
+        });
+        final GracefulShutdown shutdown =
+            new GracefulShutdown(lifecycle, healthChecks, metrics, Duration.seconds(0), Duration.seconds(5), true);
+
+        final long start = System.nanoTime();
+        shutdown.lifeCycleStopping(server);
+
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(runs.get()).isPositive();
+    }
+
+    @Test
+    public void leavesTheManagedExecutorsRunningByDefault() {
+        final ExecutorService executor = lifecycle.executorService("running-%d").build();
+        final GracefulShutdown shutdown =
+            new GracefulShutdown(lifecycle, healthChecks, metrics, Duration.seconds(0), Duration.seconds(5), false);
+
+        shutdown.lifeCycleStopping(server);
+
+        assertThat(executor.isShutdown()).isFalse();
+        assertThat(metrics.timer("io.dropwizard.server.GracefulShutdown.executors").getCount()).isZero();
+        executor.shutdown();
+    }
+
+    @Test
+    public void drainsTheRequestsInFlight() throws Exception {
+        final StatisticsHandler statisticsHandler = new StatisticsHandler();
+        statisticsHandler.setHandler(new AbstractHandler() {
+            @Override
+            public void handle(String target, Request baseRequest, HttpServletRequest request,
+                               HttpServletResponse response) {
+                sleep(200);
+                baseRequest.setHandled(true);
+            }
+        });
+        final ServerConnector connector = new ServerConnector(server);
+        server.addConnector(connector);
+        server.setHandler(statisticsHandler);
+        server.start();
+
+        final CompletableFuture<Integer> status = CompletableFuture.supplyAsync(() -> {
+            try {
+                final URL url = new URL("http://localhost:" + connector.getLocalPort() + "/");
+                return ((HttpURLConnection) url.openConnection()).getResponseCode();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (statisticsHandler.getRequestsActive() == 0) {
+            sleep(10);
+        }
+
+        new GracefulShutdown(lifecycle, healthChecks, metrics, Duration.seconds(0), Duration.seconds(5), false)
+            .lifeCycleStopping(server);
+
+        assertThat(statisticsHandler.getRequestsActive()).isZero();
+        assertThat(status.get(5, TimeUnit.SECONDS)).isEqualTo(200);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package io.dropwizard.setup;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.UniformReservoir;
@@ -25,6 +26,7 @@ import javax.validation.Validation;
 import javax.validation.ValidatorFactory;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class BootstrapTest {
     private final Application<Configuration> application = new Application<Configuration>() {
@@ -51,6 +53,16 @@ public class BootstrapTest {
                 .isNotNull();
     }
 
+    @Test
+    public void timesTheRegistrationOfMetricsWhichFails() {
+        bootstrap.getMetricRegistry().register("jvm.threads.count", (Gauge<Integer>) () -> 1);
+
+        assertThatThrownBy(bootstrap::registerMetrics).isInstanceOf(IllegalArgumentException.class);
+        assertThat(bootstrap.getStartupTimeline().getPhases())
+            .extracting(StartupTimeline.Phase::getName)
+            .contains("bootstrap.registerMetrics");
+    }
+
     @Test
     public void hasHealthCheckRegistry() {
         assertThat(bootstrap.getHealthCheckRegistry())
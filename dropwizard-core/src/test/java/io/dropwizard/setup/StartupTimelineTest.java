@@ -0,0 +1,106 @@
+package io.dropwizard.setup;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.lifecycle.JettyManaged;
+import io.dropwizard.lifecycle.Managed;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class StartupTimelineTest {
+    private final StartupTimeline timeline = new StartupTimeline();
+    private final MetricRegistry metrics = new MetricRegistry();
+
+    @Test
+    public void recordsPhasesInTheOrderTheyStarted() throws Exception {
+        final long now = System.nanoTime();
+        timeline.record("second", now + TimeUnit.MILLISECONDS.toNanos(20), now + TimeUnit.MILLISECONDS.toNanos(30));
+        timeline.record("first", now, now + TimeUnit.MILLISECONDS.toNanos(15));
+
+        final List<StartupTimeline.Phase> phases = timeline.getPhases();
+        assertThat(phases).extracting(StartupTimeline.Phase::getName).containsExactly("first", "second");
+        assertThat(phases.get(0).getDurationMillis()).isEqualTo(15.0);
+        assertThat(phases.get(1).getStartMillis() - phases.get(0).getStartMillis()).isCloseTo(20.0, within(0.001));
+    }
+
+    @Test
+    public void timesPhases() throws Exception {
+        try (StartupTimeline.Timing ignored = timeline.start("sleep")) {
+            Thread.sleep(10);
+        }
+
+        assertThat(timeline.getPhases()).hasSize(1);
+        assertThat(timeline.getPhases().get(0).getDurationMillis()).isGreaterThanOrEqualTo(10.0);
+    }
+
+    @Test
+    public void registersAGaugePerPhaseWhenFinished() throws Exception {
+        final long now = System.nanoTime();
+        timeline.record("managed.Pool", now, now + TimeUnit.MILLISECONDS.toNanos(2));
+        timeline.record("managed.Pool", now, now + TimeUnit.MILLISECONDS.toNanos(3));
+        assertThat(timeline.getTotalMillis()).isNull();
+
+        timeline.finish(metrics);
+        timeline.finish(metrics);
+
+        assertThat(timeline.getTotalMillis()).isNotNull();
+        assertThat(metrics.getGauges().keySet()).containsExactly(
+            "io.dropwizard.setup.StartupTimeline.jvm",
+            "io.dropwizard.setup.StartupTimeline.managed.Pool",
+            "io.dropwizard.setup.StartupTimeline.total");
+        final Gauge<?> pool = metrics.getGauges().get("io.dropwizard.setup.StartupTimeline.managed.Pool");
+        assertThat(pool.getValue()).isEqualTo(5.0);
+    }
+
+    @Test
+    public void timesTheServerAndItsManagedObjects() throws Exception {
+        final Server server = new Server();
+        final JettyManaged managed = new JettyManaged(new Pool());
+        final List<LifeCycle> managedObjects = Collections.singletonList(managed);
+        server.addBean(managed);
+        server.addLifeCycleListener(timeline.serverListener(managedObjects, metrics));
+
+        server.start();
+        try {
+            assertThat(timeline.getPhases()).extracting(StartupTimeline.Phase::getName)
+                .containsExactly("server.start", "managed.Pool");
+            assertThat(timeline.getTotalMillis()).isNotNull();
+            assertThat(metrics.getGauges()).containsKey("io.dropwizard.setup.StartupTimeline.server.start");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void serializesToJson() throws Exception {
+        final long now = System.nanoTime();
+        timeline.record("run", now, now + TimeUnit.MILLISECONDS.toNanos(1));
+
+        final JsonNode json = Jackson.newObjectMapper().valueToTree(timeline);
+
+        assertThat(json.get("jvmUptimeMillis").asLong()).isEqualTo(timeline.getJvmUptimeMillis());
+        assertThat(json.get("totalMillis").isNull()).isTrue();
+        assertThat(json.get("phases").get(0).get("name").asText()).isEqualTo("run");
+        assertThat(json.get("phases").get(0).get("durationMillis").asDouble()).isEqualTo(1.0);
+    }
+
+    private static class Pool implements Managed {
+        @Override
+        public void start() throws Exception {
+        }
+
+        @Override
+        public void stop() throws Exception {
+        }
+    }
+}
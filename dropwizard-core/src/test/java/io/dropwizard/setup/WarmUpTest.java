@@ -0,0 +1,167 @@
+package io.dropwizard.setup;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.health.HealthCheck;
+import com.codahale.metrics.health.HealthCheckRegistry;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import io.dropwizard.jersey.setup.JerseyContainerHolder;
+import io.dropwizard.util.Duration;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.junit.Test;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WarmUpTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final HealthCheckRegistry healthChecks = new HealthCheckRegistry();
+    private final WarmUp warmUp = new WarmUp(new JerseyContainerHolder(null), metrics, healthChecks);
+
+    @Test
+    public void runsTasksForTheConfiguredIterations() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        warmUp.setIterations(3);
+        warmUp.addTask("cache", runs::incrementAndGet);
+
+        warmUp.run(null);
+
+        assertThat(runs.get()).isEqualTo(3);
+        assertThat(metrics.counter("io.dropwizard.setup.WarmUp.iterations").getCount()).isEqualTo(3);
+        assertThat(metrics.timer("io.dropwizard.setup.WarmUp.tasks.cache").getCount()).isEqualTo(3);
+    }
+
+    @Test
+    public void stopsOnceTheMaxDurationHasElapsed() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        warmUp.setMaxDuration(Duration.milliseconds(50));
+        warmUp.addTask("slow", () -> {
+            runs.incrementAndGet();
+            Thread.sleep(20);
+        });
+
+        warmUp.run(null);
+
+        assertThat(runs.get()).isBetween(1, 4);
+    }
+
+    @Test
+    public void countsFailuresWithoutFailing() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        warmUp.setIterations(2);
+        warmUp.addTask("broken", () -> {
+            throw new IllegalStateException("broken");
+        });
+        warmUp.addTask("working", runs::incrementAndGet);
+
+        warmUp.run(null);
+
+        assertThat(runs.get()).isEqualTo(2);
+        assertThat(metrics.counter("io.dropwizard.setup.WarmUp.failures").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void sendsRequestsThroughJersey() throws Exception {
+        final CountingResource resource = new CountingResource();
+        final DropwizardResourceConfig config = DropwizardResourceConfig.forTesting(metrics);
+        config.register(resource);
+        warmUp.setIterations(5);
+        warmUp.addRequest("GET", "/count?amount=2");
+        warmUp.addRequest("POST", "/count", MediaType.TEXT_PLAIN, "3".getBytes(UTF_8));
+
+        warmUp.run(new ApplicationHandler(config));
+
+        assertThat(resource.count.get()).isEqualTo(25);
+        assertThat(metrics.counter("io.dropwizard.setup.WarmUp.failures").getCount()).isZero();
+        assertThat(metrics.timer("io.dropwizard.setup.WarmUp.requests.GET /count?amount=2").getCount())
+            .isEqualTo(5);
+    }
+
+    @Test
+    public void failsRequestsWithoutJersey() throws Exception {
+        warmUp.setIterations(1);
+        warmUp.addRequest("GET", "/count");
+
+        warmUp.run(null);
+
+        assertThat(metrics.counter("io.dropwizard.setup.WarmUp.failures").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void isUnhealthyUntilWarmedUp() throws Exception {
+        assertThat(healthChecks.getNames()).isEmpty();
+
+        warmUp.setIterations(1);
+        warmUp.addTask("nothing", () -> { });
+        assertThat(healthChecks.runHealthCheck("warm-up").isHealthy()).isFalse();
+
+        warmUp.start();
+
+        final HealthCheck.Result result = healthChecks.runHealthCheck("warm-up");
+        assertThat(result.isHealthy()).isTrue();
+        assertThat(result.getMessage()).startsWith("Warmed up with 1 iterations in ");
+    }
+
+    @Test
+    public void isUnhealthyWhenEveryRunFailed() throws Exception {
+        warmUp.setIterations(2);
+        warmUp.setMaxFailureRatio(1);
+        warmUp.addRequest("GET", "/count");
+
+        warmUp.run(null);
+
+        final HealthCheck.Result result = healthChecks.runHealthCheck("warm-up");
+        assertThat(result.isHealthy()).isFalse();
+        assertThat(result.getMessage()).endsWith("2 failures out of 2 runs");
+    }
+
+    @Test
+    public void isUnhealthyAboveTheMaxFailureRatio() throws Exception {
+        warmUp.setIterations(2);
+        warmUp.setMaxFailureRatio(0.25);
+        warmUp.addTask("broken", () -> {
+            throw new IllegalStateException("broken");
+        });
+        warmUp.addTask("working", () -> { });
+
+        warmUp.run(null);
+
+        assertThat(healthChecks.runHealthCheck("warm-up").isHealthy()).isFalse();
+    }
+
+    @Test
+    public void isHealthyWithFewFailures() throws Exception {
+        warmUp.setIterations(2);
+        warmUp.addTask("broken", () -> {
+            throw new IllegalStateException("broken");
+        });
+        warmUp.addTask("working", () -> { });
+
+        warmUp.run(null);
+
+        assertThat(healthChecks.runHealthCheck("warm-up").isHealthy()).isTrue();
+    }
+
+    @Path("/count")
+    public static class CountingResource {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @GET
+        public String get(@QueryParam("amount") int amount) {
+            return String.valueOf(count.addAndGet(amount));
+        }
+
+        @POST
+        @Consumes(MediaType.TEXT_PLAIN)
+        public String post(String amount) {
+            return String.valueOf(count.addAndGet(Integer.parseInt(amount)));
+        }
+    }
+}
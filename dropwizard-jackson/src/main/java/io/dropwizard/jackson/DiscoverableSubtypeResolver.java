@@ -1,6 +1,8 @@
 package io.dropwizard.jackson;
 
 import com.fasterxml.jackson.databind.jsontype.impl.StdSubtypeResolver;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,15 +17,34 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
 /**
  * A subtype resolver which discovers subtypes via
- * {@code META-INF/services/io.dropwizard.jackson.Discoverable}.
+ * {@code META-INF/services/io.dropwizard.jackson.Discoverable}, or via the {@link DiscoveryIndex} named by the
+ * {@value DiscoveryIndex#INDEX_PROPERTY} system property.
+ * <p/>
+ * The subtypes listed by the index, which is read in a single pass, are registered without scanning the class path.
+ * Without an index, the names of the subtypes discovered through a class loader are kept for as long as the class
+ * loader, so that the services are only scanned once per class loader and root class rather than for each new
+ * resolver. The {@link ServicesIndexProcessor build-time indexes} of the modules visible to the class loader are
+ * read before scanning, and answer for the services files of the modules they were built for.
  */
 public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
     private static final long serialVersionUID = 1L;
     private static final Logger LOGGER = LoggerFactory.getLogger(DiscoverableSubtypeResolver.class);
 
+    private static final Cache<ClassLoader, ServicesIndex> INDEXES = CacheBuilder.newBuilder()
+            .weakKeys()
+            .build();
+    private static final Cache<ClassLoader, ConcurrentMap<String, ImmutableList<String>>> SUBTYPES =
+            CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .build();
+
     private final ImmutableList<Class<?>> discoveredSubtypes;
 
     public DiscoverableSubtypeResolver() {
@@ -32,11 +53,9 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
 
     public DiscoverableSubtypeResolver(Class<?> rootKlass) {
         final ImmutableList.Builder<Class<?>> subtypes = ImmutableList.builder();
-        for (Class<?> klass : discoverServices(rootKlass)) {
-            for (Class<?> subtype : discoverServices(klass)) {
-                subtypes.add(subtype);
-                registerSubtypes(subtype);
-            }
+        for (Class<?> subtype : discoverSubtypes(rootKlass)) {
+            subtypes.add(subtype);
+            registerSubtypes(subtype);
         }
         this.discoveredSubtypes = subtypes.build();
     }
@@ -49,15 +68,62 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
         return this.getClass().getClassLoader();
     }
 
+    private List<Class<?>> discoverSubtypes(Class<?> rootKlass) {
+        final Optional<List<String>> indexed = DiscoveryIndex.fromSystemProperty()
+            .flatMap(index -> index.getSubtypes(rootKlass));
+        if (indexed.isPresent()) {
+            return loadClasses(indexed.get());
+        }
+
+        // subclasses may discover services differently, so only the subtypes discovered by this class are shared
+        if (getClass() != DiscoverableSubtypeResolver.class) {
+            return scanSubtypes(rootKlass);
+        }
+
+        final ConcurrentMap<String, ImmutableList<String>> discovered;
+        try {
+            discovered = SUBTYPES.get(getClassLoader(), ConcurrentHashMap::new);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        final ImmutableList<String> names = discovered.get(rootKlass.getName());
+        if (names != null) {
+            return loadClasses(names);
+        }
+
+        final List<Class<?>> subtypes = scanSubtypes(rootKlass);
+        final ImmutableList.Builder<String> subtypeNames = ImmutableList.builder();
+        for (Class<?> subtype : subtypes) {
+            subtypeNames.add(subtype.getName());
+        }
+        discovered.putIfAbsent(rootKlass.getName(), subtypeNames.build());
+        return subtypes;
+    }
+
+    private List<Class<?>> scanSubtypes(Class<?> rootKlass) {
+        final List<Class<?>> subtypes = new ArrayList<>();
+        for (Class<?> klass : discoverServices(rootKlass)) {
+            subtypes.addAll(discoverServices(klass));
+        }
+        return subtypes;
+    }
+
     protected List<Class<?>> discoverServices(Class<?> klass) {
         final List<Class<?>> serviceClasses = new ArrayList<>();
         try {
             // use classloader that loaded this class to find the service descriptors on the classpath
             // better than ClassLoader.getSystemResources() which may not be the same classloader if ths app
             // is running in a container (e.g. via maven exec:java)
+            final ServicesIndex index = servicesIndex();
             final Enumeration<URL> resources = getClassLoader().getResources("META-INF/services/" + klass.getName());
             while (resources.hasMoreElements()) {
                 final URL url = resources.nextElement();
+                final Optional<List<String>> indexed = index.getProviders(url, klass.getName());
+                if (indexed.isPresent()) {
+                    serviceClasses.addAll(loadClasses(indexed.get()));
+                    continue;
+                }
+
                 try (InputStream input = url.openStream();
                      InputStreamReader streamReader = new InputStreamReader(input, StandardCharsets.UTF_8);
                      BufferedReader reader = new BufferedReader(streamReader)) {
@@ -76,6 +142,26 @@ public class DiscoverableSubtypeResolver extends StdSubtypeResolver {
         return serviceClasses;
     }
 
+    private ServicesIndex servicesIndex() {
+        final ClassLoader classLoader = getClassLoader();
+        try {
+            return INDEXES.get(classLoader, () -> ServicesIndex.load(classLoader));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private List<Class<?>> loadClasses(List<String> names) {
+        final List<Class<?>> classes = new ArrayList<>(names.size());
+        for (String name : names) {
+            final Class<?> loadedClass = loadClass(name);
+            if (loadedClass != null) {
+                classes.add(loadedClass);
+            }
+        }
+        return classes;
+    }
+
     @Nullable
     private Class<?> loadClass(String line) {
         try {
@@ -0,0 +1,146 @@
+package io.dropwizard.jackson;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ListMultimap;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * A file listing the subtypes discovered by a {@link DiscoverableSubtypeResolver}, so that later runs of the same
+ * application can register them without scanning {@code META-INF/services}.
+ * <p/>
+ * The file starts with a fingerprint of the class path it was written for, and is ignored when read with a
+ * different class path. Each following line lists a root class, such as {@link Discoverable}, and one of its
+ * subtypes.
+ * <p/>
+ * {@link DiscoverableSubtypeResolver} reads the index named by the {@value #INDEX_PROPERTY} system property, if
+ * any.
+ */
+public class DiscoveryIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DiscoveryIndex.class);
+
+    /**
+     * The system property naming the index file read by {@link DiscoverableSubtypeResolver}.
+     */
+    public static final String INDEX_PROPERTY = "dropwizard.discoveryIndex";
+
+    private static final String FINGERPRINT_PREFIX = "# class path ";
+    private static final ConcurrentMap<Path, Optional<DiscoveryIndex>> INDEXES = new ConcurrentHashMap<>();
+
+    private final ListMultimap<String, String> subtypes;
+
+    private DiscoveryIndex(ListMultimap<String, String> subtypes) {
+        this.subtypes = subtypes;
+    }
+
+    /**
+     * Returns the names of the subtypes of {@code rootKlass}, or an empty optional if the index does not list
+     * {@code rootKlass}.
+     */
+    public Optional<List<String>> getSubtypes(Class<?> rootKlass) {
+        final List<String> names = subtypes.get(rootKlass.getName());
+        return names.isEmpty() ? Optional.empty() : Optional.of(names);
+    }
+
+    /**
+     * Returns the index named by the {@value #INDEX_PROPERTY} system property, if it is set and the index was
+     * written for the current class path. Indexes are read once per process.
+     */
+    public static Optional<DiscoveryIndex> fromSystemProperty() {
+        final String location = System.getProperty(INDEX_PROPERTY);
+        if (location == null || location.isEmpty()) {
+            return Optional.empty();
+        }
+        return INDEXES.computeIfAbsent(Paths.get(location), DiscoveryIndex::read);
+    }
+
+    /**
+     * Writes an index of the subtypes of {@code rootKlass} discovered by {@code resolver} to {@code file}.
+     *
+     * @param file      the file to write to
+     * @param rootKlass the root class of the subtypes
+     * @param resolver  a resolver which discovered the subtypes of {@code rootKlass}
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, Class<?> rootKlass, DiscoverableSubtypeResolver resolver) throws IOException {
+        final Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, UTF_8)) {
+            writer.write(FINGERPRINT_PREFIX + classPathFingerprint());
+            writer.newLine();
+            for (Class<?> subtype : resolver.getDiscoveredSubtypes()) {
+                writer.write(rootKlass.getName() + ' ' + subtype.getName());
+                writer.newLine();
+            }
+        }
+        INDEXES.remove(file);
+    }
+
+    private static Optional<DiscoveryIndex> read(Path file) {
+        if (!Files.isRegularFile(file)) {
+            LOGGER.debug("No discovery index at {}", file);
+            return Optional.empty();
+        }
+        try {
+            final List<String> lines = Files.readAllLines(file, UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(FINGERPRINT_PREFIX + classPathFingerprint())) {
+                LOGGER.info("Ignoring the discovery index at {}, which was written for another class path", file);
+                return Optional.empty();
+            }
+
+            final ImmutableListMultimap.Builder<String, String> subtypes = ImmutableListMultimap.builder();
+            for (String line : lines.subList(1, lines.size())) {
+                final int separator = line.indexOf(' ');
+                if (separator > 0) {
+                    subtypes.put(line.substring(0, separator), line.substring(separator + 1).trim());
+                }
+            }
+            return Optional.of(new DiscoveryIndex(subtypes.build()));
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read the discovery index at {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns a fingerprint of the entries of the class path, of their sizes and of their modification times.
+     */
+    static String classPathFingerprint() {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        for (String entry : classPath()) {
+            final File file = new File(entry);
+            hasher.putString(entry, UTF_8).putLong(file.length()).putLong(file.lastModified());
+        }
+        return hasher.hash().toString();
+    }
+
+    private static List<String> classPath() {
+        final String classPath = System.getProperty("java.class.path");
+        if (classPath == null || classPath.isEmpty()) {
+            return ImmutableList.of();
+        }
+        return ImmutableList.copyOf(classPath.split(File.pathSeparator));
+    }
+
+    static void clear() {
+        INDEXES.clear();
+    }
+}
@@ -0,0 +1,116 @@
+package io.dropwizard.jackson;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * The merged {@link ServicesIndexProcessor indexes} of the services of the modules visible to a class loader, by the
+ * root of the module which holds each.
+ */
+final class ServicesIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServicesIndex.class);
+
+    private final Map<String, Module> modules;
+
+    private ServicesIndex(Map<String, Module> modules) {
+        this.modules = modules;
+    }
+
+    /**
+     * Reads the indexes visible to {@code classLoader}.
+     */
+    static ServicesIndex load(ClassLoader classLoader) {
+        final ImmutableMap.Builder<String, Module> modules = ImmutableMap.builder();
+        try {
+            final Enumeration<URL> resources = classLoader.getResources(ServicesIndexProcessor.INDEX);
+            while (resources.hasMoreElements()) {
+                final URL url = resources.nextElement();
+                final String location = url.toString();
+                final ImmutableListMultimap.Builder<String, String> providers = ImmutableListMultimap.builder();
+                final Map<String, Long> lengths = new HashMap<>();
+                try (InputStream input = url.openStream();
+                     BufferedReader reader = new BufferedReader(new InputStreamReader(input, UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        final String[] fields = line.trim().split(" ");
+                        if (fields.length == 3) {
+                            lengths.put(fields[0], Long.parseLong(fields[1]));
+                            providers.put(fields[0], fields[2]);
+                        }
+                    }
+                }
+                modules.put(location.substring(0, location.length() - ServicesIndexProcessor.INDEX.length()),
+                            new Module(providers.build(), ImmutableMap.copyOf(lengths)));
+            }
+            return new ServicesIndex(modules.build());
+        } catch (IOException | IllegalArgumentException e) {
+            LOGGER.warn("Unable to load {}", ServicesIndexProcessor.INDEX, e);
+            return new ServicesIndex(ImmutableMap.of());
+        }
+    }
+
+    /**
+     * Returns the providers listed by the services file at {@code url}, if the module holding it was indexed and the
+     * file is the one which was indexed. Services files which were merged with those of other modules, e.g. when
+     * shading, differ in length from the indexed ones and are read instead.
+     *
+     * @param url     the location of a {@code META-INF/services} file
+     * @param service the name of the service
+     */
+    Optional<List<String>> getProviders(URL url, String service) {
+        if (modules.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final String location = url.toString();
+        final String file = ServicesIndexProcessor.SERVICES + '/' + service;
+        if (!location.endsWith(file)) {
+            return Optional.empty();
+        }
+
+        final Module module = modules.get(location.substring(0, location.length() - file.length()));
+        if (module == null) {
+            return Optional.empty();
+        }
+        final Long length = module.lengths.get(service);
+        if (length == null || length != contentLength(url)) {
+            return Optional.empty();
+        }
+        return Optional.of(module.providers.get(service));
+    }
+
+    private static long contentLength(URL url) {
+        try {
+            // jar entries and files report their length without being read
+            return url.openConnection().getContentLengthLong();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static final class Module {
+        private final ListMultimap<String, String> providers;
+        private final Map<String, Long> lengths;
+
+        private Module(ListMultimap<String, String> providers, Map<String, Long> lengths) {
+            this.providers = providers;
+            this.lengths = lengths;
+        }
+    }
+}
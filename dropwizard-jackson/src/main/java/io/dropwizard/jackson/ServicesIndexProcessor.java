@@ -0,0 +1,131 @@
+package io.dropwizard.jackson;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * An annotation processor which merges the {@code META-INF/services} files of a module into a single index,
+ * {@value #INDEX}, so that {@link DiscoverableSubtypeResolver} reads the providers of every service of the module in
+ * one pass. Each line of the index names a service, the length of its services file and one of its providers.
+ * <p/>
+ * The processor isn't registered as a service, so that it doesn't run on every compilation with
+ * {@code dropwizard-jackson} on the class path: modules which want an index name it explicitly, e.g. with the
+ * {@code annotationProcessors} of the {@code maven-compiler-plugin}. As it indexes resources rather than annotated
+ * classes, it then runs on every compilation of the module. It reads the services files which were copied to the
+ * class output before the compilation, so that the index is complete even when only some classes are recompiled.
+ */
+@SupportedAnnotationTypes("*")
+public class ServicesIndexProcessor extends AbstractProcessor {
+    /**
+     * The location of the index in a module.
+     */
+    public static final String INDEX = "META-INF/dropwizard/services.idx";
+
+    static final String SERVICES = "META-INF/services";
+
+    private boolean written = false;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver() && !written) {
+            written = true;
+            try {
+                writeIndex();
+            } catch (IOException e) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Unable to write " + INDEX + ": " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private void writeIndex() throws IOException {
+        final Map<String, ServicesFile> providers = readServices();
+        if (providers.isEmpty()) {
+            return;
+        }
+
+        final FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+        try (Writer writer = new OutputStreamWriter(index.openOutputStream(), UTF_8)) {
+            for (Map.Entry<String, ServicesFile> entry : providers.entrySet()) {
+                for (String provider : entry.getValue().providers) {
+                    writer.write(entry.getKey() + ' ' + entry.getValue().length + ' ' + provider + '\n');
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads the services files in the class output. The Filer API can only open files by name, so the files are
+     * listed from the directory holding them, if the class output is a directory.
+     */
+    private Map<String, ServicesFile> readServices() throws IOException {
+        final Map<String, ServicesFile> providers = new TreeMap<>();
+        final URI location = processingEnv.getFiler()
+            .getResource(StandardLocation.CLASS_OUTPUT, "", SERVICES).toUri();
+        if (!"file".equals(location.getScheme())) {
+            return providers;
+        }
+
+        final File[] files = new File(location).listFiles(File::isFile);
+        if (files == null) {
+            return providers;
+        }
+        Arrays.sort(files);
+        for (File file : files) {
+            final List<String> names = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(file.toPath()), UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    final int comment = line.indexOf('#');
+                    final String name = (comment >= 0 ? line.substring(0, comment) : line).trim();
+                    if (!name.isEmpty()) {
+                        names.add(name);
+                    }
+                }
+            }
+            if (!names.isEmpty()) {
+                providers.put(file.getName(), new ServicesFile(file.length(), names));
+            }
+        }
+        return providers;
+    }
+
+    private static final class ServicesFile {
+        private final long length;
+        private final List<String> providers;
+
+        private ServicesFile(long length, List<String> providers) {
+            this.length = length;
+            this.providers = providers;
+        }
+    }
+}
@@ -23,4 +23,11 @@ public class DiscoverableSubtypeResolverTest {
         assertThat(mapper.readValue("{\"type\":\"b\"}", ExampleSPI.class))
                 .isInstanceOf(ImplB.class);
     }
+
+    @Test
+    public void sharesTheSubtypesDiscoveredThroughAClassLoader() throws Exception {
+        assertThat(new DiscoverableSubtypeResolver(ExampleTag.class).getDiscoveredSubtypes())
+                .containsExactlyElementsOf(resolver.getDiscoveredSubtypes())
+                .contains(ImplA.class, ImplB.class);
+    }
 }
@@ -0,0 +1,75 @@
+package io.dropwizard.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DiscoveryIndexTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() throws Exception {
+        System.clearProperty(DiscoveryIndex.INDEX_PROPERTY);
+        DiscoveryIndex.clear();
+    }
+
+    @Test
+    public void listsTheSubtypesDiscoveredByAResolver() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("discoverable.idx");
+        DiscoveryIndex.write(file, ExampleTag.class, new DiscoverableSubtypeResolver(ExampleTag.class));
+        System.setProperty(DiscoveryIndex.INDEX_PROPERTY, file.toString());
+
+        assertThat(DiscoveryIndex.fromSystemProperty()
+            .flatMap(index -> index.getSubtypes(ExampleTag.class)))
+            .contains(Arrays.asList(ImplA.class.getName(), ImplB.class.getName()));
+        assertThat(DiscoveryIndex.fromSystemProperty()
+            .flatMap(index -> index.getSubtypes(Discoverable.class)))
+            .isEmpty();
+    }
+
+    @Test
+    public void resolvesSubtypesFromTheIndex() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("discoverable.idx");
+        final List<String> lines = Arrays.asList(
+            "# class path " + DiscoveryIndex.classPathFingerprint(),
+            ExampleTag.class.getName() + ' ' + ImplB.class.getName());
+        Files.write(file, lines, UTF_8);
+        System.setProperty(DiscoveryIndex.INDEX_PROPERTY, file.toString());
+
+        final DiscoverableSubtypeResolver resolver = new DiscoverableSubtypeResolver(ExampleTag.class);
+        final ObjectMapper mapper = new ObjectMapper().setSubtypeResolver(resolver);
+
+        assertThat(resolver.getDiscoveredSubtypes()).containsExactly(ImplB.class);
+        assertThat(mapper.readValue("{\"type\":\"b\"}", ExampleSPI.class)).isInstanceOf(ImplB.class);
+    }
+
+    @Test
+    public void ignoresIndexesOfOtherClassPaths() throws Exception {
+        final Path file = folder.getRoot().toPath().resolve("discoverable.idx");
+        Files.write(file, Arrays.asList("# class path 0", ExampleTag.class.getName() + ' ' + ImplB.class.getName()),
+            UTF_8);
+        System.setProperty(DiscoveryIndex.INDEX_PROPERTY, file.toString());
+
+        assertThat(DiscoveryIndex.fromSystemProperty()).isEmpty();
+        assertThat(new DiscoverableSubtypeResolver(ExampleTag.class).getDiscoveredSubtypes())
+            .containsExactlyInAnyOrder(ImplA.class, ImplB.class);
+    }
+
+    @Test
+    public void ignoresMissingIndexes() throws Exception {
+        System.setProperty(DiscoveryIndex.INDEX_PROPERTY, folder.getRoot().toPath().resolve("missing").toString());
+
+        assertThat(DiscoveryIndex.fromSystemProperty()).isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package io.dropwizard.jackson;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class ServicesIndexProcessorTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path output;
+
+    @Before
+    public void setUp() throws Exception {
+        output = folder.newFolder("classes").toPath();
+    }
+
+    @Test
+    public void mergesTheServicesFilesOfTheClassOutput() throws Exception {
+        final Path services = Files.createDirectories(output.resolve("META-INF/services"));
+        Files.write(services.resolve("com.example.Shape"),
+            Arrays.asList("# shapes", "com.example.Circle", "", "com.example.Square # the default"), UTF_8);
+        Files.write(services.resolve("com.example.Color"), Collections.singletonList("com.example.Red"), UTF_8);
+        final long shapes = Files.size(services.resolve("com.example.Shape"));
+        final long colors = Files.size(services.resolve("com.example.Color"));
+
+        compile();
+
+        assertThat(Files.readAllLines(output.resolve(ServicesIndexProcessor.INDEX), UTF_8))
+            .containsExactly("com.example.Color " + colors + " com.example.Red",
+                "com.example.Shape " + shapes + " com.example.Circle",
+                "com.example.Shape " + shapes + " com.example.Square");
+    }
+
+    @Test
+    public void writesNoIndexWithoutServices() throws Exception {
+        compile();
+
+        assertThat(output.resolve(ServicesIndexProcessor.INDEX)).doesNotExist();
+    }
+
+    @Test
+    public void resolvesServicesOfIndexedModulesFromTheirIndex() throws Exception {
+        // the index, not the services file, lists the providers of an indexed module
+        final long length = writeServices("com.example.Stale");
+        writeIndex(length, ImplB.class.getName());
+
+        assertThat(resolve()).containsExactly(ImplA.class, ImplB.class, ImplB.class);
+    }
+
+    @Test
+    public void readsServicesFilesWhichDifferFromTheIndexedOnes() throws Exception {
+        // e.g. the services files of several modules merged into a shaded jar
+        final long length = writeServices(ImplA.class.getName(), ImplB.class.getName());
+        writeIndex(length - 1, "com.example.Stale");
+
+        assertThat(resolve()).containsExactly(ImplA.class, ImplB.class, ImplA.class, ImplB.class);
+    }
+
+    private long writeServices(String... providers) throws Exception {
+        final Path services = Files.createDirectories(output.resolve("META-INF/services"));
+        final Path file = services.resolve(ExampleSPI.class.getName());
+        Files.write(file, Arrays.asList(providers), UTF_8);
+        return Files.size(file);
+    }
+
+    private void writeIndex(long length, String provider) throws Exception {
+        final Path index = output.resolve(ServicesIndexProcessor.INDEX);
+        Files.createDirectories(index.getParent());
+        Files.write(index, Collections.singletonList(ExampleSPI.class.getName() + ' ' + length + ' ' + provider),
+            UTF_8);
+    }
+
+    private List<Class<?>> resolve() throws Exception {
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[]{output.toUri().toURL()},
+                                                             getClass().getClassLoader())) {
+            final DiscoverableSubtypeResolver resolver = new DiscoverableSubtypeResolver(ExampleTag.class) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected ClassLoader getClassLoader() {
+                    return classLoader;
+                }
+            };
+            return resolver.getDiscoveredSubtypes();
+        }
+    }
+
+    private void compile() throws Exception {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        assumeTrue(compiler != null);
+
+        final Path source = folder.newFolder("sources").toPath().resolve("Example.java");
+        Files.write(source, Collections.singletonList("public class Example {}"), UTF_8);
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, UTF_8)) {
+            final Iterable<? extends JavaFileObject> units =
+                fileManager.getJavaFileObjects(new File[]{source.toFile()});
+            final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                Arrays.asList("-d", output.toString(), "-proc:only"), null, units);
+            task.setProcessors(Collections.singletonList(new ServicesIndexProcessor()));
+            assertThat(task.call()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.dropwizard.jersey.caching;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Copies the bytes written to the client, up to a maximum size.
+ */
+class CapturingOutputStream extends FilterOutputStream {
+    private final ByteArrayOutputStream captured = new ByteArrayOutputStream();
+    private final long maxSize;
+    private boolean overflowed = false;
+
+    CapturingOutputStream(OutputStream out, long maxSize) {
+        super(out);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        if (!overflowed && reserve(1)) {
+            captured.write(b);
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        capture(b, off, len);
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        if (!overflowed && reserve(len)) {
+            captured.write(b, off, len);
+        }
+    }
+
+    private boolean reserve(int len) {
+        if (captured.size() + len > maxSize) {
+            overflowed = true;
+            captured.reset();
+            return false;
+        }
+        return true;
+    }
+
+    boolean isOverflowed() {
+        return overflowed;
+    }
+
+    byte[] getCaptured() {
+        return captured.toByteArray();
+    }
+}
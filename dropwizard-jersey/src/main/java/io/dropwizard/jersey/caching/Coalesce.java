@@ -0,0 +1,56 @@
+package io.dropwizard.jersey.caching;
+
+import javax.ws.rs.core.HttpHeaders;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An annotation which makes concurrent, identical {@code GET} requests to the annotated method share a single
+ * invocation of it: while one request is being handled, requests with the same path, query parameters and
+ * {@link #varyHeaders() headers} wait for it and are answered with a copy of its serialized response. Unlike
+ * {@link ResponseCached}, the response is discarded as soon as it has been handed to the waiting requests.
+ * <p/>
+ * Requests which would exceed {@link #maxWaiters()}, or which time out waiting, invoke the method themselves.
+ * Responses with a {@code Set-Cookie} header are not shared, and requests with an {@code Authorization} or a
+ * {@code Cookie} header are never coalesced unless it's one of the {@link #varyHeaders() vary headers}.
+ *
+ * @see CoalescingFeature
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Coalesce {
+    /**
+     * How long a request waits for the response of an identical request. Waiting requests hold on to their threads,
+     * so keep it short.
+     *
+     * @return how long a request waits
+     */
+    long timeout() default 5;
+
+    /**
+     * The time unit of {@link #timeout()}.
+     *
+     * @return the time unit of {@link #timeout()}
+     */
+    TimeUnit timeoutUnit() default TimeUnit.SECONDS;
+
+    /**
+     * The maximum number of requests which wait for the same response. Keep it well below the server's maximum
+     * number of threads, so that waiting requests can't starve the others.
+     *
+     * @return the maximum number of waiting requests
+     */
+    int maxWaiters() default 100;
+
+    /**
+     * The request headers whose values distinguish otherwise identical requests.
+     *
+     * @return the names of the headers the response varies on
+     */
+    String[] varyHeaders() default {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING};
+}
@@ -0,0 +1,290 @@
+package io.dropwizard.jersey.caching;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.GET;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * Makes concurrent, identical requests to methods annotated with {@link Coalesce} share a single invocation.
+ * <p/>
+ * Only successful responses are shared. When the invocation fails, the waiting requests start over: one of them
+ * invokes the method again, and the others wait for it, for what is left of their timeout. A flight is landed once its
+ * request has finished at the latest, even if it failed before its response filters ran.
+ * <p/>
+ * For each annotated method, the following meters are recorded, named after the resource class and method:
+ * {@code coalesced} marks requests answered with the response of another request, {@code coalesce-timeouts} requests
+ * which timed out waiting for it, and {@code coalesce-overflows} requests which didn't wait as there were too many
+ * waiting requests already.
+ */
+public class CoalescingFeature implements DynamicFeature, ApplicationEventListener {
+    private static final String FLIGHT_PROPERTY = CoalescingFeature.class.getName() + ".flight";
+    private static final String SHARED_PROPERTY = CoalescingFeature.class.getName() + ".shared";
+
+    /**
+     * The largest response which is shared; requests waiting for a larger one invoke the method themselves.
+     */
+    private static final int MAX_SHARED_SIZE = 16 * 1024 * 1024;
+
+    private final MetricRegistry metricRegistry;
+    private final RequestEventListener flightLanding = new FlightLandingListener();
+
+    public CoalescingFeature(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext configuration) {
+        final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+
+        final Coalesce coalesce = am.getAnnotation(Coalesce.class);
+        if (coalesce == null || !am.isAnnotationPresent(GET.class)) {
+            return;
+        }
+
+        final String prefix = name(resourceInfo.getResourceClass(), resourceInfo.getResourceMethod().getName());
+        final Flights flights = new Flights(coalesce,
+            metricRegistry.meter(name(prefix, "coalesced")),
+            metricRegistry.meter(name(prefix, "coalesce-timeouts")),
+            metricRegistry.meter(name(prefix, "coalesce-overflows")));
+
+        // Only requests which passed authentication and authorization join a flight. The leader's status is
+        // checked once the other response filters have run, so that a response they turned into an error is not
+        // shared, and its body is captured before entity encoding, which every follower applies on its own
+        configuration.register(new JoinFilter(flights), Priorities.USER);
+        configuration.register(new CompleteFilter(flights), Priorities.HEADER_DECORATOR);
+        configuration.register(new CaptureInterceptor(flights), ResponseCacheFeature.CAPTURE_PRIORITY);
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    @Nullable
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return HttpMethod.GET.equals(requestEvent.getContainerRequest().getMethod()) ? flightLanding : null;
+    }
+
+    /**
+     * A request in flight, along with the requests waiting for its response.
+     */
+    private static final class Flight {
+        private final Flights flights;
+        private final ResponseCache.Key key;
+        private final CompletableFuture<ResponseCache.CachedResponse> response = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+        private volatile int status;
+
+        private Flight(Flights flights, ResponseCache.Key key) {
+            this.flights = flights;
+            this.key = key;
+        }
+    }
+
+    /**
+     * The requests in flight for a resource method.
+     */
+    private static final class Flights {
+        private final ConcurrentMap<ResponseCache.Key, Flight> flights = new ConcurrentHashMap<>();
+        private final String region;
+        private final List<String> varyHeaders;
+        private final List<String> bypassHeaders;
+        private final long timeoutNanos;
+        private final int maxWaiters;
+        private final Meter coalesced;
+        private final Meter timeouts;
+        private final Meter overflows;
+
+        private Flights(Coalesce coalesce, Meter coalesced, Meter timeouts, Meter overflows) {
+            this.region = "";
+            this.varyHeaders = Arrays.asList(coalesce.varyHeaders());
+            this.bypassHeaders = ResponseCache.unvariedCredentialHeaders(varyHeaders);
+            this.timeoutNanos = coalesce.timeoutUnit().toNanos(coalesce.timeout());
+            this.maxWaiters = coalesce.maxWaiters();
+            this.coalesced = coalesced;
+            this.timeouts = timeouts;
+            this.overflows = overflows;
+        }
+
+        /**
+         * Lands a flight, handing its response, if any, to the waiting requests. Requests arriving from now on start
+         * a new flight, so the response isn't kept.
+         */
+        private void land(Flight flight, @Nullable ResponseCache.CachedResponse response) {
+            flights.remove(flight.key, flight);
+            flight.response.complete(response);
+        }
+    }
+
+    private static class JoinFilter implements ContainerRequestFilter {
+        private final Flights flights;
+
+        JoinFilter(Flights flights) {
+            this.flights = flights;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext) throws IOException {
+            if (!HttpMethod.GET.equals(requestContext.getMethod()) ||
+                ResponseCache.hasAnyHeader(flights.bypassHeaders, requestContext)) {
+                return;
+            }
+
+            final ResponseCache.Key key = ResponseCache.Key.of(flights.region, flights.varyHeaders, requestContext);
+            final long deadline = System.nanoTime() + flights.timeoutNanos;
+            while (true) {
+                final Flight flight = new Flight(flights, key);
+                final Flight current = flights.flights.putIfAbsent(key, flight);
+                if (current == null) {
+                    requestContext.setProperty(FLIGHT_PROPERTY, flight);
+                    return;
+                }
+
+                if (current.waiters.incrementAndGet() > flights.maxWaiters) {
+                    current.waiters.decrementAndGet();
+                    flights.overflows.mark();
+                    return;
+                }
+
+                try {
+                    final ResponseCache.CachedResponse response =
+                        current.response.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (response != null) {
+                        flights.coalesced.mark();
+                        requestContext.setProperty(SHARED_PROPERTY, response);
+                        requestContext.abortWith(response.toResponse());
+                        return;
+                    }
+                    // the leader failed, so start over, possibly leading the next flight
+                } catch (TimeoutException e) {
+                    // the request in flight is stuck or gone; let the next one start a new flight
+                    flights.flights.remove(key, current);
+                    flights.timeouts.mark();
+                    return;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    // flights are never completed exceptionally
+                    return;
+                } finally {
+                    current.waiters.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static class CompleteFilter implements ContainerResponseFilter {
+        private final Flights flights;
+
+        CompleteFilter(Flights flights) {
+            this.flights = flights;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext,
+                           ContainerResponseContext responseContext) throws IOException {
+            final Object shared = requestContext.getProperty(SHARED_PROPERTY);
+            if (shared != null) {
+                ((ResponseCache.CachedResponse) shared).restoreHeaders(responseContext);
+                return;
+            }
+
+            final Flight flight = (Flight) requestContext.getProperty(FLIGHT_PROPERTY);
+            if (flight == null) {
+                return;
+            }
+            if (responseContext.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL ||
+                !responseContext.hasEntity() || responseContext.getHeaders().containsKey(HttpHeaders.SET_COOKIE)) {
+                requestContext.removeProperty(FLIGHT_PROPERTY);
+                flights.land(flight, null);
+            } else {
+                flight.status = responseContext.getStatus();
+            }
+        }
+    }
+
+    private static class CaptureInterceptor implements WriterInterceptor {
+        private final Flights flights;
+
+        CaptureInterceptor(Flights flights) {
+            this.flights = flights;
+        }
+
+        @Override
+        public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+            final Flight flight = (Flight) context.getProperty(FLIGHT_PROPERTY);
+            if (flight == null) {
+                context.proceed();
+                return;
+            }
+
+            context.removeProperty(FLIGHT_PROPERTY);
+            ResponseCache.CachedResponse response = null;
+            try {
+                final CapturingOutputStream output =
+                    new CapturingOutputStream(context.getOutputStream(), MAX_SHARED_SIZE);
+                context.setOutputStream(output);
+                context.proceed();
+                if (!output.isOverflowed()) {
+                    response = new ResponseCache.CachedResponse(flight.status, context.getHeaders(),
+                        ByteBuffer.wrap(output.getCaptured()), 0);
+                }
+            } finally {
+                flights.land(flight, response);
+            }
+        }
+    }
+
+    /**
+     * Lands the flight of a request which finished without writing its response, e.g. because it failed before the
+     * response filters ran, so that the waiting requests don't wait until they time out.
+     */
+    private static class FlightLandingListener implements RequestEventListener {
+        @Override
+        public void onEvent(RequestEvent event) {
+            if (event.getType() != RequestEvent.Type.FINISHED) {
+                return;
+            }
+            final ContainerRequestContext requestContext = event.getContainerRequest();
+            final Flight flight = (Flight) requestContext.getProperty(FLIGHT_PROPERTY);
+            if (flight != null) {
+                requestContext.removeProperty(FLIGHT_PROPERTY);
+                flight.flights.land(flight, null);
+            }
+        }
+    }
+}
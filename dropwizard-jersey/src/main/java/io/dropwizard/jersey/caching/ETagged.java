@@ -0,0 +1,32 @@
+package io.dropwizard.jersey.caching;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * An annotation which adds an {@code ETag} header to the {@code GET} and {@code HEAD} responses produced by the
+ * annotated method, and answers requests whose {@code If-None-Match} header matches it with a
+ * {@code 304 Not Modified} response without an entity.
+ * <p/>
+ * If the method returns a response with its own entity tag (e.g. {@code Response.ok(entity).tag(version)}), that
+ * tag is used. Otherwise the entity is serialized once, hashed while it's written, and sent from the serialized form.
+ * To skip computing the entity entirely when the client's copy is current, the method can check a cheap version
+ * first with {@link EntityTags#checkNotModified(javax.ws.rs.core.HttpHeaders, javax.ws.rs.core.EntityTag)}.
+ *
+ * @see ETaggedResponseFeature
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ETagged {
+    /**
+     * If set, hashed entity tags are weak, i.e. the representation is only claimed to be semantically equivalent
+     * between responses with the same tag, not byte-for-byte identical.
+     *
+     * @return {@code true} if hashed entity tags should be weak
+     */
+    boolean weak() default false;
+}
@@ -0,0 +1,133 @@
+package io.dropwizard.jersey.caching;
+
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.ByteStreams;
+import io.dropwizard.jersey.jackson.JsonStream;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.Providers;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+
+/**
+ * Adds entity tags to the responses of methods annotated with {@link ETagged}, and answers conditional requests
+ * for unmodified entities with {@code 304 Not Modified}.
+ * <p/>
+ * The tag of a response with a {@code Content-Encoding} ends with the encoding, e.g. {@code "abc--gzip"}, as the
+ * encoded entity differs from the identity one.
+ */
+@Provider
+public class ETaggedResponseFeature implements DynamicFeature {
+
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext configuration) {
+        final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+
+        final ETagged eTagged = am.getAnnotation(ETagged.class);
+        if (eTagged != null) {
+            configuration.register(new ETaggedResponseFilter(eTagged.weak()));
+        }
+    }
+
+    private static class ETaggedResponseFilter implements ContainerResponseFilter {
+        private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+        private final boolean weak;
+
+        @Context
+        private Providers providers;
+
+        ETaggedResponseFilter(boolean weak) {
+            this.weak = weak;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext,
+                           ContainerResponseContext responseContext) throws IOException {
+            final String method = requestContext.getMethod();
+            if ((!HttpMethod.GET.equals(method) && !HttpMethod.HEAD.equals(method)) ||
+                responseContext.getStatus() != Response.Status.OK.getStatusCode()) {
+                return;
+            }
+
+            EntityTag tag = responseContext.getEntityTag();
+            if (tag == null) {
+                final String hash = hashEntity(responseContext);
+                if (hash == null) {
+                    return;
+                }
+                final String encoding = responseContext.getHeaderString(HttpHeaders.CONTENT_ENCODING);
+                tag = new EntityTag(encoding == null || "identity".equalsIgnoreCase(encoding)
+                    ? hash : hash + "--" + encoding, weak);
+                responseContext.getHeaders().putSingle(HttpHeaders.ETAG, tag);
+            }
+
+            if (EntityTags.matches(requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH), tag)) {
+                responseContext.setStatusInfo(Response.Status.NOT_MODIFIED);
+                responseContext.setEntity(null);
+                responseContext.getHeaders().remove(HttpHeaders.CONTENT_TYPE);
+                responseContext.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            }
+        }
+
+        /**
+         * Hashes the entity as it's serialized. Entities which can be serialized again are hashed without keeping
+         * their serialized form, and serialized again if the response is sent. Entities which can only be read once
+         * are serialized into a buffer, which replaces them.
+         */
+        @Nullable
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private String hashEntity(ContainerResponseContext responseContext) throws IOException {
+            if (!responseContext.hasEntity()) {
+                return null;
+            }
+
+            final MessageBodyWriter writer = providers.getMessageBodyWriter(responseContext.getEntityClass(),
+                responseContext.getEntityType(), responseContext.getEntityAnnotations(),
+                responseContext.getMediaType());
+            if (writer == null) {
+                return null;
+            }
+
+            final Object entity = responseContext.getEntity();
+            final boolean readOnce = isReadOnce(entity);
+            final ByteArrayOutputStream buffer = readOnce ? new ByteArrayOutputStream() : null;
+            final OutputStream sink = buffer == null ? ByteStreams.nullOutputStream() : buffer;
+            final HashingOutputStream output = new HashingOutputStream(HASH_FUNCTION, sink);
+            writer.writeTo(entity, responseContext.getEntityClass(), responseContext.getEntityType(),
+                responseContext.getEntityAnnotations(), responseContext.getMediaType(), responseContext.getHeaders(),
+                output);
+
+            if (buffer != null) {
+                responseContext.setEntity(buffer.toByteArray(), responseContext.getEntityAnnotations(),
+                    responseContext.getMediaType());
+            }
+            return output.hash().toString();
+        }
+
+        private static boolean isReadOnce(Object entity) {
+            return entity instanceof InputStream || entity instanceof Reader || entity instanceof StreamingOutput ||
+                entity instanceof JsonStream;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.dropwizard.jersey.caching;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+/**
+ * Helpers for conditional requests on entity tags.
+ */
+public final class EntityTags {
+    private EntityTags() { /* singleton */ }
+
+    /**
+     * Returns whether an {@code If-None-Match} header matches an entity tag, using the weak comparison which
+     * RFC 7232 requires for {@code If-None-Match}.
+     *
+     * @param ifNoneMatch the value of the {@code If-None-Match} header, if any
+     * @param tag         the current entity tag of the resource
+     * @return {@code true} if the header lists the tag or is {@code *}
+     */
+    public static boolean matches(@Nullable String ifNoneMatch, EntityTag tag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+
+        final int length = ifNoneMatch.length();
+        int i = 0;
+        while (i < length) {
+            final char c = ifNoneMatch.charAt(i);
+            if (c == ',' || Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '*') {
+                return true;
+            } else {
+                if (ifNoneMatch.startsWith("W/", i)) {
+                    i += 2;
+                }
+                if (i >= length || ifNoneMatch.charAt(i) != '"') {
+                    // skip a malformed tag
+                    final int next = ifNoneMatch.indexOf(',', i);
+                    i = next < 0 ? length : next + 1;
+                    continue;
+                }
+                // entity tags can contain commas, so they end at the closing quote
+                final int end = ifNoneMatch.indexOf('"', i + 1);
+                if (end < 0) {
+                    return false;
+                }
+                if (ifNoneMatch.regionMatches(i + 1, tag.getValue(), 0, end - i - 1) &&
+                    tag.getValue().length() == end - i - 1) {
+                    return true;
+                }
+                i = end + 1;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Aborts a request with a {@code 304 Not Modified} response if the client's copy of the resource, as given by
+     * its {@code If-None-Match} header, is current. Resource methods can call this with a cheaply computed version
+     * of the resource before doing the expensive work of building its representation.
+     *
+     * @param headers the request's headers
+     * @param tag     the current entity tag of the resource
+     * @throws WebApplicationException with a {@code 304 Not Modified} response if the tag matches
+     */
+    public static void checkNotModified(HttpHeaders headers, EntityTag tag) {
+        if (matches(headers.getHeaderString(HttpHeaders.IF_NONE_MATCH), tag)) {
+            throw new WebApplicationException(Response.notModified(tag).build());
+        }
+    }
+}
@@ -0,0 +1,395 @@
+package io.dropwizard.jersey.caching;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.base.Strings;
+import com.google.common.cache.RemovalListener;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Size;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A bounded, in-memory store of serialized responses for methods annotated with {@link ResponseCached}.
+ * <p/>
+ * Response bodies are kept in direct buffers, outside of the heap, and the least recently used responses are evicted
+ * once their total size exceeds the cache's maximum size. A single response may take up at most an eighth of it.
+ * Expired responses are dropped when they're looked up, and swept from the whole cache at most once a second, when
+ * a response is stored.
+ * <p/>
+ * The cache records the following metrics, named after this class and the cache's name:
+ * <table>
+ *     <tr>
+ *         <th>Name</th>
+ *         <th>Description</th>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code hits}</td>
+ *         <td>Requests served from a stored response.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code misses}</td>
+ *         <td>Requests which produced their own response.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code coalesced}</td>
+ *         <td>Requests served with the response produced by a concurrent request.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code bytes}</td>
+ *         <td>The approximate size of the stored responses.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code entries}</td>
+ *         <td>The number of stored responses.</td>
+ *     </tr>
+ * </table>
+ * <p/>
+ * Use {@link #invalidate(String)}, {@link #invalidate(String, String)} or {@link #invalidateAll()} to drop stored
+ * responses once the resources they represent change.
+ */
+public class ResponseCache {
+    private static final int HEADER_OVERHEAD = 64;
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The request headers carrying the caller's credentials.
+     */
+    private static final List<String> CREDENTIAL_HEADERS =
+        Arrays.asList(HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE);
+
+    private final Cache<Key, CachedResponse> responses;
+    private final ConcurrentMap<Key, CompletableFuture<CachedResponse>> fills = new ConcurrentHashMap<>();
+    private final long maxResponseSize;
+    private final long coalesceTimeoutNanos;
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong nextSweepNanos = new AtomicLong(System.nanoTime());
+    private final Meter hits;
+    private final Meter misses;
+    private final Meter coalesced;
+
+    public ResponseCache(MetricRegistry metrics, Size maxSize) {
+        this(metrics, "responses", maxSize, Duration.seconds(10));
+    }
+
+    /**
+     * @param metrics         the registry to record the cache's metrics in
+     * @param name            the name of the cache's metrics
+     * @param maxSize         the maximum total size of the stored responses
+     * @param coalesceTimeout how long a request waits for a concurrent request to produce the same response, before
+     *                        producing it itself
+     */
+    public ResponseCache(MetricRegistry metrics, String name, Size maxSize, Duration coalesceTimeout) {
+        final RemovalListener<Key, CachedResponse> onRemoval =
+            notification -> bytes.addAndGet(-notification.getValue().weight());
+        this.responses = CacheBuilder.newBuilder()
+            .maximumWeight(maxSize.toBytes())
+            .<Key, CachedResponse>weigher((key, response) -> response.weight())
+            .removalListener(onRemoval)
+            .build();
+        this.maxResponseSize = maxSize.toBytes() / 8;
+        this.coalesceTimeoutNanos = coalesceTimeout.toNanoseconds();
+        this.hits = metrics.meter(name(ResponseCache.class, name, "hits"));
+        this.misses = metrics.meter(name(ResponseCache.class, name, "misses"));
+        this.coalesced = metrics.meter(name(ResponseCache.class, name, "coalesced"));
+        metrics.register(name(ResponseCache.class, name, "bytes"), (Gauge<Long>) bytes::get);
+        metrics.register(name(ResponseCache.class, name, "entries"), (Gauge<Long>) responses::size);
+    }
+
+    /**
+     * Drops all stored responses.
+     */
+    public void invalidateAll() {
+        responses.invalidateAll();
+    }
+
+    /**
+     * Drops the stored responses of a region.
+     *
+     * @param region the region, as given by {@link ResponseCached#region()}
+     */
+    public void invalidate(String region) {
+        responses.asMap().keySet().removeIf(key -> key.region.equals(region));
+    }
+
+    /**
+     * Drops the stored responses of a region for a path, whatever their query parameters and headers.
+     *
+     * @param region the region, as given by {@link ResponseCached#region()}
+     * @param path   the request path, relative to the base URI of the application and without a leading slash
+     */
+    public void invalidate(String region, String path) {
+        responses.asMap().keySet().removeIf(key -> key.region.equals(region) && key.path.equals(path));
+    }
+
+    /**
+     * @return the approximate total size of the stored responses, in bytes
+     */
+    public long getSize() {
+        return bytes.get();
+    }
+
+    long getMaxResponseSize() {
+        return maxResponseSize;
+    }
+
+    /**
+     * Looks up the response for a request. If no response is stored, waits for a concurrent request which is
+     * producing it; if there's no such request, the returned lookup {@link Lookup#getFill() holds the fill} the
+     * request must complete with its own response.
+     */
+    Lookup lookup(Key key) throws InterruptedException {
+        final CachedResponse stored = find(key);
+        if (stored != null) {
+            hits.mark();
+            return new Lookup(stored, null);
+        }
+
+        final CompletableFuture<CachedResponse> fill = new CompletableFuture<>();
+        final CompletableFuture<CachedResponse> concurrent = fills.putIfAbsent(key, fill);
+        if (concurrent == null) {
+            misses.mark();
+            return new Lookup(null, fill);
+        }
+
+        try {
+            final CachedResponse response = concurrent.get(coalesceTimeoutNanos, TimeUnit.NANOSECONDS);
+            if (response != null) {
+                coalesced.mark();
+                return new Lookup(response, null);
+            }
+        } catch (TimeoutException e) {
+            // the request producing the response is stuck or gone; let the next one try instead
+            fills.remove(key, concurrent);
+        } catch (ExecutionException e) {
+            // fills are never completed exceptionally
+        }
+        misses.mark();
+        return new Lookup(null, null);
+    }
+
+    /**
+     * Completes a fill, storing the response if there is one, and hands the response to the waiting requests.
+     */
+    void complete(Key key, CompletableFuture<CachedResponse> fill, @Nullable CachedResponse response) {
+        if (response != null && response.weight() <= maxResponseSize) {
+            final long now = System.nanoTime();
+            final long nextSweep = nextSweepNanos.get();
+            if (now - nextSweep >= 0 && nextSweepNanos.compareAndSet(nextSweep, now + SWEEP_INTERVAL_NANOS)) {
+                removeExpired();
+            }
+            bytes.addAndGet(response.weight());
+            responses.put(key, response);
+        }
+        fills.remove(key, fill);
+        fill.complete(response);
+    }
+
+    /**
+     * Copies a response body into a direct buffer, outside of the heap.
+     */
+    static ByteBuffer offHeap(byte[] body) {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(body.length);
+        buffer.put(body).flip();
+        return buffer;
+    }
+
+    /**
+     * Drops the expired responses, so that they neither count towards the cache's size nor make it evict responses
+     * which are still fresh.
+     */
+    void removeExpired() {
+        responses.asMap().values().removeIf(CachedResponse::isExpired);
+    }
+
+    /**
+     * @return the headers among {@link #CREDENTIAL_HEADERS} which aren't vary headers: requests carrying one of them
+     * must neither be served a shared response nor share theirs
+     */
+    static List<String> unvariedCredentialHeaders(List<String> varyHeaders) {
+        return CREDENTIAL_HEADERS.stream()
+            .filter(header -> varyHeaders.stream().noneMatch(header::equalsIgnoreCase))
+            .collect(Collectors.toList());
+    }
+
+    static boolean hasAnyHeader(List<String> headers, ContainerRequestContext requestContext) {
+        for (String header : headers) {
+            if (requestContext.getHeaderString(header) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nullable
+    private CachedResponse find(Key key) {
+        final CachedResponse response = responses.getIfPresent(key);
+        if (response != null && response.isExpired()) {
+            responses.asMap().remove(key, response);
+            return null;
+        }
+        return response;
+    }
+
+    static final class Lookup {
+        @Nullable
+        private final CachedResponse response;
+        @Nullable
+        private final CompletableFuture<CachedResponse> fill;
+
+        private Lookup(@Nullable CachedResponse response, @Nullable CompletableFuture<CachedResponse> fill) {
+            this.response = response;
+            this.fill = fill;
+        }
+
+        @Nullable
+        CachedResponse getResponse() {
+            return response;
+        }
+
+        @Nullable
+        CompletableFuture<CachedResponse> getFill() {
+            return fill;
+        }
+    }
+
+    static final class Key {
+        private final String region;
+        private final String path;
+        private final String variant;
+        private final int hashCode;
+
+        Key(String region, String path, String variant) {
+            this.region = region;
+            this.path = path;
+            this.variant = variant;
+            this.hashCode = Objects.hash(region, path, variant);
+        }
+
+        /**
+         * Builds the key of a request from its path, its query parameters and the values of the given headers.
+         */
+        static Key of(String region, List<String> varyHeaders, ContainerRequestContext requestContext) {
+            final StringBuilder variant = new StringBuilder();
+            // query parameters are sorted, so their order doesn't matter
+            final Map<String, List<String>> parameters =
+                new TreeMap<>(requestContext.getUriInfo().getQueryParameters(false));
+            for (Map.Entry<String, List<String>> parameter : parameters.entrySet()) {
+                variant.append(parameter.getKey()).append('=').append(parameter.getValue()).append('&');
+            }
+            for (String header : varyHeaders) {
+                variant.append('\n').append(header).append(':')
+                    .append(Strings.nullToEmpty(requestContext.getHeaderString(header)));
+            }
+            return new Key(region, requestContext.getUriInfo().getPath(false), variant.toString());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return hashCode == other.hashCode &&
+                region.equals(other.region) &&
+                path.equals(other.path) &&
+                variant.equals(other.variant);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    static final class CachedResponse {
+        private final int status;
+        private final MultivaluedMap<String, Object> headers;
+        private final ByteBuffer body;
+        private final long expiresAtNanos;
+        private final int weight;
+
+        CachedResponse(int status, MultivaluedMap<String, Object> headers, ByteBuffer body, long maxAgeNanos) {
+            this.status = status;
+            this.headers = new MultivaluedHashMap<>(headers);
+            this.body = body.asReadOnlyBuffer();
+            this.expiresAtNanos = System.nanoTime() + maxAgeNanos;
+            this.weight = body.remaining() + HEADER_OVERHEAD * headers.size();
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+
+        int weight() {
+            return weight;
+        }
+
+        MultivaluedMap<String, Object> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * Replaces headers which other response filters added again to a replayed response with their stored values.
+         */
+        void restoreHeaders(ContainerResponseContext responseContext) {
+            final boolean notModified = responseContext.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode();
+            final MultivaluedMap<String, Object> current = responseContext.getHeaders();
+            for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+                final String name = header.getKey();
+                if (notModified && (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name) ||
+                    HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name))) {
+                    continue;
+                }
+                current.put(name, header.getValue());
+            }
+        }
+
+        Response toResponse() {
+            final Response.ResponseBuilder builder = Response.status(status).entity((StreamingOutput) output -> {
+                final ByteBuffer remaining = body.duplicate();
+                final byte[] chunk = new byte[Math.min(8192, remaining.remaining())];
+                while (remaining.hasRemaining()) {
+                    final int length = Math.min(chunk.length, remaining.remaining());
+                    remaining.get(chunk, 0, length);
+                    output.write(chunk, 0, length);
+                }
+            });
+            for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+                for (Object value : header.getValue()) {
+                    builder.header(header.getKey(), value);
+                }
+            }
+            return builder.build();
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package io.dropwizard.jersey.caching;
+
+import com.google.common.base.Strings;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.GET;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the responses of methods annotated with {@link ResponseCached} from a {@link ResponseCache}.
+ * <p/>
+ * The feature is opt-in:
+ * <pre><code>
+ * final ResponseCache cache = new ResponseCache(environment.metrics(), Size.megabytes(64));
+ * environment.jersey().register(new ResponseCacheFeature(cache));
+ * </code></pre>
+ * Stored responses are looked up after authentication and authorization filters have run. Their bodies are captured
+ * as written by the entity provider, before entity encoders such as
+ * {@link io.dropwizard.jersey.gzip.ConfiguredGZipEncoder}, which encode them again when they are replayed along with
+ * their {@code Content-Encoding} header. A request which fails before its response is written completes its fill
+ * without a response once it has finished, so that the requests waiting for it don't wait until they time out.
+ */
+public class ResponseCacheFeature implements DynamicFeature, ApplicationEventListener {
+    private static final String FILL_PROPERTY = ResponseCacheFeature.class.getName() + ".fill";
+    private static final String HIT_PROPERTY = ResponseCacheFeature.class.getName() + ".hit";
+
+    /**
+     * The priority of the writer interceptors capturing response bodies: the lowest, so that they run inside of all
+     * others, and in particular inside of entity encoders, which have a higher priority.
+     */
+    static final int CAPTURE_PRIORITY = Integer.MAX_VALUE;
+
+    private final ResponseCache cache;
+    private final RequestEventListener fillCompletion = new FillCompletionListener();
+
+    public ResponseCacheFeature(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext configuration) {
+        final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+
+        final ResponseCached cached = am.getAnnotation(ResponseCached.class);
+        if (cached == null || !am.isAnnotationPresent(GET.class)) {
+            return;
+        }
+
+        final long maxAgeNanos = maxAgeNanos(cached, am.getAnnotation(CacheControl.class));
+        if (maxAgeNanos <= 0) {
+            return;
+        }
+
+        final String region = Strings.isNullOrEmpty(cached.region()) ?
+            resourceInfo.getResourceClass().getName() + '.' + resourceInfo.getResourceMethod().getName() :
+            cached.region();
+        final List<String> varyHeaders = Arrays.asList(cached.varyHeaders());
+        final List<String> bypassHeaders = ResponseCache.unvariedCredentialHeaders(varyHeaders);
+
+        // Lookups happen after authentication and authorization, headers are restored after all other response
+        // filters, and responses are captured before entity encoding
+        configuration.register(new LookupFilter(region, varyHeaders, bypassHeaders), Priorities.USER);
+        configuration.register(new RestoreFilter(), Priorities.HEADER_DECORATOR);
+        configuration.register(new CaptureInterceptor(maxAgeNanos), CAPTURE_PRIORITY);
+    }
+
+    @Override
+    public void onEvent(ApplicationEvent event) {
+    }
+
+    @Override
+    @Nullable
+    public RequestEventListener onRequest(RequestEvent requestEvent) {
+        return HttpMethod.GET.equals(requestEvent.getContainerRequest().getMethod()) ? fillCompletion : null;
+    }
+
+    private static long maxAgeNanos(ResponseCached cached, @Nullable CacheControl cacheControl) {
+        if (cached.maxAge() >= 0) {
+            return cached.maxAgeUnit().toNanos(cached.maxAge());
+        }
+        if (cacheControl != null && cacheControl.immutable()) {
+            return TimeUnit.DAYS.toNanos(365);
+        }
+        if (cacheControl != null && cacheControl.maxAge() >= 0) {
+            return cacheControl.maxAgeUnit().toNanos(cacheControl.maxAge());
+        }
+        return 0;
+    }
+
+    private static final class Fill {
+        private final ResponseCache.Key key;
+        private final CompletableFuture<ResponseCache.CachedResponse> future;
+
+        private Fill(ResponseCache.Key key, CompletableFuture<ResponseCache.CachedResponse> future) {
+            this.key = key;
+            this.future = future;
+        }
+    }
+
+    private class LookupFilter implements ContainerRequestFilter {
+        private final String region;
+        private final List<String> varyHeaders;
+        private final List<String> bypassHeaders;
+
+        LookupFilter(String region, List<String> varyHeaders, List<String> bypassHeaders) {
+            this.region = region;
+            this.varyHeaders = varyHeaders;
+            this.bypassHeaders = bypassHeaders;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext) throws IOException {
+            if (!HttpMethod.GET.equals(requestContext.getMethod()) ||
+                ResponseCache.hasAnyHeader(bypassHeaders, requestContext)) {
+                return;
+            }
+
+            final ResponseCache.Key key = ResponseCache.Key.of(region, varyHeaders, requestContext);
+            final ResponseCache.Lookup lookup;
+            try {
+                lookup = cache.lookup(key);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            final ResponseCache.CachedResponse response = lookup.getResponse();
+            if (response != null) {
+                requestContext.setProperty(HIT_PROPERTY, response);
+                requestContext.abortWith(response.toResponse());
+            } else if (lookup.getFill() != null) {
+                requestContext.setProperty(FILL_PROPERTY, new Fill(key, lookup.getFill()));
+            }
+        }
+    }
+
+    private class RestoreFilter implements ContainerResponseFilter {
+        @Override
+        public void filter(ContainerRequestContext requestContext,
+                           ContainerResponseContext responseContext) throws IOException {
+            final Object hit = requestContext.getProperty(HIT_PROPERTY);
+            if (hit != null) {
+                ((ResponseCache.CachedResponse) hit).restoreHeaders(responseContext);
+                return;
+            }
+
+            final Fill fill = (Fill) requestContext.getProperty(FILL_PROPERTY);
+            if (fill != null && (responseContext.getStatus() != Response.Status.OK.getStatusCode() ||
+                !responseContext.hasEntity() || responseContext.getHeaders().containsKey(HttpHeaders.SET_COOKIE))) {
+                requestContext.removeProperty(FILL_PROPERTY);
+                cache.complete(fill.key, fill.future, null);
+            }
+        }
+    }
+
+    private class CaptureInterceptor implements WriterInterceptor {
+        private final long maxAgeNanos;
+
+        CaptureInterceptor(long maxAgeNanos) {
+            this.maxAgeNanos = maxAgeNanos;
+        }
+
+        @Override
+        public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+            final Fill fill = (Fill) context.getProperty(FILL_PROPERTY);
+            if (fill == null) {
+                context.proceed();
+                return;
+            }
+
+            context.removeProperty(FILL_PROPERTY);
+            ResponseCache.CachedResponse response = null;
+            try {
+                final CapturingOutputStream output =
+                    new CapturingOutputStream(context.getOutputStream(), cache.getMaxResponseSize());
+                context.setOutputStream(output);
+                context.proceed();
+                if (!output.isOverflowed()) {
+                    response = new ResponseCache.CachedResponse(Response.Status.OK.getStatusCode(),
+                        context.getHeaders(), ResponseCache.offHeap(output.getCaptured()), maxAgeNanos);
+                }
+            } finally {
+                cache.complete(fill.key, fill.future, response);
+            }
+        }
+    }
+
+    /**
+     * Completes the fill of a request which finished without writing its response, e.g. because it failed before
+     * the response filters ran.
+     */
+    private class FillCompletionListener implements RequestEventListener {
+        @Override
+        public void onEvent(RequestEvent event) {
+            if (event.getType() != RequestEvent.Type.FINISHED) {
+                return;
+            }
+            final ContainerRequestContext requestContext = event.getContainerRequest();
+            final Fill fill = (Fill) requestContext.getProperty(FILL_PROPERTY);
+            if (fill != null) {
+                requestContext.removeProperty(FILL_PROPERTY);
+                cache.complete(fill.key, fill.future, null);
+            }
+        }
+    }
+}
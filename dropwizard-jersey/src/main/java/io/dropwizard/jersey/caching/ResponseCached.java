@@ -0,0 +1,58 @@
+package io.dropwizard.jersey.caching;
+
+import javax.ws.rs.core.HttpHeaders;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An annotation which stores the serialized responses of the annotated {@code GET} method in a server-side
+ * {@link ResponseCache}, and serves later requests for the same path, query parameters and
+ * {@link #varyHeaders() headers} from it until the response expires. Concurrent requests which miss the cache wait for
+ * the first of them to produce the response, instead of producing it themselves.
+ * <p/>
+ * Only {@code 200 OK} responses without a {@code Set-Cookie} header are stored. Responses must not depend on the
+ * caller beyond the headers they vary on: requests with an {@code Authorization} or a {@code Cookie} header bypass
+ * the cache unless it's one of the {@link #varyHeaders() vary headers}.
+ *
+ * @see ResponseCacheFeature
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ResponseCached {
+    /**
+     * The region of the cache the responses are stored in, which can be
+     * {@link ResponseCache#invalidate(String) invalidated} as a whole. Defaults to the fully qualified name of the
+     * resource method, e.g. {@code com.example.PeopleResource.find}.
+     *
+     * @return the region of the cache
+     */
+    String region() default "";
+
+    /**
+     * The request headers whose values select between different stored responses.
+     *
+     * @return the names of the headers the response varies on
+     */
+    String[] varyHeaders() default {HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING};
+
+    /**
+     * How long the response is stored for. If negative, the {@code max-age} of the method's {@link CacheControl}
+     * annotation is used, or a year if it's {@link CacheControl#immutable() immutable}; if neither is set, responses
+     * aren't stored.
+     *
+     * @return how long the response is stored for
+     */
+    int maxAge() default -1;
+
+    /**
+     * The time unit of {@link #maxAge()}.
+     *
+     * @return the time unit of {@link #maxAge()}
+     */
+    TimeUnit maxAgeUnit() default TimeUnit.SECONDS;
+}
@@ -1,10 +1,13 @@
 package io.dropwizard.jersey.gzip;
 
+import io.dropwizard.jersey.jackson.JsonStream;
+
 import javax.annotation.Priority;
 import javax.ws.rs.Priorities;
 import javax.ws.rs.client.ClientRequestContext;
 import javax.ws.rs.client.ClientRequestFilter;
 import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.ext.Provider;
 import javax.ws.rs.ext.WriterInterceptor;
 import javax.ws.rs.ext.WriterInterceptorContext;
@@ -20,6 +23,10 @@ import java.util.zip.GZIPOutputStream;
  * {@link HttpHeaders#CONTENT_ENCODING Content-Encoding header} is missing, and insert a value
  * of {@code gzip} for that header.
  *
+ * For streamed entities, a {@link JsonStream} or a {@link StreamingOutput}, flushing the encoded
+ * output flushes the data compressed so far, so that they reach the other side as they are written.
+ * Other entities are compressed without flushing, which compresses them better.
+ *
  */
 @Provider
 @Priority(Priorities.ENTITY_CODER)
@@ -42,7 +49,9 @@ public class ConfiguredGZipEncoder implements WriterInterceptor, ClientRequestFi
         final String contentEncoding = (String) context.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
         if ((contentEncoding != null) &&
                 (contentEncoding.equals("gzip") || contentEncoding.equals("x-gzip"))) {
-            context.setOutputStream(new GZIPOutputStream(context.getOutputStream()));
+            final Object entity = context.getEntity();
+            final boolean syncFlush = entity instanceof JsonStream || entity instanceof StreamingOutput;
+            context.setOutputStream(new GZIPOutputStream(context.getOutputStream(), syncFlush));
         }
         context.proceed();
     }
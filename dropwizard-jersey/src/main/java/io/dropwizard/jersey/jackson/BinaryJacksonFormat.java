@@ -0,0 +1,45 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.ws.rs.core.MediaType;
+
+/**
+ * The binary Jackson data formats for which Dropwizard provides message body providers.
+ * <p/>
+ * The data formats are optional dependencies: add {@code com.fasterxml.jackson.dataformat:jackson-dataformat-smile}
+ * or {@code jackson-dataformat-cbor} to use them. Only {@link #createProvider(ObjectMapper)} needs them, so the
+ * formats can be configured without them on the class path.
+ */
+public enum BinaryJacksonFormat {
+    // the media types are copied from the constant strings, as the providers cannot be loaded without their format
+    SMILE(MediaType.valueOf(SmileMessageBodyProvider.APPLICATION_SMILE)),
+    CBOR(MediaType.valueOf(CborMessageBodyProvider.APPLICATION_CBOR));
+
+    private final MediaType mediaType;
+
+    BinaryJacksonFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Creates a provider for this format which shares the configuration of the given {@link ObjectMapper}.
+     *
+     * @param mapper the object mapper
+     * @return a new message body provider
+     */
+    public BinaryJacksonMessageBodyProvider createProvider(ObjectMapper mapper) {
+        switch (this) {
+            case SMILE:
+                return new SmileMessageBodyProvider(mapper);
+            case CBOR:
+                return new CborMessageBodyProvider(mapper);
+            default:
+                throw new IllegalStateException("Unknown binary format " + this);
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.jaxrs.cfg.JaxRSFeature;
+import com.google.common.collect.ImmutableList;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.NoContentException;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.MessageBodyWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A base class for Jersey providers which parse request entities from and generate response entities into a binary
+ * Jackson data format, such as {@link SmileMessageBodyProvider Smile} or {@link CborMessageBodyProvider CBOR}.
+ * <p/>
+ * Entities are bound by readers and writers of the given {@link ObjectMapper}, so they are (de)serialized with the
+ * same modules, naming strategy and subtypes as JSON entities; only the parsers and generators come from the binary
+ * format's {@link JsonFactory}. Like {@link JacksonMessageBodyProvider}, types annotated with {@link JsonIgnoreType}
+ * are left to other providers, and empty entities are read as {@code null} unless {@link
+ * JaxRSFeature#ALLOW_EMPTY_INPUT} is disabled.
+ */
+public abstract class BinaryJacksonMessageBodyProvider implements MessageBodyReader<Object>,
+    MessageBodyWriter<Object> {
+    private static final int MAX_CACHED_TYPES = 10_000;
+
+    private static final List<Class<?>> UNTOUCHABLES = ImmutableList.of(
+        String.class, byte[].class, char[].class, InputStream.class, OutputStream.class, Reader.class, Writer.class,
+        File.class, StreamingOutput.class, Response.class, JsonStream.class, JsonStreamReader.class);
+
+    private static final ClassValue<Boolean> PROVIDABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> untouchable : UNTOUCHABLES) {
+                if (untouchable.isAssignableFrom(type)) {
+                    return false;
+                }
+            }
+            final JsonIgnoreType ignore = type.getAnnotation(JsonIgnoreType.class);
+            return (ignore == null) || !ignore.value();
+        }
+    };
+
+    private final ObjectMapper mapper;
+    private final JsonFactory factory;
+    private final MediaType mediaType;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+    private volatile int jaxRSFeatures = JaxRSFeature.collectDefaults();
+
+    protected BinaryJacksonMessageBodyProvider(ObjectMapper mapper, JsonFactory factory, MediaType mediaType) {
+        this.mapper = mapper;
+        this.factory = factory;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * @return the media type of the binary format
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return mapper;
+    }
+
+    /**
+     * Enables or disables a feature, like {@link JacksonMessageBodyProvider#configure(JaxRSFeature, boolean)}.
+     */
+    public BinaryJacksonMessageBodyProvider configure(JaxRSFeature feature, boolean state) {
+        jaxRSFeatures = state ? (jaxRSFeatures | feature.getMask()) : (jaxRSFeatures & ~feature.getMask());
+        return this;
+    }
+
+    public boolean isEnabled(JaxRSFeature feature) {
+        return feature.enabledIn(jaxRSFeatures);
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type,
+                              @Nullable Type genericType,
+                              @Nullable Annotation[] annotations,
+                              @Nullable MediaType mediaType) {
+        return PROVIDABLE.get(type) && isCompatible(mediaType);
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type,
+                               @Nullable Type genericType,
+                               @Nullable Annotation[] annotations,
+                               @Nullable MediaType mediaType) {
+        return PROVIDABLE.get(type) && isCompatible(mediaType);
+    }
+
+    private boolean isCompatible(@Nullable MediaType other) {
+        // parameters, such as a charset, don't matter to a binary format
+        return other == null ||
+            (mediaType.getType().equalsIgnoreCase(other.getType()) &&
+                mediaType.getSubtype().equalsIgnoreCase(other.getSubtype()));
+    }
+
+    @Override
+    public long getSize(Object value,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    @Nullable
+    public Object readFrom(Class<Object> type,
+                           @Nullable Type genericType,
+                           Annotation[] annotations,
+                           MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders,
+                           InputStream entityStream) throws IOException {
+        final ObjectReader reader = getReader(type, genericType);
+        try (JsonParser parser = factory.createParser(entityStream)) {
+            // the entity stream is closed by Jersey
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() == null) {
+                if (isEnabled(JaxRSFeature.ALLOW_EMPTY_INPUT)) {
+                    return null;
+                }
+                throw new NoContentException("No content (empty input stream)");
+            }
+            return reader.readValue(parser);
+        }
+    }
+
+    @Override
+    public void writeTo(Object value,
+                        Class<?> type,
+                        @Nullable Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        final ObjectWriter writer = getWriter(type, genericType);
+        try (JsonGenerator generator = factory.createGenerator(entityStream)) {
+            // the entity stream is closed by Jersey
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            writer.writeValue(generator, value);
+        }
+    }
+
+    private ObjectReader getReader(Class<?> type, @Nullable Type genericType) {
+        final Type key = genericType == null ? type : genericType;
+        ObjectReader reader = readers.get(key);
+        if (reader == null) {
+            reader = mapper.readerFor(mapper.getTypeFactory().constructType(key));
+            cache(readers, key, reader);
+        }
+        return reader;
+    }
+
+    private ObjectWriter getWriter(Class<?> type, @Nullable Type genericType) {
+        final Type key = genericType == null ? type : genericType;
+        ObjectWriter writer = writers.get(key);
+        if (writer == null) {
+            final JavaType rootType = JacksonMessageBodyProvider.rootType(mapper.getTypeFactory(), type, genericType);
+            // indentation is meaningless in a binary format
+            writer = (rootType == null ? mapper.writer() : mapper.writerFor(rootType))
+                .without(SerializationFeature.INDENT_OUTPUT);
+            cache(writers, key, writer);
+        }
+        return writer;
+    }
+
+    private static <T> void cache(ConcurrentMap<Type, T> cache, Type key, T value) {
+        if (cache.size() >= MAX_CACHED_TYPES) {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+}
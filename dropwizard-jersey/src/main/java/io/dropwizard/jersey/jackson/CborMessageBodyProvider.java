@@ -0,0 +1,32 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * A Jersey provider which reads and writes entities in the binary
+ * <a href="https://tools.ietf.org/html/rfc7049">CBOR</a> format, using the configuration of the given
+ * {@link ObjectMapper}.
+ * <p/>
+ * The provider is opt-in:
+ * <pre><code>
+ * environment.jersey().register(new CborMessageBodyProvider(environment.getObjectMapper()));
+ * </code></pre>
+ * and is selected for resources which produce or consume {@link #APPLICATION_CBOR}.
+ */
+@Provider
+@Produces(CborMessageBodyProvider.APPLICATION_CBOR)
+@Consumes(CborMessageBodyProvider.APPLICATION_CBOR)
+public class CborMessageBodyProvider extends BinaryJacksonMessageBodyProvider {
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final MediaType APPLICATION_CBOR_TYPE = new MediaType("application", "cbor");
+
+    public CborMessageBodyProvider(ObjectMapper mapper) {
+        super(mapper, new CBORFactory(), APPLICATION_CBOR_TYPE);
+    }
+}
@@ -3,17 +3,31 @@ package io.dropwizard.jersey.jackson;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
 
+import javax.annotation.Nullable;
+import javax.validation.Validator;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.MessageBodyWriter;
 
 /**
- * An HK2 binder that registers the Jackson JSON provider while allowing users to override.
+ * An HK2 binder that registers the Jackson JSON provider, and the {@link JsonStream} and {@link JsonStreamReader}
+ * providers, while allowing users to override.
  */
 public class JacksonBinder extends AbstractBinder {
     private final ObjectMapper mapper;
+    @Nullable
+    private final Validator validator;
 
     public JacksonBinder(ObjectMapper mapper) {
+        this(mapper, null);
+    }
+
+    /**
+     * @param mapper    the mapper to read and write entities with
+     * @param validator the validator to validate the elements of streamed request entities with, if any
+     */
+    public JacksonBinder(ObjectMapper mapper, @Nullable Validator validator) {
         this.mapper = mapper;
+        this.validator = validator;
     }
 
     @Override
@@ -21,5 +35,7 @@ public class JacksonBinder extends AbstractBinder {
         final JacksonMessageBodyProvider jsonProvider = new JacksonMessageBodyProvider(mapper);
         bind(jsonProvider).to(MessageBodyWriter.class);
         bind(jsonProvider).to(MessageBodyReader.class);
+        bind(new JsonStreamMessageBodyWriter(mapper)).to(MessageBodyWriter.class);
+        bind(new JsonStreamMessageBodyReader(mapper, validator)).to(MessageBodyReader.class);
     }
 }
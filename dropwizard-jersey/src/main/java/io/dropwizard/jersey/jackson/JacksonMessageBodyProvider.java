@@ -1,22 +1,60 @@
 package io.dropwizard.jersey.jackson;
 
+import com.fasterxml.jackson.annotation.JacksonAnnotationsInside;
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.jaxrs.cfg.JaxRSFeature;
+import com.fasterxml.jackson.jaxrs.cfg.ObjectReaderInjector;
+import com.fasterxml.jackson.jaxrs.cfg.ObjectWriterInjector;
 import com.fasterxml.jackson.jaxrs.json.JacksonJaxbJsonProvider;
 
 import javax.annotation.Nullable;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.NoContentException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A Jersey provider which enables using Jackson to parse request entities into objects and generate
  * response entities from objects.
  * <p/>
  * (Essentially, extends {@link JacksonJaxbJsonProvider} with support for {@link JsonIgnoreType}.)
+ * <p/>
+ * The {@link ObjectReader} or {@link ObjectWriter} for an entity is resolved once per entity type, generic type and
+ * set of annotations, with its root type and serializer already looked up, and entities are parsed from and
+ * generated into the entity streams directly. Entities annotated with Jackson annotations, such as
+ * {@link com.fasterxml.jackson.annotation.JsonView}, or modified by an {@link ObjectReaderInjector} or
+ * {@link ObjectWriterInjector}, are handled by {@link JacksonJaxbJsonProvider} itself.
  */
 public class JacksonMessageBodyProvider extends JacksonJaxbJsonProvider {
+    private static final int MAX_CACHED_ENTITIES = 10_000;
+
+    private static final ClassValue<Boolean> PROVIDABLE = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            final JsonIgnoreType ignore = type.getAnnotation(JsonIgnoreType.class);
+            return (ignore == null) || !ignore.value();
+        }
+    };
+
     private final ObjectMapper mapper;
+    private final ConcurrentMap<EntityKey, Optional<ObjectReader>> readers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<EntityKey, Optional<ObjectWriter>> writers = new ConcurrentHashMap<>();
 
     public JacksonMessageBodyProvider(ObjectMapper mapper) {
         this.mapper = mapper;
@@ -40,11 +78,212 @@ public class JacksonMessageBodyProvider extends JacksonJaxbJsonProvider {
     }
 
     private boolean isProvidable(Class<?> type) {
-        final JsonIgnoreType ignore = type.getAnnotation(JsonIgnoreType.class);
-        return (ignore == null) || !ignore.value();
+        return PROVIDABLE.get(type);
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type,
+                           Type genericType,
+                           Annotation[] annotations,
+                           MediaType mediaType,
+                           MultivaluedMap<String, String> httpHeaders,
+                           InputStream entityStream) throws IOException {
+        final ObjectReader reader = findReader(type, genericType, annotations, mediaType);
+        if (reader == null) {
+            return super.readFrom(type, genericType, annotations, mediaType, httpHeaders, entityStream);
+        }
+
+        try (JsonParser parser = reader.getFactory().createParser(entityStream)) {
+            // the entity stream is closed by Jersey
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+            if (parser.nextToken() == null) {
+                if (isEnabled(JaxRSFeature.ALLOW_EMPTY_INPUT)) {
+                    return null;
+                }
+                throw new NoContentException("No content (empty input stream)");
+            }
+            return reader.readValue(parser);
+        }
+    }
+
+    @Override
+    public void writeTo(Object value,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        final ObjectWriter writer = findWriter(type, genericType, annotations, mediaType);
+        if (writer == null) {
+            super.writeTo(value, type, genericType, annotations, mediaType, httpHeaders, entityStream);
+            return;
+        }
+
+        if (isEnabled(JaxRSFeature.ADD_NO_SNIFF_HEADER)) {
+            httpHeaders.add("X-Content-Type-Options", "nosniff");
+        }
+        try (JsonGenerator generator = writer.getFactory().createGenerator(entityStream, JsonEncoding.UTF8)) {
+            // the entity stream is closed by Jersey
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (writer.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+                generator.useDefaultPrettyPrinter();
+            }
+            writer.writeValue(generator, value);
+        }
+    }
+
+    /**
+     * Returns the cached reader for an entity, or {@code null} if {@link JacksonJaxbJsonProvider} must read it.
+     */
+    @Nullable
+    private ObjectReader findReader(Class<?> type, @Nullable Type genericType, @Nullable Annotation[] annotations,
+                                    @Nullable MediaType mediaType) {
+        if (_defaultReadView != null || !isEnabled(JaxRSFeature.CACHE_ENDPOINT_READERS) ||
+            ObjectReaderInjector.get() != null) {
+            return null;
+        }
+
+        final EntityKey key = new EntityKey(type, genericType, annotations);
+        Optional<ObjectReader> reader = readers.get(key);
+        if (reader == null) {
+            reader = Optional.empty();
+            if (!hasJacksonAnnotations(annotations)) {
+                final ObjectMapper objectMapper = locateMapper(type, mediaType);
+                reader = Optional.of(objectMapper.readerFor(
+                    objectMapper.getTypeFactory().constructType(genericType == null ? type : genericType)));
+            }
+            cache(readers, key, reader);
+        }
+        return reader.orElse(null);
+    }
+
+    /**
+     * Returns the cached writer for an entity, or {@code null} if {@link JacksonJaxbJsonProvider} must write it.
+     */
+    @Nullable
+    private ObjectWriter findWriter(Class<?> type, @Nullable Type genericType, @Nullable Annotation[] annotations,
+                                    @Nullable MediaType mediaType) {
+        if (_defaultWriteView != null || !isEnabled(JaxRSFeature.CACHE_ENDPOINT_WRITERS) ||
+            ObjectWriterInjector.get() != null) {
+            return null;
+        }
+
+        final EntityKey key = new EntityKey(type, genericType, annotations);
+        Optional<ObjectWriter> writer = writers.get(key);
+        if (writer == null) {
+            writer = Optional.empty();
+            if (!hasJacksonAnnotations(annotations)) {
+                final ObjectMapper objectMapper = locateMapper(type, mediaType);
+                final JavaType rootType = rootType(objectMapper.getTypeFactory(), type, genericType);
+                writer = Optional.of(rootType == null ? objectMapper.writer() : objectMapper.writerFor(rootType));
+            }
+            cache(writers, key, writer);
+        }
+        return writer.orElse(null);
+    }
+
+    /**
+     * Forces the root type of generic entities only, like {@link JacksonJaxbJsonProvider} does, as forcing it for
+     * other entities would prevent polymorphic serialization.
+     */
+    @Nullable
+    static JavaType rootType(TypeFactory typeFactory, Class<?> type, @Nullable Type genericType) {
+        if (genericType == null || genericType instanceof Class<?>) {
+            return null;
+        }
+        final JavaType rootType = typeFactory.constructSpecializedType(typeFactory.constructType(genericType), type);
+        return rootType.getRawClass() == Object.class ? null : rootType;
+    }
+
+    private static boolean hasJacksonAnnotations(@Nullable Annotation[] annotations) {
+        if (annotations == null) {
+            return false;
+        }
+        for (Annotation annotation : annotations) {
+            final Class<? extends Annotation> annotationType = annotation.annotationType();
+            if (annotationType.getName().startsWith("com.fasterxml.jackson.") ||
+                annotationType.isAnnotationPresent(JacksonAnnotationsInside.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> void cache(ConcurrentMap<EntityKey, T> cache, EntityKey key, T value) {
+        if (cache.size() >= MAX_CACHED_ENTITIES) {
+            cache.clear();
+        }
+        cache.put(key.copy(), value);
     }
 
     public ObjectMapper getObjectMapper() {
         return mapper;
     }
+
+    private static final class EntityKey {
+        private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
+        private final Class<?> type;
+        @Nullable
+        private final Type genericType;
+        private final Annotation[] annotations;
+        private final int hashCode;
+
+        private EntityKey(Class<?> type, @Nullable Type genericType, @Nullable Annotation[] annotations) {
+            this.type = type;
+            this.genericType = genericType;
+            this.annotations = annotations == null ? NO_ANNOTATIONS : annotations;
+
+            // annotations are compared by identity, as comparing their values is reflective: the annotations of a
+            // resource method or parameter are the same instances on every request, even in a copied array
+            int hash = type.hashCode() * 31 + (genericType == null ? 0 : genericType.hashCode());
+            for (Annotation annotation : this.annotations) {
+                hash = hash * 31 + System.identityHashCode(annotation);
+            }
+            this.hashCode = hash;
+        }
+
+        /**
+         * Returns a key which doesn't share its annotations array with the caller.
+         */
+        private EntityKey copy() {
+            return new EntityKey(type, genericType, annotations.clone());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof EntityKey)) {
+                return false;
+            }
+            final EntityKey other = (EntityKey) obj;
+            return hashCode == other.hashCode &&
+                type == other.type &&
+                (genericType == null ? other.genericType == null : genericType.equals(other.genericType)) &&
+                sameAnnotations(other.annotations);
+        }
+
+        private boolean sameAnnotations(Annotation[] others) {
+            if (annotations == others) {
+                return true;
+            }
+            if (annotations.length != others.length) {
+                return false;
+            }
+            for (int i = 0; i < annotations.length; i++) {
+                if (annotations[i] != others[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -0,0 +1,127 @@
+package io.dropwizard.jersey.jackson;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.core.MediaType;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A response entity which streams its elements as a JSON array, or as newline-delimited JSON if the
+ * {@link #APPLICATION_NDJSON} media type is produced, without collecting them in memory first.
+ * <p/>
+ * The elements are written one by one as they are iterated, and the response is flushed after the first element
+ * and then {@link #flushEvery(int) periodically}. The underlying stream or cursor is closed once the response has
+ * been written, or as soon as writing it fails, e.g. because the client disconnected.
+ * <p/>
+ * For example, to stream rows from a JDBI {@code ResultIterator}, which is closed once written:
+ * <pre><code>
+ * {@literal @}GET
+ * {@literal @}Produces({MediaType.APPLICATION_JSON, JsonStream.APPLICATION_NDJSON})
+ * public JsonStream&lt;Row&gt; export() {
+ *     return JsonStream.of(handle.createQuery("select * from rows").map(Row.MAPPER).iterator());
+ * }
+ * </code></pre>
+ *
+ * @param <T> the type of the elements
+ * @see JsonStreamMessageBodyWriter
+ */
+public final class JsonStream<T> implements Closeable {
+    /**
+     * The media type of newline-delimited JSON.
+     */
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    /**
+     * The media type of newline-delimited JSON.
+     */
+    public static final MediaType APPLICATION_NDJSON_TYPE = new MediaType("application", "x-ndjson");
+
+    static final int DEFAULT_FLUSH_EVERY = 100;
+
+    private final Iterator<? extends T> iterator;
+    @Nullable
+    private final AutoCloseable resource;
+    private int flushEvery = DEFAULT_FLUSH_EVERY;
+    private boolean closed = false;
+
+    private JsonStream(Iterator<? extends T> iterator, @Nullable AutoCloseable resource) {
+        this.iterator = requireNonNull(iterator);
+        this.resource = resource;
+    }
+
+    /**
+     * Streams the elements of a {@link Stream}, which is closed once they are written.
+     */
+    public static <T> JsonStream<T> of(Stream<? extends T> stream) {
+        return new JsonStream<>(stream.iterator(), stream);
+    }
+
+    /**
+     * Streams the elements of an {@link Iterator}. If the iterator is {@link AutoCloseable}, like a JDBI
+     * {@code ResultIterator}, it is closed once its elements are written.
+     */
+    public static <T> JsonStream<T> of(Iterator<? extends T> iterator) {
+        return new JsonStream<>(iterator, iterator instanceof AutoCloseable ? (AutoCloseable) iterator : null);
+    }
+
+    /**
+     * Streams the elements of an {@link Iterator}, closing {@code resource} once they are written.
+     */
+    public static <T> JsonStream<T> of(Iterator<? extends T> iterator, AutoCloseable resource) {
+        return new JsonStream<>(iterator, requireNonNull(resource));
+    }
+
+    /**
+     * Streams the elements of an {@link Iterable}.
+     */
+    public static <T> JsonStream<T> of(Iterable<? extends T> iterable) {
+        return of(iterable.iterator());
+    }
+
+    /**
+     * Sets how many elements are written between flushes of the response.
+     *
+     * @param elements the number of elements, at least 1
+     * @return this stream
+     */
+    public JsonStream<T> flushEvery(int elements) {
+        checkArgument(elements > 0, "elements must be positive");
+        this.flushEvery = elements;
+        return this;
+    }
+
+    public int getFlushEvery() {
+        return flushEvery;
+    }
+
+    Iterator<? extends T> iterator() {
+        return iterator;
+    }
+
+    /**
+     * Closes the underlying stream or cursor, if any. Closing an already closed stream has no effect.
+     *
+     * @throws IOException if the underlying stream or cursor cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (resource != null) {
+            try {
+                resource.close();
+            } catch (IOException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException(e);
+            }
+        }
+    }
+}
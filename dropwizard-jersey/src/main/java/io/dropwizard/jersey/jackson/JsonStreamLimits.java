@@ -0,0 +1,26 @@
+package io.dropwizard.jersey.jackson;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the size of a {@link JsonStreamReader} request entity. The limits are enforced as the entity is read, and
+ * exceeding either of them fails the request with {@code 413 Request Entity Too Large}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER, ElementType.FIELD})
+public @interface JsonStreamLimits {
+    /**
+     * The maximum number of bytes of the request entity, or a negative number for no limit.
+     */
+    long maxBytes() default -1;
+
+    /**
+     * The maximum number of elements of the request entity, or a negative number for no limit.
+     */
+    long maxElements() default -1;
+}
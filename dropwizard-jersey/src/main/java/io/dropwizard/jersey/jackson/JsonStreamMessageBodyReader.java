@@ -0,0 +1,145 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.dropwizard.validation.Validated;
+
+import javax.annotation.Nullable;
+import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.groups.Default;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.MessageBodyReader;
+import javax.ws.rs.ext.Provider;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A Jersey provider which reads {@link JsonStreamReader} entities from JSON arrays or newline-delimited JSON,
+ * sharing one {@link ObjectReader} per element type.
+ */
+@Provider
+@Consumes({MediaType.APPLICATION_JSON, JsonStream.APPLICATION_NDJSON})
+public class JsonStreamMessageBodyReader implements MessageBodyReader<JsonStreamReader<?>> {
+    private static final Class<?>[] DEFAULT_GROUPS = {Default.class};
+
+    private final ObjectMapper mapper;
+    @Nullable
+    private final Validator validator;
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    /**
+     * @param mapper    the mapper to parse elements with
+     * @param validator the validator to validate the elements of {@link Valid} entities with, or {@code null} to
+     *                  not validate elements
+     */
+    public JsonStreamMessageBodyReader(ObjectMapper mapper, @Nullable Validator validator) {
+        this.mapper = mapper;
+        this.validator = validator;
+    }
+
+    @Override
+    public boolean isReadable(Class<?> type,
+                              @Nullable Type genericType,
+                              @Nullable Annotation[] annotations,
+                              @Nullable MediaType mediaType) {
+        return type == JsonStreamReader.class;
+    }
+
+    @Override
+    public JsonStreamReader<?> readFrom(Class<JsonStreamReader<?>> type,
+                                        @Nullable Type genericType,
+                                        @Nullable Annotation[] annotations,
+                                        @Nullable MediaType mediaType,
+                                        MultivaluedMap<String, String> httpHeaders,
+                                        InputStream entityStream) throws IOException {
+        boolean validate = false;
+        Class<?>[] groups = DEFAULT_GROUPS;
+        long maxBytes = -1;
+        long maxElements = -1;
+        if (annotations != null) {
+            for (Annotation annotation : annotations) {
+                if (annotation instanceof Valid) {
+                    validate = true;
+                } else if (annotation instanceof Validated) {
+                    groups = ((Validated) annotation).value();
+                } else if (annotation instanceof JsonStreamLimits) {
+                    maxBytes = ((JsonStreamLimits) annotation).maxBytes();
+                    maxElements = ((JsonStreamLimits) annotation).maxElements();
+                }
+            }
+        }
+
+        final InputStream input = maxBytes < 0 ? entityStream : new LimitedInputStream(entityStream, maxBytes);
+        return new JsonStreamReader<>(getReader(genericType).readValues(input), validate ? validator : null,
+            groups, maxElements);
+    }
+
+    private ObjectReader getReader(@Nullable Type genericType) {
+        final Type elementType = genericType instanceof ParameterizedType ?
+            ((ParameterizedType) genericType).getActualTypeArguments()[0] : Object.class;
+        return readers.computeIfAbsent(elementType,
+            type -> mapper.readerFor(mapper.getTypeFactory().constructType(type)));
+    }
+
+    /**
+     * Fails reading once more than a number of bytes have been read.
+     */
+    private static class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long read = 0;
+
+        private LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            final int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            final long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long bytes) {
+            read += bytes;
+            if (read > maxBytes) {
+                throw new WebApplicationException("The request entity is larger than " + maxBytes + " bytes",
+                    Response.Status.REQUEST_ENTITY_TOO_LARGE);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A Jersey provider which writes {@link JsonStream} entities as JSON arrays, or as newline-delimited JSON if
+ * {@link JsonStream#APPLICATION_NDJSON} is produced.
+ * <p/>
+ * Compression is left to the output stream, e.g. as wrapped by
+ * {@link io.dropwizard.jersey.gzip.ConfiguredGZipEncoder}, which flushes compressed data along with the stream.
+ */
+@Provider
+@Produces({MediaType.APPLICATION_JSON, JsonStream.APPLICATION_NDJSON})
+public class JsonStreamMessageBodyWriter implements MessageBodyWriter<JsonStream<?>> {
+    private final ObjectMapper mapper;
+    private final ConcurrentMap<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public JsonStreamMessageBodyWriter(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type,
+                               @Nullable Type genericType,
+                               @Nullable Annotation[] annotations,
+                               @Nullable MediaType mediaType) {
+        return JsonStream.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public long getSize(JsonStream<?> stream,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType) {
+        return -1;
+    }
+
+    @Override
+    public void writeTo(JsonStream<?> stream,
+                        Class<?> type,
+                        @Nullable Type genericType,
+                        Annotation[] annotations,
+                        @Nullable MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException {
+        final boolean delimited = isNewlineDelimited(mediaType);
+        final ObjectWriter writer = getWriter(genericType, delimited);
+
+        // The generator is closed, and so flushed, before the stream
+        try (JsonStream<?> elements = stream;
+             JsonGenerator generator = writer.getFactory().createGenerator(entityStream, JsonEncoding.UTF8)) {
+            // the entity stream is closed by Jersey
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (delimited) {
+                generator.setRootValueSeparator(null);
+            } else {
+                if (writer.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+                    generator.useDefaultPrettyPrinter();
+                }
+                generator.writeStartArray();
+            }
+
+            final Iterator<?> iterator = elements.iterator();
+            final int flushEvery = elements.getFlushEvery();
+            long written = 0;
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                if (delimited) {
+                    generator.writeRaw('\n');
+                }
+                written++;
+                if (written == 1 || written % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+
+            if (!delimited) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    private static boolean isNewlineDelimited(@Nullable MediaType mediaType) {
+        return mediaType != null &&
+            JsonStream.APPLICATION_NDJSON_TYPE.getType().equalsIgnoreCase(mediaType.getType()) &&
+            JsonStream.APPLICATION_NDJSON_TYPE.getSubtype().equalsIgnoreCase(mediaType.getSubtype());
+    }
+
+    /**
+     * Returns a writer for the elements of a stream, which doesn't flush after each element. Like
+     * {@link JacksonMessageBodyProvider}, only generic element types are forced, so that other elements can be
+     * serialized polymorphically.
+     */
+    private ObjectWriter getWriter(@Nullable Type genericType, boolean delimited) {
+        final ObjectWriter writer = writers.computeIfAbsent(elementType(genericType), elementType -> {
+            final ObjectWriter untyped = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            return elementType instanceof ParameterizedType ?
+                untyped.forType(mapper.getTypeFactory().constructType(elementType)) : untyped;
+        });
+        // each newline-delimited element must be on a single line
+        return delimited ? writer.without(SerializationFeature.INDENT_OUTPUT) : writer;
+    }
+
+    private static Type elementType(@Nullable Type genericType) {
+        if (genericType instanceof ParameterizedType) {
+            return ((ParameterizedType) genericType).getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+}
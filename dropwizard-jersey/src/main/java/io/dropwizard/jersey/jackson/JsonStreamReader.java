@@ -0,0 +1,125 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import io.dropwizard.jersey.validation.JerseyViolationException;
+import org.glassfish.jersey.server.internal.process.MappableException;
+
+import javax.annotation.Nullable;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A request entity which parses the elements of a JSON array, or of newline-delimited JSON, lazily as they are
+ * iterated, so that the whole entity never has to be held in memory.
+ * <p/>
+ * If the entity parameter is annotated with {@link javax.validation.Valid}, each element is validated as it is read,
+ * in the groups of the parameter's {@link io.dropwizard.validation.Validated} annotation if any; an invalid element
+ * fails the request with {@code 422 Unprocessable Entity}. The entity's size can be limited with
+ * {@link JsonStreamLimits}. Malformed elements fail the request like malformed entities do.
+ * <p/>
+ * The elements must be read before the resource method returns, as the request's input is closed afterwards.
+ * <pre><code>
+ * {@literal @}POST
+ * {@literal @}Consumes({MediaType.APPLICATION_JSON, JsonStream.APPLICATION_NDJSON})
+ * public void ingest({@literal @}Valid {@literal @}JsonStreamLimits(maxBytes = 100_000_000) JsonStreamReader&lt;Row&gt; rows) {
+ *     rows.forEachRemaining(dao::insert);
+ * }
+ * </code></pre>
+ *
+ * @param <T> the type of the elements
+ * @see JsonStreamMessageBodyReader
+ */
+public final class JsonStreamReader<T> implements Iterator<T>, Closeable {
+    private final MappingIterator<T> elements;
+    @Nullable
+    private final Validator validator;
+    private final Class<?>[] groups;
+    private final long maxElements;
+    private long read = 0;
+
+    JsonStreamReader(MappingIterator<T> elements, @Nullable Validator validator, Class<?>[] groups,
+                     long maxElements) {
+        this.elements = elements;
+        this.validator = validator;
+        this.groups = groups;
+        this.maxElements = maxElements;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            return elements.hasNextValue();
+        } catch (IOException e) {
+            // mapped like the exceptions of entities read up front
+            throw new MappableException(e);
+        }
+    }
+
+    /**
+     * Reads the next element.
+     *
+     * @throws NoSuchElementException       if there are no more elements
+     * @throws JerseyViolationException     if the element is invalid
+     * @throws WebApplicationException      if the entity has more elements than allowed
+     */
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (maxElements >= 0 && read >= maxElements) {
+            throw new WebApplicationException("The request entity has more than " + maxElements + " elements",
+                Response.Status.REQUEST_ENTITY_TOO_LARGE);
+        }
+
+        final T element;
+        try {
+            element = elements.nextValue();
+        } catch (IOException e) {
+            throw new MappableException(e);
+        }
+        read++;
+
+        if (validator != null && element != null) {
+            final Set<ConstraintViolation<T>> violations = validator.validate(element, groups);
+            if (!violations.isEmpty()) {
+                throw new JerseyViolationException(violations, null);
+            }
+        }
+        return element;
+    }
+
+    /**
+     * Returns a sequential stream of the remaining elements, which closes this reader when closed.
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+            .onClose(() -> {
+                try {
+                    close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+    /**
+     * Stops reading the entity. Closing an already closed reader has no effect.
+     */
+    @Override
+    public void close() throws IOException {
+        elements.close();
+    }
+}
@@ -0,0 +1,32 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * A Jersey provider which reads and writes entities in the binary
+ * <a href="https://github.com/FasterXML/smile-format-specification">Smile</a> format, using the configuration of
+ * the given {@link ObjectMapper}.
+ * <p/>
+ * The provider is opt-in:
+ * <pre><code>
+ * environment.jersey().register(new SmileMessageBodyProvider(environment.getObjectMapper()));
+ * </code></pre>
+ * and is selected for resources which produce or consume {@link #APPLICATION_SMILE}.
+ */
+@Provider
+@Produces(SmileMessageBodyProvider.APPLICATION_SMILE)
+@Consumes(SmileMessageBodyProvider.APPLICATION_SMILE)
+public class SmileMessageBodyProvider extends BinaryJacksonMessageBodyProvider {
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+    public static final MediaType APPLICATION_SMILE_TYPE = new MediaType("application", "x-jackson-smile");
+
+    public SmileMessageBodyProvider(ObjectMapper mapper) {
+        super(mapper, new SmileFactory(), APPLICATION_SMILE_TYPE);
+    }
+}
@@ -39,6 +39,15 @@ public abstract class AbstractParam<T> {
         }
     }
 
+    /**
+     * Creates a parameter wrapping a value which has already been parsed, by one of the converters of
+     * {@link ParamConverters}.
+     */
+    AbstractParam(T value, String parameterName) {
+        this.parameterName = parameterName;
+        this.value = value;
+    }
+
     /**
      * Given a string representation which was unable to be parsed and the exception thrown, produce
      * a {@link Response} to be sent to the client.
@@ -22,6 +22,9 @@ import java.lang.reflect.Type;
  * value provided and the name of the parameter, so if value parsing fails the parameter name can be used in the error
  * message. If the param class does not have a two-string constructor this provider will return null, causing jersey
  * to use the single-string constructor for the parameter type as it normally would.</p>
+ *
+ * <p>{@link IntParam}, {@link LongParam}, {@link UUIDParam} and {@link BooleanParam} are parsed by dedicated converters
+ * instead, which don't throw exceptions while parsing and respond to invalid values with a prepared error message.</p>
  */
 public class AbstractParamConverterProvider implements ParamConverterProvider {
 
@@ -33,6 +36,10 @@ public class AbstractParamConverterProvider implements ParamConverterProvider {
     public <T> ParamConverter<T> getConverter(Class<T> rawType, Type genericType, Annotation[] annotations) {
         if (AbstractParam.class.isAssignableFrom(rawType)) {
             final String parameterName = JerseyParameterNameProvider.getParameterNameFromAnnotations(annotations).orElse("Parameter");
+            final ParamConverter<T> converter = ParamConverters.forType(rawType, parameterName);
+            if (converter != null) {
+                return converter;
+            }
             final Constructor<T> constructor;
             try {
                 constructor = rawType.getConstructor(String.class, String.class);
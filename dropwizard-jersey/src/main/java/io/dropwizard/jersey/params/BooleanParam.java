@@ -17,6 +17,10 @@ public class BooleanParam extends AbstractParam<Boolean> {
         super(input, parameterName);
     }
 
+    BooleanParam(boolean value, String parameterName) {
+        super(Boolean.valueOf(value), parameterName);
+    }
+
     @Override
     protected String errorMessage(Exception e) {
         return "%s must be \"true\" or \"false\".";
@@ -15,6 +15,10 @@ public class IntParam extends AbstractParam<Integer> {
         super(input, parameterName);
     }
 
+    IntParam(int value, String parameterName) {
+        super(Integer.valueOf(value), parameterName);
+    }
+
     @Override
     protected String errorMessage(Exception e) {
         return "%s is not a number.";
@@ -15,6 +15,10 @@ public class LongParam extends AbstractParam<Long> {
         super(input, parameterName);
     }
 
+    LongParam(long value, String parameterName) {
+        super(Long.valueOf(value), parameterName);
+    }
+
     @Override
     protected String errorMessage(Exception e) {
         return "%s is not a number.";
@@ -0,0 +1,299 @@
+package io.dropwizard.jersey.params;
+
+import com.google.common.base.Strings;
+import io.dropwizard.jersey.errors.ErrorMessage;
+import org.glassfish.jersey.server.internal.LocalizationMessages;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ParamConverter;
+import java.util.UUID;
+
+/**
+ * {@link ParamConverter}s for the most common parameter classes, {@link IntParam}, {@link LongParam},
+ * {@link UUIDParam} and {@link BooleanParam}.
+ * <p/>
+ * Unlike the parameter classes' constructors, the converters parse values without throwing exceptions along the
+ * way, and reject invalid values with an error message which was built once, for the parameter's name. The errors
+ * they respond with are the same as those of the parameter classes.
+ */
+final class ParamConverters {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractParam.class);
+
+    private static final String MAX_INT = Integer.toString(Integer.MAX_VALUE);
+    private static final String MIN_INT = Integer.toString(Integer.MIN_VALUE).substring(1);
+    private static final String MAX_LONG = Long.toString(Long.MAX_VALUE);
+    private static final String MIN_LONG = Long.toString(Long.MIN_VALUE).substring(1);
+
+    private ParamConverters() { /* singleton */ }
+
+    /**
+     * Returns a converter for a parameter class, or {@code null} if it has none. Subclasses of the supported classes
+     * have none, as they may parse values differently.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    static <T> ParamConverter<T> forType(Class<T> rawType, String parameterName) {
+        if (rawType == IntParam.class) {
+            return (ParamConverter<T>) new IntParamConverter(parameterName);
+        } else if (rawType == LongParam.class) {
+            return (ParamConverter<T>) new LongParamConverter(parameterName);
+        } else if (rawType == UUIDParam.class) {
+            return (ParamConverter<T>) new UUIDParamConverter(parameterName);
+        } else if (rawType == BooleanParam.class) {
+            return (ParamConverter<T>) new BooleanParamConverter(parameterName);
+        }
+        return null;
+    }
+
+    /**
+     * A converter which parses values into parameters, or rejects them with a prepared error message.
+     */
+    private abstract static class ParsingParamConverter<T extends AbstractParam<?>> implements ParamConverter<T> {
+        protected final String parameterName;
+        private final ErrorMessage error;
+
+        ParsingParamConverter(String parameterName, String errorMessage) {
+            this.parameterName = parameterName;
+            this.error = new ErrorMessage(Response.Status.BAD_REQUEST.getStatusCode(),
+                errorMessage.replace("%s", parameterName));
+        }
+
+        @Override
+        @Nullable
+        public T fromString(String value) {
+            if (Strings.isNullOrEmpty(value)) {
+                return null;
+            }
+            final T param = parse(value);
+            if (param == null) {
+                LOGGER.debug("Invalid input received: {}", value);
+                throw new InvalidParamException(Response.status(Response.Status.BAD_REQUEST)
+                    .entity(error)
+                    .type(MediaType.APPLICATION_JSON_TYPE)
+                    .build());
+            }
+            return param;
+        }
+
+        /**
+         * Parses a value into a parameter.
+         *
+         * @return the parameter, or {@code null} if the value is invalid
+         */
+        @Nullable
+        protected abstract T parse(String value);
+
+        @Override
+        public String toString(T value) {
+            if (value == null) {
+                throw new IllegalArgumentException(LocalizationMessages.METHOD_PARAMETER_CANNOT_BE_NULL("value"));
+            }
+            return value.toString();
+        }
+    }
+
+    private static final class IntParamConverter extends ParsingParamConverter<IntParam> {
+        IntParamConverter(String parameterName) {
+            super(parameterName, "%s is not a number.");
+        }
+
+        @Override
+        @Nullable
+        protected IntParam parse(String value) {
+            if (isDecimal(value, MAX_INT, MIN_INT)) {
+                return new IntParam(Integer.parseInt(value), parameterName);
+            }
+            if (isAscii(value)) {
+                return null;
+            }
+            // Integer.parseInt accepts digits of other scripts too
+            try {
+                return new IntParam(Integer.parseInt(value), parameterName);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class LongParamConverter extends ParsingParamConverter<LongParam> {
+        LongParamConverter(String parameterName) {
+            super(parameterName, "%s is not a number.");
+        }
+
+        @Override
+        @Nullable
+        protected LongParam parse(String value) {
+            if (isDecimal(value, MAX_LONG, MIN_LONG)) {
+                return new LongParam(Long.parseLong(value), parameterName);
+            }
+            if (isAscii(value)) {
+                return null;
+            }
+            // Long.parseLong accepts digits of other scripts too
+            try {
+                return new LongParam(Long.parseLong(value), parameterName);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class UUIDParamConverter extends ParsingParamConverter<UUIDParam> {
+        UUIDParamConverter(String parameterName) {
+            super(parameterName, "%s is not a UUID.");
+        }
+
+        @Override
+        @Nullable
+        protected UUIDParam parse(String value) {
+            if (value.length() == 36 && value.charAt(8) == '-' && value.charAt(13) == '-' &&
+                value.charAt(18) == '-' && value.charAt(23) == '-') {
+                final long high = hex(value, 0, 8);
+                final long mid = hex(value, 9, 13);
+                final long low = hex(value, 14, 18);
+                final long sequence = hex(value, 19, 23);
+                final long node = hex(value, 24, 36);
+                if ((high | mid | low | sequence | node) >= 0) {
+                    return new UUIDParam(new UUID(high << 32 | mid << 16 | low, sequence << 48 | node), parameterName);
+                }
+                return null;
+            }
+            if (!isHexOrDash(value)) {
+                return null;
+            }
+            // UUID.fromString accepts components of other lengths too
+            try {
+                return new UUIDParam(UUID.fromString(value), parameterName);
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    private static final class BooleanParamConverter extends ParsingParamConverter<BooleanParam> {
+        BooleanParamConverter(String parameterName) {
+            super(parameterName, "%s must be \"true\" or \"false\".");
+        }
+
+        @Override
+        @Nullable
+        protected BooleanParam parse(String value) {
+            if ("true".equalsIgnoreCase(value)) {
+                return new BooleanParam(true, parameterName);
+            }
+            if ("false".equalsIgnoreCase(value)) {
+                return new BooleanParam(false, parameterName);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns whether a value is an ASCII decimal number, with an optional sign, within the given bounds, i.e.
+     * whether {@link Long#parseLong(String)} parses it without throwing an exception.
+     *
+     * @param max the digits of the largest value
+     * @param min the digits of the smallest value, without its sign
+     */
+    static boolean isDecimal(String value, String max, String min) {
+        final int length = value.length();
+        int i = 0;
+        String limit = max;
+        final char first = value.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) {
+                return false;
+            }
+            if (first == '-') {
+                limit = min;
+            }
+            i = 1;
+        }
+
+        // leading zeros don't count towards the bounds
+        while (i < length - 1 && value.charAt(i) == '0') {
+            i++;
+        }
+        final int digits = length - i;
+        if (digits > limit.length()) {
+            return false;
+        }
+        boolean belowLimit = digits < limit.length();
+        for (int j = 0; i < length; i++, j++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+            if (!belowLimit) {
+                final char bound = limit.charAt(j);
+                if (c > bound) {
+                    return false;
+                }
+                belowLimit = c < bound;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isHexOrDash(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '-' && Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses the ASCII hexadecimal digits between two indexes, returning {@code -1} if there's another character.
+     */
+    private static long hex(String value, int from, int to) {
+        long result = 0;
+        for (int i = from; i < to; i++) {
+            final char c = value.charAt(i);
+            final int digit;
+            if (c >= '0' && c <= '9') {
+                digit = c - '0';
+            } else if (c >= 'a' && c <= 'f') {
+                digit = c - 'a' + 10;
+            } else if (c >= 'A' && c <= 'F') {
+                digit = c - 'A' + 10;
+            } else {
+                return -1;
+            }
+            result = result << 4 | digit;
+        }
+        return result;
+    }
+
+    /**
+     * A {@link WebApplicationException} for rejected parameter values, which doesn't fill in its stack trace: the
+     * error response is all that matters about it.
+     */
+    private static final class InvalidParamException extends WebApplicationException {
+        private static final long serialVersionUID = 1L;
+
+        InvalidParamException(Response response) {
+            super(response);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -17,6 +17,10 @@ public class UUIDParam extends AbstractParam<UUID> {
         super(input, parameterName);
     }
 
+    UUIDParam(UUID value, String parameterName) {
+        super(value, parameterName);
+    }
+
     @Override
     protected String errorMessage(Exception e) {
         return "%s is not a UUID.";
@@ -4,7 +4,8 @@ import com.google.common.base.Joiner;
 import com.google.common.base.Strings;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
-import com.google.common.collect.Iterables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import io.dropwizard.validation.ValidationMethod;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.reflect.FieldUtils;
@@ -12,21 +13,35 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.glassfish.jersey.server.model.Invocable;
 import org.glassfish.jersey.server.model.Parameter;
 
+import javax.annotation.Nullable;
 import javax.validation.ConstraintViolation;
 import javax.validation.ElementKind;
 import javax.validation.Path;
 import javax.validation.metadata.ConstraintDescriptor;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 
 public class ConstraintMessage {
+    /**
+     * Violations with paths of up to this many nodes, i.e. of a parameter or of a field of a bean parameter, have
+     * their prefix computed from the parameters of the invocable; deeper, dynamic paths have it cached.
+     */
+    private static final int MAX_PARAMETER_PATH_LENGTH = 3;
+    private static final int MAX_CACHED_PREFIXES = 10_000;
 
-    private static final Cache<Pair<Path, ? extends ConstraintDescriptor<?>>, String> PREFIX_CACHE =
-            CacheBuilder.newBuilder()
-            .expireAfterWrite(1, TimeUnit.HOURS)
+    private static final ConcurrentMap<Pair<Path, ? extends ConstraintDescriptor<?>>, String> PREFIX_CACHE =
+            new ConcurrentHashMap<>();
+
+    private static final Cache<Invocable, InvocableParameters> PARAMETERS_CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
             .build();
 
     private ConstraintMessage() {
@@ -35,20 +50,37 @@ public class ConstraintMessage {
     /**
      * Gets the human friendly location of where the violation was raised.
      */
-    public static String getMessage(ConstraintViolation<?> v, Invocable invocable) {
+    public static String getMessage(ConstraintViolation<?> v, @Nullable Invocable invocable) {
+        final List<Path.Node> nodes = nodes(v.getPropertyPath());
+        if (nodes.size() <= MAX_PARAMETER_PATH_LENGTH) {
+            return calculatePrefix(v, nodes, invocable) + v.getMessage();
+        }
+
         final Pair<Path, ? extends ConstraintDescriptor<?>> of =
                 Pair.of(v.getPropertyPath(), v.getConstraintDescriptor());
-        final String cachePrefix = PREFIX_CACHE.getIfPresent(of);
+        final String cachePrefix = PREFIX_CACHE.get(of);
         if (cachePrefix == null) {
-            final String prefix = calculatePrefix(v, invocable);
+            final String prefix = calculatePrefix(v, nodes, invocable);
+            if (PREFIX_CACHE.size() >= MAX_CACHED_PREFIXES) {
+                PREFIX_CACHE.clear();
+            }
             PREFIX_CACHE.put(of, prefix);
             return prefix + v.getMessage();
         }
         return cachePrefix + v.getMessage();
     }
 
-    private static String calculatePrefix(ConstraintViolation<?> v, Invocable invocable) {
-        final Optional<String> returnValueName = getMethodReturnValueName(v);
+    private static List<Path.Node> nodes(Path path) {
+        final List<Path.Node> nodes = new ArrayList<>(4);
+        for (Path.Node node : path) {
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private static String calculatePrefix(ConstraintViolation<?> v, List<Path.Node> nodes,
+                                          @Nullable Invocable invocable) {
+        final Optional<String> returnValueName = getMethodReturnValueName(nodes);
         if (returnValueName.isPresent()) {
             final String name = isValidationMethod(v) ?
                     StringUtils.substringBeforeLast(returnValueName.get(), ".") : returnValueName.get();
@@ -61,7 +93,7 @@ public class ConstraintMessage {
             return "";
         }
 
-        final Optional<String> entity = isRequestEntity(v, invocable);
+        final Optional<String> entity = isRequestEntity(nodes, invocable);
         if (entity.isPresent()) {
             // A present entity means that the request body failed validation but
             // if the request entity is simple (eg. byte[], String, etc), the entity
@@ -72,7 +104,7 @@ public class ConstraintMessage {
 
         // Check if the violation occurred on a *Param annotation and if so,
         // return a human friendly error (eg. "Query param xxx may not be null")
-        final Optional<String> memberName = getMemberName(v, invocable);
+        final Optional<String> memberName = getMemberName(nodes, invocable);
         return memberName.map(s -> s + " ").orElseGet(() -> v.getPropertyPath() + " ");
 
     }
@@ -81,17 +113,20 @@ public class ConstraintMessage {
      * Determines if constraint violation occurred in the request entity. If it did, return a client
      * friendly string representation of where the error occurred (eg. "patient.name")
      */
-    public static Optional<String> isRequestEntity(ConstraintViolation<?> violation, Invocable invocable) {
-        final Path.Node parent = Iterables.get(violation.getPropertyPath(), 1, null);
-        if (parent == null) {
+    public static Optional<String> isRequestEntity(ConstraintViolation<?> violation, @Nullable Invocable invocable) {
+        return isRequestEntity(nodes(violation.getPropertyPath()), invocable);
+    }
+
+    private static Optional<String> isRequestEntity(List<Path.Node> nodes, @Nullable Invocable invocable) {
+        if (nodes.size() < 2 || invocable == null) {
             return Optional.empty();
         }
-        final List<Parameter> parameters = invocable.getParameters();
 
+        final Path.Node parent = nodes.get(1);
         if (parent.getKind() == ElementKind.PARAMETER) {
-            final Parameter param = parameters.get(parent.as(Path.ParameterNode.class).getParameterIndex());
-            if (param.getSource().equals(Parameter.Source.UNKNOWN)) {
-                return Optional.of(Joiner.on('.').join(Iterables.skip(violation.getPropertyPath(), 2)));
+            final int index = parent.as(Path.ParameterNode.class).getParameterIndex();
+            if (parameters(invocable).getSource(index) == Parameter.Source.UNKNOWN) {
+                return Optional.of(Joiner.on('.').join(nodes.subList(2, nodes.size())));
             }
         }
 
@@ -101,26 +136,23 @@ public class ConstraintMessage {
     /**
      * Gets a method parameter (or a parameter field) name, if the violation raised in it.
      */
-    private static Optional<String> getMemberName(ConstraintViolation<?> violation, Invocable invocable) {
-        final int size = Iterables.size(violation.getPropertyPath());
+    private static Optional<String> getMemberName(List<Path.Node> nodes, @Nullable Invocable invocable) {
+        final int size = nodes.size();
         if (size < 2) {
             return Optional.empty();
         }
 
-        final Path.Node parent = Iterables.get(violation.getPropertyPath(), size - 2);
-        final Path.Node member = Iterables.getLast(violation.getPropertyPath());
+        final Path.Node parent = nodes.get(size - 2);
+        final Path.Node member = nodes.get(size - 1);
         switch (parent.getKind()) {
             case PARAMETER:
-                // Constraint violation most likely failed with a BeanParam
-                final List<Parameter> parameters = invocable.getParameters();
-                final Parameter param = parameters.get(parent.as(Path.ParameterNode.class).getParameterIndex());
-
-                // Extract the failing *Param annotation inside the Bean Param
-                if (param.getSource().equals(Parameter.Source.BEAN_PARAM)) {
-                    final Field field = FieldUtils.getField(param.getRawType(), member.getName(), true);
-                    return JerseyParameterNameProvider.getParameterNameFromAnnotations(field.getDeclaredAnnotations());
+                if (invocable == null) {
+                    break;
                 }
-                break;
+                // Constraint violation most likely failed with a BeanParam, so extract the failing *Param
+                // annotation inside the Bean Param
+                final int index = parent.as(Path.ParameterNode.class).getParameterIndex();
+                return parameters(invocable).getBeanParamName(index, member.getName());
             case METHOD:
                 return Optional.of(member.getName());
             default:
@@ -132,11 +164,11 @@ public class ConstraintMessage {
     /**
      * Gets the method return value name, if the violation is raised in it
      */
-    private static Optional<String> getMethodReturnValueName(ConstraintViolation<?> violation) {
+    private static Optional<String> getMethodReturnValueName(List<Path.Node> nodes) {
         int returnValueNames = -1;
 
         final StringBuilder result = new StringBuilder("server response");
-        for (Path.Node node : violation.getPropertyPath()) {
+        for (Path.Node node : nodes) {
             if (node.getKind().equals(ElementKind.RETURN_VALUE)) {
                 returnValueNames = 0;
             } else if (returnValueNames >= 0) {
@@ -147,6 +179,14 @@ public class ConstraintMessage {
         return returnValueNames >= 0 ? Optional.of(result.toString()) : Optional.empty();
     }
 
+    private static InvocableParameters parameters(Invocable invocable) {
+        try {
+            return PARAMETERS_CACHE.get(invocable, () -> new InvocableParameters(invocable.getParameters()));
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     private static boolean isValidationMethod(ConstraintViolation<?> v) {
         return v.getConstraintDescriptor().getAnnotation() instanceof ValidationMethod;
     }
@@ -155,9 +195,11 @@ public class ConstraintMessage {
      * Given a set of constraint violations and a Jersey {@link Invocable} where the constraint
      * occurred, determine the  HTTP Status code for the response. A return value violation is an
      * internal server error, an invalid request body is unprocessable entity, and any params that
-     * are invalid means a bad request
+     * are invalid means a bad request. Without an {@link Invocable}, e.g. for the elements of a streamed request
+     * entity, violations are of the request body.
      */
-    public static <T extends ConstraintViolation<?>> int determineStatus(Set<T> violations, Invocable invocable) {
+    public static <T extends ConstraintViolation<?>> int determineStatus(Set<T> violations,
+                                                                         @Nullable Invocable invocable) {
         if (violations.size() > 0) {
             final ConstraintViolation<?> violation = violations.iterator().next();
             for (Path.Node node : violation.getPropertyPath()) {
@@ -166,6 +208,9 @@ public class ConstraintMessage {
                         return 500;
                     case PARAMETER:
                         // Now determine if the parameter is the request entity
+                        if (invocable == null) {
+                            return 422;
+                        }
                         final int index = node.as(Path.ParameterNode.class).getParameterIndex();
                         final Parameter parameter = invocable.getParameters().get(index);
                         return parameter.getSource().equals(Parameter.Source.UNKNOWN) ? 422 : 400;
@@ -178,4 +223,50 @@ public class ConstraintMessage {
         // This shouldn't hit, but if it does, we'll return a unprocessable entity
         return 422;
     }
+
+    /**
+     * The sources of the parameters of an {@link Invocable}, and the names of the *Param annotated fields of its
+     * bean parameters, looked up once per invocable.
+     */
+    private static final class InvocableParameters {
+        private final List<Parameter.Source> sources;
+        private final Map<Integer, Map<String, Optional<String>>> beanParamNames;
+
+        private InvocableParameters(List<Parameter> parameters) {
+            final ImmutableList.Builder<Parameter.Source> sources = ImmutableList.builder();
+            final ImmutableMap.Builder<Integer, Map<String, Optional<String>>> beanParamNames = ImmutableMap.builder();
+            for (int i = 0; i < parameters.size(); i++) {
+                final Parameter parameter = parameters.get(i);
+                sources.add(parameter.getSource());
+                if (parameter.getSource() == Parameter.Source.BEAN_PARAM) {
+                    beanParamNames.put(i, fieldParameterNames(parameter.getRawType()));
+                }
+            }
+            this.sources = sources.build();
+            this.beanParamNames = beanParamNames.build();
+        }
+
+        private static Map<String, Optional<String>> fieldParameterNames(Class<?> beanParamType) {
+            final Map<String, Optional<String>> names = new HashMap<>();
+            // fields of subclasses hide those of their superclasses, which are listed after them
+            for (Field field : FieldUtils.getAllFieldsList(beanParamType)) {
+                names.putIfAbsent(field.getName(),
+                    JerseyParameterNameProvider.getParameterNameFromAnnotations(field.getDeclaredAnnotations()));
+            }
+            return names;
+        }
+
+        @Nullable
+        private Parameter.Source getSource(int index) {
+            return index < sources.size() ? sources.get(index) : null;
+        }
+
+        private Optional<String> getBeanParamName(int index, String fieldName) {
+            final Map<String, Optional<String>> names = beanParamNames.get(index);
+            if (names == null) {
+                return Optional.empty();
+            }
+            return names.getOrDefault(fieldName, Optional.empty());
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package io.dropwizard.jersey.validation;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import io.dropwizard.validation.ConstraintViolations;
 import io.dropwizard.validation.Validated;
@@ -9,23 +11,39 @@ import org.glassfish.jersey.server.model.Parameter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import javax.validation.Validator;
 import javax.validation.executable.ExecutableValidator;
 import javax.validation.groups.Default;
 import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.MethodDescriptor;
 import javax.ws.rs.WebApplicationException;
+import java.lang.reflect.Method;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * A {@link ConfiguredValidator} which validates resources, their parameters, and their results with a
+ * {@link Validator}.
+ * <p/>
+ * What needs validating for a resource method is worked out once per {@link Invocable}, the first time the method is
+ * invoked: the validation groups of its parameters and result, and whether the resource, the parameters, and the
+ * return value are constrained at all. Invocations of unconstrained methods are not validated.
+ */
 public class DropwizardConfiguredValidator implements ConfiguredValidator {
     private static final Logger LOGGER = LoggerFactory.getLogger(DropwizardConfiguredValidator.class);
 
+    private static final Class<?>[] DEFAULT_GROUPS = {Default.class};
+
     private final Validator validator;
+    private final Cache<Invocable, ValidationPlan> plans = CacheBuilder.newBuilder()
+        .weakKeys()
+        .build();
 
     public DropwizardConfiguredValidator(Validator validator) {
         this.validator = requireNonNull(validator);
@@ -34,26 +52,62 @@ public class DropwizardConfiguredValidator implements ConfiguredValidator {
     @Override
     public void validateResourceAndInputParams(Object resource, final Invocable invocable, Object[] objects)
             throws ConstraintViolationException {
-        final Class<?>[] groups = getGroup(invocable);
-        final Set<ConstraintViolation<Object>> violations = new HashSet<>();
-        final BeanDescriptor beanDescriptor = getConstraintsForClass(resource.getClass());
+        final ValidationPlan plan = getPlan(resource, invocable);
+        final Class<?>[] groups = plan.getParameterGroups(invocable);
+        if (!plan.resourceConstrained && !plan.parametersConstrained) {
+            return;
+        }
 
-        if (beanDescriptor.isBeanConstrained()) {
+        final Set<ConstraintViolation<Object>> violations = new HashSet<>();
+        if (plan.resourceConstrained) {
             violations.addAll(validate(resource, groups));
         }
 
-        violations.addAll(forExecutables().validateParameters(resource, invocable.getHandlingMethod(), objects, groups));
+        if (plan.parametersConstrained) {
+            violations.addAll(forExecutables().validateParameters(resource, invocable.getHandlingMethod(), objects,
+                groups));
+        }
         if (!violations.isEmpty()) {
             throw new JerseyViolationException(violations, invocable);
         }
     }
 
+    @Override
+    public void validateResult(Object resource, Invocable invocable, Object returnValue)
+            throws ConstraintViolationException {
+        final ValidationPlan plan = getPlan(resource, invocable);
+        if (!plan.returnValueConstrained) {
+            return;
+        }
+
+        final Set<ConstraintViolation<Object>> violations =
+            forExecutables().validateReturnValue(resource, invocable.getHandlingMethod(), returnValue,
+                plan.resultGroups);
+        if (!violations.isEmpty()) {
+            LOGGER.trace("Response validation failed: {}", ConstraintViolations.copyOf(violations));
+            throw new JerseyViolationException(violations, invocable);
+        }
+    }
+
+    private ValidationPlan getPlan(Object resource, Invocable invocable) {
+        final ValidationPlan plan = plans.getIfPresent(invocable);
+        if (plan != null && plan.resourceClass == resource.getClass()) {
+            return plan;
+        }
+
+        // The resource class of an invocable is normally always the same; if it is not, e.g. because the resource
+        // is proxied, the latest plan is kept.
+        final ValidationPlan newPlan = new ValidationPlan(resource.getClass(), invocable);
+        plans.put(invocable, newPlan);
+        return newPlan;
+    }
+
     /**
      * If the request entity is annotated with {@link Validated} then run
      * validations in the specified constraint group else validate with the
      * {@link Default} group
      */
-    private Class<?>[] getGroup(Invocable invocable) {
+    private static Class<?>[] getGroup(Invocable invocable) {
         final ImmutableList.Builder<Class<?>[]> builder = ImmutableList.builder();
         for (Parameter parameter : invocable.getParameters()) {
             if (parameter.isAnnotationPresent(Validated.class)) {
@@ -64,13 +118,13 @@ public class DropwizardConfiguredValidator implements ConfiguredValidator {
         final ImmutableList<Class<?>[]> groups = builder.build();
         switch (groups.size()) {
             // No parameters were annotated with Validated, so validate under the default group
-            case 0: return new Class<?>[] {Default.class};
+            case 0: return DEFAULT_GROUPS;
 
             // A single parameter was annotated with Validated, so use their group
             case 1: return groups.get(0);
 
             // Multiple parameters were annotated with Validated, so we must check if
-            // all groups are equal to each other, if not, throw an exception because
+            // all groups are equal to each other, if not, return null because
             // the validator is unable to handle parameters validated under different
             // groups. If the parameters have the same group, we can grab the first
             // group.
@@ -78,8 +132,7 @@ public class DropwizardConfiguredValidator implements ConfiguredValidator {
                 for (int i = 0; i < groups.size(); i++) {
                     for (int j = i; j < groups.size(); j++) {
                         if (!Arrays.deepEquals(groups.get(i), groups.get(j))) {
-                            throw new WebApplicationException("Parameters must have the same validation groups in " +
-                                invocable.getHandlingMethod().getName(), 500);
+                            return null;
                         }
                     }
                 }
@@ -87,23 +140,47 @@ public class DropwizardConfiguredValidator implements ConfiguredValidator {
         }
     }
 
-    @Override
-    public void validateResult(Object resource, Invocable invocable, Object returnValue)
-            throws ConstraintViolationException {
-        // If the Validated annotation is on a method, then validate the response with
-        // the specified constraint group.
-        final Class<?>[] groups;
-        if (invocable.getHandlingMethod().isAnnotationPresent(Validated.class)) {
-            groups = invocable.getHandlingMethod().getAnnotation(Validated.class).value();
-        } else {
-            groups = new Class<?>[]{Default.class};
+    /**
+     * What needs validating when invoking a resource method of a resource class.
+     */
+    private final class ValidationPlan {
+        private final Class<?> resourceClass;
+        private final boolean resourceConstrained;
+        private final boolean parametersConstrained;
+        private final boolean returnValueConstrained;
+
+        /**
+         * The groups to validate the resource and parameters with, or {@code null} if the parameters are annotated
+         * with different groups.
+         */
+        @Nullable
+        private final Class<?>[] parameterGroups;
+        private final Class<?>[] resultGroups;
+
+        private ValidationPlan(Class<?> resourceClass, Invocable invocable) {
+            final Method method = invocable.getHandlingMethod();
+            final BeanDescriptor beanDescriptor = getConstraintsForClass(resourceClass);
+            final MethodDescriptor methodDescriptor =
+                beanDescriptor.getConstraintsForMethod(method.getName(), method.getParameterTypes());
+
+            this.resourceClass = resourceClass;
+            this.resourceConstrained = beanDescriptor.isBeanConstrained();
+            this.parametersConstrained = methodDescriptor != null && methodDescriptor.hasConstrainedParameters();
+            this.returnValueConstrained = methodDescriptor != null && methodDescriptor.hasConstrainedReturnValue();
+            this.parameterGroups = getGroup(invocable);
+
+            // If the Validated annotation is on a method, then validate the response with
+            // the specified constraint group.
+            final Validated validated = method.getAnnotation(Validated.class);
+            this.resultGroups = validated == null ? DEFAULT_GROUPS : validated.value();
         }
 
-        final Set<ConstraintViolation<Object>> violations =
-            forExecutables().validateReturnValue(resource, invocable.getHandlingMethod(), returnValue, groups);
-        if (!violations.isEmpty()) {
-            LOGGER.trace("Response validation failed: {}", ConstraintViolations.copyOf(violations));
-            throw new JerseyViolationException(violations, invocable);
+        private Class<?>[] getParameterGroups(Invocable invocable) {
+            if (parameterGroups == null) {
+                throw new WebApplicationException("Parameters must have the same validation groups in " +
+                    invocable.getHandlingMethod().getName(), 500);
+            }
+            return parameterGroups;
         }
     }
 
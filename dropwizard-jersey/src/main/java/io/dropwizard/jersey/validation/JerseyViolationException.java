@@ -2,23 +2,32 @@ package io.dropwizard.jersey.validation;
 
 import org.glassfish.jersey.server.model.Invocable;
 
+import javax.annotation.Nullable;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import java.util.Set;
 
 /**
  * A {@link ConstraintViolationException} that occurs while Jersey is
- * validating constraints on a resource endpoint.
+ * validating constraints on a resource endpoint, or while the elements
+ * of a streamed request entity are validated.
  */
 public class JerseyViolationException extends ConstraintViolationException {
     private static final long serialVersionUID = -2084629736062306666L;
+    @Nullable
     private final Invocable invocable;
 
-    public JerseyViolationException(Set<? extends ConstraintViolation<?>> constraintViolations, Invocable invocable) {
+    public JerseyViolationException(Set<? extends ConstraintViolation<?>> constraintViolations,
+                                    @Nullable Invocable invocable) {
         super(constraintViolations);
         this.invocable = invocable;
     }
 
+    /**
+     * @return the resource method whose constraints were violated, or {@code null} if the violations are of the
+     * elements of a streamed request entity
+     */
+    @Nullable
     public Invocable getInvocable() {
         return invocable;
     }
@@ -0,0 +1,139 @@
+package io.dropwizard.jersey.caching;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.jersey.AbstractJerseyTest;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CoalescingFeatureTest extends AbstractJerseyTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @Override
+    protected Application configure() {
+        ResourceConfig rc = DropwizardResourceConfig.forTesting(metrics);
+        rc = rc.register(CoalescingResource.class);
+        return rc;
+    }
+
+    @Before
+    public void resetResource() {
+        CoalescingResource.reset();
+    }
+
+    @After
+    public void stopExecutor() {
+        CoalescingResource.release.countDown();
+        executor.shutdownNow();
+    }
+
+    private List<Future<String>> getConcurrently(String path, int count) throws Exception {
+        final List<Future<String>> responses = new ArrayList<>();
+        responses.add(executor.submit(() -> target(path).request().get(String.class)));
+        assertThat(CoalescingResource.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 1; i < count; i++) {
+            responses.add(executor.submit(() -> target(path).request().get(String.class)));
+        }
+        // give the followers time to join the request in flight
+        Thread.sleep(200);
+        CoalescingResource.release.countDown();
+        return responses;
+    }
+
+    private long meter(String method, String name) {
+        return metrics.meter(MetricRegistry.name(CoalescingResource.class, method, name)).getCount();
+    }
+
+    @Test
+    public void identicalRequestsShareAnInvocation() throws Exception {
+        for (Future<String> response : getConcurrently("/coalesced/shared?name=coda", 4)) {
+            assertThat(response.get()).isEqualTo("coda 1");
+        }
+
+        assertThat(CoalescingResource.INVOCATIONS.get()).isEqualTo(1);
+        assertThat(meter("showShared", "coalesced")).isEqualTo(3);
+    }
+
+    @Test
+    public void responsesAreNotKept() throws Exception {
+        getConcurrently("/coalesced/shared?name=coda", 1).get(0).get();
+
+        assertThat(target("/coalesced/shared").queryParam("name", "coda").request().get(String.class))
+            .isEqualTo("coda 2");
+    }
+
+    @Test
+    public void differentRequestsAreNotCoalesced() throws Exception {
+        final Future<String> coda =
+            executor.submit(() -> target("/coalesced/shared").queryParam("name", "coda").request().get(String.class));
+        assertThat(CoalescingResource.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        final Future<String> jane =
+            executor.submit(() -> target("/coalesced/shared").queryParam("name", "jane").request().get(String.class));
+        Thread.sleep(200);
+        CoalescingResource.release.countDown();
+
+        assertThat(coda.get()).isEqualTo("coda 1");
+        assertThat(jane.get()).isEqualTo("jane 2");
+    }
+
+    @Test
+    public void requestsWithCookiesAreNotCoalesced() throws Exception {
+        final Future<String> anonymous =
+            executor.submit(() -> target("/coalesced/shared").queryParam("name", "coda").request().get(String.class));
+        assertThat(CoalescingResource.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        final Future<String> identified = executor.submit(() -> target("/coalesced/shared").queryParam("name", "coda")
+            .request().header(HttpHeaders.COOKIE, "session=1").get(String.class));
+        Thread.sleep(200);
+        CoalescingResource.release.countDown();
+
+        assertThat(anonymous.get()).isEqualTo("coda 1");
+        assertThat(identified.get()).isEqualTo("coda 2");
+    }
+
+    @Test
+    public void waitingRequestsTimeOut() throws Exception {
+        final List<Future<String>> responses = getConcurrently("/coalesced/impatient", 2);
+
+        assertThat(responses.get(1).get()).isEqualTo("impatient 2");
+        assertThat(meter("showImpatient", "coalesce-timeouts")).isEqualTo(1);
+    }
+
+    @Test
+    public void excessWaitersInvokeTheMethodThemselves() throws Exception {
+        final List<Future<String>> responses = getConcurrently("/coalesced/crowded", 2);
+
+        assertThat(responses.get(1).get()).isEqualTo("crowded 2");
+        assertThat(meter("showCrowded", "coalesce-overflows")).isEqualTo(1);
+    }
+
+    @Test
+    public void failedResponsesAreNotShared() throws Exception {
+        final Future<Integer> leader = executor.submit(() -> target("/coalesced/flaky").request().get().getStatus());
+        assertThat(CoalescingResource.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        final List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            followers.add(executor.submit(() -> target("/coalesced/flaky").request().get(String.class)));
+        }
+        Thread.sleep(200);
+        CoalescingResource.release.countDown();
+
+        assertThat(leader.get()).isEqualTo(503);
+        for (Future<String> follower : followers) {
+            assertThat(follower.get()).startsWith("flaky ").isNotEqualTo("flaky 1");
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.dropwizard.jersey.caching;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Path("/coalesced/")
+@Produces(MediaType.TEXT_PLAIN)
+public class CoalescingResource {
+    static final AtomicInteger INVOCATIONS = new AtomicInteger();
+    static volatile CountDownLatch entered = new CountDownLatch(1);
+    static volatile CountDownLatch release = new CountDownLatch(1);
+
+    static void reset() {
+        INVOCATIONS.set(0);
+        entered = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    private static String invoke(String name) throws InterruptedException {
+        final int invocation = INVOCATIONS.incrementAndGet();
+        entered.countDown();
+        release.await(5, TimeUnit.SECONDS);
+        return name + ' ' + invocation;
+    }
+
+    @GET
+    @Path("/shared")
+    @Coalesce
+    public String showShared(@QueryParam("name") String name) throws InterruptedException {
+        return invoke(name);
+    }
+
+    @GET
+    @Path("/impatient")
+    @Coalesce(timeout = 50, timeoutUnit = TimeUnit.MILLISECONDS)
+    public String showImpatient() throws InterruptedException {
+        return invoke("impatient");
+    }
+
+    @GET
+    @Path("/crowded")
+    @Coalesce(maxWaiters = 0)
+    public String showCrowded() throws InterruptedException {
+        return invoke("crowded");
+    }
+
+    @GET
+    @Path("/flaky")
+    @Coalesce
+    public Response showFlaky() throws InterruptedException {
+        final String response = invoke("flaky");
+        return INVOCATIONS.get() == 1 ?
+            Response.status(Response.Status.SERVICE_UNAVAILABLE).entity(response).build() :
+            Response.ok(response).build();
+    }
+}
@@ -0,0 +1,82 @@
+package io.dropwizard.jersey.caching;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Path("/etagged/")
+@Produces(MediaType.TEXT_PLAIN)
+public class ETaggedResource {
+    static final AtomicInteger RENDERED = new AtomicInteger();
+
+    @GET
+    @Path("/hashed")
+    @ETagged
+    public String showHashed() {
+        return "hashed";
+    }
+
+    @GET
+    @Path("/weak")
+    @ETagged(weak = true)
+    public String showWeak() {
+        return "weak";
+    }
+
+    @GET
+    @Path("/versioned")
+    @ETagged
+    public Response showVersioned() {
+        return Response.ok("versioned").tag("v1").build();
+    }
+
+    @GET
+    @Path("/checked")
+    @ETagged
+    public String showChecked(@Context HttpHeaders headers) {
+        EntityTags.checkNotModified(headers, new EntityTag("v2"));
+        RENDERED.incrementAndGet();
+        return "checked";
+    }
+
+    @GET
+    @Path("/encoded")
+    @ETagged
+    public Response showEncoded() {
+        return Response.ok("hashed").header(HttpHeaders.CONTENT_ENCODING, "x-test").build();
+    }
+
+    @GET
+    @Path("/streamed")
+    @ETagged
+    public StreamingOutput showStreamed() {
+        final AtomicInteger writes = new AtomicInteger();
+        return new StreamingOutput() {
+            @Override
+            public void write(OutputStream output) throws IOException {
+                if (writes.incrementAndGet() > 1) {
+                    throw new IllegalStateException("Streamed twice");
+                }
+                output.write("streamed".getBytes(StandardCharsets.UTF_8));
+            }
+        };
+    }
+
+    @POST
+    @Path("/hashed")
+    @ETagged
+    public String postHashed() {
+        return "posted";
+    }
+}
@@ -0,0 +1,126 @@
+package io.dropwizard.jersey.caching;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.jersey.AbstractJerseyTest;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.Test;
+
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ETaggedResponseFeatureTest extends AbstractJerseyTest {
+
+    @Override
+    protected Application configure() {
+        ResourceConfig rc = DropwizardResourceConfig.forTesting(new MetricRegistry());
+        rc = rc.register(ETaggedResource.class);
+        return rc;
+    }
+
+    @Test
+    public void hashedResponsesHaveStrongEntityTags() throws Exception {
+        final Response response = target("/etagged/hashed").request().get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.readEntity(String.class)).isEqualTo("hashed");
+        assertThat(response.getEntityTag()).isNotNull();
+        assertThat(response.getEntityTag().isWeak()).isFalse();
+        assertThat(target("/etagged/hashed").request().get().getEntityTag()).isEqualTo(response.getEntityTag());
+    }
+
+    @Test
+    public void weakResponsesHaveWeakEntityTags() throws Exception {
+        final Response response = target("/etagged/weak").request().get();
+
+        assertThat(response.getEntityTag().isWeak()).isTrue();
+    }
+
+    @Test
+    public void encodedResponsesHaveEncodingSpecificEntityTags() throws Exception {
+        final EntityTag identity = target("/etagged/hashed").request().get().getEntityTag();
+        final Response response = target("/etagged/encoded").request().get();
+
+        assertThat(response.getEntityTag()).isEqualTo(new EntityTag(identity.getValue() + "--x-test"));
+    }
+
+    @Test
+    public void readOnceEntitiesAreServedAfterHashing() throws Exception {
+        final Response response = target("/etagged/streamed").request().get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.readEntity(String.class)).isEqualTo("streamed");
+        assertThat(response.getEntityTag()).isNotNull();
+    }
+
+    @Test
+    public void matchingRequestsAreNotModified() throws Exception {
+        final EntityTag tag = target("/etagged/hashed").request().get().getEntityTag();
+        final Response response = target("/etagged/hashed").request()
+            .header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + tag)
+            .get();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.hasEntity()).isFalse();
+        assertThat(response.getEntityTag()).isEqualTo(tag);
+    }
+
+    @Test
+    public void mismatchingRequestsAreServed() throws Exception {
+        final Response response = target("/etagged/hashed").request()
+            .header(HttpHeaders.IF_NONE_MATCH, "\"other\"")
+            .get();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.readEntity(String.class)).isEqualTo("hashed");
+    }
+
+    @Test
+    public void resourceSuppliedEntityTagsAreUsed() throws Exception {
+        final Response response = target("/etagged/versioned").request().get();
+        assertThat(response.getEntityTag()).isEqualTo(new EntityTag("v1"));
+
+        final Response notModified = target("/etagged/versioned").request()
+            .header(HttpHeaders.IF_NONE_MATCH, "W/\"v1\"")
+            .get();
+        assertThat(notModified.getStatus()).isEqualTo(304);
+    }
+
+    @Test
+    public void preconditionsSkipRenderingTheEntity() throws Exception {
+        final int rendered = ETaggedResource.RENDERED.get();
+        final Response response = target("/etagged/checked").request()
+            .header(HttpHeaders.IF_NONE_MATCH, "*")
+            .get();
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getEntityTag()).isEqualTo(new EntityTag("v2"));
+        assertThat(ETaggedResource.RENDERED.get()).isEqualTo(rendered);
+    }
+
+    @Test
+    public void otherMethodsAreNotTagged() throws Exception {
+        final Response response = target("/etagged/hashed").request().post(Entity.text(""));
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getEntityTag()).isNull();
+    }
+
+    @Test
+    public void matchesListsOfEntityTags() throws Exception {
+        final EntityTag tag = new EntityTag("a,b");
+
+        assertThat(EntityTags.matches(null, tag)).isFalse();
+        assertThat(EntityTags.matches("\"a\"", tag)).isFalse();
+        assertThat(EntityTags.matches("\"a,b\"", tag)).isTrue();
+        assertThat(EntityTags.matches("W/\"x\", W/\"a,b\"", tag)).isTrue();
+        assertThat(EntityTags.matches("garbage, \"a,b\"", tag)).isTrue();
+        assertThat(EntityTags.matches("\"a,b", tag)).isFalse();
+        assertThat(EntityTags.matches(" * ", tag)).isTrue();
+    }
+}
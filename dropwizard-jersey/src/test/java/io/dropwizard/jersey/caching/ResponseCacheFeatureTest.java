@@ -0,0 +1,129 @@
+package io.dropwizard.jersey.caching;
+
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.io.ByteStreams;
+import io.dropwizard.jersey.AbstractJerseyTest;
+import io.dropwizard.jersey.DropwizardResourceConfig;
+import io.dropwizard.jersey.gzip.ConfiguredGZipEncoder;
+import io.dropwizard.util.Size;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.Test;
+
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheFeatureTest extends AbstractJerseyTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private ResponseCache cache;
+
+    @Override
+    protected Application configure() {
+        cache = new ResponseCache(metrics, Size.megabytes(1));
+        ResourceConfig rc = DropwizardResourceConfig.forTesting(new MetricRegistry());
+        rc = rc.register(ResponseCachedResource.class);
+        rc = rc.register(new ResponseCacheFeature(cache));
+        rc = rc.register(new ConfiguredGZipEncoder(false));
+        return rc;
+    }
+
+    private String get(String path) {
+        return target(path).request(MediaType.TEXT_PLAIN).get(String.class);
+    }
+
+    @Test
+    public void servesStoredResponses() throws Exception {
+        final String first = get("/cached/people/coda");
+
+        final Response second = target("/cached/people/coda").request(MediaType.TEXT_PLAIN).get();
+        assertThat(second.readEntity(String.class)).isEqualTo(first);
+        assertThat(second.getMediaType().isCompatible(MediaType.TEXT_PLAIN_TYPE)).isTrue();
+        assertThat(second.getHeaders().get(HttpHeaders.CACHE_CONTROL)).containsOnly("no-transform, max-age=3600");
+
+        assertThat(metrics.meter("io.dropwizard.jersey.caching.ResponseCache.responses.hits").getCount())
+            .isEqualTo(1);
+        assertThat(metrics.meter("io.dropwizard.jersey.caching.ResponseCache.responses.misses").getCount())
+            .isEqualTo(1);
+        assertThat(cache.getSize()).isGreaterThan(0);
+    }
+
+    @Test
+    public void storesResponsesPerQueryAndHeaders() throws Exception {
+        final String plain = get("/cached/people/coda?greeting=hi&x=1");
+
+        assertThat(get("/cached/people/coda?x=1&greeting=hi")).isEqualTo(plain);
+        assertThat(get("/cached/people/coda?greeting=hey")).isNotEqualTo(plain);
+        assertThat(target("/cached/people/coda").queryParam("greeting", "hi").queryParam("x", "1")
+            .request(MediaType.TEXT_HTML).get(String.class)).isNotEqualTo(plain);
+    }
+
+    @Test
+    public void bypassesTheCacheForAuthorizedRequests() throws Exception {
+        final String first = get("/cached/people/coda");
+
+        assertThat(target("/cached/people/coda").request(MediaType.TEXT_PLAIN)
+            .header(HttpHeaders.AUTHORIZATION, "Basic Zm9vOmJhcg==").get(String.class)).isNotEqualTo(first);
+    }
+
+    @Test
+    public void bypassesTheCacheForRequestsWithCookies() throws Exception {
+        final String first = get("/cached/people/coda");
+
+        assertThat(target("/cached/people/coda").request(MediaType.TEXT_PLAIN)
+            .header(HttpHeaders.COOKIE, "session=1").get(String.class)).isNotEqualTo(first);
+        assertThat(get("/cached/people/coda")).isEqualTo(first);
+    }
+
+    @Test
+    public void invalidatesRegionsAndPaths() throws Exception {
+        final String coda = get("/cached/people/coda");
+        final String jane = get("/cached/people/jane");
+
+        cache.invalidate("people", "cached/people/coda");
+        assertThat(get("/cached/people/coda")).isNotEqualTo(coda);
+        assertThat(get("/cached/people/jane")).isEqualTo(jane);
+
+        cache.invalidate("people");
+        assertThat(get("/cached/people/jane")).isNotEqualTo(jane);
+
+        cache.invalidateAll();
+        assertThat(cache.getSize()).isZero();
+    }
+
+    @Test
+    public void expiresStoredResponses() throws Exception {
+        final String first = get("/cached/expiring");
+        Thread.sleep(5);
+
+        assertThat(get("/cached/expiring")).isNotEqualTo(first);
+    }
+
+    @Test
+    public void encodesReplayedResponsesOnce() throws Exception {
+        final byte[] first = target("/cached/gzipped").request(MediaType.TEXT_PLAIN).get(byte[].class);
+        final Response second = target("/cached/gzipped").request(MediaType.TEXT_PLAIN).get();
+
+        assertThat(second.getHeaderString(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gunzip(second.readEntity(byte[].class))).isEqualTo(gunzip(first)).startsWith("gzipped ");
+    }
+
+    @Test
+    public void doesNotStoreOtherStatuses() throws Exception {
+        final String first = get("/cached/uncacheable");
+
+        assertThat(get("/cached/uncacheable")).isNotEqualTo(first);
+        assertThat(cache.getSize()).isZero();
+    }
+
+    private static String gunzip(byte[] encoded) throws Exception {
+        try (GZIPInputStream input = new GZIPInputStream(new ByteArrayInputStream(encoded))) {
+            return new String(ByteStreams.toByteArray(input), StandardCharsets.UTF_8);
+        }
+    }
+}
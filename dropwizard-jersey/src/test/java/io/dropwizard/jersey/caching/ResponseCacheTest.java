@@ -0,0 +1,104 @@
+package io.dropwizard.jersey.caching;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import io.dropwizard.util.Size;
+import org.junit.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResponseCacheTest {
+    private final MetricRegistry metrics = new MetricRegistry();
+    private final ResponseCache cache =
+        new ResponseCache(metrics, "test", Size.kilobytes(64), Duration.milliseconds(500));
+    private final ResponseCache.Key key = new ResponseCache.Key("region", "path", "");
+
+    private static ResponseCache.CachedResponse response(int size) {
+        return new ResponseCache.CachedResponse(200, new MultivaluedHashMap<>(), ByteBuffer.wrap(new byte[size]),
+            TimeUnit.HOURS.toNanos(1));
+    }
+
+    @Test
+    public void coalescesConcurrentMisses() throws Exception {
+        final ResponseCache.Lookup leader = cache.lookup(key);
+        assertThat(leader.getResponse()).isNull();
+        assertThat(leader.getFill()).isNotNull();
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<ResponseCache.Lookup> follower = executor.submit(() -> cache.lookup(key));
+            final ResponseCache.CachedResponse response = response(10);
+            cache.complete(key, leader.getFill(), response);
+
+            assertThat(follower.get().getResponse()).isSameAs(response);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(metrics.meter("io.dropwizard.jersey.caching.ResponseCache.test.coalesced").getCount())
+            .isEqualTo(1);
+        assertThat(cache.lookup(key).getResponse()).isNotNull();
+    }
+
+    @Test
+    public void followersProduceTheirOwnResponseAfterTheTimeout() throws Exception {
+        final CompletableFuture<ResponseCache.CachedResponse> fill = cache.lookup(key).getFill();
+        assertThat(fill).isNotNull();
+
+        final ResponseCache.Lookup follower = cache.lookup(key);
+        assertThat(follower.getResponse()).isNull();
+        assertThat(follower.getFill()).isNull();
+
+        // the stuck fill was dropped, so the next request fills the cache
+        assertThat(cache.lookup(key).getFill()).isNotNull();
+    }
+
+    @Test
+    public void doesNotStoreOversizedResponses() throws Exception {
+        cache.complete(key, cache.lookup(key).getFill(), response(16 * 1024));
+
+        assertThat(cache.getSize()).isZero();
+        assertThat(cache.lookup(key).getResponse()).isNull();
+    }
+
+    @Test
+    public void tracksTheSizeOfStoredResponses() throws Exception {
+        cache.complete(key, cache.lookup(key).getFill(), response(1024));
+        assertThat(cache.getSize()).isEqualTo(1024);
+        assertThat(metrics.getGauges().get("io.dropwizard.jersey.caching.ResponseCache.test.entries").getValue())
+            .isEqualTo(1L);
+
+        cache.invalidate("region");
+        assertThat(cache.getSize()).isZero();
+    }
+
+    @Test
+    public void removesExpiredResponses() throws Exception {
+        cache.complete(key, cache.lookup(key).getFill(), new ResponseCache.CachedResponse(200,
+            new MultivaluedHashMap<>(), ByteBuffer.wrap(new byte[1024]), 0));
+        assertThat(cache.getSize()).isEqualTo(1024);
+
+        cache.removeExpired();
+        assertThat(cache.getSize()).isZero();
+        assertThat(metrics.getGauges().get("io.dropwizard.jersey.caching.ResponseCache.test.entries").getValue())
+            .isEqualTo(0L);
+    }
+
+    @Test
+    public void unvariedCredentialHeadersBypassTheCache() throws Exception {
+        assertThat(ResponseCache.unvariedCredentialHeaders(Arrays.asList("Accept", "authorization")))
+            .containsExactly(HttpHeaders.COOKIE);
+        assertThat(ResponseCache.unvariedCredentialHeaders(Arrays.asList(HttpHeaders.AUTHORIZATION, "cookie")))
+            .isEmpty();
+    }
+}
@@ -0,0 +1,49 @@
+package io.dropwizard.jersey.caching;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Path("/cached/")
+@Produces({MediaType.TEXT_PLAIN, MediaType.TEXT_HTML})
+public class ResponseCachedResource {
+    static final AtomicInteger PRODUCED = new AtomicInteger();
+
+    @GET
+    @Path("/people/{name}")
+    @ResponseCached(region = "people")
+    @CacheControl(maxAge = 1, maxAgeUnit = TimeUnit.HOURS)
+    public String showPerson(@PathParam("name") String name, @QueryParam("greeting") String greeting) {
+        return (greeting == null ? "hello" : greeting) + ' ' + name + ' ' + PRODUCED.incrementAndGet();
+    }
+
+    @GET
+    @Path("/expiring")
+    @ResponseCached(maxAge = 1, maxAgeUnit = TimeUnit.MILLISECONDS)
+    public String showExpiring() {
+        return "expiring " + PRODUCED.incrementAndGet();
+    }
+
+    @GET
+    @Path("/uncacheable")
+    @ResponseCached(maxAge = 1, maxAgeUnit = TimeUnit.HOURS)
+    public Response showUncacheable() {
+        return Response.status(Response.Status.ACCEPTED).entity("accepted " + PRODUCED.incrementAndGet()).build();
+    }
+
+    @GET
+    @Path("/gzipped")
+    @ResponseCached(maxAge = 1, maxAgeUnit = TimeUnit.HOURS)
+    public Response showGzipped() {
+        return Response.ok("gzipped " + PRODUCED.incrementAndGet())
+            .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+            .build();
+    }
+}
@@ -9,23 +9,30 @@ import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.GZIPOutputStream;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 
 public class ConfiguredGZipEncoderTest {
+    private static final int GZIP_HEADER_LENGTH = 10;
+
     @Test
     public void gzipParametersSpec() throws IOException {
         ClientRequestContext context = mock(ClientRequestContext.class);
@@ -76,6 +83,49 @@ public class ConfiguredGZipEncoderTest {
         assertThat(context.isProceedCalled(), is(true));
     }
 
+    @Test
+    public void flushesTheCompressedDataOfStreamedEntities() throws IOException, WebApplicationException {
+        final StreamingOutput entity = new StreamingOutput() {
+            @Override
+            public void write(OutputStream output) {
+            }
+        };
+
+        assertThat(flushedBytes(entity) > GZIP_HEADER_LENGTH, is(true));
+    }
+
+    @Test
+    public void doesNotFlushTheCompressedDataOfOtherEntities() throws IOException, WebApplicationException {
+        assertThat(flushedBytes("entity"), is(GZIP_HEADER_LENGTH));
+    }
+
+    /**
+     * Returns the number of bytes sent once a few bytes of the entity are written and flushed.
+     */
+    private static int flushedBytes(Object entity) throws IOException {
+        final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        final ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        final WriterInterceptorContext context = mock(WriterInterceptorContext.class);
+        final AtomicReference<OutputStream> output = new AtomicReference<>(sent);
+        when(context.getHeaders()).thenReturn(headers);
+        when(context.getEntity()).thenReturn(entity);
+        when(context.getOutputStream()).thenAnswer(invocation -> output.get());
+        doAnswer(invocation -> {
+            output.set(invocation.getArgument(0));
+            return null;
+        }).when(context).setOutputStream(any(OutputStream.class));
+        doAnswer(invocation -> {
+            output.get().write(new byte[]{1, 2, 3});
+            output.get().flush();
+            return null;
+        }).when(context).proceed();
+
+        new ConfiguredGZipEncoder(false).aroundWriteTo(context);
+
+        return sent.size();
+    }
+
     private class WriterInterceptorContextMock implements WriterInterceptorContext {
         private final MultivaluedMap<String, Object> headers;
         private OutputStream os = new OutputStream() {
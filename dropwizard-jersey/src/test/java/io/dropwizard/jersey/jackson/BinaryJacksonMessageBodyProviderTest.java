@@ -0,0 +1,159 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.jaxrs.cfg.JaxRSFeature;
+import com.google.common.collect.ImmutableList;
+import com.google.common.reflect.TypeToken;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jackson.JsonSnakeCase;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.NoContentException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Objects;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(Parameterized.class)
+public class BinaryJacksonMessageBodyProviderTest {
+    private static final Annotation[] NONE = new Annotation[0];
+
+    @JsonSnakeCase
+    public static class Example {
+        @JsonProperty
+        public int id;
+
+        @JsonProperty
+        public String firstName;
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, firstName);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            final Example other = (Example) obj;
+            return id == other.id && Objects.equals(firstName, other.firstName);
+        }
+    }
+
+    @JsonIgnoreType
+    public static class Ignored {
+    }
+
+    @Parameterized.Parameters(name = "{0}")
+    public static BinaryJacksonFormat[] formats() {
+        return BinaryJacksonFormat.values();
+    }
+
+    private final ObjectMapper mapper = Jackson.newObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final BinaryJacksonFormat format;
+    private final BinaryJacksonMessageBodyProvider provider;
+
+    public BinaryJacksonMessageBodyProviderTest(BinaryJacksonFormat format) {
+        this.format = format;
+        this.provider = format.createProvider(mapper);
+    }
+
+    @Test
+    public void readsAndWritesOnlyItsMediaType() {
+        assertThat(provider.isWriteable(Example.class, null, NONE, format.getMediaType())).isTrue();
+        assertThat(provider.isReadable(Example.class, null, NONE, format.getMediaType())).isTrue();
+        assertThat(provider.isWriteable(Example.class, null, NONE, MediaType.APPLICATION_JSON_TYPE)).isFalse();
+        assertThat(provider.isReadable(Example.class, null, NONE, MediaType.APPLICATION_JSON_TYPE)).isFalse();
+    }
+
+    @Test
+    public void leavesUntouchableAndIgnoredTypesToOtherProviders() {
+        assertThat(provider.isWriteable(String.class, null, NONE, format.getMediaType())).isFalse();
+        assertThat(provider.isWriteable(byte[].class, null, NONE, format.getMediaType())).isFalse();
+        assertThat(provider.isWriteable(JsonStream.class, null, NONE, format.getMediaType())).isFalse();
+        assertThat(provider.isWriteable(Ignored.class, null, NONE, format.getMediaType())).isFalse();
+        assertThat(provider.isReadable(Ignored.class, null, NONE, format.getMediaType())).isFalse();
+    }
+
+    @Test
+    public void roundTripsEntitiesWithTheMapperConfiguration() throws IOException {
+        final Example example = new Example();
+        example.id = 1;
+        example.firstName = "Coda";
+
+        final byte[] entity = write(example, Example.class, Example.class);
+
+        // the snake case naming strategy of the environment mapper is shared
+        assertThat(new String(entity, "ISO-8859-1")).contains("first_name");
+        assertThat(read(entity, Example.class)).isEqualTo(example);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void roundTripsGenericEntities() throws IOException {
+        final Example example = new Example();
+        example.id = 2;
+        final Type listType = new TypeToken<List<Example>>() {}.getType();
+
+        final byte[] entity = write(ImmutableList.of(example), List.class, listType);
+        assertThat((List<Object>) read(entity, List.class, listType)).containsExactly(example);
+    }
+
+    @Test
+    public void readsEmptyEntitiesAsNull() throws IOException {
+        assertThat(read(new byte[0], Example.class)).isNull();
+    }
+
+    @Test
+    public void rejectsEmptyEntitiesIfConfigured() {
+        provider.configure(JaxRSFeature.ALLOW_EMPTY_INPUT, false);
+
+        assertThatThrownBy(() -> read(new byte[0], Example.class)).isInstanceOf(NoContentException.class);
+    }
+
+    @Test
+    public void writesTheBinaryFormat() throws IOException {
+        final byte[] entity = write(new Example(), Example.class, Example.class);
+        if (format == BinaryJacksonFormat.SMILE) {
+            // Smile entities start with the ":)\n" header
+            assertThat(entity[0]).isEqualTo((byte) ':');
+            assertThat(entity[1]).isEqualTo((byte) ')');
+        } else {
+            // CBOR entities start with the major type of the root value, a map
+            assertThat(entity[0] & 0xE0).isEqualTo(0xA0);
+        }
+    }
+
+    private byte[] write(Object value, Class<?> type, Type genericType) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        provider.writeTo(value, type, genericType, NONE, format.getMediaType(), new MultivaluedHashMap<>(), output);
+        return output.toByteArray();
+    }
+
+    private Object read(byte[] entity, Class<?> type) throws IOException {
+        return read(entity, type, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object read(byte[] entity, Class<?> type, Type genericType) throws IOException {
+        return provider.readFrom((Class<Object>) type, genericType, NONE, format.getMediaType(),
+            new MultivaluedHashMap<>(), new ByteArrayInputStream(entity));
+    }
+}
@@ -2,7 +2,9 @@ package io.dropwizard.jersey.jackson;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreType;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonView;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.reflect.TypeToken;
@@ -37,9 +39,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.failBecauseExceptionWasNotThrown;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assume.assumeThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SuppressWarnings({"serial", "unchecked"})
@@ -93,6 +98,22 @@ public class JacksonMessageBodyProviderTest {
         public String text;
     }
 
+    public interface Public {
+    }
+
+    public interface Internal {
+    }
+
+    public static class ViewExample {
+        @JsonView(Public.class)
+        @JsonProperty
+        public int id = 1;
+
+        @JsonView(Internal.class)
+        @JsonProperty
+        public String secret = "secret";
+    }
+
     @JsonIgnoreType
     public static interface Ignorable {
 
@@ -258,6 +279,76 @@ public class JacksonMessageBodyProviderTest {
                 .isEqualTo("{\"id\":500}");
     }
 
+    @Test
+    public void reusesWritersForTheSameEntities() throws Exception {
+        final Example example = new Example();
+        example.id = 500;
+
+        for (int i = 0; i < 3; i++) {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            provider.writeTo(example, Example.class, Example.class, NONE, MediaType.APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<>(), output);
+            assertThat(output.toString()).isEqualTo("{\"id\":500}");
+        }
+
+        verify(mapper, times(1)).writer();
+    }
+
+    @Test
+    public void reusesWritersForCopiesOfTheSameAnnotations() throws Exception {
+        final Example example = new Example();
+        example.id = 500;
+
+        for (int i = 0; i < 3; i++) {
+            // the annotations of a method are copied into a new array on every call
+            final Annotation[] annotations = getClass().getMethod("serializesResponseEntities").getAnnotations();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            provider.writeTo(example, Example.class, Example.class, annotations, MediaType.APPLICATION_JSON_TYPE,
+                new MultivaluedHashMap<>(), output);
+            assertThat(output.toString()).isEqualTo("{\"id\":500}");
+        }
+
+        verify(mapper, times(1)).writer();
+    }
+
+    @Test
+    public void reusesReadersForTheSameEntities() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            final ByteArrayInputStream entity = new ByteArrayInputStream("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+            final Object obj = provider.readFrom((Class<Object>) (Class<?>) Example.class, Example.class, NONE,
+                MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), entity);
+            assertThat(((Example) obj).id).isEqualTo(1);
+        }
+
+        verify(mapper, times(1)).readerFor(any(JavaType.class));
+    }
+
+    @Test
+    public void serializesGenericResponseEntities() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final Example example = new Example();
+        example.id = 500;
+
+        provider.writeTo(ImmutableList.of(example), ImmutableList.class, new TypeToken<List<Example>>() {
+        }.getType(), NONE, MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), output);
+
+        assertThat(output.toString()).isEqualTo("[{\"id\":500}]");
+    }
+
+    @Test
+    public void serializesResponseEntitiesWithViews() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final ViewExample example = new ViewExample();
+        final JsonView view = mock(JsonView.class);
+        doReturn(JsonView.class).when(view).annotationType();
+        when(view.value()).thenReturn(new Class<?>[]{Public.class});
+
+        provider.writeTo(example, ViewExample.class, ViewExample.class, new Annotation[]{view},
+            MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), output);
+
+        assertThat(output.toString()).isEqualTo("{\"id\":1}");
+    }
+
     @Test
     public void returnsValidatedCollectionRequestEntities() throws Exception {
         testValidatedCollectionType(Collection.class,
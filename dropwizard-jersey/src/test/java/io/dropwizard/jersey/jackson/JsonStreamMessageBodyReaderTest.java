@@ -0,0 +1,150 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.google.common.reflect.TypeToken;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.jersey.validation.JerseyViolationException;
+import io.dropwizard.jersey.validation.Validators;
+import org.glassfish.jersey.server.internal.process.MappableException;
+import org.hibernate.validator.constraints.NotEmpty;
+import org.junit.Test;
+
+import javax.validation.Valid;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("unchecked")
+public class JsonStreamMessageBodyReaderTest {
+    private static final Annotation[] NONE = new Annotation[0];
+    private static final Type EXAMPLES = new TypeToken<JsonStreamReader<Example>>() {
+    }.getType();
+
+    public static class Example {
+        @NotEmpty
+        @JsonProperty
+        public String name = "";
+    }
+
+    private final JsonStreamMessageBodyReader reader =
+        new JsonStreamMessageBodyReader(Jackson.newObjectMapper(), Validators.newValidator());
+
+    @Test
+    public void readsJsonStreamReaders() throws Exception {
+        assertThat(reader.isReadable(JsonStreamReader.class, EXAMPLES, NONE, MediaType.APPLICATION_JSON_TYPE))
+            .isTrue();
+        assertThat(reader.isReadable(List.class, null, NONE, MediaType.APPLICATION_JSON_TYPE)).isFalse();
+    }
+
+    @Test
+    public void readsJsonArraysLazily() throws Exception {
+        final JsonStreamReader<Example> examples = read("[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":", NONE);
+
+        assertThat(examples.next().name).isEqualTo("a");
+        assertThat(examples.next().name).isEqualTo("b");
+        assertThatThrownBy(examples::next)
+            .isInstanceOf(MappableException.class)
+            .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void readsNewlineDelimitedJson() throws Exception {
+        final JsonStreamReader<Example> examples = read("{\"name\":\"a\"}\n{\"name\":\"b\"}\n", NONE);
+
+        assertThat(examples.stream().map(example -> example.name).collect(Collectors.toList()))
+            .containsExactly("a", "b");
+    }
+
+    @Test
+    public void readsEmptyEntities() throws Exception {
+        assertThat(read("", NONE).hasNext()).isFalse();
+        assertThat(read("[]", NONE).hasNext()).isFalse();
+    }
+
+    @Test
+    public void failsOnMalformedElements() throws Exception {
+        final JsonStreamReader<Example> examples = read("[{\"name\":\"a\"}, {\"name\" \"b\"}]", NONE);
+
+        assertThat(examples.next().name).isEqualTo("a");
+        assertThatThrownBy(examples::next)
+            .isInstanceOf(MappableException.class)
+            .hasCauseInstanceOf(JsonParseException.class);
+    }
+
+    @Test
+    public void validatesValidElements() throws Exception {
+        final JsonStreamReader<Example> examples = read("[{\"name\":\"a\"},{\"name\":\"\"}]", new Annotation[]{valid()});
+
+        assertThat(examples.next().name).isEqualTo("a");
+        assertThatThrownBy(examples::next)
+            .isInstanceOf(JerseyViolationException.class)
+            .satisfies(e -> assertThat(((JerseyViolationException) e).getConstraintViolations()).hasSize(1));
+    }
+
+    @Test
+    public void doesNotValidateOtherElements() throws Exception {
+        final JsonStreamReader<Example> examples = read("[{\"name\":\"\"}]", NONE);
+
+        assertThat(examples.next().name).isEmpty();
+    }
+
+    @Test
+    public void limitsTheNumberOfElements() throws Exception {
+        final JsonStreamReader<Example> examples = read("[{\"name\":\"a\"},{\"name\":\"b\"}]",
+            new Annotation[]{limits(-1, 1)});
+
+        assertThat(examples.next().name).isEqualTo("a");
+        assertThatThrownBy(examples::next)
+            .isInstanceOf(WebApplicationException.class)
+            .satisfies(e -> assertThat(((WebApplicationException) e).getResponse().getStatus()).isEqualTo(413));
+    }
+
+    @Test
+    public void limitsTheNumberOfBytes() throws Exception {
+        final StringBuilder entity = new StringBuilder("[");
+        for (int i = 0; i < 10_000; i++) {
+            entity.append("{\"name\":\"a\"},");
+        }
+        entity.append("{\"name\":\"a\"}]");
+        final JsonStreamReader<Example> examples = read(entity.toString(), new Annotation[]{limits(20_000, -1)});
+
+        assertThatThrownBy(() -> examples.forEachRemaining(example -> assertThat(example.name).isEqualTo("a")))
+            .isInstanceOf(WebApplicationException.class)
+            .satisfies(e -> assertThat(((WebApplicationException) e).getResponse().getStatus()).isEqualTo(413));
+    }
+
+    private JsonStreamReader<Example> read(String entity, Annotation[] annotations) throws IOException {
+        final Class<JsonStreamReader<?>> type = (Class<JsonStreamReader<?>>) (Class<?>) JsonStreamReader.class;
+        return (JsonStreamReader<Example>) reader.readFrom(type, EXAMPLES, annotations,
+            MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(),
+            new ByteArrayInputStream(entity.getBytes(UTF_8)));
+    }
+
+    private static Valid valid() {
+        final Valid valid = mock(Valid.class);
+        doReturn(Valid.class).when(valid).annotationType();
+        return valid;
+    }
+
+    private static JsonStreamLimits limits(long maxBytes, long maxElements) {
+        final JsonStreamLimits limits = mock(JsonStreamLimits.class);
+        doReturn(JsonStreamLimits.class).when(limits).annotationType();
+        when(limits.maxBytes()).thenReturn(maxBytes);
+        when(limits.maxElements()).thenReturn(maxElements);
+        return limits;
+    }
+}
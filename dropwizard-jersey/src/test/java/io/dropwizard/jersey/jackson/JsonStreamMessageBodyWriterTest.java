@@ -0,0 +1,152 @@
+package io.dropwizard.jersey.jackson;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+import io.dropwizard.jackson.Jackson;
+import org.junit.Test;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class JsonStreamMessageBodyWriterTest {
+    private static final Annotation[] NONE = new Annotation[0];
+    private static final Type EXAMPLES = new TypeToken<JsonStream<Example>>() {
+    }.getType();
+
+    public static class Example {
+        @JsonProperty
+        public int id;
+
+        public Example(int id) {
+            this.id = id;
+        }
+    }
+
+    public static class SubExample extends Example {
+        @JsonProperty
+        public String name = "sub";
+
+        public SubExample(int id) {
+            super(id);
+        }
+    }
+
+    private final JsonStreamMessageBodyWriter writer = new JsonStreamMessageBodyWriter(Jackson.newObjectMapper());
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    @Test
+    public void writesStreamsOfJsonStreams() throws Exception {
+        assertThat(writer.isWriteable(JsonStream.class, EXAMPLES, NONE, MediaType.APPLICATION_JSON_TYPE)).isTrue();
+        assertThat(writer.isWriteable(ImmutableList.class, null, NONE, MediaType.APPLICATION_JSON_TYPE)).isFalse();
+    }
+
+    @Test
+    public void writesJsonArrays() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        write(examples(3), MediaType.APPLICATION_JSON_TYPE, output);
+
+        assertThat(new String(output.toByteArray(), UTF_8)).isEqualTo("[{\"id\":0},{\"id\":1},{\"id\":2}]");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void writesEmptyJsonArrays() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        write(examples(0), MediaType.APPLICATION_JSON_TYPE, output);
+
+        assertThat(new String(output.toByteArray(), UTF_8)).isEqualTo("[]");
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    public void writesNewlineDelimitedJson() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        write(examples(2), JsonStream.APPLICATION_NDJSON_TYPE, output);
+
+        assertThat(new String(output.toByteArray(), UTF_8)).isEqualTo("{\"id\":0}\n{\"id\":1}\n");
+    }
+
+    @Test
+    public void writesElementsPolymorphically() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        write(JsonStream.of(ImmutableList.of(new Example(1), new SubExample(2))), MediaType.APPLICATION_JSON_TYPE,
+            output);
+
+        assertThat(new String(output.toByteArray(), UTF_8)).isEqualTo("[{\"id\":1},{\"id\":2,\"name\":\"sub\"}]");
+    }
+
+    @Test
+    public void writesGenericElements() throws Exception {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        final Type maps = new TypeToken<JsonStream<Map<String, Integer>>>() {
+        }.getType();
+
+        writer.writeTo(JsonStream.of(Stream.of(ImmutableMap.of("a", 1), ImmutableMap.of("b", 2))),
+            JsonStream.class, maps, NONE, MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), output);
+
+        assertThat(new String(output.toByteArray(), UTF_8)).isEqualTo("[{\"a\":1},{\"b\":2}]");
+    }
+
+    @Test
+    public void flushesPeriodically() throws Exception {
+        final AtomicInteger flushes = new AtomicInteger();
+        final OutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        write(examples(10).flushEvery(4), MediaType.APPLICATION_JSON_TYPE, output);
+
+        // after the 1st, 4th and 8th elements, and when the generator is closed
+        assertThat(flushes).hasValue(4);
+    }
+
+    @Test
+    public void closesTheStreamWhenTheClientDisconnects() throws Exception {
+        final OutputStream output = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> write(examples(1000), MediaType.APPLICATION_JSON_TYPE, output))
+            .isInstanceOf(IOException.class);
+        assertThat(closed).isTrue();
+    }
+
+    private JsonStream<Example> examples(int count) {
+        return JsonStream.of(IntStream.range(0, count).mapToObj(Example::new).onClose(() -> closed.set(true)));
+    }
+
+    private void write(JsonStream<?> stream, MediaType mediaType, OutputStream output) throws IOException {
+        writer.writeTo(stream, JsonStream.class, EXAMPLES, NONE, mediaType, new MultivaluedHashMap<>(), output);
+    }
+}
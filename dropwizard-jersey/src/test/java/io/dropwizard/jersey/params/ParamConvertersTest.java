@@ -0,0 +1,109 @@
+package io.dropwizard.jersey.params;
+
+import io.dropwizard.jersey.errors.ErrorMessage;
+import org.junit.Test;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ParamConverter;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ParamConvertersTest {
+    private static final String[] NUMBERS = {
+        "0", "1", "-1", "+1", "007", "-007", "+", "-", "1.0", "1e3", " 1", "1 ", "0x1F", "abc",
+        "2147483647", "2147483648", "-2147483648", "-2147483649", "00002147483647",
+        "9223372036854775807", "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+        "99999999999999999999", "\u0661\u0662", "\uff11"
+    };
+    private static final String[] UUIDS = {
+        "067e6162-3b6f-4ae2-a171-2470b63dff00", "067E6162-3B6F-4AE2-A171-2470B63DFF00",
+        "067e6162-3b6f-4ae2-a171-2470b63dff0g", "067e61623b6f4ae2a1712470b63dff00", "1-2-3-4-5", "1-2-3-4",
+        "1-2-3-4-5-6", "-----", "ffffffff-ffff-ffff-ffff-ffffffffffff", "fffffffff-ffff-ffff-ffff-fffffffffff",
+        "10000000000000000-1-1-1-1", "nope"
+    };
+    private static final String[] BOOLEANS = {"true", "TRUE", "False", "yes", "1", "truee"};
+
+    @Test
+    public void intParamsAreParsedLikeTheConstructor() {
+        for (String value : NUMBERS) {
+            assertConvertsLikeConstructor(IntParam.class, value, input -> new IntParam(input, "id"));
+        }
+    }
+
+    @Test
+    public void longParamsAreParsedLikeTheConstructor() {
+        for (String value : NUMBERS) {
+            assertConvertsLikeConstructor(LongParam.class, value, input -> new LongParam(input, "id"));
+        }
+    }
+
+    @Test
+    public void uuidParamsAreParsedLikeTheConstructor() {
+        for (String value : UUIDS) {
+            assertConvertsLikeConstructor(UUIDParam.class, value, input -> new UUIDParam(input, "id"));
+        }
+    }
+
+    @Test
+    public void booleanParamsAreParsedLikeTheConstructor() {
+        for (String value : BOOLEANS) {
+            assertConvertsLikeConstructor(BooleanParam.class, value, input -> new BooleanParam(input, "id"));
+        }
+    }
+
+    @Test
+    public void emptyValuesAreNull() {
+        assertThat(ParamConverters.forType(IntParam.class, "id").fromString("")).isNull();
+        assertThat(ParamConverters.forType(UUIDParam.class, "id").fromString(null)).isNull();
+    }
+
+    @Test
+    public void subclassesAreLeftToTheirConstructors() {
+        class PositiveIntParam extends IntParam {
+            PositiveIntParam(String input) {
+                super(input);
+            }
+        }
+
+        assertThat(ParamConverters.forType(PositiveIntParam.class, "id")).isNull();
+        assertThat(ParamConverters.forType(DateTimeParam.class, "id")).isNull();
+    }
+
+    @Test
+    public void invalidValuesDoNotFillInStackTraces() {
+        final Throwable error = catchThrowable(() -> ParamConverters.forType(IntParam.class, "id").fromString("x"));
+
+        assertThat(error).isInstanceOf(WebApplicationException.class);
+        assertThat(error.getStackTrace()).isEmpty();
+    }
+
+    private static <T extends AbstractParam<?>> void assertConvertsLikeConstructor(Class<T> type, String value,
+                                                                                    Function<String, T> constructor) {
+        final ParamConverter<T> converter = ParamConverters.forType(type, "id");
+        assertThat(converter).isNotNull();
+
+        T expected = null;
+        Response expectedError = null;
+        try {
+            expected = constructor.apply(value);
+        } catch (WebApplicationException e) {
+            expectedError = e.getResponse();
+        }
+
+        try {
+            final T actual = converter.fromString(value);
+            assertThat(expectedError).as("error for %s", value).isNull();
+            assertThat(actual).as("value of %s", value).isEqualTo(expected);
+        } catch (WebApplicationException e) {
+            assertThat(expectedError).as("value of %s", value).isNotNull();
+            final Response actualError = e.getResponse();
+            assertThat(actualError.getStatus()).isEqualTo(expectedError.getStatus());
+            assertThat(actualError.getMediaType()).isEqualTo(MediaType.APPLICATION_JSON_TYPE);
+            assertThat(actualError.getEntity()).isEqualTo((ErrorMessage) expectedError.getEntity());
+        }
+    }
+}
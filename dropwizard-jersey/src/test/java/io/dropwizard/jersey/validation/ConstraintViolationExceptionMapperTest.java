@@ -245,6 +245,31 @@ public class ConstraintViolationExceptionMapperTest extends AbstractJerseyTest {
                 .containsOnlyOnce("\"query param name may not be empty\"");
     }
 
+    @Test
+    public void getInvalidBeanParamGettersIs400() throws Exception {
+        // the violated property is a getter, which has no field with a *Param annotation
+        final Response response = target("/valid/getter-zoo")
+                .queryParam("count", 0)
+                .request().get();
+        assertThat(response.getStatus()).isEqualTo(400);
+
+        assertThat(response.readEntity(String.class))
+                .containsOnlyOnce("count must be greater than or equal to 1");
+    }
+
+    @Test
+    public void beanParamMessagesAreStable() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            final Response response = target("/valid/sub-zoo")
+                    .queryParam("address", "42 Wallaby Way")
+                    .request().get();
+            assertThat(response.getStatus()).isEqualTo(400);
+            assertThat(response.readEntity(String.class))
+                    .containsOnlyOnce("\"query param name may not be empty\"")
+                    .containsOnlyOnce("\"name must be Coda\"");
+        }
+    }
+
     @Test
     public void getInvalidHeaderParamsIs400() throws Exception {
         final Response response = target("/valid/head")
@@ -470,6 +495,27 @@ public class ConstraintViolationExceptionMapperTest extends AbstractJerseyTest {
                 .containsOnlyOnce("id must be greater than or equal to 0");
     }
 
+    @Test
+    public void invalidNestedRequestCollectionEntities() {
+        // the paths of these violations are longer than those of parameters, so their prefixes are cached
+        String first = null;
+        for (int i = 0; i < 2; i++) {
+            final Response response = target("/valid/validWrappedCollection")
+                    .request().post(Entity.json("[{\"representation\":{\"name\":\"\"}}, " +
+                            "{\"representation\":{\"name\":\"Coda\"}}]"));
+
+            assertThat(response.getStatus()).isEqualTo(422);
+            final String errors = response.readEntity(String.class);
+            assertThat(errors)
+                    .containsOnlyOnce("representation.name may not be empty")
+                    .doesNotContain("validWrappedCollection");
+            if (first != null) {
+                assertThat(errors).isEqualTo(first);
+            }
+            first = errors;
+        }
+    }
+
     @Test
     public void returnRequestCollectionEntities() {
         final Response response = target("/valid/validExampleCollection")
@@ -0,0 +1,92 @@
+package io.dropwizard.jersey.validation;
+
+import io.dropwizard.validation.Validated;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.model.MethodHandler;
+import org.hibernate.validator.constraints.NotEmpty;
+import org.junit.Test;
+
+import javax.validation.Validator;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class DropwizardConfiguredValidatorTest {
+    public static class Resource {
+        public String unconstrained(@QueryParam("name") String name) {
+            return name;
+        }
+
+        @NotEmpty
+        public String constrained(@QueryParam("name") @NotEmpty String name) {
+            return name;
+        }
+
+        public String mixedGroups(@QueryParam("a") @Validated(Partial.class) String a,
+                                  @QueryParam("b") @Validated String b) {
+            return a + b;
+        }
+    }
+
+    public interface Partial {
+    }
+
+    private final Validator validator = mock(Validator.class, delegatesTo(Validators.newValidator()));
+    private final DropwizardConfiguredValidator configuredValidator = new DropwizardConfiguredValidator(validator);
+    private final Resource resource = new Resource();
+
+    @Test
+    public void skipsUnconstrainedMethods() throws Exception {
+        final Invocable invocable = invocable("unconstrained");
+
+        configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{""});
+        configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{""});
+        configuredValidator.validateResult(resource, invocable, "");
+
+        verify(validator, never()).forExecutables();
+        verify(validator, times(1)).getConstraintsForClass(Resource.class);
+    }
+
+    @Test
+    public void validatesConstrainedParameters() throws Exception {
+        final Invocable invocable = invocable("constrained");
+
+        configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{"cheese"});
+        assertThatThrownBy(() ->
+            configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{""}))
+            .isInstanceOf(JerseyViolationException.class);
+        verify(validator, times(1)).getConstraintsForClass(any());
+    }
+
+    @Test
+    public void validatesConstrainedResults() throws Exception {
+        final Invocable invocable = invocable("constrained");
+
+        configuredValidator.validateResult(resource, invocable, "cheese");
+        assertThatThrownBy(() -> configuredValidator.validateResult(resource, invocable, ""))
+            .isInstanceOf(JerseyViolationException.class);
+    }
+
+    @Test
+    public void rejectsParametersWithDifferentGroups() throws Exception {
+        final Invocable invocable = invocable("mixedGroups");
+
+        assertThatThrownBy(() ->
+            configuredValidator.validateResourceAndInputParams(resource, invocable, new Object[]{"a", "b"}))
+            .isInstanceOf(WebApplicationException.class)
+            .hasMessageContaining("mixedGroups");
+    }
+
+    private static Invocable invocable(String name) throws NoSuchMethodException {
+        final Class<?>[] parameterTypes = "mixedGroups".equals(name) ?
+            new Class<?>[]{String.class, String.class} : new Class<?>[]{String.class};
+        return Invocable.create(MethodHandler.create(Resource.class), Resource.class.getMethod(name, parameterTypes));
+    }
+}
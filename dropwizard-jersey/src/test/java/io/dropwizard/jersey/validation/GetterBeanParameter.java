@@ -0,0 +1,14 @@
+package io.dropwizard.jersey.validation;
+
+import javax.validation.constraints.Min;
+import javax.ws.rs.QueryParam;
+
+public class GetterBeanParameter {
+    @QueryParam("count")
+    private int rawCount;
+
+    @Min(1)
+    public int getCount() {
+        return rawCount;
+    }
+}
@@ -129,6 +129,12 @@ public class ValidatingResource {
         return obj;
     }
 
+    @POST
+    @Path("validWrappedCollection")
+    public int validWrappedCollection(@Valid List<WrappedValidRepresentation> obj) {
+        return obj.size();
+    }
+
     @POST
     @Path("validExampleMap")
     public Map<String, Example> validExample(@Valid Map<String, Example> obj) {
@@ -202,6 +208,12 @@ public class ValidatingResource {
         return params.getName();
     }
 
+    @GET
+    @Path("getter-zoo")
+    public int getterBlazer(@Valid @BeanParam GetterBeanParameter params) {
+        return params.getCount();
+    }
+
     @GET
     @Path("head")
     public String heads(@HeaderParam("cheese") @NotEmpty String secretSauce) {
@@ -192,10 +192,19 @@ public class GzipHandlerFactory {
     public BiDiGzipHandler build(@Nullable Handler handler) {
         final BiDiGzipHandler gzipHandler = new BiDiGzipHandler();
         gzipHandler.setHandler(handler);
-        gzipHandler.setMinGzipSize((int) minimumEntitySize.toBytes());
-        gzipHandler.setInputBufferSize((int) bufferSize.toBytes());
         gzipHandler.setCompressionLevel(deflateCompressionLevel);
-        gzipHandler.setSyncFlush(syncFlush);
+        configure(gzipHandler);
+        return gzipHandler;
+    }
+
+    /**
+     * Applies all the settings except {@code enabled} and {@code deflateCompressionLevel}. Unset MIME types and
+     * methods leave those of the handler as they are.
+     *
+     * @param gzipHandler a handler built by this or another factory, which isn't serving requests yet
+     */
+    public void configure(BiDiGzipHandler gzipHandler) {
+        reconfigure(gzipHandler);
 
         if (compressedMimeTypes != null) {
             gzipHandler.setIncludedMimeTypes(Iterables.toArray(compressedMimeTypes, String.class));
@@ -206,8 +215,20 @@ public class GzipHandlerFactory {
         }
 
         gzipHandler.setExcludedAgentPatterns(Iterables.toArray(excludedUserAgentPatterns, String.class));
-        gzipHandler.setInflateNoWrap(gzipCompatibleInflation);
+    }
 
-        return gzipHandler;
+    /**
+     * Applies the settings which may change while the handler is serving requests: {@code minimumEntitySize},
+     * {@code bufferSize}, {@code syncFlush} and {@code gzipCompatibleInflation}. The MIME types, methods and user
+     * agent patterns are held in sets which request threads read without locking, so they are only applied by
+     * {@link #configure(BiDiGzipHandler)}.
+     *
+     * @param gzipHandler a handler built by this or another factory
+     */
+    public void reconfigure(BiDiGzipHandler gzipHandler) {
+        gzipHandler.setMinGzipSize((int) minimumEntitySize.toBytes());
+        gzipHandler.setInputBufferSize((int) bufferSize.toBytes());
+        gzipHandler.setSyncFlush(syncFlush);
+        gzipHandler.setInflateNoWrap(gzipCompatibleInflation);
     }
 }
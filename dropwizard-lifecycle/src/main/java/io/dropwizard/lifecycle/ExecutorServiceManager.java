@@ -3,6 +3,9 @@ package io.dropwizard.lifecycle;
 import io.dropwizard.util.Duration;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +44,35 @@ public class ExecutorServiceManager implements Managed {
         if (!success && LOG.isDebugEnabled()) {
             LOG.debug("Timeout has elapsed before termination completed for executor " + executor.toString());
         }
+        if (executor instanceof MeteredExecutorService) {
+            ((MeteredExecutorService) executor).removeGauges();
+        }
+    }
+
+    /**
+     * Stops the executor from accepting tasks, leaving those queued or running to complete.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Returns the number of tasks queued or running in the executor, or {@code 0} if it cannot tell. Scheduled
+     * executors always report {@code 0}, as their queues hold tasks delayed on purpose.
+     */
+    public long getPendingTasks() {
+        final ExecutorService delegate = executor instanceof MeteredExecutorService
+            ? ((MeteredExecutorService) executor).getDelegate() : executor;
+        if (delegate instanceof ScheduledExecutorService) {
+            return 0;
+        } else if (delegate instanceof ThreadPoolExecutor) {
+            final ThreadPoolExecutor pool = (ThreadPoolExecutor) delegate;
+            return pool.getQueue().size() + pool.getActiveCount();
+        } else if (delegate instanceof ForkJoinPool) {
+            final ForkJoinPool pool = (ForkJoinPool) delegate;
+            return pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount() + pool.getActiveThreadCount();
+        }
+        return 0;
     }
 
     @Override
@@ -0,0 +1,242 @@
+package io.dropwizard.lifecycle;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.eclipse.jetty.util.component.ContainerLifeCycle;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A Jetty {@link LifeCycle} for named {@link Managed} objects which declare the names of the objects they depend
+ * on. Objects are started as soon as all of their dependencies have started, and stopped as soon as all of their
+ * dependents have stopped, so that independent objects start and stop concurrently on a bounded pool of threads.
+ * <p/>
+ * As with objects started one after another by the server, a failure to start an object fails the start of the
+ * graph: no further objects are started, and the failure is thrown once the objects already starting have
+ * started. Stopping the graph stops every object which started or failed to start, and throws the first failure
+ * to stop an object once all of them have stopped.
+ */
+public class ManagedDependencyGraph extends ContainerLifeCycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ManagedDependencyGraph.class);
+
+    /**
+     * The default number of objects started or stopped at the same time.
+     */
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private int concurrency = DEFAULT_CONCURRENCY;
+
+    /**
+     * Adds a managed object to the graph.
+     *
+     * @param name         the unique name of the object
+     * @param managed      the managed object
+     * @param dependencies the names of the objects which must be started before, and stopped after, this one
+     */
+    public synchronized void add(String name, Managed managed, Collection<String> dependencies) {
+        checkArgument(!nodes.containsKey(name), "A managed object named %s was already added", name);
+        final JettyManaged lifeCycle = new JettyManaged(managed);
+        nodes.put(name, new Node(name, lifeCycle, ImmutableSet.copyOf(dependencies)));
+        addBean(lifeCycle, false);
+    }
+
+    /**
+     * Returns the wrapped managed objects of the graph, in the order in which they were added.
+     */
+    public synchronized List<LifeCycle> getManagedObjects() {
+        final ImmutableList.Builder<LifeCycle> objects = ImmutableList.builder();
+        for (Node node : nodes.values()) {
+            objects.add(node.lifeCycle);
+        }
+        return objects.build();
+    }
+
+    public synchronized int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * Sets the maximum number of objects started or stopped at the same time.
+     *
+     * @param concurrency a positive number of threads
+     */
+    public synchronized void setConcurrency(int concurrency) {
+        checkArgument(concurrency > 0, "concurrency must be positive");
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        final List<Node> order = sort();
+        final Map<Node, Collection<Node>> dependencies = new HashMap<>();
+        for (Node node : order) {
+            final List<Node> nodeDependencies = new ArrayList<>(node.dependencies.size());
+            for (String dependency : node.dependencies) {
+                nodeDependencies.add(nodes.get(dependency));
+            }
+            dependencies.put(node, nodeDependencies);
+        }
+
+        run("start", order, dependencies::get, true, node -> node.lifeCycle.start());
+        super.doStart();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        final List<Node> order = new ArrayList<>(sort());
+        Collections.reverse(order);
+        final Map<Node, Collection<Node>> dependents = new HashMap<>();
+        for (Node node : order) {
+            dependents.put(node, new ArrayList<>());
+        }
+        for (Node node : order) {
+            for (String dependency : node.dependencies) {
+                dependents.get(nodes.get(dependency)).add(node);
+            }
+        }
+
+        run("stop", order, dependents::get, false, node -> node.lifeCycle.stop());
+    }
+
+    /**
+     * Sorts the nodes so that each comes after its dependencies, keeping the order in which independent nodes were
+     * added.
+     */
+    private synchronized List<Node> sort() {
+        final Map<String, Integer> pending = new HashMap<>();
+        final Map<String, List<Node>> dependents = new HashMap<>();
+        for (Node node : nodes.values()) {
+            for (String dependency : node.dependencies) {
+                if (!nodes.containsKey(dependency)) {
+                    throw new IllegalStateException("The managed object " + node.name +
+                        " depends on an unknown managed object: " + dependency);
+                }
+                dependents.computeIfAbsent(dependency, name -> new ArrayList<>()).add(node);
+            }
+            pending.put(node.name, node.dependencies.size());
+        }
+
+        final Deque<Node> ready = new ArrayDeque<>();
+        for (Node node : nodes.values()) {
+            if (node.dependencies.isEmpty()) {
+                ready.add(node);
+            }
+        }
+
+        final List<Node> sorted = new ArrayList<>(nodes.size());
+        while (!ready.isEmpty()) {
+            final Node node = ready.poll();
+            sorted.add(node);
+            for (Node dependent : dependents.getOrDefault(node.name, Collections.emptyList())) {
+                if (pending.merge(dependent.name, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+
+        if (sorted.size() < nodes.size()) {
+            final List<String> cycle = new ArrayList<>();
+            for (Node node : nodes.values()) {
+                if (!sorted.contains(node)) {
+                    cycle.add(node.name);
+                }
+            }
+            throw new IllegalStateException("The managed objects " + cycle + " have circular dependencies");
+        }
+        return sorted;
+    }
+
+    /**
+     * Runs an action on each of {@code order} once it has run on all the prerequisites of the node, which come
+     * before it in {@code order}.
+     */
+    private void run(String actionName, List<Node> order, Function<Node, Collection<Node>> prerequisites,
+                     boolean failFast, Action action) throws Exception {
+        if (order.isEmpty()) {
+            return;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(getConcurrency(), order.size()),
+            new ThreadFactoryBuilder().setDaemon(true).setNameFormat("managed-" + actionName + "-%d").build());
+        final Map<Node, CompletableFuture<Void>> futures = new HashMap<>();
+        final AtomicBoolean failed = new AtomicBoolean();
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        try {
+            for (Node node : order) {
+                final CompletableFuture<?>[] before = prerequisites.apply(node).stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+                futures.put(node, CompletableFuture.allOf(before).thenRunAsync(() -> {
+                    if (failFast && failed.get()) {
+                        return;
+                    }
+                    final long startNanos = System.nanoTime();
+                    try {
+                        action.run(node);
+                        LOGGER.debug("Managed object {} took {}ms to {}", node.name,
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos), actionName);
+                    } catch (Exception | Error e) {
+                        failed.set(true);
+                        failures.add(e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        if (!failures.isEmpty()) {
+            final Throwable first = failures.get(0);
+            for (Throwable failure : failures.subList(1, failures.size())) {
+                first.addSuppressed(failure);
+            }
+            Throwables.throwIfInstanceOf(first, Exception.class);
+            Throwables.throwIfUnchecked(first);
+            throw new IllegalStateException(first);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Action {
+        void run(Node node) throws Exception;
+    }
+
+    private static final class Node {
+        private final String name;
+        private final JettyManaged lifeCycle;
+        private final Set<String> dependencies;
+
+        private Node(String name, JettyManaged lifeCycle, Set<String> dependencies) {
+            this.name = name;
+            this.lifeCycle = lifeCycle;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package io.dropwizard.lifecycle;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.slf4j.MDC;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An {@link ExecutorService} which records metrics about the tasks run by another one, and optionally runs them
+ * with the {@link MDC} of the thread which submitted them.
+ * <p/>
+ * Given a registry, these metrics are registered under {@code io.dropwizard.lifecycle.MeteredExecutorService}
+ * followed by the name of the executor:
+ * <ul>
+ * <li>{@code queued}: the number of tasks waiting to run</li>
+ * <li>{@code active}: the number of threads running tasks</li>
+ * <li>{@code pool-size}: the number of threads of the pool</li>
+ * <li>{@code wait}: the time tasks waited before running</li>
+ * <li>{@code run}: the time tasks took to run</li>
+ * <li>{@code rejected}: the tasks rejected by the pool, whether they were then discarded, run by the caller or
+ * failed</li>
+ * </ul>
+ * The gauges are available for {@link ThreadPoolExecutor}s, including scheduled ones, and {@link ForkJoinPool}s,
+ * which also report the number of tasks stolen by their threads as {@code stolen}. The gauges are removed when the
+ * executor is stopped by its {@link ExecutorServiceManager}, so that another executor with the same name can be
+ * built; two executors with the same name cannot record gauges at the same time.
+ */
+public class MeteredExecutorService extends AbstractExecutorService {
+    private final ExecutorService delegate;
+    private final boolean propagateMdc;
+    @Nullable
+    private final Timer waitTime;
+    @Nullable
+    private final Timer runTime;
+    @Nullable
+    private final Meter rejections;
+    @Nullable
+    private final MetricRegistry metrics;
+    private final String name;
+    private final String prefix;
+    private final List<String> gauges = new ArrayList<>();
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate     the executor running the tasks
+     * @param metrics      the registry to register the metrics with, or {@code null} to record none
+     * @param name         the name of the executor in the names of the metrics
+     * @param propagateMdc whether to run the tasks with the {@link MDC} of the threads which submitted them
+     */
+    public MeteredExecutorService(ExecutorService delegate, @Nullable MetricRegistry metrics, String name,
+                                  boolean propagateMdc) {
+        this.delegate = requireNonNull(delegate);
+        this.propagateMdc = propagateMdc;
+        this.metrics = metrics;
+        this.name = name;
+        this.prefix = name(MeteredExecutorService.class, name);
+        if (metrics == null) {
+            this.waitTime = null;
+            this.runTime = null;
+            this.rejections = null;
+            return;
+        }
+
+        this.waitTime = metrics.timer(name(prefix, "wait"));
+        this.runTime = metrics.timer(name(prefix, "run"));
+        this.rejections = metrics.meter(name(prefix, "rejected"));
+        if (delegate instanceof ThreadPoolExecutor) {
+            final ThreadPoolExecutor executor = (ThreadPoolExecutor) delegate;
+            final RejectedExecutionHandler handler = executor.getRejectedExecutionHandler();
+            final Meter meter = this.rejections;
+            executor.setRejectedExecutionHandler((task, pool) -> {
+                meter.mark();
+                handler.rejectedExecution(task, pool);
+            });
+            register("queued", (Gauge<Integer>) () -> executor.getQueue().size());
+            register("active", (Gauge<Integer>) executor::getActiveCount);
+            register("pool-size", (Gauge<Integer>) executor::getPoolSize);
+        } else if (delegate instanceof ForkJoinPool) {
+            final ForkJoinPool pool = (ForkJoinPool) delegate;
+            register("queued", (Gauge<Long>) () -> pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount());
+            register("active", (Gauge<Integer>) pool::getActiveThreadCount);
+            register("pool-size", (Gauge<Integer>) pool::getPoolSize);
+            register("stolen", (Gauge<Long>) pool::getStealCount);
+        }
+    }
+
+    private void register(String gauge, Gauge<?> metric) {
+        final String gaugeName = name(prefix, gauge);
+        try {
+            requireNonNull(metrics).register(gaugeName, metric);
+        } catch (IllegalArgumentException e) {
+            removeGauges();
+            throw new IllegalArgumentException("Unable to register " + gaugeName + ": another executor named " + name +
+                " is recording metrics, give the executors distinct name formats", e);
+        }
+        gauges.add(gaugeName);
+    }
+
+    /**
+     * Removes the gauges of the executor from the registry.
+     */
+    void removeGauges() {
+        if (metrics != null) {
+            gauges.forEach(metrics::remove);
+        }
+        gauges.clear();
+    }
+
+    /**
+     * Returns the executor running the tasks.
+     */
+    public ExecutorService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        try {
+            delegate.execute(wrap(command, true));
+        } catch (RejectedExecutionException e) {
+            // thread pool executors count their rejections in their handler
+            if (rejections != null && !(delegate instanceof ThreadPoolExecutor)) {
+                rejections.mark();
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + '(' + delegate + ')';
+    }
+
+    /**
+     * Wraps a task to record its metrics and run it with the current {@link MDC}.
+     *
+     * @param task     the task
+     * @param timeWait whether to record the time from now until the task runs, which is not meaningful for
+     *                 delayed or periodic tasks
+     */
+    protected Runnable wrap(Runnable task, boolean timeWait) {
+        final TaskContext context = new TaskContext(timeWait);
+        return () -> {
+            context.begin();
+            try {
+                task.run();
+            } finally {
+                context.end();
+            }
+        };
+    }
+
+    /**
+     * Wraps a task to record its metrics and run it with the current {@link MDC}.
+     *
+     * @param task     the task
+     * @param timeWait whether to record the time from now until the task runs, which is not meaningful for
+     *                 delayed or periodic tasks
+     */
+    protected <V> Callable<V> wrap(Callable<V> task, boolean timeWait) {
+        final TaskContext context = new TaskContext(timeWait);
+        return () -> {
+            context.begin();
+            try {
+                return task.call();
+            } finally {
+                context.end();
+            }
+        };
+    }
+
+    /**
+     * The state captured when a task is submitted, and restored around each of its runs.
+     */
+    private class TaskContext {
+        @Nullable
+        private final Map<String, String> mdc;
+        private final boolean timeWait;
+        private final long submitted;
+        @Nullable
+        private Map<String, String> previousMdc;
+        @Nullable
+        private Timer.Context running;
+
+        private TaskContext(boolean timeWait) {
+            this.mdc = propagateMdc ? MDC.getCopyOfContextMap() : null;
+            this.timeWait = timeWait && waitTime != null;
+            this.submitted = this.timeWait ? System.nanoTime() : 0;
+        }
+
+        private void begin() {
+            if (timeWait && waitTime != null) {
+                waitTime.update(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+            }
+            if (propagateMdc) {
+                previousMdc = MDC.getCopyOfContextMap();
+                setMdc(mdc);
+            }
+            running = runTime == null ? null : runTime.time();
+        }
+
+        private void end() {
+            if (running != null) {
+                running.stop();
+            }
+            if (propagateMdc) {
+                setMdc(previousMdc);
+            }
+        }
+
+        private void setMdc(@Nullable Map<String, String> context) {
+            if (context == null) {
+                MDC.clear();
+            } else {
+                MDC.setContextMap(context);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package io.dropwizard.lifecycle;
+
+import com.codahale.metrics.MetricRegistry;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link MeteredExecutorService} for a {@link ScheduledExecutorService}. The time scheduled tasks wait before
+ * running is not recorded, as they are delayed on purpose.
+ */
+public class MeteredScheduledExecutorService extends MeteredExecutorService implements ScheduledExecutorService {
+    private final ScheduledExecutorService delegate;
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate     the executor running the tasks
+     * @param metrics      the registry to register the metrics with, or {@code null} to record none
+     * @param name         the name of the executor in the names of the metrics
+     * @param propagateMdc whether to run the tasks with the {@link org.slf4j.MDC} of the threads which scheduled
+     *                     them
+     */
+    public MeteredScheduledExecutorService(ScheduledExecutorService delegate, @Nullable MetricRegistry metrics,
+                                           String name, boolean propagateMdc) {
+        super(delegate, metrics, name, propagateMdc);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ScheduledExecutorService getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return delegate.schedule(wrap(command, false), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return delegate.schedule(wrap(callable, false), delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return delegate.scheduleAtFixedRate(wrap(command, false), initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay,
+                                                     TimeUnit unit) {
+        return delegate.scheduleWithFixedDelay(wrap(command, false), initialDelay, delay, unit);
+    }
+}
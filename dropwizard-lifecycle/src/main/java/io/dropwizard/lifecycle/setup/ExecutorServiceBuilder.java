@@ -3,16 +3,21 @@ package io.dropwizard.lifecycle.setup;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.dropwizard.lifecycle.ExecutorServiceManager;
+import io.dropwizard.lifecycle.MeteredExecutorService;
 import io.dropwizard.util.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Locale;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ExecutorServiceBuilder {
     private static Logger log = LoggerFactory.getLogger(ExecutorServiceBuilder.class);
@@ -27,6 +32,9 @@ public class ExecutorServiceBuilder {
     private BlockingQueue<Runnable> workQueue;
     private ThreadFactory threadFactory;
     private RejectedExecutionHandler handler;
+    private int parallelism;
+    private boolean instrumented;
+    private boolean propagateMdc;
 
     public ExecutorServiceBuilder(LifecycleEnvironment environment, String nameFormat, ThreadFactory factory) {
         this.environment = environment;
@@ -39,6 +47,9 @@ public class ExecutorServiceBuilder {
         this.workQueue = new LinkedBlockingQueue<>();
         this.threadFactory = factory;
         this.handler = new ThreadPoolExecutor.AbortPolicy();
+        this.parallelism = 0;
+        this.instrumented = false;
+        this.propagateMdc = false;
     }
 
     public ExecutorServiceBuilder(LifecycleEnvironment environment, String nameFormat) {
@@ -85,7 +96,48 @@ public class ExecutorServiceBuilder {
         return this;
     }
 
+    /**
+     * Builds a work-stealing {@link ForkJoinPool} with the given parallelism instead of a {@link ThreadPoolExecutor},
+     * which suits many short tasks, or tasks which submit further tasks. The pool runs submitted tasks in FIFO
+     * order on daemon threads named after the name format, and the thread pool settings of this builder, including
+     * the thread factory, are ignored.
+     *
+     * @param parallelism the number of threads of the pool
+     */
+    public ExecutorServiceBuilder workStealing(int parallelism) {
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Records metrics about the executor and its tasks in the environment's metric registry.
+     *
+     * @see MeteredExecutorService
+     */
+    public ExecutorServiceBuilder instrumented(boolean instrumented) {
+        this.instrumented = instrumented;
+        return this;
+    }
+
+    /**
+     * Runs tasks with the {@link org.slf4j.MDC} of the threads which submitted them.
+     */
+    public ExecutorServiceBuilder propagateMdc(boolean propagateMdc) {
+        this.propagateMdc = propagateMdc;
+        return this;
+    }
+
     public ExecutorService build() {
+        final ExecutorService executor = parallelism > 0 ? buildWorkStealingPool() : buildThreadPoolExecutor();
+        final ExecutorService built = instrumented || propagateMdc
+            ? new MeteredExecutorService(executor, instrumented ? environment.getMetricRegistry() : null,
+                                         metricName(nameFormat), propagateMdc)
+            : executor;
+        environment.manage(new ExecutorServiceManager(built, shutdownTime, nameFormat));
+        return built;
+    }
+
+    private ThreadPoolExecutor buildThreadPoolExecutor() {
         if (corePoolSize != maximumPoolSize && maximumPoolSize > 1 && !isBoundedQueue()) {
             log.warn("Parameter 'maximumPoolSize' is conflicting with unbounded work queues");
         }
@@ -97,10 +149,25 @@ public class ExecutorServiceBuilder {
                                                                    threadFactory,
                                                                    handler);
         executor.allowCoreThreadTimeOut(allowCoreThreadTimeOut);
-        environment.manage(new ExecutorServiceManager(executor, shutdownTime, nameFormat));
         return executor;
     }
 
+    private ForkJoinPool buildWorkStealingPool() {
+        final AtomicInteger count = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(String.format(Locale.ROOT, nameFormat, count.getAndIncrement()));
+            return thread;
+        }, null, true);
+    }
+
+    /**
+     * Returns the name of an executor in the names of its metrics: its name format without the thread number.
+     */
+    static String metricName(String nameFormat) {
+        return nameFormat.replace("-%d", "").replace("%d", "");
+    }
+
     private boolean isBoundedQueue() {
         return workQueue.remainingCapacity() != Integer.MAX_VALUE;
     }
@@ -1,7 +1,9 @@
 package io.dropwizard.lifecycle.setup;
 
+import com.codahale.metrics.MetricRegistry;
 import io.dropwizard.lifecycle.JettyManaged;
 import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.lifecycle.ManagedDependencyGraph;
 import io.dropwizard.lifecycle.ServerLifecycleListener;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.component.AbstractLifeCycle;
@@ -11,6 +13,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.ThreadFactory;
 
@@ -21,10 +24,30 @@ public class LifecycleEnvironment {
 
     private final List<LifeCycle> managedObjects;
     private final List<LifeCycle.Listener> lifecycleListeners;
+    private final ManagedDependencyGraph dependencyGraph;
+    private final MetricRegistry metricRegistry;
 
     public LifecycleEnvironment() {
+        this(new MetricRegistry());
+    }
+
+    /**
+     * Creates a lifecycle environment whose instrumented executors register their metrics with the given registry.
+     *
+     * @param metricRegistry the application's metric registry
+     */
+    public LifecycleEnvironment(MetricRegistry metricRegistry) {
         this.managedObjects = new ArrayList<>();
         this.lifecycleListeners = new ArrayList<>();
+        this.dependencyGraph = new ManagedDependencyGraph();
+        this.metricRegistry = requireNonNull(metricRegistry);
+    }
+
+    /**
+     * Returns the registry the instrumented executors register their metrics with.
+     */
+    public MetricRegistry getMetricRegistry() {
+        return metricRegistry;
     }
 
     public List<LifeCycle> getManagedObjects() {
@@ -51,6 +74,34 @@ public class LifecycleEnvironment {
         managedObjects.add(requireNonNull(managed));
     }
 
+    /**
+     * Adds the given {@link Managed} instance to the set of objects managed by the server's lifecycle, started
+     * once all of its {@code dependencies} have started and stopped before any of them is stopped. Managed objects
+     * added this way which do not depend on each other are started and stopped concurrently, at the position in
+     * the server's lifecycle of the first of them.
+     *
+     * @param name         the unique name of the managed object
+     * @param managed      a managed object
+     * @param dependencies the names of the managed objects, added this way, which {@code managed} depends on
+     * @see #setManagedConcurrency(int)
+     */
+    public void manage(String name, Managed managed, String... dependencies) {
+        if (!managedObjects.contains(dependencyGraph)) {
+            managedObjects.add(dependencyGraph);
+        }
+        dependencyGraph.add(requireNonNull(name), requireNonNull(managed), Arrays.asList(dependencies));
+    }
+
+    /**
+     * Sets the maximum number of managed objects with dependencies which are started or stopped at the same time.
+     * Defaults to {@value ManagedDependencyGraph#DEFAULT_CONCURRENCY}.
+     *
+     * @param concurrency a positive number of threads
+     */
+    public void setManagedConcurrency(int concurrency) {
+        dependencyGraph.setConcurrency(concurrency);
+    }
+
     public ExecutorServiceBuilder executorService(String nameFormat) {
         return new ExecutorServiceBuilder(this, nameFormat);
     }
@@ -9,6 +9,7 @@ import java.util.concurrent.ThreadPoolExecutor;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.dropwizard.lifecycle.ExecutorServiceManager;
+import io.dropwizard.lifecycle.MeteredScheduledExecutorService;
 import io.dropwizard.util.Duration;
 
 public class ScheduledExecutorServiceBuilder {
@@ -20,6 +21,8 @@ public class ScheduledExecutorServiceBuilder {
     private Duration shutdownTime;
     private RejectedExecutionHandler handler;
     private boolean removeOnCancel;
+    private boolean instrumented;
+    private boolean propagateMdc;
 
     public ScheduledExecutorServiceBuilder(LifecycleEnvironment environment, String nameFormat, ThreadFactory factory) {
         this.environment = environment;
@@ -29,6 +32,8 @@ public class ScheduledExecutorServiceBuilder {
         this.shutdownTime = Duration.seconds(5);
         this.handler = new ThreadPoolExecutor.AbortPolicy();
         this.removeOnCancel = false;
+        this.instrumented = false;
+        this.propagateMdc = false;
     }
 
     public ScheduledExecutorServiceBuilder(LifecycleEnvironment environment, String nameFormat, boolean useDaemonThreads) {
@@ -60,11 +65,33 @@ public class ScheduledExecutorServiceBuilder {
         return this;
     }
 
+    /**
+     * Records metrics about the executor and its tasks in the environment's metric registry.
+     *
+     * @see MeteredScheduledExecutorService
+     */
+    public ScheduledExecutorServiceBuilder instrumented(boolean instrumented) {
+        this.instrumented = instrumented;
+        return this;
+    }
+
+    /**
+     * Runs tasks with the {@link org.slf4j.MDC} of the threads which scheduled them.
+     */
+    public ScheduledExecutorServiceBuilder propagateMdc(boolean propagateMdc) {
+        this.propagateMdc = propagateMdc;
+        return this;
+    }
+
     public ScheduledExecutorService build() {
         final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(this.poolSize, this.threadFactory, this.handler);
         executor.setRemoveOnCancelPolicy(this.removeOnCancel);
 
-        this.environment.manage(new ExecutorServiceManager(executor, this.shutdownTime, this.nameFormat));
-        return executor;
+        final ScheduledExecutorService built = this.instrumented || this.propagateMdc
+            ? new MeteredScheduledExecutorService(executor, this.instrumented ? this.environment.getMetricRegistry() : null,
+                                                  ExecutorServiceBuilder.metricName(this.nameFormat), this.propagateMdc)
+            : executor;
+        this.environment.manage(new ExecutorServiceManager(built, this.shutdownTime, this.nameFormat));
+        return built;
     }
 }
@@ -8,7 +8,12 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
@@ -70,4 +75,40 @@ public class ExecutorServiceManagerTest {
         verify(this.exec).shutdown();
         verify(this.exec).awaitTermination(TEST_DURATION.getQuantity(), TEST_DURATION.getUnit());
     }
+
+    @Test
+    public void testPendingTasks() throws Exception {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final ExecutorServiceManager test = new ExecutorServiceManager(pool, TEST_DURATION, "pending");
+        try {
+            pool.execute(() -> {
+                started.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            pool.execute(() -> { });
+            started.await();
+
+            assertThat(test.getPendingTasks()).isEqualTo(2);
+        } finally {
+            latch.countDown();
+            test.stop();
+        }
+        assertThat(test.getPendingTasks()).isZero();
+    }
+
+    @Test
+    public void testPendingTasksOfScheduledExecutors() throws Exception {
+        final ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(1);
+        final ExecutorServiceManager test = new ExecutorServiceManager(pool, TEST_DURATION, "scheduled");
+        pool.scheduleAtFixedRate(() -> { }, 1, 1, TimeUnit.HOURS);
+
+        assertThat(test.getPendingTasks()).isZero();
+        pool.shutdownNow();
+    }
 }
@@ -0,0 +1,147 @@
+package io.dropwizard.lifecycle;
+
+import com.google.common.collect.ImmutableList;
+import org.eclipse.jetty.util.component.LifeCycle;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ManagedDependencyGraphTest {
+    private final ManagedDependencyGraph graph = new ManagedDependencyGraph();
+    private final List<String> events = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void startsDependenciesFirstAndStopsThemLast() throws Exception {
+        graph.add("resource", new Recording("resource"), ImmutableList.of("client", "database"));
+        graph.add("database", new Recording("database"), Collections.emptyList());
+        graph.add("client", new Recording("client"), ImmutableList.of("database"));
+
+        graph.start();
+        assertThat(events).containsExactly("start database", "start client", "start resource");
+
+        events.clear();
+        graph.stop();
+        assertThat(events).containsExactly("stop resource", "stop client", "stop database");
+    }
+
+    @Test
+    public void startsIndependentObjectsConcurrently() throws Exception {
+        final CountDownLatch bothStarting = new CountDownLatch(2);
+        final Managed awaiting = new Managed() {
+            @Override
+            public void start() throws Exception {
+                bothStarting.countDown();
+                assertThat(bothStarting.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+
+            @Override
+            public void stop() throws Exception {
+            }
+        };
+        graph.add("first", awaiting, Collections.emptyList());
+        graph.add("second", awaiting, Collections.emptyList());
+
+        graph.start();
+
+        assertThat(bothStarting.getCount()).isZero();
+        assertThat(graph.getManagedObjects()).allMatch(LifeCycle::isStarted);
+    }
+
+    @Test
+    public void doesNotStartDependentsOfAFailedObject() throws Exception {
+        graph.setConcurrency(1);
+        graph.add("database", new Recording("database") {
+            @Override
+            public void start() throws Exception {
+                super.start();
+                throw new IllegalStateException("unreachable");
+            }
+        }, Collections.emptyList());
+        graph.add("client", new Recording("client"), ImmutableList.of("database"));
+        graph.add("cache", new Recording("cache"), Collections.emptyList());
+
+        assertThatThrownBy(graph::start)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("unreachable");
+        assertThat(events).containsExactly("start database");
+
+        // as with objects started by the server, an object which failed to start is stopped
+        events.clear();
+        graph.stop();
+        assertThat(events).containsExactly("stop database");
+    }
+
+    @Test
+    public void stopsAllObjectsDespiteFailures() throws Exception {
+        graph.add("database", new Recording("database"), Collections.emptyList());
+        graph.add("client", new Recording("client") {
+            @Override
+            public void stop() throws Exception {
+                super.stop();
+                throw new IllegalStateException("stuck");
+            }
+        }, ImmutableList.of("database"));
+        graph.start();
+        events.clear();
+
+        assertThatThrownBy(graph::stop)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("stuck");
+        assertThat(events).containsExactly("stop client", "stop database");
+    }
+
+    @Test
+    public void rejectsUnknownDependencies() throws Exception {
+        graph.add("client", new Recording("client"), ImmutableList.of("database"));
+
+        assertThatThrownBy(graph::start)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("The managed object client depends on an unknown managed object: database");
+    }
+
+    @Test
+    public void rejectsCircularDependencies() throws Exception {
+        graph.add("database", new Recording("database"), Collections.emptyList());
+        graph.add("client", new Recording("client"), ImmutableList.of("database", "cache"));
+        graph.add("cache", new Recording("cache"), ImmutableList.of("client"));
+
+        assertThatThrownBy(graph::start)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("The managed objects [client, cache] have circular dependencies");
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    public void rejectsDuplicateNames() throws Exception {
+        graph.add("database", new Recording("database"), Collections.emptyList());
+
+        assertThatThrownBy(() -> graph.add("database", new Recording("database"), Collections.emptyList()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("A managed object named database was already added");
+    }
+
+    private class Recording implements Managed {
+        private final String name;
+
+        private Recording(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void start() throws Exception {
+            events.add("start " + name);
+        }
+
+        @Override
+        public void stop() throws Exception {
+            events.add("stop " + name);
+        }
+    }
+}
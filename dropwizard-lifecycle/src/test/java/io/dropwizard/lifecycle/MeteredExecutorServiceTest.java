@@ -0,0 +1,148 @@
+package io.dropwizard.lifecycle;
+
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MeteredExecutorServiceTest {
+    private static final String PREFIX = "io.dropwizard.lifecycle.MeteredExecutorService.test.";
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+
+    @After
+    public void tearDown() throws Exception {
+        pool.shutdownNow();
+        MDC.clear();
+    }
+
+    @Test
+    public void recordsTheTimesOfTasks() throws Exception {
+        final ExecutorService executor = new MeteredExecutorService(pool, metricRegistry, "test", false);
+
+        executor.submit(() -> "done");
+        executor.submit(() -> { });
+        awaitTermination(executor);
+
+        assertThat(metricRegistry.timer(PREFIX + "wait").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.timer(PREFIX + "run").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.getGauges().keySet())
+            .contains(PREFIX + "queued", PREFIX + "active", PREFIX + "pool-size");
+    }
+
+    @Test
+    public void removesTheGaugesWhenStopped() throws Exception {
+        final ExecutorService executor = new MeteredExecutorService(pool, metricRegistry, "test", false);
+
+        new ExecutorServiceManager(executor, Duration.seconds(1), "test").stop();
+
+        assertThat(metricRegistry.getGauges()).isEmpty();
+        final ThreadPoolExecutor rebuilt =
+            new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        new MeteredExecutorService(rebuilt, metricRegistry, "test", false);
+        assertThat(metricRegistry.getGauges().keySet())
+            .containsOnly(PREFIX + "queued", PREFIX + "active", PREFIX + "pool-size");
+        rebuilt.shutdownNow();
+    }
+
+    @Test
+    public void rejectsExecutorsWithTheSameName() {
+        new MeteredExecutorService(pool, metricRegistry, "test", false);
+        final ForkJoinPool other = new ForkJoinPool(1);
+
+        assertThatThrownBy(() -> new MeteredExecutorService(other, metricRegistry, "test", false))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("another executor named test is recording metrics");
+        assertThat(metricRegistry.getGauges().keySet())
+            .containsOnly(PREFIX + "queued", PREFIX + "active", PREFIX + "pool-size");
+        other.shutdownNow();
+    }
+
+    @Test
+    public void countsRejectedTasks() throws Exception {
+        final ThreadPoolExecutor busyPool =
+            new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        final ExecutorService executor = new MeteredExecutorService(busyPool, metricRegistry, "test", false);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+
+        assertThatThrownBy(() -> executor.execute(() -> { })).isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(metricRegistry.meter(PREFIX + "rejected").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.getGauges().get(PREFIX + "active").getValue()).isEqualTo(1);
+        latch.countDown();
+        awaitTermination(executor);
+    }
+
+    @Test
+    public void propagatesTheMdc() throws Exception {
+        final ExecutorService executor = new MeteredExecutorService(pool, null, "test", true);
+
+        MDC.put("request", "1234");
+        assertThat(executor.submit(() -> MDC.get("request")).get()).isEqualTo("1234");
+        MDC.clear();
+        assertThat(executor.submit(() -> MDC.get("request")).get()).isNull();
+        assertThat(metricRegistry.getMetrics()).isEmpty();
+    }
+
+    @Test
+    public void instrumentsForkJoinPools() throws Exception {
+        final ForkJoinPool forkJoinPool = new ForkJoinPool(2);
+        try {
+            final ExecutorService executor = new MeteredExecutorService(forkJoinPool, metricRegistry, "test", false);
+            executor.submit(() -> { });
+            awaitTermination(executor);
+
+            assertThat(metricRegistry.timer(PREFIX + "run").getCount()).isEqualTo(1);
+            assertThat(metricRegistry.getGauges().keySet()).contains(PREFIX + "stolen");
+        } finally {
+            forkJoinPool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void instrumentsScheduledTasks() throws Exception {
+        final ScheduledThreadPoolExecutor scheduled = new ScheduledThreadPoolExecutor(1);
+        try {
+            final MeteredScheduledExecutorService executor =
+                new MeteredScheduledExecutorService(scheduled, metricRegistry, "test", false);
+            executor.schedule(() -> "done", 1, TimeUnit.MILLISECONDS);
+            awaitTermination(executor);
+
+            assertThat(metricRegistry.timer(PREFIX + "run").getCount()).isEqualTo(1);
+            assertThat(metricRegistry.timer(PREFIX + "wait").getCount()).isZero();
+        } finally {
+            scheduled.shutdownNow();
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -1,5 +1,9 @@
 package io.dropwizard.lifecycle.setup;
 
+import com.codahale.metrics.MetricRegistry;
+import io.dropwizard.lifecycle.ExecutorServiceManager;
+import io.dropwizard.lifecycle.JettyManaged;
+import io.dropwizard.lifecycle.MeteredExecutorService;
 import io.dropwizard.util.Duration;
 import org.junit.Before;
 import org.junit.Test;
@@ -10,6 +14,7 @@ import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.TimeUnit;
@@ -24,12 +29,14 @@ public class ExecutorServiceBuilderTest {
 
     private static final String WARNING = "Parameter 'maximumPoolSize' is conflicting with unbounded work queues";
 
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+    private final LifecycleEnvironment environment = new LifecycleEnvironment(metricRegistry);
     private ExecutorServiceBuilder executorServiceBuilder;
     private Logger log;
 
     @Before
     public void setUp() throws Exception {
-        executorServiceBuilder = new ExecutorServiceBuilder(new LifecycleEnvironment(), "test");
+        executorServiceBuilder = new ExecutorServiceBuilder(environment, "test");
         log = mock(Logger.class);
         ExecutorServiceBuilder.setLog(log);
     }
@@ -113,6 +120,38 @@ public class ExecutorServiceBuilderTest {
         }
     }
 
+    @Test
+    public void buildsAnInstrumentedExecutor() throws Exception {
+        final ExecutorService exe = new ExecutorServiceBuilder(environment, "instrumented-%d")
+            .instrumented(true)
+            .build();
+
+        assertThat(exe).isInstanceOf(MeteredExecutorService.class);
+        exe.submit(() -> { });
+        exe.shutdown();
+        assertThat(exe.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(metricRegistry.timer("io.dropwizard.lifecycle.MeteredExecutorService.instrumented.run").getCount())
+            .isEqualTo(1);
+        assertThat(managedExecutor()).isSameAs(exe);
+    }
+
+    @Test
+    public void buildsAWorkStealingPool() {
+        final ExecutorService exe = executorServiceBuilder
+            .workStealing(2)
+            .build();
+
+        assertThat(exe).isInstanceOf(ForkJoinPool.class);
+        assertThat(((ForkJoinPool) exe).getParallelism()).isEqualTo(2);
+        assertThat(managedExecutor()).isSameAs(exe);
+        assertCanExecuteAtLeast2ConcurrentTasks(exe);
+    }
+
+    private ExecutorService managedExecutor() {
+        final JettyManaged managed = (JettyManaged) environment.getManagedObjects().get(0);
+        return ((ExecutorServiceManager) managed.getManaged()).getExecutor();
+    }
+
     /**
      * Tries to run 2 tasks that on the executor that rely on each others side-effect to complete. If they fail to
      * complete within a short time then we can assume they are not running concurrently
@@ -5,6 +5,7 @@ import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import io.dropwizard.lifecycle.JettyManaged;
 import io.dropwizard.lifecycle.Managed;
+import io.dropwizard.lifecycle.ManagedDependencyGraph;
 import org.eclipse.jetty.util.component.ContainerLifeCycle;
 import org.eclipse.jetty.util.component.LifeCycle;
 import org.junit.Test;
@@ -52,6 +53,24 @@ public class LifecycleEnvironmentTest {
             .isEqualTo(managed);
     }
 
+    @Test
+    public void managesManagedObjectsWithDependenciesInOneBean() throws Exception {
+        final Managed database = mock(Managed.class);
+        final Managed client = mock(Managed.class);
+        environment.manage("database", database);
+        environment.manage("client", client, "database");
+
+        final ContainerLifeCycle container = new ContainerLifeCycle();
+        environment.attach(container);
+
+        final Object bean = ImmutableList.copyOf(container.getBeans()).get(0);
+        assertThat(container.getBeans()).hasSize(1);
+        assertThat(bean).isInstanceOf(ManagedDependencyGraph.class);
+        assertThat(((ManagedDependencyGraph) bean).getManagedObjects())
+            .extracting(lifeCycle -> ((JettyManaged) lifeCycle).getManaged())
+            .containsExactly(database, client);
+    }
+
     @Test
     public void scheduledExecutorServiceBuildsDaemonThreads() throws ExecutionException, InterruptedException {
         final ScheduledExecutorService executorService = environment.scheduledExecutorService("daemon-%d", true).build();
@@ -7,6 +7,7 @@ import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.AsyncAppenderBase;
 import ch.qos.logback.core.Context;
 import ch.qos.logback.core.LayoutBase;
+import ch.qos.logback.core.filter.Filter;
 import ch.qos.logback.core.pattern.PatternLayoutBase;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
 import com.fasterxml.jackson.annotation.JsonProperty;
@@ -208,6 +209,18 @@ public abstract class AbstractAppenderFactory<E extends DeferredProcessingAware>
         this.layout = layout;
     }
 
+    /**
+     * Builds the configured filters and adds them to {@code appender}, in the logging context of the appender so
+     * that filters can stop along with it.
+     */
+    protected void addFilters(Appender<E> appender) {
+        for (FilterFactory<E> filterFactory : filterFactories) {
+            final Filter<E> filter = filterFactory.build();
+            filter.setContext(appender.getContext());
+            appender.addFilter(filter);
+        }
+    }
+
     protected Appender<E> wrapAsync(Appender<E> appender, AsyncAppenderFactory<E> asyncAppenderFactory) {
         return wrapAsync(appender, asyncAppenderFactory, appender.getContext());
     }
@@ -103,7 +103,7 @@ public class ConsoleAppenderFactory<E extends DeferredProcessingAware> extends A
         appender.setEncoder(layoutEncoder);
 
         appender.addFilter(levelFilterFactory.build(threshold));
-        getFilterFactories().forEach(f -> appender.addFilter(f.build()));
+        addFilters(appender);
         appender.start();
 
         return wrapAsync(appender, asyncAppenderFactory);
@@ -43,6 +43,7 @@ import javax.validation.constraints.NotNull;
 import java.io.PrintStream;
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.TimeZone;
@@ -221,6 +222,29 @@ public class DefaultLoggingFactory implements LoggingFactory {
         }
     }
 
+    /**
+     * Sets the level of the root logger, and of each logger configured with a level only, without resetting the
+     * appenders, e.g. when the configuration is reloaded.
+     *
+     * @param unconfiguredLoggers the names of loggers no longer configured, which inherit their level again
+     */
+    public void configureLevels(Collection<String> unconfiguredLoggers) {
+        CHANGE_LOGGER_CONTEXT_LOCK.lock();
+        try {
+            loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).setLevel(toLevel(level));
+            for (String name : unconfiguredLoggers) {
+                loggerContext.getLogger(name).setLevel(null);
+            }
+            for (Map.Entry<String, JsonNode> entry : loggers.entrySet()) {
+                if (entry.getValue().isTextual()) {
+                    loggerContext.getLogger(entry.getKey()).setLevel(Level.valueOf(entry.getValue().asText()));
+                }
+            }
+        } finally {
+            CHANGE_LOGGER_CONTEXT_LOCK.unlock();
+        }
+    }
+
     private void flushAppender(AsyncAppender appender) throws InterruptedException {
         int timeWaiting = 0;
         while (timeWaiting < appender.getMaxFlushTime() && appender.getNumberOfElementsInQueue() > 0) {
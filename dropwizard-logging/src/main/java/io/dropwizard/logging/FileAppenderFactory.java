@@ -261,7 +261,7 @@ public class FileAppenderFactory<E extends DeferredProcessingAware> extends Abst
         appender.setImmediateFlush(immediateFlush);
         appender.setPrudent(false);
         appender.addFilter(levelFilterFactory.build(threshold));
-        getFilterFactories().forEach(f -> appender.addFilter(f.build()));
+        addFilters(appender);
         appender.start();
 
         return wrapAsync(appender, asyncAppenderFactory);
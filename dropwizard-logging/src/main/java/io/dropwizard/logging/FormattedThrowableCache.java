@@ -0,0 +1,70 @@
+package io.dropwizard.logging;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.core.pattern.Converter;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A small, lock-free cache of formatted stack traces, keyed by the identity of the {@link IThrowableProxy} and by
+ * the converter's class and options (which determine the depth and the lines printed).
+ * <p/>
+ * A logging event is typically written by several appenders, each with its own layout and converters, so the same
+ * throwable proxy is formatted once per appender. Entries are only served for a short window and are overwritten
+ * on collision, so the cache never holds on to more than a fixed, small number of throwables.
+ */
+final class FormattedThrowableCache {
+
+    private static final int SIZE = 64;
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final AtomicReferenceArray<Entry> ENTRIES = new AtomicReferenceArray<>(SIZE);
+
+    private FormattedThrowableCache() { /* singleton */ }
+
+    static String keyFor(Converter<?> converter, @Nullable List<String> options) {
+        return options == null ? converter.getClass().getName() : converter.getClass().getName() + options;
+    }
+
+    @Nullable
+    static String get(IThrowableProxy proxy, String key) {
+        final Entry entry = ENTRIES.get(index(proxy, key));
+        if (entry != null && entry.proxy == proxy && entry.key.equals(key)
+                && System.nanoTime() - entry.createdAt < TTL_NANOS) {
+            return entry.formatted;
+        }
+        return null;
+    }
+
+    static void put(IThrowableProxy proxy, String key, String formatted) {
+        ENTRIES.set(index(proxy, key), new Entry(proxy, key, formatted, System.nanoTime()));
+    }
+
+    static void clear() {
+        for (int i = 0; i < SIZE; i++) {
+            ENTRIES.set(i, null);
+        }
+    }
+
+    private static int index(IThrowableProxy proxy, String key) {
+        final int hash = System.identityHashCode(proxy) * 31 + key.hashCode();
+        return (hash ^ (hash >>> 16)) & (SIZE - 1);
+    }
+
+    private static final class Entry {
+        private final IThrowableProxy proxy;
+        private final String key;
+        private final String formatted;
+        private final long createdAt;
+
+        private Entry(IThrowableProxy proxy, String key, String formatted, long createdAt) {
+            this.proxy = proxy;
+            this.key = key;
+            this.formatted = formatted;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -3,10 +3,7 @@ package io.dropwizard.logging;
 import ch.qos.logback.classic.pattern.RootCauseFirstThrowableProxyConverter;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 
-import java.util.regex.Pattern;
-
-import static io.dropwizard.logging.PrefixedThrowableProxyConverter.PATTERN;
-import static io.dropwizard.logging.PrefixedThrowableProxyConverter.PREFIX;
+import static io.dropwizard.logging.PrefixedThrowableProxyConverter.prefix;
 
 /**
  * A {@link RootCauseFirstThrowableProxyConverter} that prefixes stack traces with {@code !}.
@@ -14,13 +11,26 @@ import static io.dropwizard.logging.PrefixedThrowableProxyConverter.PREFIX;
 public class PrefixedRootCauseFirstThrowableProxyConverter
         extends RootCauseFirstThrowableProxyConverter {
 
-    private static final String CAUSING = PREFIX + "Causing:";
-    private static final Pattern CAUSING_PATTERN = Pattern.compile("^" + Pattern.quote(PREFIX) + "Wrapped by:",
-            Pattern.MULTILINE);
+    private static final String WRAPPED_BY = "Wrapped by:";
+    private static final String CAUSING = "Causing:";
+
+    private String cacheKey = "";
+
+    @Override
+    public void start() {
+        cacheKey = FormattedThrowableCache.keyFor(this, getOptionList());
+        super.start();
+    }
 
     @Override
     protected String throwableProxyToString(IThrowableProxy tp) {
-        final String prefixed = PATTERN.matcher(super.throwableProxyToString(tp)).replaceAll(PREFIX);
-        return CAUSING_PATTERN.matcher(prefixed).replaceAll(CAUSING);
+        final String cached = FormattedThrowableCache.get(tp, cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String formatted = prefix(super.throwableProxyToString(tp), WRAPPED_BY, CAUSING);
+        FormattedThrowableCache.put(tp, cacheKey, formatted);
+        return formatted;
     }
 }
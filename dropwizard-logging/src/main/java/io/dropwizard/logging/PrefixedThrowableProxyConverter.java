@@ -3,18 +3,79 @@ package io.dropwizard.logging;
 import ch.qos.logback.classic.pattern.ThrowableProxyConverter;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 
-import java.util.regex.Pattern;
-
 /**
  * A {@link ThrowableProxyConverter} which prefixes stack traces with {@code !}.
  */
 public class PrefixedThrowableProxyConverter extends ThrowableProxyConverter {
 
-    static final Pattern PATTERN = Pattern.compile("^\\t?", Pattern.MULTILINE);
     static final String PREFIX = "! ";
 
+    private String cacheKey = "";
+
+    @Override
+    public void start() {
+        cacheKey = FormattedThrowableCache.keyFor(this, getOptionList());
+        super.start();
+    }
+
     @Override
     protected String throwableProxyToString(IThrowableProxy tp) {
-        return PATTERN.matcher(super.throwableProxyToString(tp)).replaceAll(PREFIX);
+        final String cached = FormattedThrowableCache.get(tp, cacheKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String formatted = prefix(super.throwableProxyToString(tp), null, null);
+        FormattedThrowableCache.put(tp, cacheKey, formatted);
+        return formatted;
+    }
+
+    /**
+     * Prefixes every line of {@code stackTrace} with {@link #PREFIX}, replacing a single leading tab if present.
+     * <p/>
+     * This is a single pass equivalent of replacing {@code ^\t?} in multi-line mode, optionally also replacing a
+     * line-leading {@code marker} with {@code replacement}.
+     */
+    static String prefix(String stackTrace, String marker, String replacement) {
+        final int length = stackTrace.length();
+        final StringBuilder builder = new StringBuilder(length + 64 * PREFIX.length());
+        int i = 0;
+        while (true) {
+            // start of a line
+            if (i < length && stackTrace.charAt(i) == '\t') {
+                i++;
+            }
+            if (marker != null && stackTrace.startsWith(marker, i)) {
+                builder.append(PREFIX).append(replacement);
+                i += marker.length();
+            } else {
+                builder.append(PREFIX);
+            }
+
+            final int eol = endOfLine(stackTrace, i);
+            if (eol == length) {
+                return builder.append(stackTrace, i, length).toString();
+            }
+            int next = eol + 1;
+            if (stackTrace.charAt(eol) == '\r' && next < length && stackTrace.charAt(next) == '\n') {
+                next++;
+            }
+            builder.append(stackTrace, i, next);
+            if (next == length) {
+                // multi-line anchors don't match after a trailing line terminator
+                return builder.toString();
+            }
+            i = next;
+        }
+    }
+
+    private static int endOfLine(String s, int from) {
+        for (int i = from; i < s.length(); i++) {
+            final char c = s.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029') {
+                return i;
+            }
+        }
+        return s.length();
     }
 }
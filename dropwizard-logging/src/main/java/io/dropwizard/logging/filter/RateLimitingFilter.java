@@ -0,0 +1,117 @@
+package io.dropwizard.logging.filter;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.Clock;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A {@link SuppressingFilter} which enforces a token-bucket rate limit per key (by default the logger name).
+ * <p/>
+ * Each bucket is implemented as a generic cell rate algorithm over a single {@link AtomicLong}, so an admission
+ * decision is one compare-and-set on the hot path. Once {@code maxKeys} distinct keys have been seen, further keys
+ * share a single overflow bucket to keep memory bounded.
+ */
+public class RateLimitingFilter<E extends DeferredProcessingAware> extends SuppressingFilter<E> {
+
+    static final String OVERFLOW_KEY = "<overflow>";
+
+    private final ConcurrentMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Function<ILoggingEvent, String> keyFunction;
+    private final long emissionInterval;
+    private final long burstWindow;
+    private final int maxKeys;
+    private final Clock clock;
+    private final Bucket overflow;
+
+    public RateLimitingFilter(Function<ILoggingEvent, String> keyFunction, int eventsPerPeriod, Duration period,
+                              int burst, int maxKeys, Duration reportingFrequency, Clock clock) {
+        super(reportingFrequency);
+        this.keyFunction = keyFunction;
+        this.emissionInterval = Math.max(1, period.toNanoseconds() / eventsPerPeriod);
+        this.burstWindow = emissionInterval * burst;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.overflow = new Bucket(clock.getTick());
+    }
+
+    @Override
+    protected boolean accept(ILoggingEvent event) {
+        final long now = clock.getTick();
+        final Bucket bucket = bucket(keyFunction.apply(event), now);
+        if (bucket.tryAcquire(now, emissionInterval, burstWindow)) {
+            return true;
+        }
+        bucket.suppressed.increment();
+        return false;
+    }
+
+    @Override
+    protected void report(Logger logger) {
+        for (Map.Entry<String, Bucket> entry : buckets.entrySet()) {
+            report(logger, entry.getKey(), entry.getValue());
+        }
+        report(logger, OVERFLOW_KEY, overflow);
+    }
+
+    private void report(Logger logger, String key, Bucket bucket) {
+        final long suppressed = bucket.suppressed.sumThenReset();
+        if (suppressed > 0) {
+            logger.warn("Rate limit exceeded: suppressed {} events for {}", suppressed, key);
+        }
+    }
+
+    private Bucket bucket(String key, long now) {
+        if (key == null) {
+            return overflow;
+        }
+
+        final Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (buckets.size() >= maxKeys) {
+            return overflow;
+        }
+
+        final Bucket created = new Bucket(now);
+        final Bucket existing = buckets.putIfAbsent(key, created);
+        return existing == null ? created : existing;
+    }
+
+    long getSuppressedCount(String key) {
+        final Bucket bucket = OVERFLOW_KEY.equals(key) ? overflow : buckets.get(key);
+        return bucket == null ? 0 : bucket.suppressed.sum();
+    }
+
+    private static class Bucket {
+        private final AtomicLong theoreticalArrival;
+        private final LongAdder suppressed = new LongAdder();
+
+        private Bucket(long theoreticalArrival) {
+            this.theoreticalArrival = new AtomicLong(theoreticalArrival);
+        }
+
+        private boolean tryAcquire(long now, long emissionInterval, long burstWindow) {
+            while (true) {
+                final long current = theoreticalArrival.get();
+                final long next = Math.max(current, now) + emissionInterval;
+                if (next - now > burstWindow) {
+                    return false;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.dropwizard.logging.filter;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.codahale.metrics.Clock;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * A {@link FilterFactory} which builds a token-bucket rate limiting filter. Events exceeding the limit are dropped
+ * and their number is logged periodically. Only logging events are limited, the events of request logs are let
+ * through.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code key}</td>
+ *         <td>{@code logger}</td>
+ *         <td>
+ *             What the limit applies to: {@code logger} keeps one bucket per logger name, {@code message} keeps one
+ *             bucket per unformatted message template and {@code appender} shares a single bucket for all events.
+ *         </td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code eventsPerPeriod}</td>
+ *         <td>{@code 100}</td>
+ *         <td>The sustained number of events let through per {@code period}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code period}</td>
+ *         <td>{@code 1 second}</td>
+ *         <td>The period over which {@code eventsPerPeriod} applies.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code burst}</td>
+ *         <td>{@code 100}</td>
+ *         <td>The number of events which may be let through at once after a quiet period.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code maxKeys}</td>
+ *         <td>{@code 1000}</td>
+ *         <td>The maximum number of distinct buckets. Events for further keys share a single bucket.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code reportingFrequency}</td>
+ *         <td>{@code 1 minute}</td>
+ *         <td>How often to log the number of suppressed events. {@code 0 seconds} disables reporting.</td>
+ *     </tr>
+ * </table>
+ */
+@JsonTypeName("rate-limit")
+public class RateLimitingFilterFactory<E extends DeferredProcessingAware> implements FilterFactory<E> {
+
+    public enum Key {
+        LOGGER(ILoggingEvent::getLoggerName),
+        MESSAGE(ILoggingEvent::getMessage),
+        APPENDER(event -> "appender");
+
+        private final Function<ILoggingEvent, String> function;
+
+        Key(Function<ILoggingEvent, String> function) {
+            this.function = function;
+        }
+
+        public Function<ILoggingEvent, String> getFunction() {
+            return function;
+        }
+    }
+
+    @NotNull
+    private Key key = Key.LOGGER;
+
+    @Min(1)
+    private int eventsPerPeriod = 100;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration period = Duration.seconds(1);
+
+    @Min(1)
+    private int burst = 100;
+
+    @Min(1)
+    private int maxKeys = 1000;
+
+    @NotNull
+    private Duration reportingFrequency = Duration.minutes(1);
+
+    @JsonProperty
+    public Key getKey() {
+        return key;
+    }
+
+    @JsonProperty
+    public void setKey(Key key) {
+        this.key = key;
+    }
+
+    @JsonProperty
+    public int getEventsPerPeriod() {
+        return eventsPerPeriod;
+    }
+
+    @JsonProperty
+    public void setEventsPerPeriod(int eventsPerPeriod) {
+        this.eventsPerPeriod = eventsPerPeriod;
+    }
+
+    @JsonProperty
+    public Duration getPeriod() {
+        return period;
+    }
+
+    @JsonProperty
+    public void setPeriod(Duration period) {
+        this.period = period;
+    }
+
+    @JsonProperty
+    public int getBurst() {
+        return burst;
+    }
+
+    @JsonProperty
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    @JsonProperty
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    @JsonProperty
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    @JsonProperty
+    public Duration getReportingFrequency() {
+        return reportingFrequency;
+    }
+
+    @JsonProperty
+    public void setReportingFrequency(Duration reportingFrequency) {
+        this.reportingFrequency = reportingFrequency;
+    }
+
+    @Override
+    public Filter<E> build() {
+        final RateLimitingFilter<E> filter = new RateLimitingFilter<>(key.getFunction(), eventsPerPeriod, period, burst,
+            maxKeys, reportingFrequency, Clock.defaultClock());
+        filter.start();
+        return filter;
+    }
+}
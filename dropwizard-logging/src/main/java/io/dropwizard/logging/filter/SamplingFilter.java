@@ -0,0 +1,44 @@
+package io.dropwizard.logging.filter;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link SuppressingFilter} which lets through a random sample of the events it sees.
+ */
+public class SamplingFilter<E extends DeferredProcessingAware> extends SuppressingFilter<E> {
+
+    private final double sampleRate;
+    private final LongAdder suppressed = new LongAdder();
+
+    public SamplingFilter(double sampleRate, Duration reportingFrequency) {
+        super(reportingFrequency);
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    protected boolean accept(ILoggingEvent event) {
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            return true;
+        }
+        suppressed.increment();
+        return false;
+    }
+
+    @Override
+    protected void report(Logger logger) {
+        final long count = suppressed.sumThenReset();
+        if (count > 0) {
+            logger.warn("Sampling at a rate of {}: suppressed {} events", sampleRate, count);
+        }
+    }
+
+    long getSuppressedCount() {
+        return suppressed.sum();
+    }
+}
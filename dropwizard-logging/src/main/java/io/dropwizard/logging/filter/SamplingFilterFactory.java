@@ -0,0 +1,72 @@
+package io.dropwizard.logging.filter;
+
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import io.dropwizard.util.Duration;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+
+/**
+ * A {@link FilterFactory} which builds a filter letting through a random sample of events. The number of dropped
+ * events is logged periodically. Only logging events are sampled, the events of request logs are let through.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code sampleRate}</td>
+ *         <td>{@code 1.0}</td>
+ *         <td>The fraction of events to let through, between {@code 0.0} and {@code 1.0}.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>{@code reportingFrequency}</td>
+ *         <td>{@code 1 minute}</td>
+ *         <td>How often to log the number of suppressed events. {@code 0 seconds} disables reporting.</td>
+ *     </tr>
+ * </table>
+ */
+@JsonTypeName("sampling")
+public class SamplingFilterFactory<E extends DeferredProcessingAware> implements FilterFactory<E> {
+
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double sampleRate = 1.0;
+
+    @NotNull
+    private Duration reportingFrequency = Duration.minutes(1);
+
+    @JsonProperty
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    @JsonProperty
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @JsonProperty
+    public Duration getReportingFrequency() {
+        return reportingFrequency;
+    }
+
+    @JsonProperty
+    public void setReportingFrequency(Duration reportingFrequency) {
+        this.reportingFrequency = reportingFrequency;
+    }
+
+    @Override
+    public Filter<E> build() {
+        final SamplingFilter<E> filter = new SamplingFilter<>(sampleRate, reportingFrequency);
+        filter.start();
+        return filter;
+    }
+}
@@ -0,0 +1,153 @@
+package io.dropwizard.logging.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.core.Context;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import ch.qos.logback.core.spi.FilterReply;
+import io.dropwizard.util.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A base class for {@link Filter filters} which drop events to protect appenders from floods, and which
+ * periodically log how many events they suppressed.
+ * <p/>
+ * The decision made on the logging thread must be lock-free; reports are written from a shared daemon
+ * thread so that the summary itself never runs into the appender's re-entrancy guard. Reports are never
+ * suppressed by these filters, and a filter in a {@link LoggerContext} stops reporting when the context is reset
+ * or stopped, as on reconfiguration.
+ * <p/>
+ * These filters only apply to logging events: other events, such as those of request logs, are let through, and a
+ * warning is added to the status of the context the first time one is seen.
+ *
+ * @param <E> the type of the events of the appender the filter is added to
+ */
+public abstract class SuppressingFilter<E extends DeferredProcessingAware> extends Filter<E> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SuppressingFilter.class);
+
+    private static class ReporterHolder {
+        private static final ScheduledExecutorService REPORTER = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "dropwizard-log-suppression-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private final Duration reportingFrequency;
+
+    private volatile ScheduledFuture<?> reportingTask;
+
+    private volatile boolean warnedOfOtherEvents;
+
+    protected SuppressingFilter(Duration reportingFrequency) {
+        this.reportingFrequency = reportingFrequency;
+    }
+
+    /**
+     * Decides whether {@code event} should be let through.
+     *
+     * @param event a logging event
+     * @return {@code true} if the event should be passed on, {@code false} if it should be suppressed
+     */
+    protected abstract boolean accept(ILoggingEvent event);
+
+    /**
+     * Writes a summary of the events suppressed since the previous report and resets the counters.
+     *
+     * @param logger the logger the summary should be written to
+     */
+    protected abstract void report(Logger logger);
+
+    @Override
+    public FilterReply decide(E event) {
+        if (!(event instanceof ILoggingEvent)) {
+            if (!warnedOfOtherEvents) {
+                warnedOfOtherEvents = true;
+                addWarn(getClass().getSimpleName() + " only filters logging events, letting through " +
+                    event.getClass().getName());
+            }
+            return FilterReply.NEUTRAL;
+        }
+        final ILoggingEvent loggingEvent = (ILoggingEvent) event;
+        if (LOGGER.getName().equals(loggingEvent.getLoggerName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return accept(loggingEvent) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    @Override
+    public void setContext(Context context) {
+        super.setContext(context);
+        if (context instanceof LoggerContext) {
+            // listeners which are not reset resistant are removed once the context is reset
+            ((LoggerContext) context).addListener(new StopOnReset());
+        }
+    }
+
+    @Override
+    public void start() {
+        final long period = reportingFrequency.toNanoseconds();
+        if (period > 0) {
+            reportingTask = ReporterHolder.REPORTER.scheduleAtFixedRate(this::report, period, period,
+                TimeUnit.NANOSECONDS);
+        }
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (reportingTask != null) {
+            reportingTask.cancel(false);
+            reportingTask = null;
+        }
+        report();
+        super.stop();
+    }
+
+    boolean isReporting() {
+        return reportingTask != null;
+    }
+
+    void report() {
+        try {
+            report(LOGGER);
+        } catch (RuntimeException e) {
+            addError("Unable to report suppressed events", e);
+        }
+    }
+
+    private class StopOnReset implements LoggerContextListener {
+        @Override
+        public boolean isResetResistant() {
+            return false;
+        }
+
+        @Override
+        public void onStart(LoggerContext context) {
+        }
+
+        @Override
+        public void onReset(LoggerContext context) {
+            stop();
+        }
+
+        @Override
+        public void onStop(LoggerContext context) {
+            stop();
+        }
+
+        @Override
+        public void onLevelChange(ch.qos.logback.classic.Logger logger, Level level) {
+        }
+    }
+}
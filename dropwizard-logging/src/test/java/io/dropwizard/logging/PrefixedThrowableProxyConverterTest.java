@@ -6,6 +6,7 @@ import org.junit.Test;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.regex.Pattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -15,6 +16,7 @@ public class PrefixedThrowableProxyConverterTest {
 
     @Before
     public void setup() {
+        FormattedThrowableCache.clear();
         converter.setOptionList(Collections.singletonList("full"));
         converter.start();
     }
@@ -23,6 +25,37 @@ public class PrefixedThrowableProxyConverterTest {
     public void prefixesExceptionsWithExclamationMarks() throws Exception {
         assertThat(converter.throwableProxyToString(proxy))
                 .startsWith(String.format("! java.io.IOException: noo%n" +
-                                                  "! at io.dropwizard.logging.PrefixedThrowableProxyConverterTest.<init>(PrefixedThrowableProxyConverterTest.java:14)%n"));
+                                                  "! at io.dropwizard.logging.PrefixedThrowableProxyConverterTest.<init>(PrefixedThrowableProxyConverterTest.java:15)%n"));
+    }
+
+    @Test
+    public void prefixesLikeAMultiLineRegex() throws Exception {
+        final Pattern pattern = Pattern.compile("^\\t?", Pattern.MULTILINE);
+        final String[] traces = {
+            "", "a", "a\n", "a\n\tb\n", "\ta\r\n\t\tb", "a\r\n\r\nb\r", "a\rb\u2028c"
+        };
+        for (String trace : traces) {
+            assertThat(PrefixedThrowableProxyConverter.prefix(trace, null, null))
+                    .isEqualTo(pattern.matcher(trace).replaceAll("! "));
+        }
+    }
+
+    @Test
+    public void reusesTheFormattedStackTraceOfTheSameThrowable() throws Exception {
+        final PrefixedThrowableProxyConverter other = new PrefixedThrowableProxyConverter();
+        other.setOptionList(Collections.singletonList("full"));
+        other.start();
+
+        assertThat(other.throwableProxyToString(proxy)).isSameAs(converter.throwableProxyToString(proxy));
+    }
+
+    @Test
+    public void doesNotShareStackTracesBetweenDifferentDepths() throws Exception {
+        final PrefixedThrowableProxyConverter shortConverter = new PrefixedThrowableProxyConverter();
+        shortConverter.setOptionList(Collections.singletonList("short"));
+        shortConverter.start();
+
+        assertThat(shortConverter.throwableProxyToString(proxy))
+                .isNotEqualTo(converter.throwableProxyToString(proxy));
     }
 }
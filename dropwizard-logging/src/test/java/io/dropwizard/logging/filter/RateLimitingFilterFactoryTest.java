@@ -0,0 +1,130 @@
+package io.dropwizard.logging.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+import com.codahale.metrics.Clock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimitingFilterFactoryTest {
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+
+    private static class ManualClock extends Clock {
+        private long tick;
+
+        @Override
+        public long getTick() {
+            return tick;
+        }
+
+        void advance(long duration, TimeUnit unit) {
+            tick += unit.toNanos(duration);
+        }
+    }
+
+    private final ManualClock clock = new ManualClock();
+
+    @Test
+    public void isDiscoverable() throws Exception {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+                .contains(RateLimitingFilterFactory.class);
+    }
+
+    @Test
+    public void isConfigurable() throws Exception {
+        final FilterFactory<?> factory = objectMapper.readValue(
+                "{\"type\": \"rate-limit\", \"key\": \"message\", \"eventsPerPeriod\": 10, " +
+                        "\"period\": \"1 minute\", \"burst\": 5, \"maxKeys\": 3}",
+                FilterFactory.class);
+
+        assertThat(factory).isInstanceOf(RateLimitingFilterFactory.class);
+        final RateLimitingFilterFactory<?> rateLimiting = (RateLimitingFilterFactory<?>) factory;
+        assertThat(rateLimiting.getKey()).isEqualTo(RateLimitingFilterFactory.Key.MESSAGE);
+        assertThat(rateLimiting.getEventsPerPeriod()).isEqualTo(10);
+        assertThat(rateLimiting.getPeriod()).isEqualTo(Duration.minutes(1));
+        assertThat(rateLimiting.getBurst()).isEqualTo(5);
+        assertThat(rateLimiting.getMaxKeys()).isEqualTo(3);
+    }
+
+    @Test
+    public void buildsAStartedFilter() throws Exception {
+        final Filter<ILoggingEvent> filter = new RateLimitingFilterFactory<ILoggingEvent>().build();
+        try {
+            assertThat(filter.isStarted()).isTrue();
+        } finally {
+            filter.stop();
+        }
+    }
+
+    @Test
+    public void letsThroughABurstAndThenTheSustainedRate() throws Exception {
+        final RateLimitingFilter<ILoggingEvent> filter = filter(RateLimitingFilterFactory.Key.LOGGER, 10, 10);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(filter.decide(event("a", "message"))).isEqualTo(FilterReply.NEUTRAL);
+        }
+        assertThat(filter.decide(event("a", "message"))).isEqualTo(FilterReply.DENY);
+        assertThat(filter.decide(event("a", "message"))).isEqualTo(FilterReply.DENY);
+        assertThat(filter.getSuppressedCount("a")).isEqualTo(2);
+
+        clock.advance(100, TimeUnit.MILLISECONDS);
+        assertThat(filter.decide(event("a", "message"))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(event("a", "message"))).isEqualTo(FilterReply.DENY);
+    }
+
+    @Test
+    public void limitsEachKeySeparately() throws Exception {
+        final RateLimitingFilter<ILoggingEvent> filter = filter(RateLimitingFilterFactory.Key.MESSAGE, 1, 10);
+
+        assertThat(filter.decide(event("a", "first {}"))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(event("a", "first {}"))).isEqualTo(FilterReply.DENY);
+        assertThat(filter.decide(event("a", "second {}"))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressedCount("first {}")).isEqualTo(1);
+        assertThat(filter.getSuppressedCount("second {}")).isZero();
+    }
+
+    @Test
+    public void sharesAnOverflowBucketBeyondMaxKeys() throws Exception {
+        final RateLimitingFilter<ILoggingEvent> filter = filter(RateLimitingFilterFactory.Key.LOGGER, 1, 2);
+
+        assertThat(filter.decide(event("a", "message"))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(event("b", "message"))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(event("c", "message"))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(event("d", "message"))).isEqualTo(FilterReply.DENY);
+        assertThat(filter.getSuppressedCount(RateLimitingFilter.OVERFLOW_KEY)).isEqualTo(1);
+    }
+
+    @Test
+    public void resetsSuppressedCountsWhenReporting() throws Exception {
+        final RateLimitingFilter<ILoggingEvent> filter = filter(RateLimitingFilterFactory.Key.LOGGER, 1, 10);
+        filter.decide(event("a", "message"));
+        filter.decide(event("a", "message"));
+
+        filter.report();
+
+        assertThat(filter.getSuppressedCount("a")).isZero();
+    }
+
+    private RateLimitingFilter<ILoggingEvent> filter(RateLimitingFilterFactory.Key key, int burst, int maxKeys) {
+        return new RateLimitingFilter<>(key.getFunction(), 10, Duration.seconds(1), burst, maxKeys,
+                Duration.seconds(0), clock);
+    }
+
+    private static ILoggingEvent event(String loggerName, String message) {
+        final LoggingEvent event = new LoggingEvent();
+        event.setLoggerName(loggerName);
+        event.setLevel(Level.WARN);
+        event.setMessage(message);
+        return event;
+    }
+}
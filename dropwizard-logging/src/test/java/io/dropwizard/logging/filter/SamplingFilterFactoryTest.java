@@ -0,0 +1,106 @@
+package io.dropwizard.logging.filter;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.status.Status;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.dropwizard.jackson.DiscoverableSubtypeResolver;
+import io.dropwizard.jackson.Jackson;
+import io.dropwizard.util.Duration;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SamplingFilterFactoryTest {
+    private final ObjectMapper objectMapper = Jackson.newObjectMapper();
+
+    @Test
+    public void isDiscoverable() throws Exception {
+        assertThat(new DiscoverableSubtypeResolver().getDiscoveredSubtypes())
+                .contains(SamplingFilterFactory.class);
+    }
+
+    @Test
+    public void isConfigurable() throws Exception {
+        final FilterFactory<?> factory = objectMapper.readValue(
+                "{\"type\": \"sampling\", \"sampleRate\": 0.25, \"reportingFrequency\": \"10 seconds\"}",
+                FilterFactory.class);
+
+        assertThat(factory).isInstanceOf(SamplingFilterFactory.class);
+        final SamplingFilterFactory<?> sampling = (SamplingFilterFactory<?>) factory;
+        assertThat(sampling.getSampleRate()).isEqualTo(0.25);
+        assertThat(sampling.getReportingFrequency()).isEqualTo(Duration.seconds(10));
+    }
+
+    @Test
+    public void letsEverythingThroughAtFullRate() throws Exception {
+        final SamplingFilter<ILoggingEvent> filter = new SamplingFilter<>(1.0, Duration.seconds(0));
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.decide(new LoggingEvent())).isEqualTo(FilterReply.NEUTRAL);
+        }
+        assertThat(filter.getSuppressedCount()).isZero();
+    }
+
+    @Test
+    public void suppressesEverythingAtZeroRate() throws Exception {
+        final SamplingFilter<ILoggingEvent> filter = new SamplingFilter<>(0.0, Duration.seconds(0));
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.decide(new LoggingEvent())).isEqualTo(FilterReply.DENY);
+        }
+        assertThat(filter.getSuppressedCount()).isEqualTo(1000);
+
+        filter.report();
+        assertThat(filter.getSuppressedCount()).isZero();
+    }
+
+    @Test
+    public void samplesAFractionOfEvents() throws Exception {
+        final SamplingFilter<ILoggingEvent> filter = new SamplingFilter<>(0.5, Duration.seconds(0));
+
+        for (int i = 0; i < 10000; i++) {
+            filter.decide(new LoggingEvent());
+        }
+        assertThat(filter.getSuppressedCount()).isBetween(4000L, 6000L);
+    }
+
+    @Test
+    public void neverSuppressesItsReports() throws Exception {
+        final SamplingFilter<ILoggingEvent> filter = new SamplingFilter<>(0.0, Duration.seconds(0));
+        final LoggingEvent report = new LoggingEvent();
+        report.setLoggerName(SuppressingFilter.class.getName());
+
+        assertThat(filter.decide(report)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSuppressedCount()).isZero();
+    }
+
+    @Test
+    public void letsThroughEventsWhichAreNotLoggingEvents() throws Exception {
+        final SamplingFilter<DeferredProcessingAware> filter = new SamplingFilter<>(0.0, Duration.seconds(0));
+        filter.setContext(new LoggerContext());
+
+        assertThat(filter.decide(() -> { })).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(new LoggingEvent())).isEqualTo(FilterReply.DENY);
+        assertThat(filter.getStatusManager().getCopyOfStatusList())
+            .extracting(Status::getMessage)
+            .anyMatch(message -> message.startsWith("SamplingFilter only filters logging events"));
+    }
+
+    @Test
+    public void stopsReportingWhenTheContextIsReset() throws Exception {
+        final LoggerContext context = new LoggerContext();
+        final SamplingFilter<ILoggingEvent> filter = new SamplingFilter<>(0.5, Duration.minutes(1));
+        filter.setContext(context);
+        filter.start();
+        assertThat(filter.isReporting()).isTrue();
+
+        context.reset();
+
+        assertThat(filter.isReporting()).isFalse();
+        assertThat(filter.isStarted()).isFalse();
+    }
+}
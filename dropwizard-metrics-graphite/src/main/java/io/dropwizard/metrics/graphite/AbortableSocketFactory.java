@@ -0,0 +1,73 @@
+package io.dropwizard.metrics.graphite;
+
+import javax.annotation.Nullable;
+import javax.net.SocketFactory;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * A {@link SocketFactory} which keeps track of the last socket it created, so that a connection or a write blocked
+ * on it can be {@link #abort() aborted} from another thread.
+ */
+class AbortableSocketFactory extends SocketFactory {
+    @Nullable
+    private volatile Socket socket;
+
+    /**
+     * Closes the last socket created, failing any connection or write in progress on it.
+     */
+    void abort() {
+        final Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // the blocked operation fails either way
+            }
+        }
+    }
+
+    @Override
+    public Socket createSocket() {
+        final Socket created = new Socket();
+        socket = created;
+        return created;
+    }
+
+    @Override
+    public Socket createSocket(String host, int port) throws IOException {
+        return connect(new InetSocketAddress(host, port), null);
+    }
+
+    @Override
+    public Socket createSocket(String host, int port, InetAddress localHost, int localPort) throws IOException {
+        return connect(new InetSocketAddress(host, port), new InetSocketAddress(localHost, localPort));
+    }
+
+    @Override
+    public Socket createSocket(InetAddress host, int port) throws IOException {
+        return connect(new InetSocketAddress(host, port), null);
+    }
+
+    @Override
+    public Socket createSocket(InetAddress address, int port, InetAddress localAddress,
+                               int localPort) throws IOException {
+        return connect(new InetSocketAddress(address, port), new InetSocketAddress(localAddress, localPort));
+    }
+
+    private Socket connect(InetSocketAddress remote, @Nullable InetSocketAddress local) throws IOException {
+        final Socket created = createSocket();
+        try {
+            if (local != null) {
+                created.bind(local);
+            }
+            created.connect(remote);
+            return created;
+        } catch (IOException e) {
+            created.close();
+            throw e;
+        }
+    }
+}
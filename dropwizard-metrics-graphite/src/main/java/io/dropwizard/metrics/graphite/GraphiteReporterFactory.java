@@ -5,15 +5,23 @@ import com.codahale.metrics.ScheduledReporter;
 import com.codahale.metrics.graphite.Graphite;
 import com.codahale.metrics.graphite.GraphiteReporter;
 import com.codahale.metrics.graphite.GraphiteUDP;
+import com.codahale.metrics.graphite.PickledGraphite;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeName;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.dropwizard.metrics.BaseReporterFactory;
+import io.dropwizard.util.Duration;
+import io.dropwizard.validation.MinDuration;
 import io.dropwizard.validation.OneOf;
 import io.dropwizard.validation.PortRange;
 import org.hibernate.validator.constraints.NotEmpty;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A factory for {@link GraphiteReporter} instances.
@@ -43,8 +51,20 @@ import javax.validation.constraints.NotNull;
  *     <tr>
  *         <td>transport</td>
  *         <td><i>tcp</i></td>
- *         <td>The transport used to report to Graphite. One of {@code tcp} or
- *         {@code udp}.</td>
+ *         <td>The transport used to report to Graphite. One of {@code tcp}, {@code udp} or
+ *         {@code pickle}. The {@code pickle} transport sends metrics in batches over a connection which
+ *         is kept open between reports, and records its flush durations and failures as metrics.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>batchSize</td>
+ *         <td>100</td>
+ *         <td>The number of metrics sent in each batch by the {@code pickle} transport.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>writeTimeout</td>
+ *         <td>5 seconds</td>
+ *         <td>How long the {@code pickle} transport waits for a connection or a write to complete before
+ *         closing its connection.</td>
  *     </tr>
  * </table>
  */
@@ -60,9 +80,16 @@ public class GraphiteReporterFactory extends BaseReporterFactory {
     private String prefix = "";
 
     @NotNull
-    @OneOf(value = {"tcp", "udp"}, ignoreCase = true)
+    @OneOf(value = {"tcp", "udp", "pickle"}, ignoreCase = true)
     private String transport = "tcp";
 
+    @Min(1)
+    private int batchSize = 100;
+
+    @NotNull
+    @MinDuration(value = 1, unit = TimeUnit.MILLISECONDS)
+    private Duration writeTimeout = Duration.seconds(5);
+
     @JsonProperty
     public String getHost() {
         return host;
@@ -103,12 +130,44 @@ public class GraphiteReporterFactory extends BaseReporterFactory {
         this.transport = transport;
     }
 
+    @JsonProperty
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @JsonProperty
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    @JsonProperty
+    public Duration getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    @JsonProperty
+    public void setWriteTimeout(Duration writeTimeout) {
+        this.writeTimeout = writeTimeout;
+    }
+
     @Override
     public ScheduledReporter build(MetricRegistry registry) {
         GraphiteReporter.Builder builder = builder(registry);
 
         if ("udp".equalsIgnoreCase(transport)) {
             return builder.build(new GraphiteUDP(host, port));
+        } else if ("pickle".equalsIgnoreCase(transport)) {
+            // one thread reports while the other aborts the writes which time out
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(2,
+                new ThreadFactoryBuilder().setNameFormat("graphite-reporter-%d").setDaemon(true).build());
+            executor.setRemoveOnCancelPolicy(true);
+            final AbortableSocketFactory sockets = new AbortableSocketFactory();
+            final PersistentGraphiteSender sender = new PersistentGraphiteSender(
+                new PickledGraphite(host, port, sockets, StandardCharsets.UTF_8, batchSize), sockets, executor,
+                writeTimeout, registry);
+            final GraphiteReporter delegate = builder.scheduleOn(executor).shutdownExecutorOnStop(false).build(sender);
+            return new PersistentGraphiteReporter(registry, getFilter(), getRateUnit(), getDurationUnit(),
+                executor, delegate, sender);
         } else {
             return builder.build(new Graphite(host, port));
         }
@@ -0,0 +1,62 @@
+package io.dropwizard.metrics.graphite;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.graphite.GraphiteReporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.SortedMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ScheduledReporter} which reports through a {@link GraphiteReporter} writing to a
+ * {@link PersistentGraphiteSender}, and closes the sender's connection when stopped. Both reporters, and the
+ * timeouts of the sender, share the same executor, which is shut down when this reporter stops.
+ */
+class PersistentGraphiteReporter extends ScheduledReporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentGraphiteReporter.class);
+
+    private final GraphiteReporter delegate;
+    private final PersistentGraphiteSender sender;
+
+    PersistentGraphiteReporter(MetricRegistry registry, MetricFilter filter, TimeUnit rateUnit,
+                               TimeUnit durationUnit, ScheduledExecutorService executor, GraphiteReporter delegate,
+                               PersistentGraphiteSender sender) {
+        super(registry, "graphite-reporter", filter, rateUnit, durationUnit, executor, true);
+        this.delegate = delegate;
+        this.sender = sender;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void report(SortedMap<String, Gauge> gauges,
+                       SortedMap<String, Counter> counters,
+                       SortedMap<String, Histogram> histograms,
+                       SortedMap<String, Meter> meters,
+                       SortedMap<String, Timer> timers) {
+        delegate.report(gauges, counters, histograms, meters, timers);
+    }
+
+    @Override
+    public void stop() {
+        try {
+            super.stop();
+            delegate.stop();
+        } finally {
+            try {
+                sender.disconnect();
+            } catch (IOException e) {
+                LOGGER.debug("Error disconnecting from Graphite", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package io.dropwizard.metrics.graphite;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import com.codahale.metrics.graphite.GraphiteSender;
+import io.dropwizard.util.Duration;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+/**
+ * A {@link GraphiteSender} which keeps the connection of the underlying sender open between reports, only closing
+ * it after a failure or when {@link #disconnect() disconnected} explicitly.
+ * <p/>
+ * Each connection and each write must complete within a timeout, after which the connection is aborted, so that a
+ * Graphite server which stops reading can't block the reporter indefinitely.
+ * <p/>
+ * The duration of each flush and the number of failed operations are recorded in the {@code flushes} timer and
+ * the {@code failures} meter of this class.
+ */
+public class PersistentGraphiteSender implements GraphiteSender {
+    private final GraphiteSender delegate;
+    private final AbortableSocketFactory sockets;
+    private final ScheduledExecutorService watchdog;
+    private final long timeoutNanos;
+    private final Timer flushes;
+    private final Meter failures;
+    private boolean failed = false;
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate the sender to write with, creating its sockets with {@code sockets}
+     * @param sockets  the factory of the sockets of {@code delegate}, used to abort operations which time out
+     * @param watchdog the executor to schedule the timeouts on
+     * @param timeout  how long to wait for a connection or a write
+     * @param registry the registry to register the metrics with
+     */
+    PersistentGraphiteSender(GraphiteSender delegate, AbortableSocketFactory sockets,
+                             ScheduledExecutorService watchdog, Duration timeout, MetricRegistry registry) {
+        this.delegate = delegate;
+        this.sockets = sockets;
+        this.watchdog = watchdog;
+        this.timeoutNanos = timeout.toNanoseconds();
+        this.flushes = registry.timer(name(PersistentGraphiteSender.class, "flushes"));
+        this.failures = registry.meter(name(PersistentGraphiteSender.class, "failures"));
+    }
+
+    @Override
+    public synchronized void connect() throws IOException {
+        if (delegate.isConnected()) {
+            return;
+        }
+        final ScheduledFuture<?> timeout = startTimeout();
+        try {
+            delegate.connect();
+        } catch (IOException | RuntimeException e) {
+            fail();
+            throw e;
+        } finally {
+            cancel(timeout);
+        }
+    }
+
+    @Override
+    public synchronized void send(String name, String value, long timestamp) throws IOException {
+        final ScheduledFuture<?> timeout = startTimeout();
+        try {
+            delegate.send(name, value, timestamp);
+        } catch (IOException | RuntimeException e) {
+            fail();
+            throw e;
+        } finally {
+            cancel(timeout);
+        }
+    }
+
+    @Override
+    public synchronized void flush() throws IOException {
+        final Timer.Context context = flushes.time();
+        final ScheduledFuture<?> timeout = startTimeout();
+        try {
+            delegate.flush();
+        } catch (IOException | RuntimeException e) {
+            fail();
+            throw e;
+        } finally {
+            cancel(timeout);
+            context.stop();
+        }
+    }
+
+    @Override
+    public synchronized boolean isConnected() {
+        return delegate.isConnected();
+    }
+
+    @Override
+    public int getFailures() {
+        return delegate.getFailures();
+    }
+
+    /**
+     * Closes the underlying connection if an operation failed since it was opened; otherwise keeps it open for the
+     * next report.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (failed) {
+            failed = false;
+            delegate.close();
+        }
+    }
+
+    /**
+     * Closes the underlying connection.
+     *
+     * @throws IOException if the connection cannot be closed
+     */
+    public synchronized void disconnect() throws IOException {
+        failed = false;
+        delegate.close();
+    }
+
+    /**
+     * Schedules the abort of the current operation, unless the watchdog is shut down, as the reporter is stopping.
+     */
+    @Nullable
+    private ScheduledFuture<?> startTimeout() {
+        try {
+            return watchdog.schedule(sockets::abort, timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+    }
+
+    private static void cancel(@Nullable ScheduledFuture<?> timeout) {
+        if (timeout != null) {
+            timeout.cancel(false);
+        }
+    }
+
+    private void fail() {
+        failed = true;
+        failures.mark();
+    }
+}
@@ -0,0 +1,116 @@
+package io.dropwizard.metrics.graphite;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableSet;
+import io.dropwizard.util.Duration;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.DataInputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PersistentGraphiteReporterTest {
+    private final MetricRegistry registry = new MetricRegistry();
+    private final GraphiteReporterFactory factory = new GraphiteReporterFactory();
+    private ServerSocket relay;
+    private ScheduledReporter reporter;
+
+    @Before
+    public void setUp() throws Exception {
+        relay = new ServerSocket(0);
+        relay.setSoTimeout(5000);
+
+        for (int i = 0; i < 5; i++) {
+            registry.counter("test.counter-" + i).inc(i);
+        }
+
+        factory.setTransport("pickle");
+        factory.setPort(relay.getLocalPort());
+        factory.setBatchSize(2);
+        factory.setUseSubstringMatching(true);
+        factory.setIncludes(ImmutableSet.of("test.counter"));
+        reporter = factory.build(registry);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        reporter.stop();
+        relay.close();
+    }
+
+    @Test
+    public void sendsMetricsInFixedSizeBatches() throws Exception {
+        reporter.report();
+
+        try (Socket connection = relay.accept()) {
+            connection.setSoTimeout(5000);
+            final List<String> frames = readFrames(new DataInputStream(connection.getInputStream()), 3);
+
+            assertThat(frames).hasSize(3);
+            assertThat(frames.get(0)).contains("test.counter-0").contains("test.counter-1");
+            assertThat(frames.get(1)).contains("test.counter-2").contains("test.counter-3");
+            assertThat(frames.get(2)).contains("test.counter-4");
+        }
+    }
+
+    @Test
+    public void reusesTheConnectionBetweenReports() throws Exception {
+        reporter.report();
+        reporter.report();
+
+        try (Socket connection = relay.accept()) {
+            connection.setSoTimeout(5000);
+            assertThat(readFrames(new DataInputStream(connection.getInputStream()), 6)).hasSize(6);
+        }
+    }
+
+    @Test
+    public void recordsFlushDurations() throws Exception {
+        reporter.report();
+
+        assertThat(registry.timer(MetricRegistry.name(PersistentGraphiteSender.class, "flushes")).getCount())
+            .isEqualTo(1);
+        assertThat(registry.meter(MetricRegistry.name(PersistentGraphiteSender.class, "failures")).getCount())
+            .isZero();
+    }
+
+    @Test
+    public void abortsWritesWhichTimeOut() throws Exception {
+        // more than the socket buffers can hold, while the relay never reads
+        final String padding = Strings.repeat("x", 200);
+        for (int i = 0; i < 20_000; i++) {
+            registry.counter("test.counter-" + padding + i);
+        }
+        reporter.stop();
+        factory.setBatchSize(1_000);
+        factory.setWriteTimeout(Duration.milliseconds(100));
+        reporter = factory.build(registry);
+
+        final long start = System.nanoTime();
+        reporter.report();
+
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        assertThat(registry.meter(MetricRegistry.name(PersistentGraphiteSender.class, "failures")).getCount())
+            .isPositive();
+    }
+
+    private static List<String> readFrames(DataInputStream input, int count) throws Exception {
+        final List<String> frames = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final byte[] payload = new byte[input.readInt()];
+            input.readFully(payload);
+            frames.add(new String(payload, StandardCharsets.ISO_8859_1));
+        }
+        return frames;
+    }
+}
@@ -0,0 +1,61 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * A {@link MetricFilter} over compiled include and exclude predicates, which optionally caches its decision for
+ * each metric name.
+ * <p/>
+ * A decision only depends on the name, so it never has to be invalidated. The cache is cleared once it holds
+ * {@value #MAX_CACHED_DECISIONS} decisions, so that it does not grow with every name ever seen.
+ */
+class CompiledMetricFilter implements MetricFilter {
+    static final int MAX_CACHED_DECISIONS = 100_000;
+
+    private final Predicate<String> excluded;
+    private final Predicate<String> included;
+    private final ConcurrentMap<String, Boolean> decisions;
+
+    CompiledMetricFilter(Predicate<String> excluded, Predicate<String> included, boolean cacheDecisions) {
+        this.excluded = excluded;
+        this.included = included;
+        this.decisions = cacheDecisions ? new ConcurrentHashMap<>() : null;
+    }
+
+    @Override
+    public boolean matches(String name, Metric metric) {
+        if (decisions == null) {
+            return decide(name);
+        }
+
+        final Boolean cached = decisions.get(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        final boolean decision = decide(name);
+        if (decisions.size() >= MAX_CACHED_DECISIONS) {
+            decisions.clear();
+        }
+        decisions.put(name, decision);
+        return decision;
+    }
+
+    private boolean decide(String name) {
+        // Include the metric if its name is not excluded and its name is included
+        return !excluded.test(name) && included.test(name);
+    }
+
+    boolean isCaching() {
+        return decisions != null;
+    }
+
+    int cachedDecisions() {
+        return decisions == null ? 0 : decisions.size();
+    }
+}
@@ -2,9 +2,17 @@ package io.dropwizard.metrics;
 
 import com.google.common.collect.ImmutableSet;
 
+import java.util.function.Predicate;
+
 class DefaultStringMatchingStrategy implements StringMatchingStrategy {
     @Override
-    public boolean containsMatch(ImmutableSet<String> matchExpressions, String metricName) {
-        return matchExpressions.contains(metricName);
+    public Predicate<String> compile(ImmutableSet<String> matchExpressions) {
+        return matchExpressions::contains;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        // a hash lookup is as cheap as a cache lookup
+        return false;
     }
 }
@@ -35,6 +35,11 @@ import javax.validation.constraints.NotNull;
  *         <td>No reporters.</td>
  *         <td>A list of {@link ReporterFactory reporters} to report metrics.</td>
  *     </tr>
+ *     <tr>
+ *         <td>prometheus</td>
+ *         <td>Disabled.</td>
+ *         <td>The {@link PrometheusFactory Prometheus endpoint} on the admin connector.</td>
+ *     </tr>
  * </table>
  */
 public class MetricsFactory {
@@ -48,6 +53,10 @@ public class MetricsFactory {
     @NotNull
     private ImmutableList<ReporterFactory> reporters = ImmutableList.of();
 
+    @Valid
+    @NotNull
+    private PrometheusFactory prometheus = new PrometheusFactory();
+
     @JsonProperty
     public ImmutableList<ReporterFactory> getReporters() {
         return reporters;
@@ -58,6 +67,16 @@ public class MetricsFactory {
         this.reporters = reporters;
     }
 
+    @JsonProperty
+    public PrometheusFactory getPrometheus() {
+        return prometheus;
+    }
+
+    @JsonProperty
+    public void setPrometheus(PrometheusFactory prometheus) {
+        this.prometheus = prometheus;
+    }
+
     @JsonProperty
     public Duration getFrequency() {
         return frequency;
@@ -85,7 +104,8 @@ public class MetricsFactory {
             try {
                 final ScheduledReporterManager manager =
                         new ScheduledReporterManager(reporter.build(registry),
-                                                     reporter.getFrequency().orElseGet(this::getFrequency));
+                                                     reporter.getFrequency().orElseGet(this::getFrequency),
+                                                     reporter);
                 environment.manage(manager);
             } catch (Exception e) {
                 LOGGER.warn("Failed to create reporter, metrics may not be properly reported.", e);
@@ -98,6 +118,7 @@ public class MetricsFactory {
         return MoreObjects.toStringHelper(this)
                 .add("frequency", frequency)
                 .add("reporters", reporters)
+                .add("prometheus", prometheus)
                 .toString();
     }
 }
@@ -0,0 +1,109 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.base.MoreObjects;
+import org.hibernate.validator.constraints.NotEmpty;
+
+import javax.validation.constraints.NotNull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A factory for exposing metrics in the Prometheus text format on the admin connector, to be scraped rather than
+ * pushed by a {@link ReporterFactory reporter}. The metrics and attributes to expose are selected as described in
+ * {@link BaseMetricFilterFactory}.
+ * <p/>
+ * <b>Configuration Parameters:</b>
+ * <table>
+ *     <tr>
+ *         <td>Name</td>
+ *         <td>Default</td>
+ *         <td>Description</td>
+ *     </tr>
+ *     <tr>
+ *         <td>enabled</td>
+ *         <td>false</td>
+ *         <td>Whether to expose metrics in the Prometheus text format.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>path</td>
+ *         <td>/prometheus</td>
+ *         <td>The path on the admin connector at which metrics are exposed.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>durationUnit</td>
+ *         <td>seconds</td>
+ *         <td>The unit to expose durations as. Prometheus conventionally uses seconds.</td>
+ *     </tr>
+ *     <tr>
+ *         <td>rateUnit</td>
+ *         <td>seconds</td>
+ *         <td>The unit to expose rates as.</td>
+ *     </tr>
+ * </table>
+ */
+public class PrometheusFactory extends BaseMetricFilterFactory {
+
+    private boolean enabled = false;
+
+    @NotEmpty
+    private String path = "/prometheus";
+
+    @NotNull
+    private TimeUnit durationUnit = TimeUnit.SECONDS;
+
+    @NotNull
+    private TimeUnit rateUnit = TimeUnit.SECONDS;
+
+    @JsonProperty
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @JsonProperty
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @JsonProperty
+    public String getPath() {
+        return path;
+    }
+
+    @JsonProperty
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    @JsonProperty
+    public TimeUnit getDurationUnit() {
+        return durationUnit;
+    }
+
+    @JsonProperty
+    public void setDurationUnit(TimeUnit durationUnit) {
+        this.durationUnit = durationUnit;
+    }
+
+    @JsonProperty
+    public TimeUnit getRateUnit() {
+        return rateUnit;
+    }
+
+    @JsonProperty
+    public void setRateUnit(TimeUnit rateUnit) {
+        this.rateUnit = rateUnit;
+    }
+
+    public PrometheusTextFormat build(MetricRegistry registry) {
+        return new PrometheusTextFormat(registry, getFilter(), getDisabledAttributes(), durationUnit, rateUnit);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+                .add("enabled", enabled)
+                .add("path", path)
+                .toString();
+    }
+}
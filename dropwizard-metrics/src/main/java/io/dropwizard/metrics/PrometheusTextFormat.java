@@ -0,0 +1,286 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metered;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricAttribute;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the metrics of a {@link MetricRegistry} in the Prometheus text exposition format (version 0.0.4).
+ * <p/>
+ * Metrics are written straight from the registry's live view, without copying them into sorted maps first.
+ * Counters, which can be decremented, and gauges with numeric values are exposed as gauges, and the counts of
+ * meters as counters. Histograms and timers are exposed as summaries with one quantile per enabled percentile
+ * attribute, a count and a sum, which is estimated from the mean of their snapshot. The remaining enabled
+ * attributes are exposed as gauges suffixed with the attribute's code, e.g. {@code requests_m1_rate}.
+ * <p/>
+ * Metric names which translate to the same Prometheus name are not exposed twice: only the first one written is,
+ * and the collision is logged.
+ */
+public class PrometheusTextFormat {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrometheusTextFormat.class);
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final int MAX_CACHED_NAMES = 100_000;
+
+    private static final MetricAttribute[] QUANTILES = {
+        MetricAttribute.P50, MetricAttribute.P75, MetricAttribute.P95,
+        MetricAttribute.P98, MetricAttribute.P99, MetricAttribute.P999
+    };
+    private static final String[] QUANTILE_LABELS = {
+        "{quantile=\"0.5\"} ", "{quantile=\"0.75\"} ", "{quantile=\"0.95\"} ",
+        "{quantile=\"0.98\"} ", "{quantile=\"0.99\"} ", "{quantile=\"0.999\"} "
+    };
+
+    private final MetricRegistry registry;
+    private final MetricFilter filter;
+    private final Set<MetricAttribute> enabledAttributes;
+    private final double durationDivisor;
+    private final double rateFactor;
+    private final ConcurrentMap<String, String> names = new ConcurrentHashMap<>();
+    private final Set<String> collisions = ConcurrentHashMap.newKeySet();
+
+    public PrometheusTextFormat(MetricRegistry registry, MetricFilter filter, Set<MetricAttribute> disabledAttributes,
+                                TimeUnit durationUnit, TimeUnit rateUnit) {
+        this.registry = registry;
+        this.filter = filter;
+        this.enabledAttributes = EnumSet.allOf(MetricAttribute.class);
+        this.enabledAttributes.removeAll(disabledAttributes);
+        this.durationDivisor = durationUnit.toNanos(1);
+        this.rateFactor = (double) rateUnit.toNanos(1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * Writes all metrics matched by the filter to {@code writer}.
+     *
+     * @param writer the writer to write the exposition to; not flushed or closed
+     * @throws IOException if the writer fails
+     */
+    public void write(Writer writer) throws IOException {
+        final Exposition exposition = new Exposition(writer);
+        for (Map.Entry<String, Metric> entry : registry.getMetrics().entrySet()) {
+            final String name = entry.getKey();
+            final Metric metric = entry.getValue();
+            if (!filter.matches(name, metric)) {
+                continue;
+            }
+
+            exposition.metricName = name;
+            if (metric instanceof Gauge) {
+                writeGauge(exposition, sanitize(name), (Gauge<?>) metric);
+            } else if (metric instanceof Counter) {
+                writeSingle(exposition, sanitize(name), "gauge", ((Counter) metric).getCount());
+            } else if (metric instanceof Timer) {
+                final Timer timer = (Timer) metric;
+                final String sanitized = sanitize(name);
+                writeSummary(exposition, sanitized, timer.getCount(), timer.getSnapshot(), durationDivisor);
+                writeRates(exposition, sanitized, timer);
+            } else if (metric instanceof Histogram) {
+                final Histogram histogram = (Histogram) metric;
+                writeSummary(exposition, sanitize(name), histogram.getCount(), histogram.getSnapshot(), 1.0);
+            } else if (metric instanceof Meter) {
+                final Meter meter = (Meter) metric;
+                final String sanitized = sanitize(name);
+                writeSingle(exposition, sanitized + "_total", "counter", meter.getCount());
+                writeRates(exposition, sanitized, meter);
+            }
+        }
+    }
+
+    private void writeGauge(Exposition exposition, String name, Gauge<?> gauge) throws IOException {
+        final Object value = gauge.getValue();
+        final double number;
+        if (value instanceof Number) {
+            number = ((Number) value).doubleValue();
+        } else if (value instanceof Boolean) {
+            number = ((Boolean) value) ? 1 : 0;
+        } else {
+            return;
+        }
+        writeSingle(exposition, name, "gauge", number);
+    }
+
+    private void writeSingle(Exposition exposition, String name, String type, double value) throws IOException {
+        if (exposition.declare(name, type)) {
+            writeSample(exposition.writer, name, value);
+        }
+    }
+
+    private void writeSummary(Exposition exposition, String name, long count, Snapshot snapshot,
+                              double divisor) throws IOException {
+        if (!exposition.declare(name, "summary", name + "_sum", name + "_count")) {
+            return;
+        }
+        final Writer writer = exposition.writer;
+        for (int i = 0; i < QUANTILES.length; i++) {
+            if (enabledAttributes.contains(QUANTILES[i])) {
+                writer.write(name);
+                writer.write(QUANTILE_LABELS[i]);
+                writeValue(writer, snapshot.getValue(quantile(QUANTILES[i])) / divisor);
+            }
+        }
+        // snapshots keep no sum, and the mean of a snapshot is the mean of the values it sampled
+        writeSample(writer, name + "_sum", snapshot.getMean() * count / divisor);
+        writeSample(writer, name + "_count", count);
+
+        writeAttribute(exposition, name, MetricAttribute.MIN, snapshot.getMin() / divisor);
+        writeAttribute(exposition, name, MetricAttribute.MAX, snapshot.getMax() / divisor);
+        writeAttribute(exposition, name, MetricAttribute.MEAN, snapshot.getMean() / divisor);
+        writeAttribute(exposition, name, MetricAttribute.STDDEV, snapshot.getStdDev() / divisor);
+    }
+
+    private void writeRates(Exposition exposition, String name, Metered metered) throws IOException {
+        writeAttribute(exposition, name, MetricAttribute.M1_RATE, metered.getOneMinuteRate() * rateFactor);
+        writeAttribute(exposition, name, MetricAttribute.M5_RATE, metered.getFiveMinuteRate() * rateFactor);
+        writeAttribute(exposition, name, MetricAttribute.M15_RATE, metered.getFifteenMinuteRate() * rateFactor);
+        writeAttribute(exposition, name, MetricAttribute.MEAN_RATE, metered.getMeanRate() * rateFactor);
+    }
+
+    private void writeAttribute(Exposition exposition, String name, MetricAttribute attribute,
+                                double value) throws IOException {
+        if (enabledAttributes.contains(attribute)) {
+            writeSingle(exposition, name + '_' + attribute.getCode(), "gauge", value);
+        }
+    }
+
+    private static void writeType(Writer writer, String name, String type) throws IOException {
+        writer.write("# TYPE ");
+        writer.write(name);
+        writer.write(' ');
+        writer.write(type);
+        writer.write('\n');
+    }
+
+    private static void writeSample(Writer writer, String name, double value) throws IOException {
+        writer.write(name);
+        writer.write(' ');
+        writeValue(writer, value);
+    }
+
+    private static void writeValue(Writer writer, double value) throws IOException {
+        if (Double.isNaN(value)) {
+            writer.write("NaN");
+        } else if (Double.isInfinite(value)) {
+            writer.write(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == (long) value) {
+            writer.write(Long.toString((long) value));
+        } else {
+            writer.write(Double.toString(value));
+        }
+        writer.write('\n');
+    }
+
+    private static double quantile(MetricAttribute attribute) {
+        switch (attribute) {
+            case P50:
+                return 0.5;
+            case P75:
+                return 0.75;
+            case P95:
+                return 0.95;
+            case P98:
+                return 0.98;
+            case P99:
+                return 0.99;
+            default:
+                return 0.999;
+        }
+    }
+
+    /**
+     * Translates a metric name into a valid Prometheus metric name, replacing every character outside of
+     * {@code [a-zA-Z0-9_:]} with an underscore. Translations are cached, as the same names are exposed on every
+     * scrape.
+     */
+    String sanitize(String name) {
+        final String cached = names.get(name);
+        if (cached != null) {
+            return cached;
+        }
+
+        final String sanitized = translate(name);
+        if (names.size() >= MAX_CACHED_NAMES) {
+            names.clear();
+        }
+        names.put(name, sanitized);
+        return sanitized;
+    }
+
+    private void collided(String metricName, String name) {
+        if (collisions.size() < MAX_CACHED_NAMES && collisions.add(metricName)) {
+            LOGGER.warn("Not exposing {}, as another metric is already exposed as {}", metricName, name);
+        }
+    }
+
+    private static String translate(String name) {
+        final StringBuilder builder = new StringBuilder(name.length() + 1);
+        for (int i = 0; i < name.length(); i++) {
+            final char c = name.charAt(i);
+            final boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == ':'
+                || (i > 0 && c >= '0' && c <= '9');
+            if (i == 0 && c >= '0' && c <= '9') {
+                builder.append('_').append(c);
+            } else {
+                builder.append(valid ? c : '_');
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The state of a single exposition: the names already written, which can't be written again.
+     */
+    private class Exposition {
+        private final Writer writer;
+        private final Set<String> names = new HashSet<>();
+        private String metricName = "";
+
+        private Exposition(Writer writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * Writes the type of a metric family, unless its name or one of the names of its samples is already taken.
+         *
+         * @return whether the samples of the family can be written
+         */
+        private boolean declare(String name, String type, String... sampleNames) throws IOException {
+            if (names.contains(name)) {
+                collided(metricName, name);
+                return false;
+            }
+            for (String sampleName : sampleNames) {
+                if (names.contains(sampleName)) {
+                    collided(metricName, sampleName);
+                    return false;
+                }
+            }
+            names.add(name);
+            for (String sampleName : sampleNames) {
+                names.add(sampleName);
+            }
+            writeType(writer, name, type);
+            return true;
+        }
+    }
+}
@@ -1,35 +1,55 @@
 package io.dropwizard.metrics;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
 
+/**
+ * Matches metric names matching any of the expressions. The expressions are combined into a single alternation, so
+ * that a name is matched once regardless of the number of expressions; expressions which cannot be combined, because
+ * they use back references, are matched one by one.
+ */
 class RegexStringMatchingStrategy implements StringMatchingStrategy {
-    private final LoadingCache<String, Pattern> patternCache;
-
-    RegexStringMatchingStrategy() {
-        patternCache = CacheBuilder.newBuilder()
-            .expireAfterWrite(1, TimeUnit.HOURS)
-            .build(new CacheLoader<String, Pattern>() {
-                @Override
-                public Pattern load(String regex) throws Exception {
-                    return Pattern.compile(regex);
-                }
-            });
-    }
+    private static final Pattern BACK_REFERENCE = Pattern.compile("\\\\(?:[1-9]|k<)");
 
     @Override
-    public boolean containsMatch(ImmutableSet<String> matchExpressions, String metricName) {
-        for (String regexExpression : matchExpressions) {
-            if (patternCache.getUnchecked(regexExpression).matcher(metricName).matches()) {
-                // just need to match on a single value - return as soon as we do
-                return true;
+    public Predicate<String> compile(ImmutableSet<String> matchExpressions) {
+        if (matchExpressions.isEmpty()) {
+            return name -> false;
+        }
+
+        final List<Pattern> patterns = matchExpressions.stream()
+            .map(Pattern::compile)
+            .collect(ImmutableList.toImmutableList());
+        if (patterns.size() == 1) {
+            final Pattern pattern = patterns.get(0);
+            return name -> pattern.matcher(name).matches();
+        }
+
+        if (matchExpressions.stream().noneMatch(regex -> BACK_REFERENCE.matcher(regex).find())) {
+            try {
+                final Pattern combined = Pattern.compile(matchExpressions.stream()
+                    .map(regex -> "(?:" + regex + ")")
+                    .collect(Collectors.joining("|")));
+                return name -> combined.matcher(name).matches();
+            } catch (PatternSyntaxException e) {
+                // e.g. the same named group in several expressions; fall back to matching them one by one
             }
         }
-        return false;
+
+        return name -> {
+            for (Pattern pattern : patterns) {
+                if (pattern.matcher(name).matches()) {
+                    // just need to match on a single value - return as soon as we do
+                    return true;
+                }
+            }
+            return false;
+        };
     }
 }
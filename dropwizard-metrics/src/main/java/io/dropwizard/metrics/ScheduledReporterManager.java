@@ -4,12 +4,17 @@ import com.codahale.metrics.ScheduledReporter;
 import io.dropwizard.lifecycle.Managed;
 import io.dropwizard.util.Duration;
 
+import javax.annotation.Nullable;
+
 /**
  * Manages a {@link ScheduledReporter} lifecycle.
  */
 public class ScheduledReporterManager implements Managed {
-    private final ScheduledReporter reporter;
-    private final Duration period;
+    private ScheduledReporter reporter;
+    private Duration period;
+    @Nullable
+    private final ReporterFactory factory;
+    private boolean started = false;
 
     /**
      * Manages the given {@code reporter} by reporting with the given {@code period}.
@@ -18,8 +23,32 @@ public class ScheduledReporterManager implements Managed {
      * @param period the frequency to report metrics at.
      */
     public ScheduledReporterManager(ScheduledReporter reporter, Duration period) {
+        this(reporter, period, null);
+    }
+
+    /**
+     * Manages the given {@code reporter}, built by {@code factory}, by reporting with the given {@code period}.
+     *
+     * @param reporter the reporter to manage.
+     * @param period the frequency to report metrics at.
+     * @param factory the factory which built the reporter.
+     */
+    public ScheduledReporterManager(ScheduledReporter reporter, Duration period, @Nullable ReporterFactory factory) {
         this.reporter = reporter;
         this.period = period;
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the factory which built the reporter, if known.
+     */
+    @Nullable
+    public ReporterFactory getFactory() {
+        return factory;
+    }
+
+    public synchronized Duration getPeriod() {
+        return period;
     }
 
     /**
@@ -28,8 +57,9 @@ public class ScheduledReporterManager implements Managed {
      * @throws Exception
      */
     @Override
-    public void start() throws Exception {
+    public synchronized void start() throws Exception {
         reporter.start(period.getQuantity(), period.getUnit());
+        started = true;
     }
 
     /**
@@ -38,7 +68,29 @@ public class ScheduledReporterManager implements Managed {
      * @throws Exception
      */
     @Override
-    public void stop() throws Exception {
+    public synchronized void stop() throws Exception {
+        started = false;
         reporter.stop();
     }
+
+    /**
+     * Replaces the managed reporter, which cannot be restarted once stopped, with {@code newReporter} reporting
+     * with the given {@code newPeriod}. If the manager is started, the old reporter is stopped and the new one
+     * started.
+     *
+     * @param newReporter the reporter to manage from now on.
+     * @param newPeriod the frequency to report metrics at.
+     * @throws Exception
+     */
+    public synchronized void reschedule(ScheduledReporter newReporter, Duration newPeriod) throws Exception {
+        final boolean wasStarted = started;
+        if (wasStarted) {
+            stop();
+        }
+        this.reporter = newReporter;
+        this.period = newPeriod;
+        if (wasStarted) {
+            start();
+        }
+    }
 }
@@ -2,6 +2,19 @@ package io.dropwizard.metrics;
 
 import com.google.common.collect.ImmutableSet;
 
+import java.util.function.Predicate;
+
 interface StringMatchingStrategy {
-    boolean containsMatch(ImmutableSet<String> matchExpressions, String metricName);
+    /**
+     * Compiles the match expressions into a single predicate, which tests whether a metric name matches any of
+     * them.
+     */
+    Predicate<String> compile(ImmutableSet<String> matchExpressions);
+
+    /**
+     * Whether the compiled predicates are costly enough for their decisions to be worth caching per metric name.
+     */
+    default boolean isCacheable() {
+        return true;
+    }
 }
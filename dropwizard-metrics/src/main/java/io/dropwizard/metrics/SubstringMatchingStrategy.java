@@ -2,15 +2,84 @@ package io.dropwizard.metrics;
 
 import com.google.common.collect.ImmutableSet;
 
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Predicate;
+
+/**
+ * Matches metric names containing any of the expressions, with an Aho-Corasick automaton built over all of them,
+ * so that a name is scanned once regardless of the number of expressions.
+ */
 class SubstringMatchingStrategy implements StringMatchingStrategy {
     @Override
-    public boolean containsMatch(ImmutableSet<String> matchExpressions, String metricName) {
-        for (String matchExpression : matchExpressions) {
-            if (metricName.contains(matchExpression)) {
-                // just need to match on a single value - return as soon as we do
+    public Predicate<String> compile(ImmutableSet<String> matchExpressions) {
+        if (matchExpressions.isEmpty()) {
+            return name -> false;
+        }
+        return new Automaton(matchExpressions);
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private Node failure;
+        private boolean terminal;
+    }
+
+    private static final class Automaton implements Predicate<String> {
+        private final Node root = new Node();
+
+        private Automaton(Iterable<String> substrings) {
+            for (String substring : substrings) {
+                Node node = root;
+                for (int i = 0; i < substring.length(); i++) {
+                    node = node.children.computeIfAbsent(substring.charAt(i), c -> new Node());
+                }
+                node.terminal = true;
+            }
+
+            // Link every node to the longest proper suffix of its path which is also in the trie, breadth first so
+            // that the links of shallower nodes are known. A node is terminal if any of its suffixes is.
+            final Queue<Node> queue = new ArrayDeque<>();
+            for (Node child : root.children.values()) {
+                child.failure = root;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                final Node node = queue.remove();
+                for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+                    final Node child = entry.getValue();
+                    Node failure = node.failure;
+                    while (failure != null && !failure.children.containsKey(entry.getKey())) {
+                        failure = failure.failure;
+                    }
+                    child.failure = failure == null ? root : failure.children.get(entry.getKey());
+                    child.terminal |= child.failure.terminal;
+                    queue.add(child);
+                }
+            }
+        }
+
+        @Override
+        public boolean test(String name) {
+            if (root.terminal) {
+                // the empty string is contained in every name
                 return true;
             }
+            Node node = root;
+            for (int i = 0; i < name.length(); i++) {
+                final Character c = name.charAt(i);
+                Node next;
+                while ((next = node.children.get(c)) == null && node != root) {
+                    node = node.failure;
+                }
+                node = next == null ? root : next;
+                if (node.terminal) {
+                    return true;
+                }
+            }
+            return false;
         }
-        return false;
     }
 }
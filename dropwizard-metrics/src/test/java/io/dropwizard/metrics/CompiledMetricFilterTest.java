@@ -0,0 +1,92 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompiledMetricFilterTest {
+    private final BaseMetricFilterFactory factory = new BaseReporterFactory() {
+        @Override
+        public ScheduledReporter build(MetricRegistry registry) {
+            throw new UnsupportedOperationException("not implemented");
+        }
+    };
+
+    @Test
+    public void matchesOverlappingSubstrings() {
+        final Predicate<String> matcher = new SubstringMatchingStrategy()
+            .compile(ImmutableSet.of("abcd", "bce", "c.d", "jvm"));
+
+        assertThat(matcher.test("xxabcexx")).isTrue();
+        assertThat(matcher.test("abcc.dx")).isTrue();
+        assertThat(matcher.test("org.jvm")).isTrue();
+        assertThat(matcher.test("abcabd")).isFalse();
+        assertThat(matcher.test("bc")).isFalse();
+        assertThat(matcher.test("")).isFalse();
+    }
+
+    @Test
+    public void emptySubstringMatchesEverything() {
+        final Predicate<String> matcher = new SubstringMatchingStrategy().compile(ImmutableSet.of("abc", ""));
+
+        assertThat(matcher.test("")).isTrue();
+        assertThat(matcher.test("xyz")).isTrue();
+    }
+
+    @Test
+    public void combinesRegularExpressions() {
+        final Predicate<String> matcher = new RegexStringMatchingStrategy()
+            .compile(ImmutableSet.of("(?i)jvm\\..*", "a|b", "requests"));
+
+        assertThat(matcher.test("JVM.memory")).isTrue();
+        assertThat(matcher.test("b")).isTrue();
+        assertThat(matcher.test("requests")).isTrue();
+        assertThat(matcher.test("ab")).isFalse();
+        assertThat(matcher.test("REQUESTS")).isFalse();
+    }
+
+    @Test
+    public void matchesRegularExpressionsWithBackReferencesOneByOne() {
+        final Predicate<String> matcher = new RegexStringMatchingStrategy()
+            .compile(ImmutableSet.of("(a)\\1", "(?<x>b)\\k<x>", "(?<x>c)"));
+
+        assertThat(matcher.test("aa")).isTrue();
+        assertThat(matcher.test("bb")).isTrue();
+        assertThat(matcher.test("c")).isTrue();
+        assertThat(matcher.test("ab")).isFalse();
+    }
+
+    @Test
+    public void boundsTheCachedDecisions() {
+        factory.setUseSubstringMatching(true);
+        factory.setExcludes(ImmutableSet.of("jvm"));
+        final CompiledMetricFilter filter = (CompiledMetricFilter) factory.getFilter();
+        final Counter counter = new Counter();
+
+        assertThat(filter.matches("jvm.threads", counter)).isFalse();
+        assertThat(filter.matches("requests", counter)).isTrue();
+        assertThat(filter.cachedDecisions()).isEqualTo(2);
+
+        for (int i = 0; i < CompiledMetricFilter.MAX_CACHED_DECISIONS; i++) {
+            filter.matches("requests-" + i, counter);
+        }
+        assertThat(filter.cachedDecisions()).isLessThanOrEqualTo(CompiledMetricFilter.MAX_CACHED_DECISIONS);
+        assertThat(filter.matches("jvm.threads", counter)).isFalse();
+    }
+
+    @Test
+    public void doesNotCacheExactMatches() {
+        factory.setIncludes(ImmutableSet.of("requests"));
+        final CompiledMetricFilter filter = (CompiledMetricFilter) factory.getFilter();
+
+        assertThat(filter.matches("requests", new Counter())).isTrue();
+        assertThat(filter.matches("jvm.threads", new Counter())).isFalse();
+        assertThat(filter.isCaching()).isFalse();
+    }
+}
@@ -0,0 +1,114 @@
+package io.dropwizard.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricAttribute;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrometheusTextFormatTest {
+    private final MetricRegistry registry = new MetricRegistry();
+
+    @Test
+    public void writesCountersAndGauges() throws Exception {
+        registry.counter("jobs.processed").inc(3);
+        registry.register("queue.size", (Gauge<Integer>) () -> 12);
+        registry.register("ratio", (Gauge<Double>) () -> 0.25);
+        registry.register("name", (Gauge<String>) () -> "not a number");
+
+        assertThat(write(new PrometheusFactory()))
+            .contains("# TYPE jobs_processed gauge\njobs_processed 3\n")
+            .contains("# TYPE queue_size gauge\nqueue_size 12\n")
+            .contains("# TYPE ratio gauge\nratio 0.25\n")
+            .doesNotContain("name");
+    }
+
+    @Test
+    public void writesTimersAsSummariesInSeconds() throws Exception {
+        registry.timer("requests").update(250, TimeUnit.MILLISECONDS);
+        registry.timer("requests").update(250, TimeUnit.MILLISECONDS);
+
+        final PrometheusFactory factory = new PrometheusFactory();
+        factory.setIncludesAttributes(EnumSet.of(MetricAttribute.P50, MetricAttribute.COUNT, MetricAttribute.MAX));
+
+        assertThat(write(factory)).isEqualTo(
+            "# TYPE requests summary\n" +
+            "requests{quantile=\"0.5\"} 0.25\n" +
+            "requests_sum 0.5\n" +
+            "requests_count 2\n" +
+            "# TYPE requests_max gauge\n" +
+            "requests_max 0.25\n");
+    }
+
+    @Test
+    public void writesMeterRates() throws Exception {
+        registry.meter("events").mark(5);
+
+        final PrometheusFactory factory = new PrometheusFactory();
+        factory.setIncludesAttributes(EnumSet.of(MetricAttribute.M1_RATE));
+
+        assertThat(write(factory))
+            .startsWith("# TYPE events_total counter\nevents_total 5\n")
+            .contains("# TYPE events_m1_rate gauge\n");
+    }
+
+    @Test
+    public void appliesTheConfiguredFilter() throws Exception {
+        registry.counter("included");
+        registry.counter("excluded");
+
+        final PrometheusFactory factory = new PrometheusFactory();
+        factory.setExcludes(ImmutableSet.of("excluded"));
+
+        assertThat(write(factory)).contains("included").doesNotContain("excluded");
+    }
+
+    @Test
+    public void writesHistogramsAsSummaries() throws Exception {
+        registry.histogram("sizes").update(3);
+
+        final PrometheusFactory factory = new PrometheusFactory();
+        factory.setIncludesAttributes(EnumSet.of(MetricAttribute.P99));
+
+        assertThat(write(factory)).isEqualTo(
+            "# TYPE sizes summary\n" +
+            "sizes{quantile=\"0.99\"} 3\n" +
+            "sizes_sum 3\n" +
+            "sizes_count 1\n");
+    }
+
+    @Test
+    public void exposesCollidingNamesOnlyOnce() throws Exception {
+        registry.counter("jobs.processed").inc(1);
+        registry.counter("jobs-processed").inc(2);
+        registry.meter("events").mark();
+        registry.counter("events.total").inc(3);
+
+        assertThat(write(new PrometheusFactory()))
+            .containsOnlyOnce("# TYPE jobs_processed ")
+            .containsOnlyOnce("# TYPE events_total ");
+    }
+
+    @Test
+    public void sanitizesNames() throws Exception {
+        final PrometheusTextFormat format = new PrometheusTextFormat(registry, MetricFilter.ALL,
+            ImmutableSet.of(), TimeUnit.SECONDS, TimeUnit.SECONDS);
+
+        assertThat(format.sanitize("io.dropwizard.jetty-requests")).isEqualTo("io_dropwizard_jetty_requests");
+        assertThat(format.sanitize("2xx-responses")).isEqualTo("_2xx_responses");
+        assertThat(format.sanitize("ok:name_1")).isEqualTo("ok:name_1");
+    }
+
+    private String write(PrometheusFactory factory) throws Exception {
+        final StringWriter writer = new StringWriter();
+        factory.build(registry).write(writer);
+        return writer.toString();
+    }
+}
@@ -41,7 +41,7 @@ class DropwizardTestResourceConfig extends DropwizardResourceConfig {
         for (Map.Entry<String, Object> property : configuration.properties.entrySet()) {
             property(property.getKey(), property.getValue());
         }
-        register(new JacksonBinder(configuration.mapper));
+        register(new JacksonBinder(configuration.mapper, configuration.validator));
         register(new HibernateValidationFeature(configuration.validator));
         for (Object singleton : configuration.singletons) {
             register(singleton);